@@ -0,0 +1,253 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import models.utils.PoolConexoes;
+
+/**
+ * Classe principal da bancada de medicoes de desempenho do servidor (ant bench). Cada medicao roda rodadas de
+ * aquecimento, para o JIT compilar o codigo medido, e depois as rodadas medidas; o resultado e o tempo medio por
+ * operacao, com o desvio padrao entre as rodadas. Com -Dbench.saida os resultados sao acrescentados a um CSV,
+ * identificados por -Dbench.rotulo, para comparar as execucoes antes e depois de uma mudanca.
+ * Propriedades de sistema aceitas:
+ * bench.aquecimento, bench.medicoes, bench.tempo, bench.filtro, bench.saida, bench.rotulo, bench.jdbc, bench.carga.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param AQUECIMENTO_DEFAULT : [CONSTANT] rodadas de aquecimento de cada medicao
+ * @param MEDICOES_DEFAULT : [CONSTANT] rodadas medidas de cada medicao
+ * @param TEMPO_DEFAULT : [CONSTANT] duracao, em milissegundos, de cada rodada
+ * @param LOTE_MAXIMO : [CONSTANT] maximo de operacoes entre duas leituras do relogio
+ * @param aquecimento : rodadas de aquecimento de cada medicao
+ * @param medicoes : rodadas medidas de cada medicao
+ * @param tempo : duracao, em milissegundos, de cada rodada
+ * @param jdbc : url JDBC do DB das medicoes de DAO e service, ou null para a conexao falsa
+ * @param carga : logs da massa de dados gravados no DB antes das consultas no DB
+ * @param carregado : se a carga do DB ja foi feita nesta execucao
+ * @param sumidouro : recebe o resultado de cada operacao, para o JIT nao eliminar o trabalho medido
+ */
+
+public final class Bancada
+{
+
+	private static final int AQUECIMENTO_DEFAULT = 3;
+	private static final int MEDICOES_DEFAULT = 5;
+	private static final long TEMPO_DEFAULT = 1000;
+	private static final int LOTE_MAXIMO = 1 << 16;
+	private static int aquecimento = AQUECIMENTO_DEFAULT;
+	private static int medicoes = MEDICOES_DEFAULT;
+	private static long tempo = TEMPO_DEFAULT;
+	private static String jdbc = null;
+	private static int carga = 0;
+	private static boolean carregado = false;
+	private static volatile Object sumidouro;
+
+	private Bancada()
+	{
+	}
+
+	/**
+	 * Executa as medicoes selecionadas por -Dbench.filtro (expressao regular sobre o nome; todas, se ausente).
+	 * @param args : nao utilizado
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		aquecimento = Integer.parseInt(System.getProperty("bench.aquecimento", ""+AQUECIMENTO_DEFAULT));
+		medicoes = Math.max(1, Integer.parseInt(System.getProperty("bench.medicoes", ""+MEDICOES_DEFAULT)));
+		tempo = Long.parseLong(System.getProperty("bench.tempo", ""+TEMPO_DEFAULT));
+		jdbc = vazioNulo(System.getProperty("bench.jdbc"));
+		carga = Integer.parseInt(System.getProperty("bench.carga", "0"));
+		String filtro = vazioNulo(System.getProperty("bench.filtro"));
+		String saida = vazioNulo(System.getProperty("bench.saida"));
+		String rotulo = System.getProperty("bench.rotulo", "execucao");
+		Pattern padrao = filtro == null ? null : Pattern.compile(filtro);
+
+		List<Medicao> todas = new ArrayList<Medicao>();
+		todas.addAll(MedicoesRequisicao.criar());
+		todas.addAll(MedicoesArquivos.criar());
+		todas.addAll(MedicoesLogs.criar());
+		todas.addAll(MedicoesRelatorios.criar());
+
+		System.out.println("Bancada: " + aquecimento + " aquecimento(s), " + medicoes + " medicao(oes) de " + tempo
+				+ "ms, DB " + (jdbc == null ? "falso" : jdbc) + ", Java " + System.getProperty("java.version"));
+		System.out.println(String.format(Locale.US, "%-32s %14s %12s %14s", "Medicao", "ns/op", "+/-", "ops/s"));
+		List<String> linhas = new ArrayList<String>();
+		for (Medicao medicao : todas)
+		{
+			if (padrao != null && !padrao.matcher(medicao.getNome()).find())
+			{
+				continue;
+			}
+			double[] resultado = medir(medicao);
+			System.out.println(String.format(Locale.US, "%-32s %14.1f %12.1f %14.0f", medicao.getNome(), resultado[0],
+					resultado[1], 1e9 / resultado[0]));
+			linhas.add(String.format(Locale.US, "%s;%s;%.1f;%.1f;%.0f", rotulo, medicao.getNome(), resultado[0],
+					resultado[1], 1e9 / resultado[0]));
+		}
+		if (saida != null)
+		{
+			gravar(new File(saida), linhas);
+		}
+	}
+
+	/**
+	 * Executa as rodadas de aquecimento e as rodadas medidas de uma medicao.
+	 * @param medicao : medicao a executar
+	 * @return Media e desvio padrao, em nanossegundos por operacao
+	 * @throws Exception
+	 */
+	private static double[] medir(Medicao medicao) throws Exception
+	{
+		medicao.preparar();
+		try
+		{
+			for (int i = 0; i < aquecimento; i++)
+			{
+				rodada(medicao);
+			}
+			double[] rodadas = new double[medicoes];
+			double soma = 0;
+			for (int i = 0; i < medicoes; i++)
+			{
+				rodadas[i] = rodada(medicao);
+				soma += rodadas[i];
+			}
+			double media = soma / medicoes;
+			double variancia = 0;
+			for (double rodada : rodadas)
+			{
+				variancia += (rodada - media) * (rodada - media);
+			}
+			return new double[] { media, Math.sqrt(variancia / medicoes) };
+		} finally
+		{
+			medicao.encerrar();
+		}
+	}
+
+	/**
+	 * Executa a operacao repetidamente durante o tempo de uma rodada. O relogio e lido a cada lote, que dobra enquanto
+	 * leva menos de um milissegundo, para a leitura do relogio nao pesar nas operacoes rapidas.
+	 * @param medicao : medicao a executar
+	 * @return Tempo medio por operacao, em nanossegundos
+	 * @throws Exception
+	 */
+	private static double rodada(Medicao medicao) throws Exception
+	{
+		long inicio = System.nanoTime();
+		long fim = inicio + tempo * 1000000L;
+		long operacoes = 0;
+		int lote = 1;
+		long agora = inicio;
+		while (agora < fim)
+		{
+			long inicioLote = agora;
+			for (int i = 0; i < lote; i++)
+			{
+				sumidouro = medicao.executar();
+			}
+			operacoes += lote;
+			agora = System.nanoTime();
+			if (lote < LOTE_MAXIMO && agora - inicioLote < 1000000L)
+			{
+				lote <<= 1;
+			}
+		}
+		return (double) (agora - inicio) / operacoes;
+	}
+
+	/**
+	 * Acrescenta os resultados ao CSV, com o cabecalho se o arquivo for novo.
+	 * @param arquivo : arquivo CSV
+	 * @param linhas : resultados no formato rotulo;medicao;ns_op;desvio;ops_s
+	 * @throws IOException
+	 */
+	private static void gravar(File arquivo, List<String> linhas) throws IOException
+	{
+		boolean novo = !arquivo.exists();
+		try (PrintWriter out = new PrintWriter(new FileWriter(arquivo, true)))
+		{
+			if (novo)
+			{
+				out.println("rotulo;medicao;ns_op;desvio;ops_s");
+			}
+			for (String linha : linhas)
+			{
+				out.println(linha);
+			}
+		}
+		System.out.println("Resultados gravados em " + arquivo.getPath());
+	}
+
+	/**
+	 * Abre uma conexao sem auto commit com o DB de -Dbench.jdbc, ou uma conexao falsa.
+	 * @return Conexao aberta
+	 * @throws SQLException
+	 */
+	public static Connection conexao() throws SQLException
+	{
+		if (jdbc == null)
+		{
+			return JdbcFalso.conexao();
+		}
+		Connection conn = DriverManager.getConnection(jdbc);
+		conn.setAutoCommit(false);
+		return conn;
+	}
+
+	/**
+	 * Cria um pool de uma conexao, como o do ConnectorDB, sobre a conexao da Bancada.
+	 * @return Pool iniciado
+	 * @throws SQLException
+	 */
+	public static PoolConexoes pool() throws SQLException
+	{
+		PoolConexoes pool = new PoolConexoes(jdbc, 1, 1, 1000, 0);
+		pool.iniciar(conexao());
+		return pool;
+	}
+
+	/**
+	 * Verifica se as medicoes usam um DB real.
+	 * @return Se foi informado -Dbench.jdbc
+	 */
+	public static boolean isDBReal()
+	{
+		return jdbc != null;
+	}
+
+	/**
+	 * Retorna o numero de logs gravados no DB antes das consultas no DB.
+	 * @return carga do DB
+	 */
+	public static int getCarga()
+	{
+		return carga;
+	}
+
+	/**
+	 * Marca a carga do DB como feita.
+	 * @return Se a carga ainda nao tinha sido feita nesta execucao
+	 */
+	public static synchronized boolean marcarCarga()
+	{
+		boolean primeira = !carregado;
+		carregado = true;
+		return primeira;
+	}
+
+	private static String vazioNulo(String valor)
+	{
+		return valor == null || valor.isEmpty() ? null : valor;
+	}
+}
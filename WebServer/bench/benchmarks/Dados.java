@@ -0,0 +1,151 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+
+import models.LogAcc;
+import models.MetodoHTTP;
+
+/**
+ * Classe utilitaria com as massas de dados das medicoes. Tudo e gerado a partir de uma semente fixa, entao duas
+ * execucoes da Bancada (antes e depois de uma mudanca) medem exatamente as mesmas requisicoes, logs e arquivos.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param SEMENTE : [CONSTANT] semente de todos os geradores
+ * @param INICIO : [CONSTANT] instante do primeiro log gerado (01/01/2019 00:00 UTC)
+ * @param PERIODO : [CONSTANT] intervalo, em milissegundos, coberto pelos logs gerados (um ano)
+ * @param ARQUIVOS : [CONSTANT] arquivos solicitados nas requisicoes e logs, dos mais aos menos acessados
+ * @param AGENTES : [CONSTANT] valores do cabecalho User-Agent
+ * @param CODIGOS : [CONSTANT] codigos de retorno dos logs, 200 repetido pela frequencia
+ */
+
+public final class Dados
+{
+
+	public static final long SEMENTE = 20191107L;
+	private static final long INICIO = 1546300800000L;
+	private static final long PERIODO = 365L * 24 * 60 * 60 * 1000;
+	private static final String[] ARQUIVOS = { "/index.html", "/perfil.html", "/css/estilo.css", "/js/script.js",
+			"/img/logo.png", "/adm/admin.html", "/adm/relatorio01.html", "/adm/relatorio05.html", "/favicon.ico",
+			"/inexistente.html", "/img/fundo.jpg", "/css/../../etc/passwd" };
+	private static final String[] AGENTES = {
+			"Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/78.0.3904.87 Safari/537.36",
+			"Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:70.0) Gecko/20100101 Firefox/70.0", "curl/7.58.0",
+			"Apache-HTTP-Client/4.5" };
+	private static final int[] CODIGOS = { 200, 200, 200, 200, 200, 200, 200, 200, 400, 403, 404, 404, 405 };
+
+	private Dados()
+	{
+	}
+
+	/**
+	 * Gera blocos de cabecalho de requisicao, como recebidos pelo motor NIO (sem a linha em branco final).
+	 * @param quantidade : numero de requisicoes
+	 * @return Blocos de cabecalho, com as linhas separadas por CRLF
+	 */
+	public static String[] requisicoes(int quantidade)
+	{
+		Random r = new Random(SEMENTE);
+		String[] requisicoes = new String[quantidade];
+		for (int i = 0; i < quantidade; i++)
+		{
+			StringBuilder sb = new StringBuilder(512);
+			sb.append(r.nextInt(10) == 0 ? "HEAD " : "GET ").append(arquivo(r)).append(" HTTP/1.1\r\n");
+			sb.append("Host: localhost:8080\r\n");
+			sb.append("User-Agent: ").append(AGENTES[r.nextInt(AGENTES.length)]).append("\r\n");
+			sb.append("Accept: text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8\r\n");
+			sb.append("Accept-Language: pt-BR,pt;q=0.8,en-US;q=0.5,en;q=0.3\r\n");
+			sb.append("Accept-Encoding: gzip, deflate\r\n");
+			if (r.nextBoolean())
+			{
+				sb.append("Referer: http://localhost:8080/index.html\r\n");
+			}
+			sb.append("Connection: keep-alive");
+			requisicoes[i] = sb.toString();
+		}
+		return requisicoes;
+	}
+
+	/**
+	 * Gera logs de acesso com arquivos, ips e codigos de frequencias desiguais, como em um servidor real: poucos
+	 * arquivos e ips concentram a maior parte dos acessos.
+	 * @param quantidade : numero de logs
+	 * @return Logs gerados, em ordem de data
+	 */
+	public static ArrayList<LogAcc> logs(int quantidade)
+	{
+		Random r = new Random(SEMENTE);
+		ArrayList<LogAcc> logs = new ArrayList<LogAcc>(quantidade);
+		for (int i = 0; i < quantidade; i++)
+		{
+			long instante = INICIO + (long) (r.nextDouble() * PERIODO);
+			MetodoHTTP metodo = r.nextInt(20) == 0 ? MetodoHTTP.POST : MetodoHTTP.GET;
+			logs.add(new LogAcc(instante, arquivo(r), metodo, ip(r), CODIGOS[r.nextInt(CODIGOS.length)]));
+		}
+		logs.sort(new Comparator<LogAcc>()
+		{
+			@Override
+			public int compare(LogAcc a, LogAcc b)
+			{
+				return a.getData().compareTo(b.getData());
+			}
+		});
+		return logs;
+	}
+
+	/**
+	 * Gera os textos dos logs no formato arquivo#metodo#ip#codigo, como gravados antes dos campos tipados.
+	 * @param quantidade : numero de textos
+	 * @return Textos dos logs
+	 */
+	public static String[] textos(int quantidade)
+	{
+		ArrayList<LogAcc> logs = logs(quantidade);
+		String[] textos = new String[quantidade];
+		for (int i = 0; i < quantidade; i++)
+		{
+			textos[i] = logs.get(i).getText();
+		}
+		return textos;
+	}
+
+	/**
+	 * Cria um arquivo de conteudo pseudoaleatorio, para as medicoes de leitura do disco, do cache e do mapeamento.
+	 * @param pasta : pasta do arquivo
+	 * @param nome : nome do arquivo
+	 * @param tamanho : tamanho do arquivo, em bytes
+	 * @return Arquivo criado
+	 * @throws IOException
+	 */
+	public static File arquivo(File pasta, String nome, int tamanho) throws IOException
+	{
+		byte[] conteudo = new byte[tamanho];
+		new Random(SEMENTE + tamanho).nextBytes(conteudo);
+		File arquivo = new File(pasta, nome);
+		Files.write(arquivo.toPath(), conteudo);
+		return arquivo;
+	}
+
+	/**
+	 * Sorteia um arquivo, com os primeiros da lista mais frequentes.
+	 */
+	private static String arquivo(Random r)
+	{
+		double x = r.nextDouble();
+		return ARQUIVOS[(int) (x * x * ARQUIVOS.length)];
+	}
+
+	/**
+	 * Sorteia um ip entre 2000, com os menores mais frequentes.
+	 */
+	private static String ip(Random r)
+	{
+		double x = r.nextDouble();
+		int n = (int) (x * x * x * 2000);
+		return "192.168." + (n / 250) + "." + (n % 250 + 1);
+	}
+}
@@ -0,0 +1,261 @@
+package benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import controllers.sockets.AnalisadorHTTP;
+import controllers.sockets.RequisicaoHTTP;
+
+/**
+ * Classe principal do teste aleatorio (fuzz) do AnalisadorHTTP (ant fuzz). Cada rodada monta uma conexao com algumas
+ * requisicoes em sequencia (keep-alive), as vezes com bytes trocados, e a entrega ao analisador em pedacos de tamanho
+ * sorteado, como os motores recebem da rede. Confere que: as requisicoes validas saem com o metodo, o arquivo, a query
+ * e os cabecalhos enviados; a analise em pedacos da o mesmo resultado que a analise do bloco inteiro; nenhuma entrada
+ * lanca excecao ou devolve uma posicao fora dos dados; e os limites de linha e de cabecalhos valem exatamente no limite.
+ * Termina com erro na primeira divergencia, mostrando a semente e a rodada para repeti-la.
+ * Propriedades de sistema aceitas:
+ * fuzz.rodadas, fuzz.semente.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param RODADAS_DEFAULT : [CONSTANT] conexoes sorteadas
+ * @param METODOS : [CONSTANT] metodos das requisicoes sorteadas
+ * @param ARQUIVOS : [CONSTANT] arquivos das requisicoes sorteadas, em minusculas como o analisador devolve
+ * @param CABECALHOS : [CONSTANT] cabecalhos das requisicoes sorteadas, pares nome e valor
+ */
+
+public final class FuzzAnalisador
+{
+
+	private static final int RODADAS_DEFAULT = 200000;
+	private static final String[] METODOS = { "GET", "HEAD", "POST", "DELETE" };
+	private static final String[] ARQUIVOS = { "/", "/index.html", "/adm/admin.html", "/css/bootstrap.min.css",
+			"/js/jquery.min.js", "/img/logo.png", "/adm/relatorio01.html", "/a%20b.html" };
+	private static final String[][] CABECALHOS = {
+			{ "Host", "localhost:8080" },
+			{ "Accept-Encoding", "gzip, deflate, br" },
+			{ "If-None-Match", "\"18c2f-b03\"" },
+			{ "Range", "bytes=0-99" },
+			{ "Connection", "keep-alive" },
+			{ "X-Teste", "valor  com  espacos" } };
+
+	private FuzzAnalisador()
+	{
+	}
+
+	/**
+	 * Executa as rodadas e os testes de limite.
+	 * @param args : nao utilizado
+	 */
+	public static void main(String[] args)
+	{
+		int rodadas = Integer.parseInt(System.getProperty("fuzz.rodadas", ""+RODADAS_DEFAULT));
+		long semente = Long.parseLong(System.getProperty("fuzz.semente", ""+System.nanoTime()));
+		Random r = new Random(semente);
+		long requisicoes = 0;
+		long invalidas = 0;
+		int rodada = 0;
+		try
+		{
+			for (; rodada < rodadas; rodada++)
+			{
+				int[] contagem = rodada(r);
+				requisicoes += contagem[0];
+				invalidas += contagem[1];
+			}
+			limites();
+		} catch (RuntimeException e)
+		{
+			System.out.println("FALHA na rodada " + rodada + " (-Dfuzz.semente=" + semente + "): " + e.getMessage());
+			e.printStackTrace(System.out);
+			System.exit(1);
+		}
+		System.out.println(String.format(Locale.US, "Fuzz: %d rodadas, %d requisicoes conferidas, %d conexoes invalidas, "
+				+ "semente %d: OK", rodadas, requisicoes, invalidas, semente));
+	}
+
+	/**
+	 * Monta uma conexao sorteada e a analisa em pedacos.
+	 * @param r : gerador aleatorio
+	 * @return Requisicoes conferidas e conexoes invalidas
+	 */
+	private static int[] rodada(Random r)
+	{
+		List<String[]> esperadas = new ArrayList<String[]>();
+		ByteArrayOutputStream conexao = new ByteArrayOutputStream();
+		int n = 1 + r.nextInt(4);
+		for (int i = 0; i < n; i++)
+		{
+			String[] esperada = sortear(r);
+			esperadas.add(esperada);
+			byte[] bytes = esperada[esperada.length - 1].getBytes(StandardCharsets.ISO_8859_1);
+			conexao.write(bytes, 0, bytes.length);
+		}
+		byte[] dados = conexao.toByteArray();
+		boolean trocados = r.nextInt(3) == 0;
+		if (trocados)
+		{
+			for (int i = r.nextInt(4); i >= 0; i--)
+			{
+				dados[r.nextInt(dados.length)] = (byte) r.nextInt(256);
+			}
+		}
+
+		AnalisadorHTTP analisador = new AnalisadorHTTP();
+		int inicio = 0;
+		int fim = 0;
+		int conferidas = 0;
+		while (inicio < dados.length)
+		{
+			fim = Math.min(dados.length, fim + 1 + r.nextInt(24));
+			int posicao = analisador.analisar(dados, inicio, fim);
+			if (posicao == AnalisadorHTTP.INCOMPLETA)
+			{
+				if (fim == dados.length)
+				{
+					break;
+				}
+				continue;
+			}
+			// O bloco inteiro de uma vez deve dar o mesmo resultado que os pedacos
+			AnalisadorHTTP inteiro = new AnalisadorHTTP();
+			int posicaoInteiro = inteiro.analisar(dados, inicio, dados.length);
+			conferir(posicao == posicaoInteiro, "pedacos terminam em " + posicao + ", bloco inteiro em " + posicaoInteiro);
+			if (posicao == AnalisadorHTTP.INVALIDA)
+			{
+				return new int[] { conferidas, 1 };
+			}
+			conferir(posicao > inicio && posicao <= fim, "posicao " + posicao + " fora de " + inicio + ".." + fim);
+			RequisicaoHTTP req = analisador.getRequisicao();
+			RequisicaoHTTP reqInteiro = inteiro.getRequisicao();
+			conferir((req == null) == (reqInteiro == null), "requisicao nula em apenas uma das analises");
+			if (req != null)
+			{
+				conferir(req.getArquivo().equals(reqInteiro.getArquivo()), "arquivos diferentes: " + req.getArquivo()
+						+ " e " + reqInteiro.getArquivo());
+			}
+			if (!trocados)
+			{
+				conferir(req != null, "requisicao valida sem requisicao");
+				conferir(esperadas.get(conferidas), req);
+			}
+			conferidas++;
+			inicio = posicao;
+			fim = Math.max(fim, inicio);
+		}
+		conferir(trocados || conferidas == esperadas.size(), conferidas + " de " + esperadas.size() + " requisicoes");
+		return new int[] { conferidas, 0 };
+	}
+
+	/**
+	 * Sorteia uma requisicao valida.
+	 * @param r : gerador aleatorio
+	 * @return metodo, arquivo, query (ou null), pares de cabecalho esperados e, por ultimo, o texto da requisicao
+	 */
+	private static String[] sortear(Random r)
+	{
+		String metodo = METODOS[r.nextInt(METODOS.length)];
+		String arquivo = ARQUIVOS[r.nextInt(ARQUIVOS.length)];
+		String query = r.nextBoolean() ? null : "x=" + r.nextInt(1000) + "&y=a";
+		String fimLinha = r.nextInt(8) == 0 ? "\n" : "\r\n";
+		StringBuilder sb = new StringBuilder();
+		if (r.nextInt(6) == 0)
+		{
+			// CRLF solto entre requisicoes, tolerado pelo HTTP/1.1
+			sb.append("\r\n");
+		}
+		String alvo = arquivo + (query == null ? "" : "?" + query);
+		sb.append(r.nextBoolean() ? metodo : metodo.toLowerCase()).append(' ')
+				.append(r.nextBoolean() ? alvo : alvo.toUpperCase().replace("?X=", "?x=").replace("&Y=A", "&y=a"))
+				.append(" HTTP/1.1").append(fimLinha);
+		int quantos = r.nextInt(CABECALHOS.length + 1);
+		String[] esperada = new String[4 + quantos * 2];
+		esperada[0] = metodo;
+		esperada[1] = arquivo;
+		esperada[2] = query;
+		for (int i = 0; i < quantos; i++)
+		{
+			String[] cabecalho = CABECALHOS[r.nextInt(CABECALHOS.length)];
+			String nome = r.nextBoolean() ? cabecalho[0] : cabecalho[0].toLowerCase();
+			sb.append(nome).append(r.nextBoolean() ? ": " : ":").append(cabecalho[1])
+					.append(r.nextBoolean() ? "" : "  ").append(fimLinha);
+			esperada[3 + i * 2] = cabecalho[0];
+			esperada[4 + i * 2] = cabecalho[1];
+		}
+		sb.append(fimLinha);
+		esperada[esperada.length - 1] = sb.toString();
+		return esperada;
+	}
+
+	/**
+	 * Confere a requisicao analisada com a sorteada. Com o mesmo cabecalho repetido vale o ultimo, como no getCabecalho.
+	 */
+	private static void conferir(String[] esperada, RequisicaoHTTP req)
+	{
+		conferir(esperada[0].equals(req.getMetodo()), "metodo " + req.getMetodo() + ", esperado " + esperada[0]);
+		conferir(esperada[1].equals(req.getArquivo()), "arquivo " + req.getArquivo() + ", esperado " + esperada[1]);
+		conferir(esperada[2] == null ? req.getQuery() == null : esperada[2].equals(req.getQuery()),
+				"query " + req.getQuery() + ", esperada " + esperada[2]);
+		conferir("HTTP/1.1".equals(req.getVersao()), "versao " + req.getVersao());
+		for (int i = 3; i + 1 < esperada.length - 1; i += 2)
+		{
+			String ultimo = null;
+			for (int j = 3; j + 1 < esperada.length - 1; j += 2)
+			{
+				if (esperada[j].equals(esperada[i]))
+				{
+					ultimo = esperada[j + 1];
+				}
+			}
+			conferir(ultimo.equals(req.getCabecalho(esperada[i])), "cabecalho " + esperada[i] + ": "
+					+ req.getCabecalho(esperada[i]) + ", esperado " + ultimo);
+		}
+	}
+
+	/**
+	 * Confere os limites de linha e de numero de cabecalhos, no limite e um acima.
+	 */
+	private static void limites()
+	{
+		String linhaLimite = "GET /" + repetir('a', AnalisadorHTTP.LIMITE_LINHA - "GET / HTTP/1.1".length()) + " HTTP/1.1";
+		conferir(analisar(linhaLimite + "\r\n\r\n") > 0, "linha no limite recusada");
+		String linhaAcima = "GET /" + repetir('a', AnalisadorHTTP.LIMITE_LINHA + 1 - "GET / HTTP/1.1".length()) + " HTTP/1.1";
+		conferir(analisar(linhaAcima + "\r\n\r\n") == AnalisadorHTTP.INVALIDA, "linha acima do limite aceita");
+		conferir(analisar(linhaAcima) == AnalisadorHTTP.INVALIDA, "linha incompleta acima do limite aceita");
+
+		StringBuilder cabecalhos = new StringBuilder("GET / HTTP/1.1\r\n");
+		for (int i = 0; i < AnalisadorHTTP.LIMITE_CABECALHOS; i++)
+		{
+			cabecalhos.append("X-").append(i).append(": 1\r\n");
+		}
+		conferir(analisar(cabecalhos + "\r\n") > 0, "cabecalhos no limite recusados");
+		conferir(analisar(cabecalhos + "X-Mais: 1\r\n\r\n") == AnalisadorHTTP.INVALIDA, "cabecalhos acima do limite aceitos");
+	}
+
+	private static int analisar(String texto)
+	{
+		byte[] dados = texto.getBytes(StandardCharsets.ISO_8859_1);
+		return new AnalisadorHTTP().analisar(dados, 0, dados.length);
+	}
+
+	private static String repetir(char c, int n)
+	{
+		StringBuilder sb = new StringBuilder(n);
+		for (int i = 0; i < n; i++)
+		{
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
+	private static void conferir(boolean condicao, String mensagem)
+	{
+		if (!condicao)
+		{
+			throw new IllegalStateException(mensagem);
+		}
+	}
+}
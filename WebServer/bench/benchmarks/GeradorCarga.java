@@ -0,0 +1,534 @@
+package benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Classe principal do gerador de carga HTTP (ant carga), para validar a capacidade do servidor antes de coloca-lo em
+ * uso. Abre um numero fixo de conexoes com o servidor em execucao e envia requisicoes GET sorteadas entre os arquivos
+ * do wwwroot e as paginas de relatorio de /adm, com ou sem keep-alive. As latencias sao registradas em histogramas
+ * (HistogramaLatencia) e o relatorio, com vazao, codigos de status e percentis p50/p90/p99/p99.9, e gravado em arquivo.
+ * Sem taxa definida, cada conexao envia a proxima requisicao assim que recebe a resposta (vazao maxima); com
+ * -Dcarga.taxa, as requisicoes seguem uma agenda fixa e a latencia e medida a partir do horario agendado, para que
+ * uma resposta lenta nao esconda o atraso das requisicoes que deveriam ter sido enviadas durante ela.
+ * Propriedades de sistema aceitas:
+ * carga.host, carga.porta, carga.conexoes, carga.duracao, carga.aquecimento, carga.keepalive, carga.taxa,
+ * carga.relatorios, carga.raiz, carga.urls, carga.timeout, carga.saida.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param HOST_DEFAULT : [CONSTANT] servidor alvo
+ * @param PORTA_DEFAULT : [CONSTANT] porta do servidor, se nao houver prop.server.porta no info.properties
+ * @param CONEXOES_DEFAULT : [CONSTANT] conexoes simultaneas
+ * @param DURACAO_DEFAULT : [CONSTANT] duracao da medicao, em segundos
+ * @param AQUECIMENTO_DEFAULT : [CONSTANT] duracao do aquecimento, em segundos, com requisicoes nao registradas
+ * @param RELATORIOS_DEFAULT : [CONSTANT] porcentagem das requisicoes feitas as paginas de relatorio
+ * @param TIMEOUT_DEFAULT : [CONSTANT] tempo maximo, em milissegundos, de conexao e de espera da resposta
+ * @param PAGINAS_RELATORIO : [CONSTANT] paginas de relatorio montadas pelo servidor
+ * @param PERCENTIS : [CONSTANT] percentis do resumo do relatorio
+ */
+
+public final class GeradorCarga
+{
+
+	private static final String HOST_DEFAULT = "localhost";
+	private static final int PORTA_DEFAULT = 80;
+	private static final int CONEXOES_DEFAULT = 16;
+	private static final int DURACAO_DEFAULT = 30;
+	private static final int AQUECIMENTO_DEFAULT = 5;
+	private static final int RELATORIOS_DEFAULT = 5;
+	private static final int TIMEOUT_DEFAULT = 5000;
+	private static final String[] PAGINAS_RELATORIO = { "/adm/admin.html", "/adm/relatorio01.html",
+			"/adm/relatorio02.html", "/adm/relatorio03.html", "/adm/relatorio04.html", "/adm/relatorio05.html",
+			"/adm/relatorio06.html", "/adm/relatorio07.html", "/adm/relatorio08.html", "/adm/relatorio09.html",
+			"/adm/relatorio10.html" };
+	private static final double[] PERCENTIS = { 50, 90, 99, 99.9 };
+
+	private GeradorCarga()
+	{
+	}
+
+	/**
+	 * Executa a carga configurada pelas propriedades de sistema e grava o relatorio.
+	 * @param args : nao utilizado
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		String host = System.getProperty("carga.host", HOST_DEFAULT);
+		int porta = Integer.parseInt(System.getProperty("carga.porta", ""+portaConfigurada()));
+		int conexoes = Math.max(1, Integer.parseInt(System.getProperty("carga.conexoes", ""+CONEXOES_DEFAULT)));
+		int duracao = Math.max(1, Integer.parseInt(System.getProperty("carga.duracao", ""+DURACAO_DEFAULT)));
+		int aquecimento = Math.max(0, Integer.parseInt(System.getProperty("carga.aquecimento", ""+AQUECIMENTO_DEFAULT)));
+		boolean keepAlive = Boolean.parseBoolean(System.getProperty("carga.keepalive", "true"));
+		double taxa = Double.parseDouble(System.getProperty("carga.taxa", "0"));
+		int relatorios = Integer.parseInt(System.getProperty("carga.relatorios", ""+RELATORIOS_DEFAULT));
+		String raiz = System.getProperty("carga.raiz", "wwwroot");
+		String urls = System.getProperty("carga.urls", "");
+		int timeout = Integer.parseInt(System.getProperty("carga.timeout", ""+TIMEOUT_DEFAULT));
+		String saida = System.getProperty("carga.saida", "");
+
+		// Mix de URLs: arquivos do wwwroot e paginas de relatorio, ou a lista de -Dcarga.urls
+		List<String> estaticos = new ArrayList<String>();
+		List<String> paginas = new ArrayList<String>();
+		if (urls.isEmpty())
+		{
+			listarArquivos(new File(raiz), "", estaticos);
+			estaticos.sort(null);
+			for (String pagina : PAGINAS_RELATORIO)
+			{
+				paginas.add(pagina);
+			}
+		} else
+		{
+			for (String url : Files.readAllLines(new File(urls).toPath(), StandardCharsets.UTF_8))
+			{
+				url = url.trim();
+				if (!url.isEmpty() && !url.startsWith("#"))
+				{
+					(isRelatorio(url) ? paginas : estaticos).add(url);
+				}
+			}
+		}
+		if (estaticos.isEmpty() && paginas.isEmpty())
+		{
+			throw new IllegalArgumentException("Nenhuma URL para a carga (carga.raiz=" + raiz + ", carga.urls=" + urls + ")");
+		}
+		if (estaticos.isEmpty())
+		{
+			relatorios = 100;
+		} else if (paginas.isEmpty())
+		{
+			relatorios = 0;
+		}
+
+		String configuracao = String.format(Locale.US,
+				"Alvo: %s:%d | conexoes: %d | keep-alive: %s | duracao: %ds (+%ds de aquecimento) | taxa: %s%n"
+						+ "Mix: %d arquivos estaticos, %d paginas de relatorio (%d%% das requisicoes)",
+				host, porta, conexoes, keepAlive ? "sim" : "nao", duracao, aquecimento,
+				taxa > 0 ? String.format(Locale.US, "%.0f req/s", taxa) : "maxima", estaticos.size(), paginas.size(),
+				relatorios);
+		System.out.println("Gerador de carga - " + configuracao);
+
+		InetSocketAddress endereco = new InetSocketAddress(host, porta);
+		long inicio = System.nanoTime();
+		long medirDesde = inicio + aquecimento * 1000000000L;
+		long fim = medirDesde + duracao * 1000000000L;
+		long intervalo = taxa > 0 ? (long) (conexoes * 1e9 / taxa) : 0;
+		Cliente[] clientes = new Cliente[conexoes];
+		Thread[] threads = new Thread[conexoes];
+		for (int i = 0; i < conexoes; i++)
+		{
+			clientes[i] = new Cliente(i, endereco, host, estaticos, paginas, relatorios, keepAlive, timeout,
+					intervalo, medirDesde, fim);
+			threads[i] = new Thread(clientes[i], "carga-" + i);
+			threads[i].start();
+		}
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		Cliente soma = new Cliente(-1, endereco, host, estaticos, paginas, relatorios, keepAlive, timeout, intervalo,
+				medirDesde, fim);
+		for (Cliente cliente : clientes)
+		{
+			soma.somar(cliente);
+		}
+		String relatorio = relatorio(configuracao, soma, duracao);
+		System.out.print(relatorio);
+
+		File arquivo = new File(saida.isEmpty()
+				? "build/carga/carga-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".txt" : saida);
+		if (arquivo.getParentFile() != null)
+		{
+			arquivo.getParentFile().mkdirs();
+		}
+		try (PrintWriter out = new PrintWriter(new FileWriter(arquivo)))
+		{
+			out.print(relatorio);
+		}
+		System.out.println("Relatorio gravado em " + arquivo.getPath());
+	}
+
+	/**
+	 * Monta o relatorio da carga: vazao, codigos de status, resumo das latencias e distribuicao de percentis.
+	 * @param configuracao : descricao da carga executada
+	 * @param soma : resultados de todas as conexoes
+	 * @param duracao : duracao da medicao, em segundos
+	 * @return Texto do relatorio
+	 */
+	private static String relatorio(String configuracao, Cliente soma, int duracao)
+	{
+		StringWriter texto = new StringWriter();
+		PrintWriter out = new PrintWriter(texto);
+		out.println();
+		out.println("Relatorio de carga - " + new SimpleDateFormat("dd/MM/yyyy HH:mm:ss").format(new Date()));
+		out.println(configuracao);
+		out.println();
+		long requisicoes = soma.total.getTotal();
+		out.println(String.format(Locale.US, "Requisicoes: %d (%.1f req/s) | recebidos: %.1f MB (%.2f MB/s)", requisicoes,
+				(double) requisicoes / duracao, soma.bytes / 1048576.0, soma.bytes / 1048576.0 / duracao));
+		out.println("Erros de conexao: " + soma.erros + " | conexoes abertas: " + soma.conexoesAbertas);
+		StringBuilder status = new StringBuilder("Status:");
+		for (Map.Entry<Integer, Long> item : soma.status.entrySet())
+		{
+			status.append(' ').append(item.getKey()).append('=').append(item.getValue());
+		}
+		out.println(status);
+		out.println();
+		StringBuilder titulo = new StringBuilder(String.format(Locale.US, "%-12s %10s %10s", "Latencia(ms)", "total",
+				"media"));
+		for (double percentil : PERCENTIS)
+		{
+			titulo.append(String.format(Locale.US, " %9s", "p" + (percentil == (long) percentil
+					? String.valueOf((long) percentil) : String.valueOf(percentil))));
+		}
+		titulo.append(String.format(Locale.US, " %9s", "max"));
+		out.println(titulo);
+		resumo(out, "todas", soma.total);
+		resumo(out, "estaticos", soma.estaticos);
+		resumo(out, "relatorios", soma.relatorios);
+		out.println();
+		out.println("Distribuicao (todas)");
+		soma.total.distribuicao(out, 5);
+		out.flush();
+		return texto.toString();
+	}
+
+	/**
+	 * Escreve a linha de resumo de um histograma.
+	 */
+	private static void resumo(PrintWriter out, String nome, HistogramaLatencia histograma)
+	{
+		StringBuilder linha = new StringBuilder(String.format(Locale.US, "%-12s %10d %10.3f", nome,
+				histograma.getTotal(), histograma.getMedia() / 1000.0));
+		for (double percentil : PERCENTIS)
+		{
+			linha.append(String.format(Locale.US, " %9.3f", histograma.percentil(percentil) / 1000.0));
+		}
+		linha.append(String.format(Locale.US, " %9.3f", histograma.getMaior() / 1000.0));
+		out.println(linha);
+	}
+
+	/**
+	 * Lista os arquivos de uma pasta do wwwroot, recursivamente, exceto as paginas de erro.
+	 * @param pasta : pasta a listar
+	 * @param caminho : caminho da pasta na URL
+	 * @param urls : lista que recebe as URLs
+	 */
+	private static void listarArquivos(File pasta, String caminho, List<String> urls)
+	{
+		File[] arquivos = pasta.listFiles();
+		if (arquivos == null)
+		{
+			return;
+		}
+		for (File arquivo : arquivos)
+		{
+			String url = caminho + "/" + arquivo.getName();
+			if (arquivo.isDirectory())
+			{
+				if (!url.equals("/errors"))
+				{
+					listarArquivos(arquivo, url, urls);
+				}
+			} else if (!isRelatorio(url))
+			{
+				urls.add(url);
+			}
+		}
+	}
+
+	/**
+	 * Verifica se a URL e uma pagina montada pelo servidor, com o mesmo criterio do ProcessadorHTTP.
+	 */
+	private static boolean isRelatorio(String url)
+	{
+		String nome = url.substring(url.lastIndexOf('/') + 1).toLowerCase();
+		return (nome.contains("relatorio") && nome.contains(".htm")) || nome.equals("admin.html");
+	}
+
+	/**
+	 * Le a porta do servidor do info.properties da pasta atual, como o ControllerMain.
+	 * @return Porta configurada, ou PORTA_DEFAULT
+	 */
+	private static int portaConfigurada()
+	{
+		Properties prop = new Properties();
+		try (FileInputStream file = new FileInputStream("./info.properties"))
+		{
+			prop.load(file);
+			return Integer.parseInt(prop.getProperty("prop.server.porta", ""+PORTA_DEFAULT));
+		} catch (IOException | NumberFormatException e)
+		{
+			return PORTA_DEFAULT;
+		}
+	}
+
+	/**
+	 * Uma conexao da carga, atendida por uma thread, com os seus proprios histogramas e contadores.
+	 */
+	private static class Cliente implements Runnable
+	{
+
+		private final InetSocketAddress endereco;
+		private final byte[][] pedidosEstaticos;
+		private final byte[][] pedidosRelatorios;
+		private final int porcentagemRelatorios;
+		private final boolean keepAlive;
+		private final int timeout;
+		private final long intervalo;
+		private final long medirDesde;
+		private final long fim;
+		private final Random sorteio;
+		private final byte[] descarte = new byte[64 * 1024];
+		private final HistogramaLatencia total = new HistogramaLatencia();
+		private final HistogramaLatencia estaticos = new HistogramaLatencia();
+		private final HistogramaLatencia relatorios = new HistogramaLatencia();
+		private final TreeMap<Integer, Long> status = new TreeMap<Integer, Long>();
+		private long bytes = 0;
+		private long erros = 0;
+		private long conexoesAbertas = 0;
+		private Socket socket;
+		private InputStream in;
+		private OutputStream out;
+		private boolean fechar;
+
+		Cliente(int id, InetSocketAddress endereco, String host, List<String> estaticos, List<String> paginas,
+				int relatorios, boolean keepAlive, int timeout, long intervalo, long medirDesde, long fim)
+		{
+			this.endereco = endereco;
+			this.pedidosEstaticos = pedidos(estaticos, host, keepAlive);
+			this.pedidosRelatorios = pedidos(paginas, host, keepAlive);
+			this.porcentagemRelatorios = relatorios;
+			this.keepAlive = keepAlive;
+			this.timeout = timeout;
+			this.intervalo = intervalo;
+			this.medirDesde = medirDesde;
+			this.fim = fim;
+			this.sorteio = new Random(Dados.SEMENTE + id);
+		}
+
+		@Override
+		public void run()
+		{
+			long agendada = System.nanoTime();
+			while (true)
+			{
+				long agora = System.nanoTime();
+				if (agora >= fim)
+				{
+					break;
+				}
+				long inicio = agora;
+				if (intervalo > 0)
+				{
+					if (agendada > agora)
+					{
+						LockSupport.parkNanos(agendada - agora);
+					}
+					// Latencia a partir do horario agendado, mesmo que a requisicao saia atrasada
+					inicio = agendada;
+					agendada += intervalo;
+				}
+				boolean relatorio = sorteio.nextInt(100) < porcentagemRelatorios;
+				byte[][] pedidos = relatorio ? pedidosRelatorios : pedidosEstaticos;
+				byte[] pedido = pedidos[sorteio.nextInt(pedidos.length)];
+				try
+				{
+					int codigo = requisitar(pedido, inicio >= medirDesde);
+					if (inicio >= medirDesde)
+					{
+						long latencia = System.nanoTime() - inicio;
+						total.registrar(latencia);
+						(relatorio ? relatorios : estaticos).registrar(latencia);
+						Long contagem = status.get(codigo);
+						status.put(codigo, contagem == null ? 1 : contagem + 1);
+					}
+				} catch (IOException e)
+				{
+					desconectar();
+					if (inicio >= medirDesde)
+					{
+						erros++;
+					}
+				}
+			}
+			desconectar();
+		}
+
+		/**
+		 * Envia uma requisicao e le a resposta inteira, abrindo a conexao se necessario.
+		 * @param pedido : requisicao codificada
+		 * @param contar : se os bytes recebidos entram no relatorio
+		 * @return Codigo de status da resposta
+		 * @throws IOException
+		 */
+		private int requisitar(byte[] pedido, boolean contar) throws IOException
+		{
+			if (socket == null)
+			{
+				socket = new Socket();
+				socket.setTcpNoDelay(true);
+				socket.connect(endereco, timeout);
+				socket.setSoTimeout(timeout);
+				in = new BufferedInputStream(socket.getInputStream(), descarte.length);
+				out = socket.getOutputStream();
+				conexoesAbertas++;
+			}
+			out.write(pedido);
+			out.flush();
+
+			String linha = lerLinha();
+			if (linha == null)
+			{
+				throw new EOFException("Conexao encerrada pelo servidor");
+			}
+			int codigo = Integer.parseInt(linha.split(" ", 3)[1]);
+			long tamanho = -1;
+			fechar = !keepAlive;
+			while ((linha = lerLinha()) != null && !linha.isEmpty())
+			{
+				int sep = linha.indexOf(':');
+				if (sep > 0)
+				{
+					String nome = linha.substring(0, sep).trim();
+					String valor = linha.substring(sep + 1).trim();
+					if (nome.equalsIgnoreCase("Content-length"))
+					{
+						tamanho = Long.parseLong(valor);
+					} else if (nome.equalsIgnoreCase("Connection") && valor.equalsIgnoreCase("close"))
+					{
+						fechar = true;
+					}
+				}
+			}
+			long recebidos = 0;
+			if (tamanho < 0)
+			{
+				// Sem Content-length: o corpo vai ate o fim da conexao
+				int lidos;
+				while ((lidos = in.read(descarte)) > 0)
+				{
+					recebidos += lidos;
+				}
+				fechar = true;
+			} else
+			{
+				while (recebidos < tamanho)
+				{
+					int lidos = in.read(descarte, 0, (int) Math.min(descarte.length, tamanho - recebidos));
+					if (lidos < 0)
+					{
+						throw new EOFException("Corpo incompleto: " + recebidos + " de " + tamanho + " bytes");
+					}
+					recebidos += lidos;
+				}
+			}
+			if (contar)
+			{
+				bytes += recebidos;
+			}
+			if (fechar)
+			{
+				desconectar();
+			}
+			return codigo;
+		}
+
+		/**
+		 * Le uma linha do cabecalho da resposta, sem o CRLF.
+		 * @return Linha lida, ou null no fim da conexao
+		 * @throws IOException
+		 */
+		private String lerLinha() throws IOException
+		{
+			StringBuilder linha = new StringBuilder(64);
+			int c;
+			while ((c = in.read()) >= 0)
+			{
+				if (c == '\n')
+				{
+					int fimLinha = linha.length();
+					if (fimLinha > 0 && linha.charAt(fimLinha - 1) == '\r')
+					{
+						linha.setLength(fimLinha - 1);
+					}
+					return linha.toString();
+				}
+				linha.append((char) c);
+			}
+			return linha.length() == 0 ? null : linha.toString();
+		}
+
+		private void desconectar()
+		{
+			if (socket != null)
+			{
+				try
+				{
+					socket.close();
+				} catch (IOException e)
+				{
+					// conexao ja encerrada
+				}
+				socket = null;
+			}
+		}
+
+		/**
+		 * Soma os resultados de outra conexao a esta.
+		 */
+		private void somar(Cliente outro)
+		{
+			total.somar(outro.total);
+			estaticos.somar(outro.estaticos);
+			relatorios.somar(outro.relatorios);
+			for (Map.Entry<Integer, Long> item : outro.status.entrySet())
+			{
+				Long contagem = status.get(item.getKey());
+				status.put(item.getKey(), contagem == null ? item.getValue() : contagem + item.getValue());
+			}
+			bytes += outro.bytes;
+			erros += outro.erros;
+			conexoesAbertas += outro.conexoesAbertas;
+		}
+
+		/**
+		 * Codifica as requisicoes de cada URL uma unica vez, para o custo do cliente nao entrar na medicao.
+		 */
+		private static byte[][] pedidos(List<String> urls, String host, boolean keepAlive)
+		{
+			byte[][] pedidos = new byte[urls.size()][];
+			for (int i = 0; i < pedidos.length; i++)
+			{
+				pedidos[i] = ("GET " + urls.get(i) + " HTTP/1.1\r\nHost: " + host + "\r\nUser-Agent: GeradorCarga\r\n"
+						+ "Connection: " + (keepAlive ? "keep-alive" : "close") + "\r\n\r\n")
+								.getBytes(StandardCharsets.ISO_8859_1);
+			}
+			return pedidos;
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package benchmarks;
+
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Classe de histograma de latencias com faixas log-lineares, no modelo do HdrHistogram: valores ate 127 microssegundos
+ * tem faixa exata e, acima disso, cada potencia de 2 e dividida em 64 faixas, com erro relativo maximo de 1,6%.
+ * Registrar um valor e um incremento em um vetor de tamanho fixo, sem alocacao; cada thread do GeradorCarga tem o seu
+ * histograma, somados no final.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param EXATOS : [CONSTANT] valores com faixa exata
+ * @param SUBFAIXAS : [CONSTANT] faixas por potencia de 2, acima dos valores exatos
+ * @param MAXIMO : [CONSTANT] maior valor registrado, em microssegundos (valores acima sao registrados como o maximo)
+ * @param contagens : contagem de cada faixa
+ * @param total : total de valores registrados
+ * @param soma : soma dos valores registrados, em microssegundos
+ * @param maior : maior valor registrado, em microssegundos
+ */
+
+public class HistogramaLatencia
+{
+
+	private static final int EXATOS = 128;
+	private static final int SUBFAIXAS = 64;
+	private static final long MAXIMO = 3600L * 1000 * 1000;
+	private final long[] contagens = new long[indice(MAXIMO) + 1];
+	private long total = 0;
+	private long soma = 0;
+	private long maior = 0;
+
+	/**
+	 * Registra uma latencia.
+	 * @param nanos : latencia, em nanossegundos
+	 */
+	public void registrar(long nanos)
+	{
+		long micros = Math.min(MAXIMO, Math.max(0, nanos / 1000));
+		contagens[indice(micros)]++;
+		total++;
+		soma += micros;
+		maior = Math.max(maior, micros);
+	}
+
+	/**
+	 * Soma os valores de outro histograma a este.
+	 * @param outro : histograma a somar
+	 */
+	public void somar(HistogramaLatencia outro)
+	{
+		for (int i = 0; i < contagens.length; i++)
+		{
+			contagens[i] += outro.contagens[i];
+		}
+		total += outro.total;
+		soma += outro.soma;
+		maior = Math.max(maior, outro.maior);
+	}
+
+	/**
+	 * Retorna o valor abaixo do qual (inclusive) esta a fracao pedida das latencias.
+	 * @param percentil : percentil, de 0 a 100
+	 * @return Latencia do percentil, em microssegundos (limite superior da faixa), ou 0 se vazio
+	 */
+	public long percentil(double percentil)
+	{
+		if (total == 0)
+		{
+			return 0;
+		}
+		long alvo = Math.max(1, (long) Math.ceil(percentil / 100.0 * total));
+		long acumulado = 0;
+		for (int i = 0; i < contagens.length; i++)
+		{
+			acumulado += contagens[i];
+			if (acumulado >= alvo)
+			{
+				return Math.min(maior, limiteSuperior(i));
+			}
+		}
+		return maior;
+	}
+
+	/**
+	 * Retorna o total de latencias registradas.
+	 * @return total
+	 */
+	public long getTotal()
+	{
+		return total;
+	}
+
+	/**
+	 * Retorna a latencia media.
+	 * @return media, em microssegundos
+	 */
+	public double getMedia()
+	{
+		return total == 0 ? 0 : (double) soma / total;
+	}
+
+	/**
+	 * Retorna a maior latencia registrada.
+	 * @return maior latencia, em microssegundos
+	 */
+	public long getMaior()
+	{
+		return maior;
+	}
+
+	/**
+	 * Escreve a distribuicao de percentis, como o outputPercentileDistribution do HdrHistogram: a cada linha a distancia
+	 * ate 100% cai pela metade, com mais detalhe na cauda.
+	 * @param out : destino
+	 * @param passos : linhas por metade da distancia ate 100%
+	 */
+	public void distribuicao(PrintWriter out, int passos)
+	{
+		out.println(String.format(Locale.US, "%14s %12s %14s", "Latencia(ms)", "Percentil", "Contagem"));
+		if (total == 0)
+		{
+			return;
+		}
+		double percentil = 0;
+		double distancia = 100;
+		while (true)
+		{
+			long valor = percentil(percentil);
+			out.println(String.format(Locale.US, "%14.3f %12.6f %14d", valor / 1000.0, percentil, contagemAte(valor)));
+			if (valor >= maior)
+			{
+				break;
+			}
+			percentil += distancia / 2 / passos;
+			if (percentil >= 100 - distancia / 2)
+			{
+				distancia /= 2;
+			}
+		}
+	}
+
+	/**
+	 * Conta as latencias registradas ate um valor.
+	 */
+	private long contagemAte(long valor)
+	{
+		long acumulado = 0;
+		for (int i = 0; i <= indice(valor); i++)
+		{
+			acumulado += contagens[i];
+		}
+		return acumulado;
+	}
+
+	/**
+	 * Retorna a faixa de um valor.
+	 * @param valor : valor, em microssegundos
+	 * @return Indice da faixa
+	 */
+	private static int indice(long valor)
+	{
+		if (valor < EXATOS)
+		{
+			return (int) valor;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(valor);
+		int deslocamento = magnitude - 6;
+		int sub = (int) (valor >>> deslocamento) - SUBFAIXAS;
+		return EXATOS + (magnitude - 7) * SUBFAIXAS + sub;
+	}
+
+	/**
+	 * Retorna o maior valor de uma faixa.
+	 * @param indice : indice da faixa
+	 * @return Limite superior da faixa, em microssegundos
+	 */
+	private static long limiteSuperior(int indice)
+	{
+		if (indice < EXATOS)
+		{
+			return indice;
+		}
+		int magnitude = (indice - EXATOS) / SUBFAIXAS + 7;
+		long sub = (indice - EXATOS) % SUBFAIXAS + SUBFAIXAS;
+		int deslocamento = magnitude - 6;
+		return ((sub + 1) << deslocamento) - 1;
+	}
+}
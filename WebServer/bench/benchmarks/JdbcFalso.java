@@ -0,0 +1,108 @@
+package benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Classe utilitaria que cria uma conexao JDBC em memoria, sem Banco de Dados: os comandos sao aceitos e descartados e
+ * as consultas retornam resultados vazios. Permite medir o custo do DAO (montagem dos comandos e conversao dos campos)
+ * sem a rede e o disco do DB; com -Dbench.jdbc a Bancada usa o DB real.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ */
+
+public final class JdbcFalso
+{
+
+	private JdbcFalso()
+	{
+	}
+
+	/**
+	 * Cria uma conexao falsa.
+	 * @return Conexao que descarta os comandos
+	 */
+	public static Connection conexao()
+	{
+		return criar(Connection.class);
+	}
+
+	/**
+	 * Cria um objeto JDBC falso da interface pedida.
+	 * @param tipo : interface JDBC
+	 * @return Objeto que responde com valores neutros
+	 */
+	private static <T> T criar(final Class<T> tipo)
+	{
+		return tipo.cast(Proxy.newProxyInstance(JdbcFalso.class.getClassLoader(), new Class<?>[] { tipo },
+				new InvocationHandler()
+				{
+					@Override
+					public Object invoke(Object proxy, Method metodo, Object[] args)
+					{
+						return responder(proxy, metodo);
+					}
+				}));
+	}
+
+	/**
+	 * Resposta de cada metodo: statements e result sets falsos, conexao sempre valida, consultas vazias e os valores
+	 * padrao dos tipos primitivos.
+	 */
+	private static Object responder(Object proxy, Method metodo)
+	{
+		Class<?> retorno = metodo.getReturnType();
+		switch (metodo.getName())
+		{
+			case "isValid":
+				return Boolean.TRUE;
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return Boolean.FALSE;
+			case "toString":
+				return "JdbcFalso";
+			case "executeBatch":
+				return new int[0];
+			default:
+				break;
+		}
+		if (retorno == PreparedStatement.class || retorno == Statement.class || retorno == ResultSet.class)
+		{
+			return criar(retorno);
+		}
+		if (retorno == boolean.class)
+		{
+			return Boolean.FALSE;
+		}
+		if (retorno == int.class)
+		{
+			return Integer.valueOf(0);
+		}
+		if (retorno == long.class)
+		{
+			return Long.valueOf(0);
+		}
+		if (retorno == double.class)
+		{
+			return Double.valueOf(0);
+		}
+		if (retorno == float.class)
+		{
+			return Float.valueOf(0);
+		}
+		if (retorno == short.class)
+		{
+			return Short.valueOf((short) 0);
+		}
+		if (retorno == byte.class)
+		{
+			return Byte.valueOf((byte) 0);
+		}
+		return null;
+	}
+}
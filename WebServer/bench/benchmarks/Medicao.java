@@ -0,0 +1,56 @@
+package benchmarks;
+
+/**
+ * Classe abstrata de uma operacao medida pela Bancada. A operacao e executada repetidamente; o valor retornado e
+ * consumido pela Bancada, para que o JIT nao elimine o trabalho medido.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param nome : nome da medicao, no formato grupo.operacao
+ */
+
+public abstract class Medicao
+{
+
+	private final String nome;
+
+	/**
+	 * Construtor principal da Medicao.
+	 * @param nome : nome da medicao, no formato grupo.operacao
+	 */
+	protected Medicao(String nome)
+	{
+		this.nome = nome;
+	}
+
+	/**
+	 * Retorna o nome da medicao.
+	 * @return nome da medicao
+	 */
+	public String getNome()
+	{
+		return nome;
+	}
+
+	/**
+	 * Prepara o estado da medicao, fora do tempo medido.
+	 * @throws Exception
+	 */
+	public void preparar() throws Exception
+	{
+	}
+
+	/**
+	 * Executa uma vez a operacao medida.
+	 * @return Resultado da operacao, consumido pela Bancada
+	 * @throws Exception
+	 */
+	public abstract Object executar() throws Exception;
+
+	/**
+	 * Libera o estado da medicao, fora do tempo medido.
+	 * @throws Exception
+	 */
+	public void encerrar() throws Exception
+	{
+	}
+}
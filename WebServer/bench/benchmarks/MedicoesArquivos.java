@@ -0,0 +1,131 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import controllers.sockets.CacheArquivos;
+import controllers.sockets.MapaArquivos;
+
+/**
+ * Classe com as medicoes do envio de arquivos estaticos, em cada faixa de tamanho: leitura do disco a cada requisicao,
+ * cache em memoria dos arquivos pequenos e mapeamento dos arquivos medios. Os arquivos sao gerados em uma pasta
+ * temporaria, com conteudo e tamanho fixos.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param PEQUENO : [CONSTANT] tamanho do arquivo pequeno, atendido pelo cache
+ * @param MEDIO : [CONSTANT] tamanho do arquivo medio, atendido pelo mapeamento
+ * @param BLOCO : [CONSTANT] tamanho do bloco de copia, o mesmo do SocketAdmin
+ */
+
+public final class MedicoesArquivos
+{
+
+	private static final int PEQUENO = 4 * 1024;
+	private static final int MEDIO = 256 * 1024;
+	private static final int BLOCO = 64 * 1024;
+
+	private MedicoesArquivos()
+	{
+	}
+
+	/**
+	 * Cria as medicoes do grupo.
+	 * @return Medicoes do grupo
+	 */
+	public static List<Medicao> criar()
+	{
+		List<Medicao> medicoes = new ArrayList<Medicao>();
+
+		medicoes.add(new MedicaoArquivo("arquivos.pequeno.disco", PEQUENO)
+		{
+			@Override
+			public Object executar() throws Exception
+			{
+				return Files.readAllBytes(arquivo.toPath());
+			}
+		});
+		medicoes.add(new MedicaoArquivo("arquivos.pequeno.cache", PEQUENO)
+		{
+			private final CacheArquivos cache = new CacheArquivos(16 * 1024 * 1024, 1024 * 1024);
+
+			@Override
+			public Object executar() throws Exception
+			{
+				return cache.ler(arquivo);
+			}
+		});
+		medicoes.add(new MedicaoArquivo("arquivos.medio.disco", MEDIO)
+		{
+			@Override
+			public Object executar() throws Exception
+			{
+				// Mesmo caminho do envio direto do disco: copia em blocos de tamanho fixo
+				long total = 0;
+				try (InputStream in = new FileInputStream(arquivo))
+				{
+					int lidos;
+					while ((lidos = in.read(bloco)) > 0)
+					{
+						total += lidos;
+					}
+				}
+				return total;
+			}
+		});
+		medicoes.add(new MedicaoArquivo("arquivos.medio.mapa", MEDIO)
+		{
+			private final MapaArquivos mapa = new MapaArquivos(64 * 1024, 16 * 1024 * 1024, 256 * 1024 * 1024);
+
+			@Override
+			public Object executar() throws Exception
+			{
+				// Mesmo caminho do SocketAdmin.enviarMapeado: copia do mapeamento em blocos
+				ByteBuffer mapeado = mapa.mapear(arquivo);
+				while (mapeado.hasRemaining())
+				{
+					mapeado.get(bloco, 0, Math.min(bloco.length, mapeado.remaining()));
+				}
+				return mapeado;
+			}
+		});
+		return medicoes;
+	}
+
+	/**
+	 * Medicao sobre um arquivo gerado em uma pasta temporaria, apagado ao encerrar.
+	 */
+	private abstract static class MedicaoArquivo extends Medicao
+	{
+
+		private final int tamanho;
+		private File pasta;
+		protected File arquivo;
+		protected final byte[] bloco = new byte[BLOCO];
+
+		MedicaoArquivo(String nome, int tamanho)
+		{
+			super(nome);
+			this.tamanho = tamanho;
+		}
+
+		@Override
+		public void preparar() throws IOException
+		{
+			pasta = Files.createTempDirectory("bancada").toFile();
+			arquivo = Dados.arquivo(pasta, "arquivo.bin", tamanho);
+		}
+
+		@Override
+		public void encerrar()
+		{
+			arquivo.delete();
+			pasta.delete();
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package benchmarks;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import models.AbstractLog;
+import models.LogAcc;
+import models.MetodoHTTP;
+import models.dao.ArmazemLogAcc;
+import models.dao.ArmazemLogAccArquivo;
+import models.dao.ArmazemLogAccSegmentos;
+import models.dao.DAOLogAcc;
+
+/**
+ * Classe com as medicoes dos logs de acesso: criacao do LogAcc a cada requisicao, leitura dos campos, texto de
+ * exibicao, leitura do formato antigo, gravacao em lote nos armazens embutidos e, com -Dbench.jdbc, gravacao no DB pelo
+ * DAOLogAcc, um a um e em lote.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param QUANTIDADE : [CONSTANT] numero de logs da massa de dados, usados em rodizio
+ * @param LOTE : [CONSTANT] logs por gravacao em lote, o padrao de prop.server.log.lote
+ * @param LOTES_ARMAZEM : [CONSTANT] lotes gravados no armazem embutido antes de recria-lo, para limitar o tamanho dos
+ *        arquivos
+ * @param SEGMENTO : [CONSTANT] registros por segmento, o padrao de prop.server.segmentos.registros
+ * @param SINCRONIA : [CONSTANT] intervalo do fsync dos segmentos, o padrao de prop.server.segmentos.sincronia
+ */
+
+public final class MedicoesLogs
+{
+
+	private static final int QUANTIDADE = 4096;
+	private static final int LOTE = 200;
+	private static final int LOTES_ARMAZEM = 1024;
+	private static final int SEGMENTO = 1024 * 1024;
+	private static final long SINCRONIA = 1000;
+
+	private MedicoesLogs()
+	{
+	}
+
+	/**
+	 * Cria as medicoes do grupo. As gravacoes pelo DAOLogAcc so sao criadas com -Dbench.jdbc: sobre a conexao falsa,
+	 * mediriam apenas a montagem dos parametros.
+	 * @return Medicoes do grupo
+	 */
+	public static List<Medicao> criar()
+	{
+		final ArrayList<LogAcc> logs = Dados.logs(QUANTIDADE);
+		final String[] textos = Dados.textos(QUANTIDADE);
+		List<Medicao> medicoes = new ArrayList<Medicao>();
+
+		medicoes.add(new Medicao("log.criar")
+		{
+			private int i = 0;
+
+			@Override
+			public Object executar()
+			{
+				LogAcc modelo = logs.get(i++ & (QUANTIDADE - 1));
+				return new LogAcc(System.currentTimeMillis(), modelo.getArquivo(), MetodoHTTP.GET, modelo.getIP(), 200);
+			}
+		});
+		medicoes.add(new Medicao("log.campos")
+		{
+			private int i = 0;
+
+			@Override
+			public Object executar()
+			{
+				LogAcc log = logs.get(i++ & (QUANTIDADE - 1));
+				return log.getArquivo().length() + log.getMetodo().ordinal() + log.getIP().length() + log.getCodigo();
+			}
+		});
+		medicoes.add(new Medicao("log.texto")
+		{
+			private int i = 0;
+
+			@Override
+			public Object executar()
+			{
+				return logs.get(i++ & (QUANTIDADE - 1)).getText();
+			}
+		});
+		medicoes.add(new Medicao("log.legado")
+		{
+			private int i = 0;
+
+			@Override
+			public Object executar()
+			{
+				LogAcc modelo = logs.get(i & (QUANTIDADE - 1));
+				return new LogAcc(modelo.getData(), textos[i++ & (QUANTIDADE - 1)]);
+			}
+		});
+		medicoes.add(new MedicaoArmazem("armazem.arquivo.incluirLote", logs, false));
+		medicoes.add(new MedicaoArmazem("armazem.segmentos.incluirLote", logs, true));
+		if (Bancada.isDBReal())
+		{
+			medicoes.add(new MedicaoDAO("dao.incluir")
+			{
+				@Override
+				public Object executar()
+				{
+					dao.setLog(logs.get(i++ & (QUANTIDADE - 1)));
+					dao.incluir(conn);
+					return dao;
+				}
+			});
+			medicoes.add(new MedicaoDAO("dao.incluirLote")
+			{
+				private final List<AbstractLog> lote = new ArrayList<AbstractLog>(LOTE);
+
+				@Override
+				public Object executar()
+				{
+					lote.clear();
+					for (int j = 0; j < LOTE; j++)
+					{
+						lote.add(logs.get(i++ & (QUANTIDADE - 1)));
+					}
+					dao.incluirLote(conn, lote);
+					return lote;
+				}
+			});
+		}
+		return medicoes;
+	}
+
+	/**
+	 * Medicao do DAOLogAcc sobre a conexao com o DB de -Dbench.jdbc.
+	 */
+	private abstract static class MedicaoDAO extends Medicao
+	{
+
+		protected final DAOLogAcc dao = new DAOLogAcc();
+		protected Connection conn;
+		protected int i = 0;
+
+		MedicaoDAO(String nome)
+		{
+			super(nome);
+		}
+
+		@Override
+		public void preparar() throws Exception
+		{
+			conn = Bancada.conexao();
+		}
+
+		@Override
+		public void encerrar() throws Exception
+		{
+			conn.close();
+		}
+	}
+
+	/**
+	 * Medicao da gravacao em lote em um armazem embutido, em uma pasta temporaria: o mesmo caminho do GravadorLogs com
+	 * prop.server.armazem=arquivo ou segmentos. O armazem e recriado periodicamente, para limitar o tamanho dos arquivos.
+	 */
+	private static class MedicaoArmazem extends Medicao
+	{
+
+		private final ArrayList<LogAcc> logs;
+		private final boolean segmentos;
+		private final List<AbstractLog> lote = new ArrayList<AbstractLog>(LOTE);
+		private File pasta;
+		private ArmazemLogAcc armazem;
+		private int i = 0;
+
+		MedicaoArmazem(String nome, ArrayList<LogAcc> logs, boolean segmentos)
+		{
+			super(nome);
+			this.logs = logs;
+			this.segmentos = segmentos;
+		}
+
+		@Override
+		public void preparar() throws Exception
+		{
+			pasta = Files.createTempDirectory("bancada").toFile();
+		}
+
+		@Override
+		public Object executar() throws Exception
+		{
+			if ((i++ & (LOTES_ARMAZEM - 1)) == 0)
+			{
+				apagar();
+				armazem = segmentos ? new ArmazemLogAccSegmentos(pasta, SEGMENTO, SINCRONIA, 0)
+						: new ArmazemLogAccArquivo(pasta);
+			}
+			lote.clear();
+			for (int j = 0; j < LOTE; j++)
+			{
+				lote.add(logs.get((i * LOTE + j) & (QUANTIDADE - 1)));
+			}
+			armazem.incluirLote(lote);
+			return lote;
+		}
+
+		private void apagar()
+		{
+			if (armazem != null)
+			{
+				armazem.fechar();
+			}
+			File[] arquivos = pasta.listFiles();
+			for (File arquivo : arquivos == null ? new File[0] : arquivos)
+			{
+				arquivo.delete();
+			}
+		}
+
+		@Override
+		public void encerrar()
+		{
+			apagar();
+			pasta.delete();
+		}
+	}
+}
@@ -0,0 +1,372 @@
+package benchmarks;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import controllers.sockets.CacheArquivos;
+import controllers.sockets.CacheRelatorios;
+import controllers.sockets.GeradorRelatorios;
+import controllers.sockets.MapaArquivos;
+import models.AbstractLog;
+import models.LogAcc;
+import models.LogSrv;
+import models.dao.ArmazemLogAcc;
+import models.dao.ArmazemLogAccArquivo;
+import models.dao.ArmazemLogAccDB;
+import models.dao.ArmazemLogAccSegmentos;
+import models.dao.ArmazemLogSrvArquivo;
+import models.dao.DAOLogAcc;
+import models.services.EstatisticasAcesso;
+import models.services.GravadorLogs;
+import models.services.ServiceLogAcc;
+import models.services.ServiceLogSrv;
+import models.utils.PoolConexoes;
+
+/**
+ * Classe com as medicoes dos dados dos relatorios: contabilizacao de um acesso nas estatisticas em memoria, consultas
+ * do ServiceLogAcc respondidas pelas estatisticas, pelos armazens embutidos e, com -Dbench.jdbc, as mesmas consultas
+ * feitas no DB, a montagem de cada pagina de relatorio pelo GeradorRelatorios e o acesso a uma pagina de relatorio ja
+ * montada no CacheRelatorios.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param QUANTIDADE : [CONSTANT] numero de logs contabilizados antes das consultas
+ * @param LOTE_CARGA : [CONSTANT] logs por lote na carga do DB de -Dbench.carga e dos armazens embutidos
+ * @param DESLOCAMENTO : [CONSTANT] avanco, em milissegundos, das datas a cada repeticao da massa de dados na carga do DB
+ * @param SEGMENTO : [CONSTANT] registros por segmento do armazem segmentos, para a massa de dados ocupar varios
+ * @param MEMORIA : [CONSTANT] consultas respondidas pelas estatisticas em memoria
+ * @param ARQUIVO : [CONSTANT] consultas no armazem arquivo, sem estatisticas
+ * @param SEGMENTOS : [CONSTANT] consultas no armazem segmentos, sem estatisticas
+ * @param DB : [CONSTANT] consultas no DB, sem estatisticas
+ * @param CONSULTAS : [CONSTANT] consultas do ServiceLogAcc usadas pelos relatorios
+ * @param PAGINAS : [CONSTANT] paginas montadas pelo GeradorRelatorios
+ * @param LOGS_SERVIDOR : [CONSTANT] logs de servidor gravados antes da montagem das paginas
+ */
+
+public final class MedicoesRelatorios
+{
+
+	private static final int QUANTIDADE = 100000;
+	private static final int LOTE_CARGA = 1000;
+	private static final long DESLOCAMENTO = 37L * 60 * 1000 + 1;
+	private static final int MEMORIA = 0;
+	private static final int ARQUIVO = 1;
+	private static final int SEGMENTOS = 2;
+	private static final int DB = 3;
+	private static final int SEGMENTO = 30000;
+	private static final String[] CONSULTAS = { "maisAcessados", "ipsFrequentes", "distintos", "reqsPorHora",
+			"reqsPorDia", "reqsPorMes", "lista404", "topErros" };
+	private static final String[] PAGINAS = { "dashboard", "relatorio01", "relatorio02", "relatorio03", "relatorio04",
+			"relatorio05", "relatorio06", "relatorio07", "relatorio08", "relatorio09", "relatorio10" };
+	private static final int LOGS_SERVIDOR = 1000;
+
+	private MedicoesRelatorios()
+	{
+	}
+
+	/**
+	 * Cria as medicoes do grupo. As consultas no DB so sao criadas com -Dbench.jdbc.
+	 * @return Medicoes do grupo
+	 */
+	public static List<Medicao> criar()
+	{
+		final ArrayList<LogAcc> logs = Dados.logs(QUANTIDADE);
+		List<Medicao> medicoes = new ArrayList<Medicao>();
+
+		medicoes.add(new Medicao("estatisticas.registrar")
+		{
+			private EstatisticasAcesso estatisticas;
+			private int i = 0;
+
+			@Override
+			public void preparar()
+			{
+				estatisticas = new EstatisticasAcesso();
+				estatisticas.ativar();
+			}
+
+			@Override
+			public Object executar()
+			{
+				LogAcc log = logs.get(i++ % QUANTIDADE);
+				estatisticas.registrar(log.getArquivo(), log.getIP(), log.getCodigo(), log.getData().getTime());
+				return estatisticas;
+			}
+		});
+		for (String consulta : CONSULTAS)
+		{
+			medicoes.add(new MedicaoServico("service.memoria." + consulta, consulta, logs, MEMORIA));
+		}
+		for (String consulta : CONSULTAS)
+		{
+			medicoes.add(new MedicaoServico("service.arquivo." + consulta, consulta, logs, ARQUIVO));
+		}
+		for (String consulta : CONSULTAS)
+		{
+			medicoes.add(new MedicaoServico("service.segmentos." + consulta, consulta, logs, SEGMENTOS));
+		}
+		if (Bancada.isDBReal())
+		{
+			for (String consulta : CONSULTAS)
+			{
+				medicoes.add(new MedicaoServico("service.db." + consulta, consulta, logs, DB));
+			}
+		}
+		for (String pagina : PAGINAS)
+		{
+			medicoes.add(new MedicaoPagina("relatorios." + pagina, pagina, logs));
+		}
+		medicoes.add(new Medicao("relatorios.cache")
+		{
+			private final CacheRelatorios cache = new CacheRelatorios(60000);
+			private final Callable<byte[]> gerador = new Callable<byte[]>()
+			{
+				@Override
+				public byte[] call()
+				{
+					return "<html><body>relatorio</body></html>".getBytes(StandardCharsets.UTF_8);
+				}
+			};
+
+			@Override
+			public Object executar() throws Exception
+			{
+				return cache.obter("admin", gerador);
+			}
+		});
+		return medicoes;
+	}
+
+	/**
+	 * Medicao de uma consulta do ServiceLogAcc. Com estatisticas, os logs da massa de dados sao contabilizados antes; no
+	 * armazens embutidos, gravados antes em uma pasta temporaria; no DB, a consulta vai ao DB, carregado com -Dbench.carga
+	 * logs se pedido. Cargas maiores que a massa de dados (ate 10000000 logs, para medir service.db.reqsPorHora no volume
+	 * de producao) repetem a massa com as datas deslocadas, para as horas e os dias nao se concentrarem nos mesmos.
+	 */
+	private static class MedicaoServico extends Medicao
+	{
+
+		private final String consulta;
+		private final ArrayList<LogAcc> logs;
+		private final int origem;
+		private PoolConexoes pool;
+		private File pasta;
+		private ArmazemLogAcc armazem;
+		private ServiceLogAcc service;
+
+		MedicaoServico(String nome, String consulta, ArrayList<LogAcc> logs, int origem)
+		{
+			super(nome);
+			this.consulta = consulta;
+			this.logs = logs;
+			this.origem = origem;
+		}
+
+		@Override
+		public void preparar() throws Exception
+		{
+			if (origem == ARQUIVO || origem == SEGMENTOS)
+			{
+				pasta = Files.createTempDirectory("bancada").toFile();
+				armazem = origem == ARQUIVO ? new ArmazemLogAccArquivo(pasta)
+						: new ArmazemLogAccSegmentos(pasta, SEGMENTO, 0, 0);
+				for (int inicio = 0; inicio < logs.size(); inicio += LOTE_CARGA)
+				{
+					armazem.incluirLote(new ArrayList<AbstractLog>(logs.subList(inicio,
+							Math.min(logs.size(), inicio + LOTE_CARGA))));
+				}
+			} else
+			{
+				pool = Bancada.pool();
+				armazem = new ArmazemLogAccDB(pool);
+			}
+			service = new ServiceLogAcc(armazem);
+			if (origem == MEMORIA)
+			{
+				service.carregarEstatisticas();
+				for (LogAcc log : logs)
+				{
+					service.contabilizar(log);
+				}
+			} else if (origem == DB && Bancada.getCarga() > 0)
+			{
+				carregarDB(Bancada.getCarga());
+			}
+		}
+
+		/**
+		 * Grava a quantidade de logs no DB, em lotes, uma unica vez por execucao da Bancada. A massa de dados e repetida
+		 * ate completar a quantidade, a cada volta com as datas avancadas de DESLOCAMENTO.
+		 */
+		private void carregarDB(int quantidade) throws Exception
+		{
+			if (!Bancada.marcarCarga())
+			{
+				return;
+			}
+			DAOLogAcc dao = new DAOLogAcc();
+			Connection conn = pool.emprestar();
+			try
+			{
+				List<AbstractLog> lote = new ArrayList<AbstractLog>(LOTE_CARGA);
+				for (int i = 0; i < quantidade; i++)
+				{
+					LogAcc log = logs.get(i % logs.size());
+					long volta = i / logs.size();
+					lote.add(volta == 0 ? log : new LogAcc(log.getData().getTime() + volta * DESLOCAMENTO,
+							log.getArquivo(), log.getMetodo(), log.getIP(), log.getCodigo()));
+					if (lote.size() == LOTE_CARGA || i == quantidade - 1)
+					{
+						if (!dao.incluirLote(conn, lote))
+						{
+							throw new IllegalStateException("Carga do DB interrompida em " + i + " logs");
+						}
+						lote.clear();
+					}
+				}
+			} finally
+			{
+				pool.devolver(conn);
+			}
+		}
+
+		@Override
+		public Object executar()
+		{
+			switch (consulta)
+			{
+				case "maisAcessados":
+					return service.listaMaisAcessados(10);
+				case "ipsFrequentes":
+					return service.listaIPsFrequentes(10);
+				case "distintos":
+					return service.listaDistintos();
+				case "reqsPorHora":
+					return service.reqsPorHora();
+				case "reqsPorDia":
+					return service.reqsPorDia();
+				case "reqsPorMes":
+					return service.reqsPorMes();
+				case "lista404":
+					return service.lista404(true);
+				default:
+					return service.listaTopErros();
+			}
+		}
+
+		@Override
+		public void encerrar()
+		{
+			armazem.fechar();
+			if (pool != null)
+			{
+				pool.fechar();
+			} else
+			{
+				File[] arquivos = pasta.listFiles();
+				for (File arquivo : arquivos == null ? new File[0] : arquivos)
+				{
+					arquivo.delete();
+				}
+				pasta.delete();
+			}
+		}
+	}
+
+	/**
+	 * Medicao da montagem de uma pagina pelo GeradorRelatorios, com os services como os do servidor com
+	 * prop.server.armazem=segmentos: armazem segmentos em uma pasta temporaria, com as estatisticas carregadas dele, e
+	 * logs de servidor no armazem arquivo. O tempo inclui as consultas e a montagem do HTML.
+	 */
+	private static class MedicaoPagina extends Medicao
+	{
+
+		private final String pagina;
+		private final ArrayList<LogAcc> logs;
+		private File pasta;
+		private ArmazemLogAccSegmentos armazemLA;
+		private ArmazemLogSrvArquivo armazemLS;
+		private GeradorRelatorios gerador;
+
+		MedicaoPagina(String nome, String pagina, ArrayList<LogAcc> logs)
+		{
+			super(nome);
+			this.pagina = pagina;
+			this.logs = logs;
+		}
+
+		@Override
+		public void preparar() throws Exception
+		{
+			pasta = Files.createTempDirectory("bancada").toFile();
+			armazemLA = new ArmazemLogAccSegmentos(pasta, SEGMENTO, 0, 0);
+			for (int inicio = 0; inicio < logs.size(); inicio += LOTE_CARGA)
+			{
+				armazemLA.incluirLote(new ArrayList<AbstractLog>(logs.subList(inicio,
+						Math.min(logs.size(), inicio + LOTE_CARGA))));
+			}
+			armazemLS = new ArmazemLogSrvArquivo(pasta);
+			List<AbstractLog> logsServidor = new ArrayList<AbstractLog>(LOGS_SERVIDOR);
+			for (int i = 0; i < LOGS_SERVIDOR; i++)
+			{
+				logsServidor.add(new LogSrv(new Date(logs.get(i).getData().getTime()), i % 10 == 0 ? "ServerON" : "NewConn"));
+			}
+			armazemLS.incluirLote(logsServidor);
+			ServiceLogAcc serviceAcc = new ServiceLogAcc(armazemLA);
+			serviceAcc.carregarEstatisticas();
+			ServiceLogSrv serviceSrv = new ServiceLogSrv(armazemLS);
+			GravadorLogs gravador = new GravadorLogs(serviceSrv, serviceAcc, 1, 1, 1000, GravadorLogs.POLITICA_DESCARTAR);
+			gerador = new GeradorRelatorios(serviceAcc, serviceSrv, new CacheArquivos(64L * 1024 * 1024, 1024 * 1024),
+					new MapaArquivos(64 * 1024, 64L * 1024 * 1024, 256L * 1024 * 1024), new CacheRelatorios(60000), null,
+					gravador, new ArrayList<String>());
+		}
+
+		@Override
+		public Object executar()
+		{
+			switch (pagina)
+			{
+				case "dashboard":
+					return gerador.dashboard();
+				case "relatorio01":
+					return gerador.relatorio01();
+				case "relatorio02":
+					return gerador.relatorio02();
+				case "relatorio03":
+					return gerador.relatorio03();
+				case "relatorio04":
+					return gerador.relatorio04();
+				case "relatorio05":
+					return gerador.relatorio05();
+				case "relatorio06":
+					return gerador.relatorio06();
+				case "relatorio07":
+					return gerador.relatorio07();
+				case "relatorio08":
+					return gerador.relatorio08();
+				case "relatorio09":
+					return gerador.relatorio09();
+				default:
+					return gerador.relatorio10();
+			}
+		}
+
+		@Override
+		public void encerrar()
+		{
+			armazemLA.fechar();
+			armazemLS.fechar();
+			File[] arquivos = pasta.listFiles();
+			for (File arquivo : arquivos == null ? new File[0] : arquivos)
+			{
+				arquivo.delete();
+			}
+			pasta.delete();
+		}
+	}
+}
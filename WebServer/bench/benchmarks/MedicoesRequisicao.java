@@ -0,0 +1,116 @@
+package benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import controllers.sockets.AnalisadorHTTP;
+import controllers.sockets.CabecalhosHTTP;
+import controllers.sockets.RespostaHTTP;
+
+/**
+ * Classe com as medicoes do caminho de uma requisicao nos motores de atendimento: leitura da requisicao (motor
+ * bloqueante e NIO) e montagem dos cabecalhos da resposta.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param QUANTIDADE : [CONSTANT] numero de requisicoes da massa de dados, usadas em rodizio
+ */
+
+public final class MedicoesRequisicao
+{
+
+	private static final int QUANTIDADE = 1024;
+
+	private MedicoesRequisicao()
+	{
+	}
+
+	/**
+	 * Cria as medicoes do grupo.
+	 * @return Medicoes do grupo
+	 */
+	public static List<Medicao> criar()
+	{
+		final String[] cabecas = Dados.requisicoes(QUANTIDADE);
+		final byte[][] recebidas = new byte[QUANTIDADE][];
+		for (int i = 0; i < QUANTIDADE; i++)
+		{
+			recebidas[i] = (cabecas[i] + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+		}
+		List<Medicao> medicoes = new ArrayList<Medicao>();
+
+		medicoes.add(new Medicao("requisicao.bio")
+		{
+			private final byte[] conexao = concatenar(recebidas);
+			private final AnalisadorHTTP analisador = new AnalisadorHTTP();
+			private int inicio = 0;
+
+			@Override
+			public Object executar()
+			{
+				// Mesmo caminho do SocketAdmin: um buffer por conexao, com as requisicoes em sequencia (keep-alive)
+				if (inicio == conexao.length)
+				{
+					inicio = 0;
+				}
+				inicio = analisador.analisar(conexao, inicio, conexao.length);
+				return analisador.getRequisicao();
+			}
+		});
+		medicoes.add(new Medicao("requisicao.nio")
+		{
+			private final AnalisadorHTTP analisador = new AnalisadorHTTP();
+			private int i = 0;
+
+			@Override
+			public Object executar()
+			{
+				// Mesmo caminho do SocketAdminNIO: cada requisicao no inicio do buffer da conexao
+				byte[] recebida = recebidas[i & (QUANTIDADE - 1)];
+				i++;
+				analisador.analisar(recebida, 0, recebida.length);
+				return analisador.getRequisicao();
+			}
+		});
+		medicoes.add(new Medicao("resposta.cabecalhos")
+		{
+			private long tamanho = 0;
+
+			@Override
+			public Object executar()
+			{
+				tamanho = (tamanho + 4099) & 0xFFFFF;
+				return CabecalhosHTTP.montar(200, "OK", "text/html", tamanho, null, null, true);
+			}
+		});
+		medicoes.add(new Medicao("resposta.keepalive")
+		{
+			private final byte[] corpo = new byte[2048];
+
+			@Override
+			public Object executar()
+			{
+				RespostaHTTP resposta = new RespostaHTTP(200, "OK", "text/html", corpo);
+				resposta.addCabecalho("Keep-Alive", "timeout=5, max=99");
+				return resposta.cabecalhos(true);
+			}
+		});
+		return medicoes;
+	}
+
+	/**
+	 * Junta as requisicoes em um unico fluxo, como recebidas em sequencia em uma conexao mantida aberta.
+	 * @param recebidas : requisicoes, cada uma terminada pela linha em branco
+	 * @return Fluxo da conexao
+	 */
+	private static byte[] concatenar(byte[][] recebidas)
+	{
+		ByteArrayOutputStream fluxo = new ByteArrayOutputStream();
+		for (byte[] recebida : recebidas)
+		{
+			fluxo.write(recebida, 0, recebida.length);
+		}
+		return fluxo.toByteArray();
+	}
+}
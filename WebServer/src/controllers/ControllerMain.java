@@ -2,22 +2,42 @@ package controllers;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Properties;
 
+import controllers.sockets.CacheArquivos;
+import controllers.sockets.CacheRelatorios;
+import controllers.sockets.CompressaoHTTP;
+import controllers.sockets.MapaArquivos;
+import controllers.sockets.PoolAtendimento;
+import controllers.sockets.ServidorWeb;
 import controllers.sockets.SocketAdmin;
+import controllers.sockets.SocketAdminNIO;
+import controllers.sockets.TiposMIME;
 import models.AbstractLog;
 import models.LogAcc;
+import models.MetodoHTTP;
 import models.LogSrv;
+import models.dao.ArmazemLogAcc;
+import models.dao.ArmazemLogAccArquivo;
+import models.dao.ArmazemLogAccDB;
+import models.dao.ArmazemLogAccSegmentos;
+import models.dao.ArmazemLogSrv;
+import models.dao.ArmazemLogSrvArquivo;
+import models.dao.ArmazemLogSrvDB;
+import models.services.GravadorLogs;
 import models.services.ServiceLogAcc;
 import models.services.ServiceLogSrv;
 import models.utils.ConnectorDB;
+import models.utils.MigradorDB;
+import models.utils.PoolConexoes;
 import views.ViewServiceAdmin;
 import views.buttons.ButtonTypes;
 
@@ -34,13 +54,48 @@ import views.buttons.ButtonTypes;
  * @param ACC : [CONSTANT] LogType para logs de ACESSO
  * @param DEBUG : [CONSTANT] define se os logs de console devem ser <b>verbose</b>
  * @param PORTA : porta em uso no servidor
+ * @param POOL_THREADS : numero de threads do pool que atende os clientes
+ * @param POOL_FILA : numero maximo de clientes aguardando na fila do pool
+ * @param THREADING : modo de atendimento dos clientes (pool ou virtual)
+ * @param ENGINE : motor de atendimento do service web (bio ou nio)
+ * @param NIO_LOOPS : numero de threads de eventos do motor nio
+ * @param KEEPALIVE_TIMEOUT : segundos que uma conexao persistente pode ficar ociosa
+ * @param KEEPALIVE_MAX : numero maximo de requisicoes por conexao persistente
+ * @param LOG_FILA : numero maximo de logs aguardando gravacao no DB
+ * @param LOG_LOTE : numero maximo de logs gravados no DB por lote
+ * @param LOG_INTERVALO : tempo maximo, em milissegundos, que um log espera para ser gravado no DB
+ * @param LOG_POLITICA : politica com a fila de logs cheia (descartar ou bloquear)
+ * @param CACHE_BYTES : total maximo de bytes no cache de arquivos do wwwroot
+ * @param CACHE_ARQUIVO_MAX : tamanho maximo de um arquivo para entrar no cache
+ * @param MMAP_MINIMO : tamanho minimo de um arquivo para ser servido mapeado na memoria
+ * @param MMAP_MAXIMO : tamanho maximo de um arquivo para ser servido mapeado na memoria (0 desativa)
+ * @param MMAP_TOTAL : total maximo de bytes mapeados na memoria
+ * @param RELATORIOS_VALIDADE : tempo, em milissegundos, que uma pagina de relatorio e servida sem consultar o DB
+ * @param ARMAZEM : armazem dos logs (db, no MySQL; arquivo ou segmentos, embutidos no processo e sem DB externo)
+ * @param ARMAZEM_PASTA : pasta dos arquivos do armazem embutido
+ * @param SEGMENTOS_REGISTROS : registros de acesso por segmento do armazem segmentos
+ * @param SEGMENTOS_SINCRONIA : intervalo, em milissegundos, do fsync periodico do armazem segmentos
+ * @param SEGMENTOS_RETENCAO : dias que um segmento fechado e mantido (0 mantem todos)
+ * @param MIME : arquivo de mapeamento das extensoes para MIME types
+ * @param COMPRESSAO : se os arquivos de texto e os relatorios sao enviados comprimidos aos clientes que aceitam
+ * @param COMPRESSAO_MINIMO : tamanho minimo, em bytes, de um arquivo ou relatorio para ser comprimido
  * @param servidor : ponteiro para o servidor
+ * @param pool : pool de conexoes com o DB, compartilhado pelos services (null com o armazem embutido)
+ * @param armazemLS : armazem dos logs de SERVIDOR
+ * @param armazemLA : armazem dos logs de ACESSO
+ * @param varreduras : nomes das consultas dos relatorios que varrem a tabela, conferidas pelo MigradorDB ao conectar
  * 
  * @param srvlog : service de logs de SERVIDOR
  * @param srvlog : service de logs de ACESSO
  * @param srvlog : lista de logs de SERVIDOR
  * @param acclog : lista de logs de ACESSO
  * @param mainlog : lista de logs completa
+ * @param gravador : gravador em lotes dos logs no DB
+ * @param cache : cache em memoria dos arquivos do wwwroot, mantido entre reinicios do service
+ * @param mapa : arquivos do wwwroot mapeados na memoria, mantidos entre reinicios do service
+ * @param cacheRelatorios : paginas de relatorio ja montadas
+ * @param tipos : registro de MIME types do wwwroot
+ * @param compressao : variantes comprimidas dos arquivos do wwwroot e dos relatorios
  * 
  * @param viewSAUI : ponteiro para o View de ServiceAdmin
  */
@@ -51,6 +106,32 @@ public final class ControllerMain implements ActionListener
     // VARIAVEIS DE AMBIENTE
 	private static final ControllerMain INSTANCE = new ControllerMain();
 	private static final int PORTA_DEFAULT = 80;
+	private static final int POOL_THREADS_DEFAULT = 50;
+	private static final int POOL_FILA_DEFAULT = 100;
+	private static final int NIO_LOOPS_DEFAULT = 2;
+	private static final int KEEPALIVE_TIMEOUT_DEFAULT = 5;
+	private static final int KEEPALIVE_MAX_DEFAULT = 100;
+	private static final int LOG_FILA_DEFAULT = 10000;
+	private static final int LOG_LOTE_DEFAULT = 200;
+	private static final int LOG_INTERVALO_DEFAULT = 500;
+	private static final long CACHE_BYTES_DEFAULT = 16 * 1024 * 1024;
+	private static final long CACHE_ARQUIVO_MAX_DEFAULT = 1024 * 1024;
+	private static final long MMAP_MINIMO_DEFAULT = 64 * 1024;
+	private static final long MMAP_MAXIMO_DEFAULT = 16 * 1024 * 1024;
+	private static final long MMAP_TOTAL_DEFAULT = 256 * 1024 * 1024;
+	private static final long RELATORIOS_VALIDADE_DEFAULT = 10000;
+	private static final String ARMAZEM_PASTA_DEFAULT = "dados";
+	private static final int SEGMENTOS_REGISTROS_DEFAULT = 1024 * 1024;
+	private static final long SEGMENTOS_SINCRONIA_DEFAULT = 1000;
+	private static final int SEGMENTOS_RETENCAO_DEFAULT = 0;
+	private static final String MIME_DEFAULT = "mime.properties";
+	private static final boolean COMPRESSAO_DEFAULT = true;
+	private static final long COMPRESSAO_MINIMO_DEFAULT = 1024;
+	public static final String ARMAZEM_DB = "db";
+	public static final String ARMAZEM_ARQUIVO = "arquivo";
+	public static final String ARMAZEM_SEGMENTOS = "segmentos";
+	public static final String ENGINE_BIO = "bio";
+	public static final String ENGINE_NIO = "nio";
     public static final int STARTED = 1;
     public static final int STOPPED = 2;
     public static final int UNKOWN = 3;
@@ -60,10 +141,38 @@ public final class ControllerMain implements ActionListener
     //public static final boolean VERBOSE = true;
     private static String VERSION;
     private static int PORTA;
+    private static int POOL_THREADS = POOL_THREADS_DEFAULT;
+    private static int POOL_FILA = POOL_FILA_DEFAULT;
+    private static String THREADING = PoolAtendimento.THREADING_POOL;
+    private static String ENGINE = ENGINE_BIO;
+    private static int NIO_LOOPS = NIO_LOOPS_DEFAULT;
+    private static int KEEPALIVE_TIMEOUT = KEEPALIVE_TIMEOUT_DEFAULT;
+    private static int KEEPALIVE_MAX = KEEPALIVE_MAX_DEFAULT;
+    private static int LOG_FILA = LOG_FILA_DEFAULT;
+    private static int LOG_LOTE = LOG_LOTE_DEFAULT;
+    private static int LOG_INTERVALO = LOG_INTERVALO_DEFAULT;
+    private static String LOG_POLITICA = GravadorLogs.POLITICA_DESCARTAR;
+    private static long CACHE_BYTES = CACHE_BYTES_DEFAULT;
+    private static long CACHE_ARQUIVO_MAX = CACHE_ARQUIVO_MAX_DEFAULT;
+    private static long MMAP_MINIMO = MMAP_MINIMO_DEFAULT;
+    private static long MMAP_MAXIMO = MMAP_MAXIMO_DEFAULT;
+    private static long MMAP_TOTAL = MMAP_TOTAL_DEFAULT;
+    private static long RELATORIOS_VALIDADE = RELATORIOS_VALIDADE_DEFAULT;
+    private static String ARMAZEM = ARMAZEM_DB;
+    private static String ARMAZEM_PASTA = ARMAZEM_PASTA_DEFAULT;
+    private static int SEGMENTOS_REGISTROS = SEGMENTOS_REGISTROS_DEFAULT;
+    private static long SEGMENTOS_SINCRONIA = SEGMENTOS_SINCRONIA_DEFAULT;
+    private static int SEGMENTOS_RETENCAO = SEGMENTOS_RETENCAO_DEFAULT;
+    private static String MIME = MIME_DEFAULT;
+    private static boolean COMPRESSAO = COMPRESSAO_DEFAULT;
+    private static long COMPRESSAO_MINIMO = COMPRESSAO_MINIMO_DEFAULT;
     private static String PATH;
-    private SocketAdmin servidor;
+    private ServidorWeb servidor;
 	private AbstractLog currentLog;
-    private Connection conn;
+    private PoolConexoes pool;
+    private ArmazemLogSrv armazemLS;
+    private ArmazemLogAcc armazemLA;
+    private List<String> varreduras = new ArrayList<String>();
 	
     // MODELS
     private ServiceLogSrv serviceLS;
@@ -71,6 +180,12 @@ public final class ControllerMain implements ActionListener
     private ArrayList<AbstractLog> srvlog;
     private ArrayList<AbstractLog> acclog;
     private ArrayList<AbstractLog> mainlog;
+    private GravadorLogs gravador;
+    private CacheArquivos cache;
+    private MapaArquivos mapa;
+    private CacheRelatorios cacheRelatorios;
+    private TiposMIME tipos;
+    private CompressaoHTTP compressao;
 
     // VIEWS
     private static ViewServiceAdmin viewSAUI;
@@ -83,6 +198,31 @@ public final class ControllerMain implements ActionListener
 			prop = getProp();
 			PORTA = Integer.parseInt(prop.getProperty("prop.server.porta"));
 			VERSION = prop.getProperty("prop.server.version");
+			POOL_THREADS = Integer.parseInt(prop.getProperty("prop.server.pool.threads", ""+POOL_THREADS_DEFAULT));
+			POOL_FILA = Integer.parseInt(prop.getProperty("prop.server.pool.fila", ""+POOL_FILA_DEFAULT));
+			THREADING = prop.getProperty("prop.server.threading", PoolAtendimento.THREADING_POOL).trim();
+			ENGINE = prop.getProperty("prop.server.engine", ENGINE_BIO).trim();
+			NIO_LOOPS = Integer.parseInt(prop.getProperty("prop.server.nio.loops", ""+NIO_LOOPS_DEFAULT));
+			KEEPALIVE_TIMEOUT = Integer.parseInt(prop.getProperty("prop.server.keepalive.timeout", ""+KEEPALIVE_TIMEOUT_DEFAULT));
+			KEEPALIVE_MAX = Integer.parseInt(prop.getProperty("prop.server.keepalive.max", ""+KEEPALIVE_MAX_DEFAULT));
+			LOG_FILA = Integer.parseInt(prop.getProperty("prop.server.log.fila", ""+LOG_FILA_DEFAULT));
+			LOG_LOTE = Integer.parseInt(prop.getProperty("prop.server.log.lote", ""+LOG_LOTE_DEFAULT));
+			LOG_INTERVALO = Integer.parseInt(prop.getProperty("prop.server.log.intervalo", ""+LOG_INTERVALO_DEFAULT));
+			LOG_POLITICA = prop.getProperty("prop.server.log.politica", GravadorLogs.POLITICA_DESCARTAR).trim();
+			CACHE_BYTES = Long.parseLong(prop.getProperty("prop.server.cache.bytes", ""+CACHE_BYTES_DEFAULT));
+			CACHE_ARQUIVO_MAX = Long.parseLong(prop.getProperty("prop.server.cache.arquivo.max", ""+CACHE_ARQUIVO_MAX_DEFAULT));
+			MMAP_MINIMO = Long.parseLong(prop.getProperty("prop.server.mmap.minimo", ""+MMAP_MINIMO_DEFAULT));
+			MMAP_MAXIMO = Long.parseLong(prop.getProperty("prop.server.mmap.maximo", ""+MMAP_MAXIMO_DEFAULT));
+			MMAP_TOTAL = Long.parseLong(prop.getProperty("prop.server.mmap.total", ""+MMAP_TOTAL_DEFAULT));
+			RELATORIOS_VALIDADE = Long.parseLong(prop.getProperty("prop.server.relatorios.validade", ""+RELATORIOS_VALIDADE_DEFAULT));
+			ARMAZEM = prop.getProperty("prop.server.armazem", ARMAZEM_DB).trim();
+			ARMAZEM_PASTA = prop.getProperty("prop.server.armazem.pasta", ARMAZEM_PASTA_DEFAULT).trim();
+			SEGMENTOS_REGISTROS = Integer.parseInt(prop.getProperty("prop.server.segmentos.registros", ""+SEGMENTOS_REGISTROS_DEFAULT));
+			SEGMENTOS_SINCRONIA = Long.parseLong(prop.getProperty("prop.server.segmentos.sincronia", ""+SEGMENTOS_SINCRONIA_DEFAULT));
+			SEGMENTOS_RETENCAO = Integer.parseInt(prop.getProperty("prop.server.segmentos.retencao", ""+SEGMENTOS_RETENCAO_DEFAULT));
+			MIME = prop.getProperty("prop.server.mime", MIME_DEFAULT).trim();
+			COMPRESSAO = Boolean.parseBoolean(prop.getProperty("prop.server.compressao", ""+COMPRESSAO_DEFAULT).trim());
+			COMPRESSAO_MINIMO = Long.parseLong(prop.getProperty("prop.server.compressao.minimo", ""+COMPRESSAO_MINIMO_DEFAULT));
 			String local = prop.getProperty("prop.server.uselocal");
 			if (DEBUG)
 			{
@@ -95,14 +235,30 @@ public final class ControllerMain implements ActionListener
 				PATH = "."+System.getProperty("file.separator");
 			}
 			
-			// Recupera as configs de BD e instancia a o ConnectorDB
-			conn = null;
-			ConnectorDB db = new ConnectorDB();
-			conn = db.getConnection(prop);
-			conn.setAutoCommit(false);
-			if (DEBUG)
+			// Armazem embutido: logs em arquivos na pasta de dados, sem conectar ao DB
+			pool = null;
+			if (ARMAZEM_ARQUIVO.equalsIgnoreCase(ARMAZEM) || ARMAZEM_SEGMENTOS.equalsIgnoreCase(ARMAZEM))
+			{
+				abrirArmazemArquivo(new File(PATH + ARMAZEM_PASTA));
+			} else
 			{
-				System.out.println("SYSINFO: " + "DB conectado: " + conn.toString());
+				// Recupera as configs de BD e instancia a o ConnectorDB
+				ConnectorDB db = new ConnectorDB();
+				pool = db.getPool(prop);
+				armazemLS = new ArmazemLogSrvDB(pool);
+				armazemLA = new ArmazemLogAccDB(pool);
+				if (DEBUG)
+				{
+					System.out.println("SYSINFO: " + "DB conectado: " + pool.getTotal() + " conexoes no pool");
+				}
+				// Atualiza o esquema do DB (indices dos relatorios) antes de atender
+				MigradorDB migrador = new MigradorDB();
+				int versao = migrador.migrar(pool);
+				varreduras = migrador.getVarreduras();
+				if (DEBUG)
+				{
+					System.out.println("SYSINFO: " + "Esquema do DB na versao " + versao);
+				}
 			}
 		} catch (IOException ioe) {
 			// Trata o erro, se ocorrer
@@ -126,6 +282,33 @@ public final class ControllerMain implements ActionListener
 		}
     }
     
+    /**
+     * Abre o armazem de logs embutido, sem DB externo: o servidor atende logo ao iniciar, sem esperar conexao.
+     * Com o armazem segmentos, os logs de acesso vao para os segmentos binarios e os do servidor para o diario.
+     * @param pasta : pasta dos arquivos do armazem
+     */
+    private void abrirArmazemArquivo(File pasta)
+    {
+		try
+		{
+			armazemLS = new ArmazemLogSrvArquivo(pasta);
+			if (ARMAZEM_SEGMENTOS.equalsIgnoreCase(ARMAZEM))
+			{
+				armazemLA = new ArmazemLogAccSegmentos(pasta, SEGMENTOS_REGISTROS, SEGMENTOS_SINCRONIA, SEGMENTOS_RETENCAO);
+			} else
+			{
+				armazemLA = new ArmazemLogAccArquivo(pasta);
+			}
+		} catch (IOException e)
+		{
+			throw new IllegalStateException("Armazem de logs nao aberto em " + pasta.getPath() + ": " + e.getMessage(), e);
+		}
+		if (DEBUG)
+		{
+			System.out.println("SYSINFO: " + "Armazem de logs embutido em " + pasta.getAbsolutePath());
+		}
+    }
+    
     /**
      * Retorna a instancia unica do Controller principal do servidor.
      * @return Instancia unica do Controller
@@ -149,10 +332,23 @@ public final class ControllerMain implements ActionListener
     	mainlog.clear();
     	
         // Services montam os logs recuperados no database
-    	serviceLS = new ServiceLogSrv(conn);
-        serviceLA = new ServiceLogAcc(conn);
+    	serviceLS = new ServiceLogSrv(armazemLS);
+        serviceLA = new ServiceLogAcc(armazemLA);
+        gravador = new GravadorLogs(serviceLS, serviceLA, LOG_FILA, LOG_LOTE, LOG_INTERVALO, LOG_POLITICA);
+        gravador.iniciar();
+        // No encerramento da JVM (janela fechada), grava a fila e so entao fecha os armazens
+        Runtime.getRuntime().addShutdownHook(new Thread("encerramento")
+        {
+            @Override
+            public void run()
+            {
+            	encerrar();
+            }
+        });
         srvlog = serviceLS.listaUltimos(20);
         acclog = serviceLA.listaUltimos(20);
+        // Estatisticas dos relatorios de acesso: carregadas uma vez e mantidas por generateLog
+        serviceLA.carregarEstatisticas();
         mainlog.addAll(srvlog);
         mainlog.addAll(acclog);
         if (DEBUG)
@@ -168,14 +364,40 @@ public final class ControllerMain implements ActionListener
         {
         	viewSAUI.addLog(log);
         }
+        // Consultas dos relatorios sem cobertura dos indices, conferidas ao conectar: um unico log, a lista fica na
+        // pagina de administracao
+        if (!varreduras.isEmpty())
+        {
+        	generateLog(SRV, "FullScan");
+        }
         
-        servidor = new SocketAdmin();
+        cache = new CacheArquivos(CACHE_BYTES, CACHE_ARQUIVO_MAX);
+        mapa = new MapaArquivos(MMAP_MINIMO, MMAP_MAXIMO, MMAP_TOTAL);
+        cacheRelatorios = new CacheRelatorios(RELATORIOS_VALIDADE);
+        tipos = new TiposMIME(new File(PATH + MIME));
+        compressao = new CompressaoHTTP(COMPRESSAO, COMPRESSAO_MINIMO, tipos);
+        servidor = criarServidor();
         if (DEBUG)
 		{
 			System.out.println("SYSINFO: " + servidor.toString());
 		}
     }
     
+    /**
+     * Encerra a gravacao dos logs: aguarda o gravador gravar a fila e fecha os armazens, que gravam o que esta pendente
+     * no disco (fsync do diario e do segmento ativo), e por ultimo o pool de conexoes com o DB.
+     */
+    private void encerrar()
+    {
+    	gravador.parar();
+    	armazemLA.fechar();
+    	armazemLS.fechar();
+    	if (pool != null)
+    	{
+    		pool.fechar();
+    	}
+    }
+    
     /**
      * Constroi as Views, em design pattern MVC.
      */
@@ -185,11 +407,31 @@ public final class ControllerMain implements ActionListener
         viewSAUI.setVisible(true);
     }
     
+    /**
+     * Cria o motor de atendimento do service web configurado em prop.server.engine.
+     * @return SocketAdminNIO para "nio", SocketAdmin (bloqueante) nos demais casos
+     */
+    private ServidorWeb criarServidor()
+    {
+    	ServidorWeb novo;
+    	if (ENGINE_NIO.equalsIgnoreCase(ENGINE))
+    	{
+    		novo = new SocketAdminNIO(POOL_THREADS, POOL_FILA, THREADING, NIO_LOOPS);
+    	} else
+    	{
+    		novo = new SocketAdmin(POOL_THREADS, POOL_FILA, THREADING);
+    	}
+    	novo.setKeepAlive(KEEPALIVE_TIMEOUT, KEEPALIVE_MAX);
+    	return novo;
+    }
+    
     /**
      * Inicializar o service web em uma Thread, separadamente da View.
      */
     private void startService()
     {
+    	// Escolhe o motor de atendimento a cada inicio, conforme a configuracao
+    	servidor = criarServidor();
     	// Usa uma Thread, para nao travar a view
     	new Thread()
     	{
@@ -305,34 +547,69 @@ public final class ControllerMain implements ActionListener
 		switch(tipo)
 		{
 		case SRV:
-			currentLog = new LogSrv(new Date(System.currentTimeMillis()), texto);
-			srvlog.add(currentLog);
-			mainlog.add(currentLog);
-			viewSAUI.addLog(currentLog);
-			// Registra o log no DB
-			serviceLS.incluir(currentLog);
+			publicar(new LogSrv(new Date(System.currentTimeMillis()), texto), srvlog);
 			break;
 			
 		case ACC:
-			currentLog = new LogAcc(new Date(System.currentTimeMillis()), texto);
-			acclog.add(currentLog);
-			mainlog.add(currentLog);
-			viewSAUI.addLog(currentLog);
-			// Registra o log no DB
-			serviceLA.incluir(currentLog);
+			// Texto no formato arquivo#metodo#ip#codigo; o atendimento usa generateLogAcesso
+			publicar(new LogAcc(new Date(System.currentTimeMillis()), texto), acclog);
 			break;
 			
 		default:
 			System.out.println("SYSERROR: Erro Desconhecido");
-			currentLog = new LogSrv(new Date(System.currentTimeMillis()), "UnkErr");
-			srvlog.add(currentLog);
-			mainlog.add(currentLog);
-			viewSAUI.addLog(currentLog);
-			// Registra o log no DB
-			serviceLS.incluir(currentLog);
+			publicar(new LogSrv(new Date(System.currentTimeMillis()), "UnkErr"), srvlog);
 			break;
 		}
 	}
+	
+	/**
+	 * Gera o LogAcc de uma requisicao atendida, com os campos ja separados.
+	 * 
+	 * @param arquivo : arquivo solicitado
+	 * @param metodo : metodo HTTP usado
+	 * @param ip : ip do cliente
+	 * @param codigo : codigo de retorno da requisicao
+	 */
+	public void generateLogAcesso(String arquivo, MetodoHTTP metodo, String ip, int codigo)
+	{
+		publicar(new LogAcc(System.currentTimeMillis(), arquivo, metodo, ip, codigo), acclog);
+	}
+	
+	/**
+	 * Adiciona o log nas listas e na View, atualiza as estatisticas de acesso e o envia para gravacao no DB.
+	 * 
+	 * @param log : log gerado
+	 * @param lista : lista de logs do tipo do log
+	 */
+	private void publicar(AbstractLog log, ArrayList<AbstractLog> lista)
+	{
+		synchronized (this)
+		{
+			currentLog = log;
+			lista.add(log);
+			mainlog.add(log);
+			viewSAUI.addLog(log);
+		}
+		if (log instanceof LogAcc)
+		{
+			serviceLA.contabilizar((LogAcc) log);
+		}
+		// Registra o log no DB em segundo plano, fora da thread de atendimento
+		gravador.registrar(log);
+	}
+
+	/**
+	 * Atualiza na View o estado do pool de threads que atende os clientes.
+	 * 
+	 * @param ativas : threads ocupadas atendendo clientes
+	 * @param total : total de threads do pool, ou negativo no modo de virtual threads
+	 * @param fila : clientes aguardando na fila
+	 * @param recusados : total de clientes recusados com erro 503
+	 */
+	public void reportarPool(int ativas, int total, int fila, long recusados)
+	{
+		viewSAUI.setPool(ativas, total, fila, recusados);
+	}
 
 	/**
 	 * Retorna as propriedades definidas no arquivo de configuracao do webserver.
@@ -356,6 +633,78 @@ public final class ControllerMain implements ActionListener
         return serviceLA;
     }
 
+	/**
+	 * Retorna os nomes das consultas dos relatorios que varrem a tabela, conferidas ao conectar ao DB.
+	 * @return consultas sem cobertura dos indices (vazia com o armazem embutido)
+	 */
+	public List<String> getVarreduras()
+	{
+		return varreduras;
+	}
+	
+	/**
+	 * Retorna o gravador em lotes dos logs do webserver, com os contadores de logs gravados e descartados.
+	 * @return GravadorLogs do webserver
+	 */
+	public GravadorLogs getGravador()
+	{
+        return gravador;
+    }
+
+	/**
+	 * Retorna o cache de arquivos do wwwroot do webserver, com os contadores de acertos, faltas e remocoes.
+	 * @return CacheArquivos do webserver
+	 */
+	public CacheArquivos getCache()
+	{
+        return cache;
+    }
+
+	/**
+	 * Retorna os arquivos do wwwroot mapeados na memoria, com os contadores de acertos e remapeamentos.
+	 * @return MapaArquivos do webserver
+	 */
+	public MapaArquivos getMapa()
+	{
+        return mapa;
+    }
+
+	/**
+	 * Retorna o cache das paginas de relatorio do webserver, com os contadores de acertos e montagens.
+	 * @return CacheRelatorios do webserver
+	 */
+	public CacheRelatorios getCacheRelatorios()
+	{
+        return cacheRelatorios;
+    }
+
+	/**
+	 * Retorna o registro de MIME types do webserver, montado uma vez na inicializacao.
+	 * @return TiposMIME do webserver
+	 */
+	public TiposMIME getTipos()
+	{
+        return tipos;
+    }
+
+	/**
+	 * Retorna a compressao das respostas do webserver, com os contadores de arquivos gerados e respostas comprimidas.
+	 * @return CompressaoHTTP do webserver
+	 */
+	public CompressaoHTTP getCompressao()
+	{
+        return compressao;
+    }
+
+	/**
+	 * Retorna o pool de conexoes com o DB do webserver, com as metricas de espera e vazamento.
+	 * @return PoolConexoes do webserver, ou null com o armazem de logs embutido
+	 */
+	public PoolConexoes getPool()
+	{
+        return pool;
+    }
+
 	/**
 	 * Retorna o service de LogSrv do webserver.
 	 * @return ServiceLogSrv do webserver
@@ -0,0 +1,394 @@
+package controllers.sockets;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Classe que analisa as requisicoes HTTP/1.1 direto dos bytes recebidos pelos motores, sem decodificar a conexao em
+ * caracteres: acha o fim do bloco de cabecalho (continuando de onde parou quando os dados chegam aos poucos) e separa
+ * metodo, arquivo, query, versao e cabecalhos. Metodos, versoes e nomes de cabecalho conhecidos sao constantes, e os
+ * arquivos e valores de cabecalho vem de tabelas compartilhadas de textos ja vistos, conferidas pelos bytes; assim as
+ * requisicoes repetidas (os mesmos arquivos, o mesmo navegador) nao criam Strings. Linhas longas demais e cabecalhos
+ * demais tornam a requisicao invalida. Cada conexao usa o seu analisador.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param INCOMPLETA : [CONSTANT] retorno de analisar() quando o bloco de cabecalho ainda nao chegou inteiro
+ * @param INVALIDA : [CONSTANT] retorno de analisar() quando a requisicao passa dos limites
+ * @param LIMITE_CABECALHO : [CONSTANT] tamanho maximo do bloco de cabecalho, conferido pelos motores
+ * @param LIMITE_LINHA : [CONSTANT] tamanho maximo de uma linha do bloco de cabecalho
+ * @param LIMITE_CABECALHOS : [CONSTANT] numero maximo de cabecalhos de uma requisicao
+ * @param METODOS : [CONSTANT] metodos HTTP conhecidos
+ * @param VERSOES : [CONSTANT] versoes do HTTP conhecidas
+ * @param NOMES : [CONSTANT] nomes de cabecalho conhecidos, em minusculas
+ * @param ARQUIVOS : [CONSTANT] arquivos ja solicitados, pelos bytes em minusculas
+ * @param VALORES : [CONSTANT] valores de cabecalho ja recebidos, pelos bytes
+ * @param varrido : bytes do bloco atual ja percorridos na procura do fim
+ * @param linha : inicio da linha atual do bloco
+ * @param inicioRequisicao : inicio da linha de requisicao, depois das linhas em branco soltas
+ * @param vazio : se ainda nao chegou a linha de requisicao
+ * @param requisicao : ultima requisicao analisada
+ */
+
+public class AnalisadorHTTP
+{
+
+	public static final int INCOMPLETA = -1;
+	public static final int INVALIDA = -2;
+	static final int LIMITE_CABECALHO = 16384;
+	public static final int LIMITE_LINHA = 8192;
+	public static final int LIMITE_CABECALHOS = 100;
+	private static final String[] METODOS = { "GET", "HEAD", "POST", "PUT", "DELETE", "OPTIONS", "TRACE", "PATCH",
+			"CONNECT" };
+	private static final String[] VERSOES = { "HTTP/1.1", "HTTP/1.0" };
+	private static final String[] NOMES = { "host", "connection", "accept", "accept-encoding", "accept-language",
+			"user-agent", "referer", "cookie", "cache-control", "pragma", "if-none-match", "if-modified-since", "range",
+			"if-range", "upgrade-insecure-requests", "dnt", "origin", "keep-alive", "content-length", "content-type",
+			"sec-fetch-dest", "sec-fetch-mode", "sec-fetch-site", "sec-fetch-user" };
+	private static final Textos ARQUIVOS = new Textos(1024, 256, true, StandardCharsets.UTF_8);
+	private static final Textos VALORES = new Textos(2048, 512, false, StandardCharsets.ISO_8859_1);
+	private int varrido = 0;
+	private int linha = 0;
+	private int inicioRequisicao = 0;
+	private boolean vazio = true;
+	private RequisicaoHTTP requisicao;
+
+	/**
+	 * Analisa o bloco de cabecalho que comeca em dados[inicio]. Enquanto o bloco esta incompleto, as chamadas seguintes
+	 * com o mesmo inicio continuam a procura de onde pararam.
+	 * @param dados : bytes recebidos
+	 * @param inicio : inicio da requisicao nos dados
+	 * @param fim : fim dos bytes recebidos
+	 * @return Posicao depois da linha em branco que fecha o bloco (a requisicao fica em getRequisicao(), null se a
+	 *         linha de requisicao nao pode ser compreendida), INCOMPLETA ou INVALIDA
+	 */
+	public int analisar(byte[] dados, int inicio, int fim)
+	{
+		for (int i = inicio + varrido; i < fim; i++)
+		{
+			if (dados[i] != '\n')
+			{
+				continue;
+			}
+			int fimLinha = i > inicio + linha && dados[i - 1] == '\r' ? i - 1 : i;
+			if (fimLinha - (inicio + linha) > LIMITE_LINHA)
+			{
+				return reiniciar(INVALIDA);
+			}
+			if (fimLinha == inicio + linha)
+			{
+				if (!vazio)
+				{
+					// Linha em branco: fim do bloco
+					int resultado = separar(dados, inicio + inicioRequisicao, fimLinha) ? i + 1 : INVALIDA;
+					return reiniciar(resultado);
+				}
+				// CRLF solto entre requisicoes
+				inicioRequisicao = i + 1 - inicio;
+			} else
+			{
+				vazio = false;
+			}
+			linha = i + 1 - inicio;
+		}
+		varrido = fim - inicio;
+		if (fim - (inicio + linha) > LIMITE_LINHA)
+		{
+			return reiniciar(INVALIDA);
+		}
+		return INCOMPLETA;
+	}
+
+	/**
+	 * Retorna a requisicao do ultimo bloco analisado.
+	 * @return Requisicao, ou null se a linha de requisicao nao pode ser compreendida
+	 */
+	public RequisicaoHTTP getRequisicao()
+	{
+		return requisicao;
+	}
+
+	private int reiniciar(int resultado)
+	{
+		varrido = 0;
+		linha = 0;
+		inicioRequisicao = 0;
+		vazio = true;
+		if (resultado == INVALIDA)
+		{
+			requisicao = null;
+		}
+		return resultado;
+	}
+
+	/**
+	 * Separa a linha de requisicao e os cabecalhos do bloco completo.
+	 * @param dados : bytes recebidos
+	 * @param inicio : inicio da linha de requisicao
+	 * @param fim : inicio da linha em branco final
+	 * @return Se a requisicao respeita os limites
+	 */
+	private boolean separar(byte[] dados, int inicio, int fim)
+	{
+		int fimLinha = proximaLinha(dados, inicio, fim);
+		requisicao = linhaRequisicao(dados, inicio, fimLinha(dados, inicio, fimLinha));
+		int cabecalhos = 0;
+		for (int a = fimLinha; a < fim; a = fimLinha)
+		{
+			fimLinha = proximaLinha(dados, a, fim);
+			if (++cabecalhos > LIMITE_CABECALHOS)
+			{
+				return false;
+			}
+			if (requisicao != null)
+			{
+				cabecalho(dados, a, fimLinha(dados, a, fimLinha));
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Retorna o inicio da linha seguinte.
+	 */
+	private static int proximaLinha(byte[] dados, int inicio, int fim)
+	{
+		int i = inicio;
+		while (i < fim && dados[i] != '\n')
+		{
+			i++;
+		}
+		return Math.min(i + 1, fim);
+	}
+
+	/**
+	 * Retorna o fim do conteudo de uma linha, sem o CRLF.
+	 */
+	private static int fimLinha(byte[] dados, int inicio, int proxima)
+	{
+		int fim = proxima;
+		if (fim > inicio && dados[fim - 1] == '\n')
+		{
+			fim--;
+		}
+		if (fim > inicio && dados[fim - 1] == '\r')
+		{
+			fim--;
+		}
+		return fim;
+	}
+
+	/**
+	 * Le a linha de requisicao, no formato "METODO /arquivo?query HTTP/1.1".
+	 * @return Requisicao, ou null se faltar o metodo ou o arquivo
+	 */
+	private static RequisicaoHTTP linhaRequisicao(byte[] dados, int inicio, int fim)
+	{
+		int metodo = pularEspacos(dados, inicio, fim);
+		int fimMetodo = token(dados, metodo, fim);
+		int alvo = pularEspacos(dados, fimMetodo, fim);
+		int fimAlvo = token(dados, alvo, fim);
+		int versao = pularEspacos(dados, fimAlvo, fim);
+		int fimVersao = token(dados, versao, fim);
+		if (fimMetodo == metodo || fimAlvo == alvo)
+		{
+			return null;
+		}
+		int interrogacao = alvo;
+		while (interrogacao < fimAlvo && dados[interrogacao] != '?')
+		{
+			interrogacao++;
+		}
+		String query = interrogacao < fimAlvo
+				? new String(dados, interrogacao + 1, fimAlvo - interrogacao - 1, StandardCharsets.UTF_8)
+				: null;
+		return new RequisicaoHTTP(constante(METODOS, dados, metodo, fimMetodo, false),
+				ARQUIVOS.obter(dados, alvo, interrogacao), query,
+				fimVersao == versao ? "HTTP/1.0" : constante(VERSOES, dados, versao, fimVersao, false));
+	}
+
+	/**
+	 * Le uma linha de cabecalho "Nome: valor". Linhas sem ':' e continuacoes (linhas iniciadas por espaco) sao
+	 * ignoradas.
+	 */
+	private void cabecalho(byte[] dados, int inicio, int fim)
+	{
+		if (inicio == fim || espaco(dados[inicio]))
+		{
+			return;
+		}
+		int sep = inicio;
+		while (sep < fim && dados[sep] != ':')
+		{
+			sep++;
+		}
+		int fimNome = sep;
+		while (fimNome > inicio && espaco(dados[fimNome - 1]))
+		{
+			fimNome--;
+		}
+		if (sep == fim || fimNome == inicio)
+		{
+			return;
+		}
+		int valor = pularEspacos(dados, sep + 1, fim);
+		int fimValor = fim;
+		while (fimValor > valor && espaco(dados[fimValor - 1]))
+		{
+			fimValor--;
+		}
+		requisicao.addCabecalho(constante(NOMES, dados, inicio, fimNome, true), VALORES.obter(dados, valor, fimValor));
+	}
+
+	/**
+	 * Retorna a constante igual aos bytes, sem diferenciar maiusculas, ou um novo texto (em maiusculas ou minusculas,
+	 * como as constantes) se nenhuma for igual.
+	 */
+	private static String constante(String[] constantes, byte[] dados, int inicio, int fim, boolean minusculas)
+	{
+		int tamanho = fim - inicio;
+		for (String constante : constantes)
+		{
+			if (constante.length() == tamanho && igual(constante, dados, inicio))
+			{
+				return constante;
+			}
+		}
+		String texto = new String(dados, inicio, tamanho, StandardCharsets.ISO_8859_1);
+		return minusculas ? texto.toLowerCase() : texto.toUpperCase();
+	}
+
+	private static boolean igual(String constante, byte[] dados, int inicio)
+	{
+		for (int i = 0; i < constante.length(); i++)
+		{
+			int c = dados[inicio + i] & 0xFF;
+			int k = constante.charAt(i);
+			if (c != k && minuscula(c) != minuscula(k))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int token(byte[] dados, int inicio, int fim)
+	{
+		int i = inicio;
+		while (i < fim && !espaco(dados[i]))
+		{
+			i++;
+		}
+		return i;
+	}
+
+	private static int pularEspacos(byte[] dados, int inicio, int fim)
+	{
+		int i = inicio;
+		while (i < fim && espaco(dados[i]))
+		{
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean espaco(byte b)
+	{
+		return b == ' ' || b == '\t';
+	}
+
+	private static int minuscula(int c)
+	{
+		return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+	}
+
+	/**
+	 * Tabela de textos ja vistos, pelos bytes: um texto repetido e devolvido sem criar outra String. Cada posicao guarda
+	 * o ultimo texto com aquele hash; a tabela e compartilhada entre as conexoes sem trava, ja que as entradas sao
+	 * imutaveis e uma corrida apenas troca uma entrada por outra.
+	 */
+	private static final class Textos
+	{
+
+		private final Entrada[] tabela;
+		private final int maximo;
+		private final boolean minusculas;
+		private final Charset charset;
+
+		/**
+		 * @param tamanho : posicoes da tabela, potencia de 2
+		 * @param maximo : tamanho maximo, em bytes, de um texto guardado
+		 * @param minusculas : se os textos sao guardados em minusculas (letras ASCII)
+		 * @param charset : codificacao dos bytes
+		 */
+		Textos(int tamanho, int maximo, boolean minusculas, Charset charset)
+		{
+			this.tabela = new Entrada[tamanho];
+			this.maximo = maximo;
+			this.minusculas = minusculas;
+			this.charset = charset;
+		}
+
+		String obter(byte[] dados, int inicio, int fim)
+		{
+			int tamanho = fim - inicio;
+			int hash = 1;
+			for (int i = inicio; i < fim; i++)
+			{
+				hash = 31 * hash + byteTexto(dados[i]);
+			}
+			int posicao = (hash ^ (hash >>> 16)) & (tabela.length - 1);
+			Entrada entrada = tabela[posicao];
+			if (entrada != null && entrada.hash == hash && entrada.bytes.length == tamanho && igual(entrada.bytes, dados,
+					inicio))
+			{
+				return entrada.texto;
+			}
+			byte[] bytes = new byte[tamanho];
+			for (int i = 0; i < tamanho; i++)
+			{
+				bytes[i] = (byte) byteTexto(dados[inicio + i]);
+			}
+			String texto = new String(bytes, charset);
+			if (tamanho <= maximo)
+			{
+				tabela[posicao] = new Entrada(hash, bytes, texto);
+			}
+			return texto;
+		}
+
+		private boolean igual(byte[] bytes, byte[] dados, int inicio)
+		{
+			for (int i = 0; i < bytes.length; i++)
+			{
+				if (bytes[i] != (byte) byteTexto(dados[inicio + i]))
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private int byteTexto(byte b)
+		{
+			return minusculas ? minuscula(b & 0xFF) : b & 0xFF;
+		}
+	}
+
+	/**
+	 * Texto guardado na tabela, com os bytes de origem.
+	 */
+	private static final class Entrada
+	{
+
+		private final int hash;
+		private final byte[] bytes;
+		private final String texto;
+
+		Entrada(int hash, byte[] bytes, String texto)
+		{
+			this.hash = hash;
+			this.bytes = bytes;
+			this.texto = texto;
+		}
+	}
+}
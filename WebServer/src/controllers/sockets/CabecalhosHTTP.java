@@ -0,0 +1,195 @@
+package controllers.sockets;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classe utilitaria que monta o bloco de cabecalhos das respostas HTTP a partir de pedacos ja codificados: a linha de
+ * status com o cabecalho Server e o Content-type sao codificados uma unica vez por valor, e o cabecalho Date (formato
+ * RFC 1123) e refeito no maximo uma vez por segundo. Cada resposta faz apenas a copia dos pedacos para um vetor.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param SERVER : [CONSTANT] identificacao do servidor no cabecalho Server
+ * @param CRLF : [CONSTANT] fim de linha do HTTP
+ * @param CONTENT_LENGTH : [CONSTANT] inicio do cabecalho Content-length
+ * @param KEEP_ALIVE : [CONSTANT] cabecalho Connection das conexoes mantidas abertas, com a linha em branco final
+ * @param CLOSE : [CONSTANT] cabecalho Connection das conexoes encerradas, com a linha em branco final
+ * @param FORMATO_DATA : [CONSTANT] formato de data do HTTP (RFC 1123, dia com dois digitos, em GMT)
+ * @param statusCache : linhas de status com o cabecalho Server, por status e motivo
+ * @param tiposCache : cabecalhos Content-type, por ContentType
+ * @param data : cabecalho Date do segundo atual
+ */
+
+public final class CabecalhosHTTP
+{
+
+	private static final String SERVER = "Servidor Java HTTP - ECP7AN-MCA1-09";
+	private static final byte[] CRLF = { '\r', '\n' };
+	private static final byte[] CONTENT_LENGTH = bytes("Content-length: ");
+	private static final byte[] KEEP_ALIVE = bytes("Connection: keep-alive\r\n\r\n");
+	private static final byte[] CLOSE = bytes("Connection: close\r\n\r\n");
+	static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter
+			.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+	private static final Map<String, byte[]> statusCache = new ConcurrentHashMap<String, byte[]>();
+	private static final Map<String, byte[]> tiposCache = new ConcurrentHashMap<String, byte[]>();
+	private static volatile Data data = new Data(System.currentTimeMillis() / 1000);
+
+	private CabecalhosHTTP()
+	{
+	}
+
+	/**
+	 * Monta o bloco de cabecalhos da resposta, terminado pela linha em branco, em um unico vetor.
+	 * @param status : codigo de status HTTP
+	 * @param motivo : texto do status HTTP
+	 * @param contentType : ContentType do corpo
+	 * @param tamanho : tamanho do corpo informado no Content-length
+	 * @param extras : cabecalhos adicionais, ou null
+	 * @param codificados : cabecalhos adicionais ja codificados, ou null
+	 * @param keepAlive : se a conexao sera mantida aberta apos a resposta
+	 * @return Cabecalhos codificados para envio
+	 */
+	public static byte[] montar(int status, String motivo, String contentType, long tamanho, Map<String, String> extras,
+			byte[] codificados, boolean keepAlive)
+	{
+		byte[] linhaStatus = linhaStatus(status, motivo);
+		byte[] linhaData = data();
+		byte[] linhaTipo = linhaTipo(contentType);
+		byte[] linhaExtras = null;
+		if (extras != null && !extras.isEmpty())
+		{
+			StringBuilder sb = new StringBuilder(64);
+			for (Map.Entry<String, String> extra : extras.entrySet())
+			{
+				sb.append(extra.getKey()).append(": ").append(extra.getValue()).append("\r\n");
+			}
+			linhaExtras = bytes(sb.toString());
+		}
+		byte[] conexao = keepAlive ? KEEP_ALIVE : CLOSE;
+		int digitos = digitos(tamanho);
+
+		byte[] bloco = new byte[linhaStatus.length + linhaData.length + linhaTipo.length + CONTENT_LENGTH.length + digitos
+				+ CRLF.length + (codificados == null ? 0 : codificados.length)
+				+ (linhaExtras == null ? 0 : linhaExtras.length) + conexao.length];
+		int pos = copiar(linhaStatus, bloco, 0);
+		pos = copiar(linhaData, bloco, pos);
+		pos = copiar(linhaTipo, bloco, pos);
+		pos = copiar(CONTENT_LENGTH, bloco, pos);
+		long resto = tamanho;
+		for (int i = pos + digitos - 1; i >= pos; i--)
+		{
+			bloco[i] = (byte) ('0' + resto % 10);
+			resto /= 10;
+		}
+		pos = copiar(CRLF, bloco, pos + digitos);
+		if (codificados != null)
+		{
+			pos = copiar(codificados, bloco, pos);
+		}
+		if (linhaExtras != null)
+		{
+			pos = copiar(linhaExtras, bloco, pos);
+		}
+		copiar(conexao, bloco, pos);
+		return bloco;
+	}
+
+	/**
+	 * Retorna a linha de status com o cabecalho Server, codificada na primeira vez que o status e usado.
+	 * @param status : codigo de status HTTP
+	 * @param motivo : texto do status HTTP
+	 * @return Linha de status codificada
+	 */
+	private static byte[] linhaStatus(int status, String motivo)
+	{
+		String chave = status + motivo;
+		byte[] linha = statusCache.get(chave);
+		if (linha == null)
+		{
+			linha = bytes("HTTP/1.1 " + status + " " + motivo + "\r\nServer: " + SERVER + "\r\n");
+			statusCache.put(chave, linha);
+		}
+		return linha;
+	}
+
+	/**
+	 * Retorna o cabecalho Content-type, codificado na primeira vez que o ContentType e usado.
+	 * @param contentType : ContentType do corpo
+	 * @return Cabecalho codificado
+	 */
+	private static byte[] linhaTipo(String contentType)
+	{
+		byte[] linha = tiposCache.get(contentType);
+		if (linha == null)
+		{
+			linha = bytes("Content-type: " + contentType + "\r\n");
+			tiposCache.put(contentType, linha);
+		}
+		return linha;
+	}
+
+	/**
+	 * Retorna o cabecalho Date do segundo atual, refazendo-o quando o segundo muda.
+	 * @return Cabecalho codificado
+	 */
+	private static byte[] data()
+	{
+		long segundo = System.currentTimeMillis() / 1000;
+		Data atual = data;
+		if (atual.segundo != segundo)
+		{
+			// Corrida entre threads apenas refaz o mesmo valor
+			atual = new Data(segundo);
+			data = atual;
+		}
+		return atual.linha;
+	}
+
+	/**
+	 * Conta os digitos decimais de um tamanho.
+	 * @param valor : tamanho, nao negativo
+	 * @return Numero de digitos
+	 */
+	private static int digitos(long valor)
+	{
+		int n = 1;
+		while (valor >= 10)
+		{
+			valor /= 10;
+			n++;
+		}
+		return n;
+	}
+
+	private static int copiar(byte[] origem, byte[] destino, int pos)
+	{
+		System.arraycopy(origem, 0, destino, pos, origem.length);
+		return pos + origem.length;
+	}
+
+	private static byte[] bytes(String texto)
+	{
+		return texto.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Cabecalho Date codificado e o segundo a que se refere.
+	 */
+	private static class Data
+	{
+
+		private final long segundo;
+		private final byte[] linha;
+
+		Data(long segundo)
+		{
+			this.segundo = segundo;
+			this.linha = bytes("Date: " + FORMATO_DATA.format(Instant.ofEpochSecond(segundo)) + "\r\n");
+		}
+	}
+}
@@ -0,0 +1,228 @@
+package controllers.sockets;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Classe que mantem em memoria os arquivos do wwwroot mais usados (paginas, css, js e paginas de erro), para nao
+ * abrir e ler o arquivo do disco a cada requisicao. O cache e limitado pelo total de bytes e remove o arquivo usado
+ * ha mais tempo (LRU). A cada acesso a data de modificacao e o tamanho do arquivo sao conferidos, e o arquivo alterado
+ * no disco e lido novamente.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param capacidade : total maximo de bytes em cache
+ * @param tamanhoMaximo : tamanho maximo de um arquivo para entrar no cache
+ * @param entradas : arquivos em cache, em ordem de acesso (o primeiro e o usado ha mais tempo)
+ * @param ocupado : total de bytes em cache
+ * @param acertos : total de leituras atendidas pelo cache
+ * @param faltas : total de leituras feitas do disco
+ * @param remocoes : total de arquivos removidos para liberar espaco
+ * @param invalidacoes : total de arquivos lidos novamente por terem mudado no disco
+ */
+
+public class CacheArquivos
+{
+
+	private long capacidade;
+	private long tamanhoMaximo;
+	private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<String, Entrada>(64, 0.75f, true);
+	private long ocupado = 0;
+	private long acertos = 0;
+	private long faltas = 0;
+	private long remocoes = 0;
+	private long invalidacoes = 0;
+
+	/**
+	 * Construtor principal do CacheArquivos.
+	 * @param capacidade : total maximo de bytes em cache
+	 * @param tamanhoMaximo : tamanho maximo de um arquivo para entrar no cache
+	 */
+	public CacheArquivos(long capacidade, long tamanhoMaximo)
+	{
+		this.capacidade = capacidade;
+		this.tamanhoMaximo = Math.min(tamanhoMaximo, capacidade);
+	}
+
+	/**
+	 * Retorna o conteudo do arquivo, do cache se estiver atualizado, ou do disco. O vetor retornado e compartilhado
+	 * entre as requisicoes e nao deve ser alterado.
+	 * @param file : arquivo solicitado
+	 * @return Conteudo do arquivo
+	 * @throws IOException
+	 */
+	public byte[] ler(File file) throws IOException
+	{
+		String chave = file.getPath();
+		long modificado = file.lastModified();
+		long tamanho = file.length();
+		synchronized (this)
+		{
+			Entrada entrada = entradas.get(chave);
+			if (entrada != null)
+			{
+				if (entrada.modificado == modificado && entrada.dados.length == tamanho)
+				{
+					acertos++;
+					return entrada.dados;
+				}
+				// Arquivo mudou (ou foi apagado) no disco
+				entradas.remove(chave);
+				ocupado -= entrada.dados.length;
+				invalidacoes++;
+			}
+			faltas++;
+		}
+		if (!file.isFile())
+		{
+			throw new FileNotFoundException(chave);
+		}
+		byte[] dados = lerArquivo(file, tamanho);
+		if (dados.length <= tamanhoMaximo)
+		{
+			guardar(chave, new Entrada(dados, modificado));
+		}
+		return dados;
+	}
+
+	/**
+	 * Guarda um arquivo no cache, removendo os usados ha mais tempo ate caber.
+	 * @param chave : caminho do arquivo
+	 * @param entrada : conteudo e data de modificacao
+	 */
+	private synchronized void guardar(String chave, Entrada entrada)
+	{
+		Entrada anterior = entradas.put(chave, entrada);
+		if (anterior != null)
+		{
+			// Outra thread leu o mesmo arquivo ao mesmo tempo
+			ocupado -= anterior.dados.length;
+		}
+		ocupado += entrada.dados.length;
+		Iterator<Map.Entry<String, Entrada>> it = entradas.entrySet().iterator();
+		while (ocupado > capacidade && it.hasNext())
+		{
+			Entrada removida = it.next().getValue();
+			it.remove();
+			ocupado -= removida.dados.length;
+			remocoes++;
+		}
+	}
+
+	/**
+	 * Le o arquivo inteiro do disco. O read e repetido ate preencher o vetor, ja que uma unica leitura pode retornar
+	 * menos bytes.
+	 * @param file : arquivo solicitado
+	 * @param tamanho : tamanho do arquivo
+	 * @return Conteudo do arquivo
+	 * @throws IOException
+	 */
+	static byte[] lerArquivo(File file, long tamanho) throws IOException
+	{
+		if (tamanho > Integer.MAX_VALUE - 8)
+		{
+			throw new IOException("Arquivo grande demais para a memoria: " + file.getPath());
+		}
+		byte[] dados = new byte[(int) tamanho];
+		try (FileInputStream fileIn = new FileInputStream(file))
+		{
+			int lidos = 0;
+			while (lidos < dados.length)
+			{
+				int n = fileIn.read(dados, lidos, dados.length - lidos);
+				if (n < 0)
+				{
+					// Arquivo diminuiu durante a leitura
+					byte[] menor = new byte[lidos];
+					System.arraycopy(dados, 0, menor, 0, lidos);
+					return menor;
+				}
+				lidos += n;
+			}
+		}
+		return dados;
+	}
+
+	/**
+	 * Retorna o tamanho maximo de um arquivo para entrar no cache. Arquivos maiores sao enviados direto do disco.
+	 * @return tamanho maximo, em bytes
+	 */
+	public long getTamanhoMaximo()
+	{
+		return tamanhoMaximo;
+	}
+
+	/**
+	 * Retorna o total de leituras atendidas pelo cache.
+	 * @return acertos
+	 */
+	public synchronized long getAcertos()
+	{
+		return acertos;
+	}
+
+	/**
+	 * Retorna o total de leituras feitas do disco.
+	 * @return faltas
+	 */
+	public synchronized long getFaltas()
+	{
+		return faltas;
+	}
+
+	/**
+	 * Retorna o total de arquivos removidos do cache para liberar espaco.
+	 * @return remocoes
+	 */
+	public synchronized long getRemocoes()
+	{
+		return remocoes;
+	}
+
+	/**
+	 * Retorna o total de arquivos lidos novamente por terem mudado no disco.
+	 * @return invalidacoes
+	 */
+	public synchronized long getInvalidacoes()
+	{
+		return invalidacoes;
+	}
+
+	/**
+	 * Retorna o numero de arquivos em cache.
+	 * @return arquivos em cache
+	 */
+	public synchronized int getArquivos()
+	{
+		return entradas.size();
+	}
+
+	/**
+	 * Retorna o total de bytes em cache.
+	 * @return bytes em cache
+	 */
+	public synchronized long getOcupado()
+	{
+		return ocupado;
+	}
+
+	/**
+	 * Conteudo de um arquivo em cache e a data de modificacao lida junto.
+	 */
+	private static class Entrada
+	{
+
+		private final byte[] dados;
+		private final long modificado;
+
+		Entrada(byte[] dados, long modificado)
+		{
+			this.dados = dados;
+			this.modificado = modificado;
+		}
+	}
+}
@@ -0,0 +1,327 @@
+package controllers.sockets;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import controllers.ControllerMain;
+
+/**
+ * Classe que guarda as paginas de relatorio (relatorio01 a relatorio10 e admin.html) ja montadas, para que cada acesso
+ * nao refaca as consultas no DB. A pagina vale pelo tempo de validade; depois disso, o proximo acesso recebe a pagina
+ * antiga e dispara a atualizacao em segundo plano. Acessos simultaneos a uma pagina que ainda nao existe esperam a
+ * mesma montagem, em vez de cada um consultar o DB.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param validade : tempo, em milissegundos, que uma pagina montada e servida sem atualizar (0 desativa o cache)
+ * @param paginas : paginas montadas, por nome do relatorio
+ * @param atualizador : thread que atualiza as paginas vencidas em segundo plano
+ * @param acertos : total de acessos atendidos por uma pagina valida
+ * @param vencidas : total de acessos atendidos por uma pagina vencida, durante a atualizacao
+ * @param compartilhadas : total de acessos que esperaram uma montagem ja em andamento
+ * @param montagens : total de paginas montadas
+ * @param falhas : total de montagens que falharam
+ * @param compressoes : total de paginas comprimidas com gzip
+ */
+
+public class CacheRelatorios
+{
+
+	private long validade;
+	private final ConcurrentHashMap<String, Pagina> paginas = new ConcurrentHashMap<String, Pagina>();
+	private final ExecutorService atualizador;
+	private final AtomicLong acertos = new AtomicLong();
+	private final AtomicLong vencidas = new AtomicLong();
+	private final AtomicLong compartilhadas = new AtomicLong();
+	private final AtomicLong montagens = new AtomicLong();
+	private final AtomicLong falhas = new AtomicLong();
+	private final AtomicLong compressoes = new AtomicLong();
+
+	/**
+	 * Construtor principal do CacheRelatorios.
+	 * @param validade : tempo, em milissegundos, que uma pagina montada e servida sem atualizar (0 desativa o cache)
+	 */
+	public CacheRelatorios(long validade)
+	{
+		this.validade = validade;
+		this.atualizador = Executors.newSingleThreadExecutor(new ThreadFactory()
+		{
+			@Override
+			public Thread newThread(Runnable r)
+			{
+				Thread t = new Thread(r, "atualizador-relatorios");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
+
+	/**
+	 * Retorna a pagina do relatorio, montando-a com o gerador somente se nao houver pagina montada.
+	 * @param nome : nome do relatorio
+	 * @param gerador : monta a pagina consultando o DB
+	 * @return Pagina do relatorio
+	 * @throws IOException se a montagem falhar
+	 */
+	public byte[] obter(String nome, Callable<byte[]> gerador) throws IOException
+	{
+		if (validade <= 0)
+		{
+			return executar(gerador);
+		}
+		Pagina pagina = paginas.get(nome);
+		if (pagina == null)
+		{
+			Pagina nova = new Pagina();
+			pagina = paginas.putIfAbsent(nome, nova);
+			if (pagina == null)
+			{
+				pagina = nova;
+			}
+		}
+
+		FutureTask<byte[]> montagem;
+		boolean executar = false;
+		synchronized (pagina)
+		{
+			if (pagina.dados != null)
+			{
+				if (System.currentTimeMillis() - pagina.montada < validade)
+				{
+					acertos.incrementAndGet();
+					return pagina.dados;
+				}
+				// Vencida: serve a pagina atual e atualiza em segundo plano, uma vez
+				vencidas.incrementAndGet();
+				if (pagina.montagem == null)
+				{
+					pagina.montagem = criarMontagem(nome, pagina, gerador);
+					atualizador.execute(pagina.montagem);
+				}
+				return pagina.dados;
+			}
+			if (pagina.montagem == null)
+			{
+				pagina.montagem = criarMontagem(nome, pagina, gerador);
+				executar = true;
+			} else
+			{
+				compartilhadas.incrementAndGet();
+			}
+			montagem = pagina.montagem;
+		}
+
+		if (executar)
+		{
+			montagem.run();
+		}
+		try
+		{
+			return montagem.get();
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Montagem do relatorio interrompida: " + nome);
+		} catch (ExecutionException e)
+		{
+			throw falha(e.getCause());
+		}
+	}
+
+	/**
+	 * Retorna a pagina do relatorio comprimida com gzip. A copia comprimida fica junto da pagina montada e so e refeita
+	 * quando a pagina e montada de novo.
+	 * @param nome : nome do relatorio
+	 * @param dados : pagina retornada por obter()
+	 * @param compressao : compressor das respostas
+	 * @return Pagina comprimida
+	 */
+	public byte[] comprimida(String nome, byte[] dados, CompressaoHTTP compressao)
+	{
+		Pagina pagina = validade <= 0 ? null : paginas.get(nome);
+		if (pagina != null)
+		{
+			synchronized (pagina)
+			{
+				if (pagina.origemComprimida == dados)
+				{
+					return pagina.comprimida;
+				}
+			}
+		}
+		byte[] comprimida = compressao.gzip(dados);
+		compressoes.incrementAndGet();
+		if (pagina != null)
+		{
+			synchronized (pagina)
+			{
+				// Guarda apenas se a pagina nao foi montada de novo durante a compressao
+				if (pagina.dados == dados)
+				{
+					pagina.comprimida = comprimida;
+					pagina.origemComprimida = dados;
+				}
+			}
+		}
+		return comprimida;
+	}
+
+	/**
+	 * Cria a montagem de uma pagina, que guarda o resultado e libera a proxima montagem ao terminar.
+	 * @param nome : nome do relatorio
+	 * @param pagina : pagina a atualizar
+	 * @param gerador : monta a pagina consultando o DB
+	 * @return Montagem a executar
+	 */
+	private FutureTask<byte[]> criarMontagem(final String nome, final Pagina pagina, final Callable<byte[]> gerador)
+	{
+		return new FutureTask<byte[]>(new Callable<byte[]>()
+		{
+			@Override
+			public byte[] call() throws Exception
+			{
+				try
+				{
+					byte[] dados = gerador.call();
+					montagens.incrementAndGet();
+					synchronized (pagina)
+					{
+						pagina.dados = dados;
+						pagina.montada = System.currentTimeMillis();
+					}
+					return dados;
+				} catch (Exception e)
+				{
+					falhas.incrementAndGet();
+					if (ControllerMain.DEBUG)
+					{
+						System.out.println("SYSERROR: Falha ao montar " + nome + ": " + e.getMessage());
+					}
+					throw e;
+				} finally
+				{
+					synchronized (pagina)
+					{
+						pagina.montagem = null;
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Executa o gerador na thread atual, sem cache.
+	 * @param gerador : monta a pagina consultando o DB
+	 * @return Pagina montada
+	 * @throws IOException se a montagem falhar
+	 */
+	private byte[] executar(Callable<byte[]> gerador) throws IOException
+	{
+		try
+		{
+			byte[] dados = gerador.call();
+			montagens.incrementAndGet();
+			return dados;
+		} catch (Exception e)
+		{
+			falhas.incrementAndGet();
+			throw falha(e);
+		}
+	}
+
+	/**
+	 * Repassa a falha da montagem: erros de execucao (DB fora do ar) sao relancados como estao, os demais viram
+	 * IOException.
+	 * @param causa : falha da montagem
+	 * @return IOException a lancar
+	 */
+	private IOException falha(Throwable causa)
+	{
+		if (causa instanceof RuntimeException)
+		{
+			throw (RuntimeException) causa;
+		}
+		if (causa instanceof Error)
+		{
+			throw (Error) causa;
+		}
+		if (causa instanceof IOException)
+		{
+			return (IOException) causa;
+		}
+		return new IOException(causa);
+	}
+
+	/**
+	 * Retorna o total de acessos atendidos por uma pagina valida.
+	 * @return acertos
+	 */
+	public long getAcertos()
+	{
+		return acertos.get();
+	}
+
+	/**
+	 * Retorna o total de acessos atendidos por uma pagina vencida, enquanto a atualizacao era feita.
+	 * @return acessos a paginas vencidas
+	 */
+	public long getVencidas()
+	{
+		return vencidas.get();
+	}
+
+	/**
+	 * Retorna o total de acessos que esperaram uma montagem ja em andamento, sem consultar o DB.
+	 * @return acessos compartilhados
+	 */
+	public long getCompartilhadas()
+	{
+		return compartilhadas.get();
+	}
+
+	/**
+	 * Retorna o total de paginas montadas com consultas ao DB.
+	 * @return montagens
+	 */
+	public long getMontagens()
+	{
+		return montagens.get();
+	}
+
+	/**
+	 * Retorna o total de montagens que falharam.
+	 * @return falhas
+	 */
+	public long getFalhas()
+	{
+		return falhas.get();
+	}
+
+	/**
+	 * Retorna o total de paginas comprimidas com gzip.
+	 * @return compressoes
+	 */
+	public long getCompressoes()
+	{
+		return compressoes.get();
+	}
+
+	/**
+	 * Pagina montada de um relatorio, a copia comprimida e a montagem em andamento, se houver.
+	 */
+	private static class Pagina
+	{
+
+		private byte[] dados;
+		private long montada;
+		private byte[] comprimida;
+		private byte[] origemComprimida;
+		private FutureTask<byte[]> montagem;
+	}
+}
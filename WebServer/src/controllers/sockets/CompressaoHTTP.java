@@ -0,0 +1,400 @@
+package controllers.sockets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import controllers.ControllerMain;
+
+/**
+ * Classe que negocia o Accept-Encoding e escolhe a variante comprimida dos arquivos do wwwroot. As variantes sao
+ * arquivos irmaos pre-comprimidos (arquivo.gz e arquivo.br): os .gz sao gerados por preparar() na partida do motor,
+ * para os tipos de texto a partir do tamanho minimo; os .br, quando existirem, sao gerados fora do servidor (o JDK nao
+ * tem compressor brotli) e tem preferencia. A escolha de cada arquivo e guardada junto do validador do original, com os
+ * cabecalhos ja codificados, e so e refeita quando o original muda. As paginas de relatorio sao comprimidas na hora
+ * por gzip(), e a copia comprimida fica no CacheRelatorios.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param GZIP : [CONSTANT] bit do gzip nas codificacoes aceitas
+ * @param BR : [CONSTANT] bit do brotli nas codificacoes aceitas
+ * @param CABECALHOS_GZIP : [CONSTANT] cabecalhos das respostas comprimidas na hora
+ * @param BLOCO : [CONSTANT] tamanho do bloco de leitura na geracao dos .gz
+ * @param ativa : se a compressao esta ativa
+ * @param minimo : tamanho minimo, em bytes, de um arquivo ou pagina para ser comprimido
+ * @param tipos : registro de MIME types, para saber os arquivos de texto
+ * @param variantes : variantes escolhidas dos arquivos, pelo caminho do original
+ * @param gerados : total de arquivos .gz gerados
+ * @param comprimidas : total de respostas enviadas comprimidas
+ */
+
+public class CompressaoHTTP
+{
+
+	public static final int GZIP = 1;
+	public static final int BR = 2;
+	static final byte[] CABECALHOS_GZIP = "Content-Encoding: gzip\r\nVary: Accept-Encoding\r\n"
+			.getBytes(StandardCharsets.ISO_8859_1);
+	private static final int BLOCO = 64 * 1024;
+	private final boolean ativa;
+	private final long minimo;
+	private final TiposMIME tipos;
+	private final ConcurrentHashMap<String, Variantes> variantes = new ConcurrentHashMap<String, Variantes>();
+	private volatile int gerados = 0;
+	private final AtomicLong comprimidas = new AtomicLong();
+
+	/**
+	 * Construtor principal do CompressaoHTTP.
+	 * @param ativa : se a compressao esta ativa
+	 * @param minimo : tamanho minimo, em bytes, de um arquivo ou pagina para ser comprimido
+	 * @param tipos : registro de MIME types do wwwroot
+	 */
+	public CompressaoHTTP(boolean ativa, long minimo, TiposMIME tipos)
+	{
+		this.ativa = ativa;
+		this.minimo = Math.max(1, minimo);
+		this.tipos = tipos;
+	}
+
+	/**
+	 * Gera os .gz dos arquivos de texto do wwwroot que ainda nao tem .gz, ou cujo .gz e mais antigo que o original.
+	 * Um .gz que nao fica menor que o original nao e gravado.
+	 * @param pasta : raiz do service web
+	 */
+	public void preparar(File pasta)
+	{
+		if (!ativa)
+		{
+			return;
+		}
+		File[] arquivos = pasta.listFiles();
+		if (arquivos == null)
+		{
+			return;
+		}
+		for (File arquivo : arquivos)
+		{
+			if (arquivo.isDirectory())
+			{
+				preparar(arquivo);
+			} else if (comprimivel(arquivo.getName(), arquivo.length()))
+			{
+				File gz = new File(arquivo.getPath() + ".gz");
+				if (!gz.isFile() || gz.lastModified() < arquivo.lastModified())
+				{
+					try
+					{
+						gerarGzip(arquivo, gz);
+					} catch (IOException e)
+					{
+						if (ControllerMain.DEBUG)
+						{
+							System.out.println("SYSERROR: Falha ao comprimir " + arquivo.getPath() + ": " + e.getMessage());
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Verifica se um arquivo e de texto e grande o bastante para ser comprimido.
+	 * @param nome : nome do arquivo
+	 * @param tamanho : tamanho do arquivo
+	 * @return Se o arquivo tem variantes comprimidas
+	 */
+	private boolean comprimivel(String nome, long tamanho)
+	{
+		if (tamanho < minimo || nome.endsWith(".gz") || nome.endsWith(".br"))
+		{
+			return false;
+		}
+		String tipo = tipos.tipo(nome);
+		return tipo.startsWith("text/") || tipo.endsWith("javascript") || tipo.endsWith("json") || tipo.endsWith("xml");
+	}
+
+	/**
+	 * Comprime o arquivo em um temporario, renomeado para o .gz ao final, com a mesma data de modificacao do original.
+	 * @param arquivo : arquivo original
+	 * @param gz : arquivo .gz
+	 * @throws IOException
+	 */
+	private void gerarGzip(File arquivo, File gz) throws IOException
+	{
+		File temporario = new File(gz.getPath() + ".tmp");
+		try (InputStream in = new FileInputStream(arquivo);
+				OutputStream out = new GZIPOutputStream(new FileOutputStream(temporario), BLOCO))
+		{
+			byte[] bloco = new byte[BLOCO];
+			int n;
+			while ((n = in.read(bloco)) > 0)
+			{
+				out.write(bloco, 0, n);
+			}
+		}
+		if (temporario.length() >= arquivo.length())
+		{
+			Files.delete(temporario.toPath());
+			return;
+		}
+		Files.move(temporario.toPath(), gz.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		gz.setLastModified(arquivo.lastModified());
+		gerados++;
+	}
+
+	/**
+	 * Le as codificacoes aceitas pelo cliente no Accept-Encoding. Codificacoes com q=0 sao recusadas.
+	 * @param req : requisicao recebida
+	 * @return Bits GZIP e BR das codificacoes aceitas, ou 0
+	 */
+	public int aceitas(RequisicaoHTTP req)
+	{
+		String cabecalho = ativa ? req.getCabecalho("Accept-Encoding") : null;
+		if (cabecalho == null)
+		{
+			return 0;
+		}
+		int aceitas = 0;
+		for (String parte : cabecalho.split(","))
+		{
+			int sep = parte.indexOf(';');
+			String codificacao = (sep < 0 ? parte : parte.substring(0, sep)).trim().toLowerCase();
+			if (sep >= 0 && recusada(parte.substring(sep + 1)))
+			{
+				continue;
+			}
+			if (codificacao.equals("gzip") || codificacao.equals("x-gzip"))
+			{
+				aceitas |= GZIP;
+			} else if (codificacao.equals("br"))
+			{
+				aceitas |= BR;
+			} else if (codificacao.equals("*"))
+			{
+				aceitas |= GZIP | BR;
+			}
+		}
+		return aceitas;
+	}
+
+	/**
+	 * Verifica se os parametros de uma codificacao tem q=0.
+	 * @param parametros : parametros depois do ';'
+	 * @return Se a codificacao foi recusada
+	 */
+	private static boolean recusada(String parametros)
+	{
+		String q = parametros.trim();
+		if (!q.startsWith("q="))
+		{
+			return false;
+		}
+		try
+		{
+			return Double.parseDouble(q.substring(2).trim()) <= 0;
+		} catch (NumberFormatException e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Escolhe a variante do arquivo a enviar: brotli, gzip ou o proprio arquivo, nesta ordem, entre as aceitas pelo
+	 * cliente e existentes no disco.
+	 * @param file : arquivo solicitado
+	 * @param validador : validador atual do arquivo
+	 * @param aceitas : codificacoes aceitas pelo cliente
+	 * @return Variante a enviar
+	 */
+	public Variante escolher(File file, ValidadoresArquivos.Validador validador, int aceitas)
+	{
+		if (!ativa || !comprimivel(file.getName(), validador.getTamanho()))
+		{
+			return validador.getVariante();
+		}
+		String chave = file.getPath();
+		Variantes atual = variantes.get(chave);
+		if (atual == null || atual.origem != validador)
+		{
+			// Original mudou: os irmaos sao conferidos de novo
+			atual = new Variantes(file, validador);
+			variantes.put(chave, atual);
+		}
+		if ((aceitas & BR) != 0 && atual.br != null)
+		{
+			comprimidas.incrementAndGet();
+			return atual.br;
+		}
+		if ((aceitas & GZIP) != 0 && atual.gzip != null)
+		{
+			comprimidas.incrementAndGet();
+			return atual.gzip;
+		}
+		return atual.identidade;
+	}
+
+	/**
+	 * Verifica se uma pagina gerada deve ser enviada comprimida com gzip.
+	 * @param aceitas : codificacoes aceitas pelo cliente
+	 * @param tamanho : tamanho da pagina
+	 * @return Se a pagina deve ser comprimida
+	 */
+	public boolean comprimir(int aceitas, long tamanho)
+	{
+		if (ativa && (aceitas & GZIP) != 0 && tamanho >= minimo)
+		{
+			comprimidas.incrementAndGet();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Comprime uma pagina gerada com gzip.
+	 * @param dados : pagina gerada
+	 * @return Pagina comprimida
+	 */
+	public byte[] gzip(byte[] dados)
+	{
+		ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length / 4 + 64);
+		try (GZIPOutputStream out = new GZIPOutputStream(saida))
+		{
+			out.write(dados);
+		} catch (IOException e)
+		{
+			// Escrita em memoria nao falha
+			throw new IllegalStateException(e);
+		}
+		return saida.toByteArray();
+	}
+
+	/**
+	 * Retorna o total de arquivos .gz gerados.
+	 * @return arquivos gerados
+	 */
+	public int getGerados()
+	{
+		return gerados;
+	}
+
+	/**
+	 * Retorna o total de respostas enviadas comprimidas.
+	 * @return respostas comprimidas
+	 */
+	public long getComprimidas()
+	{
+		return comprimidas.get();
+	}
+
+	/**
+	 * Arquivo enviado em uma resposta (o original ou um irmao comprimido), com os cabecalhos ja codificados.
+	 */
+	public static class Variante
+	{
+
+		private final File arquivo;
+		private final long tamanho;
+		private final String etag;
+		private final byte[] cabecalhos;
+
+		/**
+		 * Construtor da variante.
+		 * @param arquivo : arquivo enviado, ou null para o arquivo solicitado
+		 * @param tamanho : tamanho do arquivo enviado
+		 * @param etag : ETag da variante
+		 * @param cabecalhos : cabecalhos da variante (Content-Encoding, Vary, ETag, Last-Modified e Accept-Ranges)
+		 */
+		Variante(File arquivo, long tamanho, String etag, String cabecalhos)
+		{
+			this.arquivo = arquivo;
+			this.tamanho = tamanho;
+			this.etag = etag;
+			this.cabecalhos = cabecalhos.getBytes(StandardCharsets.ISO_8859_1);
+		}
+
+		/**
+		 * Retorna o arquivo a enviar.
+		 * @param solicitado : arquivo solicitado
+		 * @return Arquivo da variante
+		 */
+		public File getArquivo(File solicitado)
+		{
+			return arquivo != null ? arquivo : solicitado;
+		}
+
+		/**
+		 * Retorna o tamanho do arquivo a enviar, informado no Content-length.
+		 * @return tamanho da variante
+		 */
+		public long getTamanho()
+		{
+			return tamanho;
+		}
+
+		/**
+		 * Retorna a ETag da variante; as comprimidas tem a codificacao no fim da ETag do original.
+		 * @return ETag da variante
+		 */
+		public String getEtag()
+		{
+			return etag;
+		}
+
+		/**
+		 * Retorna os cabecalhos codificados da variante, para o envio junto da resposta.
+		 * @return Cabecalhos codificados
+		 */
+		public byte[] getCabecalhos()
+		{
+			return cabecalhos;
+		}
+	}
+
+	/**
+	 * Variantes de um arquivo comprimivel, conferidas para uma versao do original.
+	 */
+	private static class Variantes
+	{
+
+		private final ValidadoresArquivos.Validador origem;
+		private final Variante identidade;
+		private final Variante gzip;
+		private final Variante br;
+
+		Variantes(File file, ValidadoresArquivos.Validador origem)
+		{
+			this.origem = origem;
+			String ultimaModificacao = "Last-Modified: " + origem.getUltimaModificacao() + "\r\nAccept-Ranges: bytes\r\n";
+			this.identidade = new Variante(null, origem.getTamanho(), origem.getEtag(),
+					"Vary: Accept-Encoding\r\nETag: " + origem.getEtag() + "\r\n" + ultimaModificacao);
+			this.gzip = irmao(file, origem, ".gz", "gzip", ultimaModificacao);
+			this.br = irmao(file, origem, ".br", "br", ultimaModificacao);
+		}
+
+		/**
+		 * Monta a variante de um irmao comprimido, se ele existe e nao e mais antigo que o original.
+		 */
+		private static Variante irmao(File file, ValidadoresArquivos.Validador origem, String extensao,
+				String codificacao, String ultimaModificacao)
+		{
+			File irmao = new File(file.getPath() + extensao);
+			long modificado = irmao.lastModified();
+			if (modificado == 0 || modificado < origem.getModificado() || !irmao.isFile())
+			{
+				return null;
+			}
+			String etag = origem.getEtag().substring(0, origem.getEtag().length() - 1) + "-" + codificacao + "\"";
+			return new Variante(irmao, irmao.length(), etag, "Content-Encoding: " + codificacao
+					+ "\r\nVary: Accept-Encoding\r\nETag: " + etag + "\r\n" + ultimaModificacao);
+		}
+	}
+}
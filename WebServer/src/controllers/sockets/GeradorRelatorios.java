@@ -0,0 +1,1792 @@
+package controllers.sockets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import controllers.ControllerMain;
+import models.AbstractLog;
+import models.ResultTable;
+import models.services.GravadorLogs;
+import models.services.ServiceLogAcc;
+import models.services.ServiceLogSrv;
+import models.utils.PoolConexoes;
+
+/**
+ * Classe que monta as paginas HTML dos relatorios administrativos (/adm) do servidor, com os dados recuperados no DB.
+ * Compartilhada pelos motores de atendimento do service web.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param serviceAcc : service de logs de ACESSO
+ * @param serviceSrv : service de logs de SERVIDOR
+ * @param cache : cache em memoria dos arquivos do wwwroot, para os contadores do dashboard
+ * @param mapa : arquivos do wwwroot mapeados na memoria, para os contadores do dashboard
+ * @param paginas : cache das paginas de relatorio, para os contadores do dashboard
+ * @param pool : pool de conexoes com o DB, para os contadores do dashboard (null sem DB)
+ * @param gravador : gravador assincrono dos logs, para os contadores do dashboard
+ * @param varreduras : consultas dos relatorios que o DB resolve sem indice
+ */
+
+public class GeradorRelatorios
+{
+	
+	private final ServiceLogAcc serviceAcc;
+	private final ServiceLogSrv serviceSrv;
+	private final CacheArquivos cache;
+	private final MapaArquivos mapa;
+	private final CacheRelatorios paginas;
+	private final PoolConexoes pool;
+	private final GravadorLogs gravador;
+	private final List<String> varreduras;
+	
+	/**
+	 * Construtor principal do GeradorRelatorios.
+	 * @param serviceAcc : service de logs de ACESSO
+	 * @param serviceSrv : service de logs de SERVIDOR
+	 * @param cache : cache em memoria dos arquivos do wwwroot
+	 * @param mapa : arquivos do wwwroot mapeados na memoria
+	 * @param paginas : cache das paginas de relatorio
+	 * @param pool : pool de conexoes com o DB, ou null
+	 * @param gravador : gravador assincrono dos logs
+	 * @param varreduras : consultas dos relatorios que o DB resolve sem indice
+	 */
+	public GeradorRelatorios(ServiceLogAcc serviceAcc, ServiceLogSrv serviceSrv, CacheArquivos cache, MapaArquivos mapa,
+			CacheRelatorios paginas, PoolConexoes pool, GravadorLogs gravador, List<String> varreduras)
+	{
+		this.serviceAcc = serviceAcc;
+		this.serviceSrv = serviceSrv;
+		this.cache = cache;
+		this.mapa = mapa;
+		this.paginas = paginas;
+		this.pool = pool;
+		this.gravador = gravador;
+		this.varreduras = varreduras;
+	}
+	
+	/**
+	 * Monta o dashboard dinamicamente conforme dados recuperados no DB do webserver.
+	 * 
+	 * @return dashboard montado com os dados do DB
+	 */
+	public String dashboard ()
+	{
+		// Recupera do DB os 10 mais acessados
+		String dashboard;
+		ArrayList<ResultTable> dados01 = serviceAcc.lista403(true);
+		ArrayList<ResultTable> dados02 = serviceAcc.lista404(true);
+		ArrayList<ResultTable> dados03 = serviceAcc.listaDistintos();
+		ArrayList<ResultTable> dados04 = serviceAcc.reqsPorHora();
+		ArrayList<ResultTable> dados05 = serviceAcc.reqsPorMes();
+		ArrayList<ResultTable> dados06 = serviceAcc.listaMaisAcessados(10);
+		ArrayList<ResultTable> dados07 = serviceAcc.listaTopErros();
+		ArrayList<ResultTable> dados08 = serviceAcc.listaIPsFrequentes(10);
+		ArrayList<ResultTable> dados09 = serviceSrv.contaUltimos(5);
+		ArrayList<ResultTable> dados10 = serviceAcc.reqsPorDia();
+		
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("DADOS01: "+dados01.toString());
+			System.out.println("DADOS01 - Size: "+dados01.size());
+			System.out.println("DADOS02: "+dados02.toString());
+			System.out.println("DADOS02 - Size: "+dados02.size());
+			System.out.println("DADOS03: "+dados03.toString());
+			System.out.println("DADOS03 - Size: "+dados03.size());
+			System.out.println("DADOS04: "+dados04.toString());
+			System.out.println("DADOS04 - Size: "+dados04.size());
+			System.out.println("DADOS05: "+dados05.toString());
+			System.out.println("DADOS05 - Size: "+dados05.size());
+			System.out.println("DADOS06: "+dados06.toString());
+			System.out.println("DADOS06 - Size: "+dados06.size());
+			System.out.println("DADOS07: "+dados07.toString());
+			System.out.println("DADOS07 - Size: "+dados07.size());
+			System.out.println("DADOS08: "+dados08.toString());
+			System.out.println("DADOS08 - Size: "+dados08.size());
+			System.out.println("DADOS09: "+dados09.toString());
+			System.out.println("DADOS09 - Size: "+dados09.size());
+			System.out.println("DADOS10: "+dados10.toString());
+			System.out.println("DADOS10 - Size: "+dados10.size());
+		}
+		
+		// Preenche os dados no relatorio
+		dashboard = "<html lang=\"pt-br\">\r\n" + 
+				"<head>\r\n" + 
+				"    <meta charset=\"utf-8\">\r\n" + 
+				"    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\r\n" + 
+				"    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\r\n" + 
+				"	<title>ECP7AN-MCA1-09 ..:::.. Dashboard</title>\r\n" + 
+				"	\r\n" + 
+				"    <link href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">\r\n" + 
+				"    <link href=\"../css/style.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- Custom styles for this template -->\r\n" + 
+				"    <link href=\"../cover.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- CanvasJS Data -->\r\n" + 
+				"    <script src=\"https://canvasjs.com/assets/script/canvasjs.min.js\"></script>\r\n" + 
+				"	<script type=\"text/javascript\">\r\n" + 
+				"	window.onload = function () {\r\n" + 
+				"		\r\n" + 
+				"		var chart01 = new CanvasJS.Chart(\"403-doughnut-chart\", {\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"doughnut\",\r\n" + 
+				"				dataPoints: [\r\n";
+				
+				for (ResultTable dado : dados01)
+				{
+					dashboard = dashboard + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+				}
+				dashboard = dashboard +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		\r\n" + 
+				"		var chart02 = new CanvasJS.Chart(\"404-doughnut-chart\", {\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"doughnut\",\r\n" + 
+				"				dataPoints: [\r\n";
+				
+				for (ResultTable dado : dados02)
+				{
+					dashboard = dashboard + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+				}
+				dashboard = dashboard +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		\r\n" + 
+				"		var chart03 = new CanvasJS.Chart(\"ips-pie-chart\", {\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"pie\",\r\n" + 
+				"				dataPoints: [\r\n";
+				
+				for (ResultTable dado : dados03)
+				{
+					dashboard = dashboard + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+				}
+				dashboard = dashboard +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		\r\n" + 
+				"		var chart04 = new CanvasJS.Chart(\"acessoshorario-column-chart\", {\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n";
+				
+				for (ResultTable dado : dados04)
+				{
+					dashboard = dashboard + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+				}
+				dashboard = dashboard +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		\r\n" + 
+				"		var chart05 = new CanvasJS.Chart(\"acessosmes-column-chart\", {\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n";
+				
+				for (ResultTable dado : dados05)
+				{
+					dashboard = dashboard + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+				}
+				dashboard = dashboard +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		\r\n" + 
+				"		var chart06 = new CanvasJS.Chart(\"toparquivos-column-chart\", {\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n";
+				
+				for (ResultTable dado : dados06)
+				{
+					dashboard = dashboard + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+				}
+				dashboard = dashboard +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		\r\n" + 
+				"		var chart07 = new CanvasJS.Chart(\"toperros-column-chart\", {\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n";
+				
+				for (ResultTable dado : dados07)
+				{
+					dashboard = dashboard + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+				}
+				dashboard = dashboard +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		\r\n" + 
+				"		var chart08 = new CanvasJS.Chart(\"topips-column-chart\", {\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n";
+				
+				for (ResultTable dado : dados08)
+				{
+					dashboard = dashboard + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+				}
+				dashboard = dashboard +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		\r\n" + 
+				"		var chart09 = new CanvasJS.Chart(\"servidor-line-table\", {\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n";
+				
+				for (ResultTable dado : dados09)
+				{
+					dashboard = dashboard + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+				}
+				dashboard = dashboard +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		\r\n" + 
+				"		var chart10 = new CanvasJS.Chart(\"acessosdia-column-chart\", {\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n";
+				
+				for (ResultTable dado : dados10)
+				{
+					dashboard = dashboard + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+				}
+				dashboard = dashboard +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"\r\n" + 
+				"		chart01.render();\r\n" + 
+				"		chart02.render();\r\n" + 
+				"		chart03.render();\r\n" + 
+				"		chart04.render();\r\n" + 
+				"		chart05.render();\r\n" + 
+				"		chart06.render();\r\n" + 
+				"		chart07.render();\r\n" + 
+				"		chart08.render();\r\n" + 
+				"		chart09.render();\r\n" + 
+				"		chart10.render();\r\n" + 
+				"	}\r\n" + 
+				"	</script>\r\n" + 
+				"</head>\r\n" + 
+				"\r\n" + 
+				"<body>\r\n" + 
+				"	<!-- Barra de Navegacao -->\r\n" + 
+				"	<nav class=\"navbar navbar-inverse navbar-fixed-top\">\r\n" + 
+				"        <div class=\"container-fluid\">\r\n" + 
+				"            <div class=\"navbar-header\">\r\n" + 
+				"                <button type=\"button\" class=\"navbar-toggle collapsed\" data-toggle=\"collapse\" data-target=\"#navbar\" aria-expanded=\"false\" aria-controls=\"navbar\">\r\n" + 
+				"                    <span class=\"sr-only\">Toggle navigation</span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                </button>\r\n" + 
+				"                <a class=\"navbar-brand\" href=\"../index.html\">ECP7AN-MCA1-09</a>\r\n" + 
+				"            </div>\r\n" + 
+				"            <div id=\"navbar\" class=\"navbar-collapse collapse\">\r\n" + 
+				"                <ul class=\"nav navbar-nav navbar-right\">\r\n" + 
+				"                    <li><a href=\"admin.html\">Dashboard</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio01.html\">Top 10 Arquivos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio02.html\">Acessos/Hora</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio03.html\">Top 10 IPs</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio09.html\">Erros 403</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio04.html\">Erros 404</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio10.html\">Top Erros</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio05.html\">Acessos/Dia</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio06.html\">Acessos/Mes</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio07.html\">IPs Distintos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio08.html\">Servidor</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                </ul>\r\n" + 
+				"            </div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </nav>\r\n" + 
+				"    <!-- /Barra de Navegacao -->\r\n" + 
+				"\r\n" + 
+				"	<!-- Corpo da Pagina -->\r\n" + 
+				"    <div class=\"site-wrapper\">\r\n" + 
+				"	    <div class=\"inner cover\">\r\n" + 
+				"    	    <h2 class=\"cover-heading\" align=center>Dashboard</h2>\r\n" + 
+				"            <!-- <p class=\"lead\" align=center>Pgina usada para testes de grfico do CanvasJS.</p> -->\r\n" + 
+				"            <br>\r\n" + 
+				"        </div>\r\n" + 
+				"        \r\n" + 
+				"        <!-- 1st row -->\r\n" + 
+				"		<div class=\"row m-b-2\" align=center>\r\n" + 
+				"			<div class=\"col-lg-4\">\r\n" + 
+				"				<div class=\"card card-block\">\r\n" + 
+				"					<h4 class=\"card-title\" align=center>Erros 403</h4>\r\n" + 
+				"					<div id=\"403-doughnut-chart\" style=\"height: 200px; width: 100%;\"></div>\r\n" + 
+				"				</div>\r\n" + 
+				"			</div>\r\n" + 
+				"			<div class=\"col-lg-4\">\r\n" + 
+				"				<div class=\"card card-block\">\r\n" + 
+				"					<h4 class=\"card-title\" align=center>Erros 404</h4>\r\n" + 
+				"					<div id=\"404-doughnut-chart\" style=\"height: 200px; width: 100%;\"></div>\r\n" + 
+				"				</div>\r\n" + 
+				"			</div>\r\n" + 
+				"			<div class=\"col-lg-4\">\r\n" + 
+				"				<div class=\"card card-block\">\r\n" + 
+				"					<h4 class=\"card-title\" align=center>IPs Distintos</h4>\r\n" + 
+				"					<div id=\"ips-pie-chart\" style=\"height: 200px; width: 100%;\"></div>\r\n" + 
+				"				</div>\r\n" + 
+				"			</div>\r\n" + 
+				"		</div>\r\n" + 
+				"		<!-- /1st row -->\r\n" + 
+				"	<hr align=center>\r\n" + 
+				"		<!-- 2nd row -->\r\n" + 
+				"		<div class=\"row\" align=center>\r\n" + 
+				"			<div class=\"col-lg-6\">\r\n" + 
+				"				<div class=\"card card-block\">\r\n" + 
+				"					<h4 class=\"card-title m-b-2\" align=center>Acessos/Hora</h4>\r\n" + 
+				"					<div id=\"acessoshorario-column-chart\" style=\"height: 200px; width: 100%;\"></div>\r\n" + 
+				"				</div>\r\n" + 
+				"			</div>\r\n" + 
+				"			<div class=\"col-lg-6\">\r\n" + 
+				"				<div class=\"card card-block\">\r\n" + 
+				"					<h4 class=\"card-title m-b-2\" align=center>Acessos/Mes</h4>\r\n" + 
+				"					<div id=\"acessosmes-column-chart\" style=\"height: 200px; width: 100%;\"></div>\r\n" + 
+				"				</div>\r\n" + 
+				"			</div>\r\n" + 
+				"		</div>\r\n" + 
+				"		<!-- /2nd row -->\r\n" + 
+				"	<hr align=center>\r\n" + 
+				"		<!-- 3rd row -->\r\n" + 
+				"		<div class=\"row\" align=center>\r\n" + 
+				"			<div class=\"col-lg-6\">\r\n" + 
+				"				<div class=\"card card-block\">\r\n" + 
+				"					<h4 class=\"card-title m-b-2\" align=center>Top Arquivos</h4>\r\n" + 
+				"					<div id=\"toparquivos-column-chart\" style=\"height: 200px; width: 100%;\"></div>\r\n" + 
+				"				</div>\r\n" + 
+				"			</div>\r\n" + 
+				"			<div class=\"col-lg-6\">\r\n" + 
+				"				<div class=\"card card-block\">\r\n" + 
+				"					<h4 class=\"card-title m-b-2\" align=center>Top Erros</h4>\r\n" + 
+				"					<div id=\"toperros-column-chart\" style=\"height: 200px; width: 100%;\"></div>\r\n" + 
+				"				</div>\r\n" + 
+				"			</div>\r\n" + 
+				"		</div>\r\n" + 
+				"		<!-- /3rd row -->\r\n" + 
+				"	<hr align=center>	\r\n" + 
+				"		<!-- 4th row -->\r\n" + 
+				"		<div class=\"row\" align=center>\r\n" + 
+				"			<div class=\"col-lg-6\">\r\n" + 
+				"				<div class=\"card card-block\">\r\n" + 
+				"					<h4 class=\"card-title m-b-2\" align=center>Top IPs</h4>\r\n" + 
+				"					<div id=\"topips-column-chart\" style=\"height: 200px; width: 100%;\"></div>\r\n" + 
+				"				</div>\r\n" + 
+				"			</div>\r\n" + 
+				"			<div class=\"col-lg-6\">\r\n" + 
+				"				<div class=\"card card-block\">\r\n" + 
+				"					<h4 class=\"card-title m-b-2\" align=center>Servidor</h4>\r\n" + 
+				"					<div id=\"servidor-line-table\" style=\"height: 200px; width: 100%;\"></div>\r\n" + 
+				"				</div>\r\n" + 
+				"			</div>\r\n" + 
+				"		</div>\r\n" + 
+				"		<!-- /4th row -->\r\n" + 
+				"	<hr align=center>\r\n" + 
+				"		<!-- 5th row -->\r\n" + 
+				"		<div class=\"row\">\r\n" + 
+				"			<div class=\"col-md-12\">\r\n" + 
+				"				<div class=\"card card-block\">\r\n" + 
+				"					<h4 class=\"card-title\" align=center>Acessos/Dia</h4>\r\n" + 
+				"					<div id=\"acessosdia-column-chart\" style=\"height: 200px; width: 100%;\"></div>\r\n" + 
+				"				</div>\r\n" + 
+				"			</div>\r\n" + 
+				"		</div>\r\n" + 
+				"		<!-- /5th row -->\r\n" + 
+				"	<hr align=center>\r\n" + 
+				"		<!-- 6th row -->\r\n" + 
+				"		<div class=\"row\">\r\n" + 
+				"			<div class=\"col-md-12\">\r\n" + 
+				"				<div class=\"card card-block\">\r\n" + 
+				"					<h4 class=\"card-title\" align=center>Cache de Arquivos</h4>\r\n" + 
+				"					<p align=center>Acertos: " + cache.getAcertos() + " | Faltas: " + cache.getFaltas() + 
+				" | Remo&ccedil;&otilde;es: " + cache.getRemocoes() + " | Invalida&ccedil;&otilde;es: " + cache.getInvalidacoes() + 
+				" | Arquivos: " + cache.getArquivos() + " (" + (cache.getOcupado() / 1024) + " KB)</p>\r\n" + 
+				"					<p align=center>Mapeados: " + mapa.getArquivos() + " (" + (mapa.getOcupado() / 1024) + " KB) | Acertos: " + 
+				mapa.getAcertos() + " | Mapeamentos: " + mapa.getMapeados() + " | Remapeamentos: " + mapa.getRemapeados() + "</p>\r\n" + 
+				"					<p align=center>Relat&oacute;rios - Acertos: " + paginas.getAcertos() + " | Vencidos: " + paginas.getVencidas() + 
+				" | Compartilhados: " + paginas.getCompartilhadas() + " | Montagens: " + paginas.getMontagens() + " | Falhas: " + 
+				paginas.getFalhas() + "</p>\r\n" + 
+				(pool == null ? "" : "					<p align=center>Conex&otilde;es DB - Abertas: " + pool.getTotal() + 
+				" | Em uso: " + pool.getEmUso() + " | Empr&eacute;stimos: " + pool.getEmprestimos() + " | Espera m&eacute;dia: " + 
+				String.format("%.2f", pool.getEsperaMedia()) + " ms | Espera m&aacute;xima: " + 
+				String.format("%.2f", pool.getEsperaMaxima()) + " ms | Esgotados: " + pool.getEsgotados() + " | Inv&aacute;lidas: " + 
+				pool.getInvalidas() + " | Vazamentos: " + pool.getVazamentos() + "</p>\r\n") + 
+				(varreduras.isEmpty() ? "" : "					<p align=center>Consultas sem " + 
+				"&iacute;ndice: " + String.join(", ", varreduras) + "</p>\r\n") + 
+				"					<p align=center>Gravador de Logs - Gravados: " + gravador.getGravados() + " | Lotes: " + gravador.getLotes() + 
+				" | Falhas: " + gravador.getFalhas() + " | Descartados: " + gravador.getDescartados() + " | Bloqueios: " + 
+				gravador.getBloqueios() + " | Pendentes: " + gravador.getPendentes() + "</p>\r\n" + 
+				"				</div>\r\n" + 
+				"			</div>\r\n" + 
+				"		</div>\r\n" + 
+				"		<!-- /6th row -->\r\n" + 
+				"\r\n" + 
+				"        <div class=\"mastfoot\">\r\n" + 
+				"            <div class=\"inner\" align=center>\r\n" + 
+				"            	<br>\r\n" + 
+				"        		<p>ECP7AN-MCA1-09</p>\r\n" + 
+				"        	</div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </div>\r\n" + 
+				"    <script src=\"../js/jquery.min.js\"></script>\r\n" + 
+				"    <script src=\"../js/bootstrap.min.js\"></script>\r\n" + 
+				"</body>\r\n" + 
+				"</html>";
+		
+		if (ControllerMain.DEBUG)
+		{
+			//System.out.println("------------------------\n"+dashboard);
+		}
+		return dashboard;
+	}
+	
+	/**
+	 * Monta o relatorio01 dinamicamente conforme dados recuperados no DB do webserver.
+	 * 
+	 * @return relatorio01 montado com os dados do DB
+	 */
+	public String relatorio01 ()
+	{
+		// Recupera do DB os 10 mais acessados
+		String relatorio;
+		ArrayList<ResultTable> dados = serviceAcc.listaMaisAcessados(10);
+		
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("DADOS: "+dados.toString());
+			System.out.println("DADOS - Size: "+dados.size());
+		}
+		
+		// Preenche os dados no relatorio
+		relatorio = "<html lang=\"pt-br\">\r\n" + 
+				"<head>\r\n" + 
+				"    <meta charset=\"utf-8\">\r\n" + 
+				"    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\r\n" + 
+				"    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\r\n" + 
+				"	<title>ECP7AN-MCA1-09 ..:::.. Relat&oacute;rio 01</title>\r\n" + 
+				"	\r\n" + 
+				"    <link href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">\r\n" + 
+				"    <link href=\"../css/style.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- Custom styles for this template -->\r\n" + 
+				"    <link href=\"../cover.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- CanvasJS Data -->\r\n" + 
+				"    <script src=\"https://canvasjs.com/assets/script/canvasjs.min.js\"></script>\r\n" + 
+				"	<script type=\"text/javascript\">\r\n" + 
+				"	window.onload = function () {\r\n" + 
+				"		var chart = new CanvasJS.Chart(\"chartContainer\", {\r\n" + 
+				"			title:{\r\n" + 
+				"				text: \"Grafico - Top 10 Arquivos\"              \r\n" + 
+				"			},\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n" + 
+				"					{ label: \""+dados.get(0).getTipo()+"\", y: "+dados.get(0).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(1).getTipo()+"\", y: "+dados.get(1).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(2).getTipo()+"\", y: "+dados.get(2).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(3).getTipo()+"\", y: "+dados.get(3).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(4).getTipo()+"\", y: "+dados.get(4).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(5).getTipo()+"\", y: "+dados.get(5).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(6).getTipo()+"\", y: "+dados.get(6).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(7).getTipo()+"\", y: "+dados.get(7).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(8).getTipo()+"\", y: "+dados.get(8).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(9).getTipo()+"\", y: "+dados.get(9).getValor()+"  },\r\n" +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		chart.render();\r\n" + 
+				"	}\r\n" + 
+				"	</script>\r\n" + 
+				"</head>\r\n" + 
+				"\r\n" + 
+				"<body>\r\n" + 
+				"<!-- Barra de Navegacao -->\r\n" + 
+				"<nav class=\"navbar navbar-inverse navbar-fixed-top\">\r\n" + 
+				"        <div class=\"container-fluid\">\r\n" + 
+				"            <div class=\"navbar-header\">\r\n" + 
+				"                <button type=\"button\" class=\"navbar-toggle collapsed\" data-toggle=\"collapse\" data-target=\"#navbar\" aria-expanded=\"false\" aria-controls=\"navbar\">\r\n" + 
+				"                    <span class=\"sr-only\">Toggle navigation</span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                </button>\r\n" + 
+				"                <a class=\"navbar-brand\" href=\"../index.html\">ECP7AN-MCA1-09</a>\r\n" + 
+				"            </div>\r\n" + 
+				"            <div id=\"navbar\" class=\"navbar-collapse collapse\">\r\n" + 
+				"                <ul class=\"nav navbar-nav navbar-right\">\r\n" + 
+				"                    <li><a href=\"admin.html\">Dashboard</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio01.html\">Top 10 Arquivos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio02.html\">Acessos/Hora</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio03.html\">Top 10 IPs</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio09.html\">Erros 403</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio04.html\">Erros 404</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio10.html\">Top Erros</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio05.html\">Acessos/Dia</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio06.html\">Acessos/M&ecirc;s</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio07.html\">IPs Distintos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio08.html\">Servidor</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                </ul>\r\n" + 
+				"            </div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </nav>\r\n" + 
+				"\r\n" + 
+				"<!-- Corpo da Pagina -->\r\n" + 
+				"    <div class=\"site-wrapper\">\r\n" + 
+				"	    <div class=\"inner cover\">\r\n" + 
+				"    	    <h2 class=\"cover-heading\" align=center>Administrativo - Relat&oacute;rio 01</h2>\r\n" + 
+				"            <p class=\"lead\" align=center>Arquivos mais acessados do servidor.</p>\r\n" + 
+				"            <br>\r\n" + 
+				"            <p class=\"lead\" align=center>\r\n" + 
+				"            	<div id=\"chartContainer\" style=\"height: 300px; width: 100%;\"></div>\r\n" + 
+				"            </p>\r\n" + 
+				"        </div>\r\n" + 
+				"\r\n" + 
+				"        <div class=\"mastfoot\">\r\n" + 
+				"            <div class=\"inner\" align=center>\r\n" + 
+				"            	<br>\r\n" + 
+				"        		<p>ECP7AN-MCA1-09</p>\r\n" + 
+				"        	</div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </div>\r\n" + 
+				"    <script src=\"../js/jquery.min.js\"></script>\r\n" + 
+				"    <script src=\"../js/bootstrap.min.js\"></script>\r\n" + 
+				"</body>\r\n" + 
+				"</html>";
+		
+		return relatorio;
+	}
+	
+	/**
+	 * Monta o relatorio02 dinamicamente conforme dados recuperados no DB do webserver.
+	 * 
+	 * @return relatorio02 montado com os dados do DB
+	 */
+	public String relatorio02 ()
+	{
+		// Recupera do DB o volume de requisicoes por hora
+		String relatorio;
+		ArrayList<ResultTable> dados = serviceAcc.reqsPorHora();
+		
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("DADOS: "+dados.toString());
+			System.out.println("DADOS - Size: "+dados.size());
+		}
+		
+		// Preenche os dados no relatorio
+		relatorio = "<html lang=\"pt-br\">\r\n" + 
+				"<head>\r\n" + 
+				"    <meta charset=\"utf-8\">\r\n" + 
+				"    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\r\n" + 
+				"    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\r\n" + 
+				"	<title>ECP7AN-MCA1-09 ..:::.. Relat&oacute;rio 02</title>\r\n" + 
+				"	\r\n" + 
+				"    <link href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">\r\n" + 
+				"    <link href=\"../css/style.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- Custom styles for this template -->\r\n" + 
+				"    <link href=\"../cover.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- CanvasJS Data -->\r\n" + 
+				"    <script src=\"https://canvasjs.com/assets/script/canvasjs.min.js\"></script>\r\n" + 
+				"	<script type=\"text/javascript\">\r\n" + 
+				"	window.onload = function () {\r\n" + 
+				"		var chart = new CanvasJS.Chart(\"chartContainer\", {\r\n" + 
+				"			title:{\r\n" + 
+				"				text: \"Grafico - Acessos/Horario\"              \r\n" + 
+				"			},\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n" + 
+				"					{ label: \""+dados.get(0).getTipo()+"\", y: "+dados.get(0).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(1).getTipo()+"\", y: "+dados.get(1).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(2).getTipo()+"\", y: "+dados.get(2).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(3).getTipo()+"\", y: "+dados.get(3).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(4).getTipo()+"\", y: "+dados.get(4).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(5).getTipo()+"\", y: "+dados.get(5).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(6).getTipo()+"\", y: "+dados.get(6).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(7).getTipo()+"\", y: "+dados.get(7).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(8).getTipo()+"\", y: "+dados.get(8).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(9).getTipo()+"\", y: "+dados.get(9).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(10).getTipo()+"\", y: "+dados.get(10).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(11).getTipo()+"\", y: "+dados.get(11).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(12).getTipo()+"\", y: "+dados.get(12).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(13).getTipo()+"\", y: "+dados.get(13).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(14).getTipo()+"\", y: "+dados.get(14).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(15).getTipo()+"\", y: "+dados.get(15).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(16).getTipo()+"\", y: "+dados.get(16).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(17).getTipo()+"\", y: "+dados.get(17).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(18).getTipo()+"\", y: "+dados.get(18).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(19).getTipo()+"\", y: "+dados.get(19).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(20).getTipo()+"\", y: "+dados.get(20).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(21).getTipo()+"\", y: "+dados.get(21).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(22).getTipo()+"\", y: "+dados.get(22).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(23).getTipo()+"\", y: "+dados.get(23).getValor()+"  },\r\n" + 
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		chart.render();\r\n" + 
+				"	}\r\n" + 
+				"	</script>\r\n" + 
+				"</head>\r\n" + 
+				"\r\n" + 
+				"<body>\r\n" + 
+				"<!-- Barra de Navegacao -->\r\n" + 
+				"<nav class=\"navbar navbar-inverse navbar-fixed-top\">\r\n" + 
+				"        <div class=\"container-fluid\">\r\n" + 
+				"            <div class=\"navbar-header\">\r\n" + 
+				"                <button type=\"button\" class=\"navbar-toggle collapsed\" data-toggle=\"collapse\" data-target=\"#navbar\" aria-expanded=\"false\" aria-controls=\"navbar\">\r\n" + 
+				"                    <span class=\"sr-only\">Toggle navigation</span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                </button>\r\n" + 
+				"                <a class=\"navbar-brand\" href=\"../index.html\">ECP7AN-MCA1-09</a>\r\n" + 
+				"            </div>\r\n" + 
+				"            <div id=\"navbar\" class=\"navbar-collapse collapse\">\r\n" + 
+				"                <ul class=\"nav navbar-nav navbar-right\">\r\n" + 
+				"                    <li><a href=\"admin.html\">Dashboard</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio01.html\">Top 10 Arquivos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio02.html\">Acessos/Hora</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio03.html\">Top 10 IPs</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio09.html\">Erros 403</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio04.html\">Erros 404</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio10.html\">Top Erros</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio05.html\">Acessos/Dia</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio06.html\">Acessos/M&ecirc;s</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio07.html\">IPs Distintos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio08.html\">Servidor</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                </ul>\r\n" + 
+				"            </div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </nav>\r\n" + 
+				"\r\n" + 
+				"<!-- Corpo da Pagina -->\r\n" + 
+				"    <div class=\"site-wrapper\">\r\n" + 
+				"	    <div class=\"inner cover\">\r\n" + 
+				"    	    <h2 class=\"cover-heading\" align=center>Administrativo - Relat&oacute;rio 02</h2>\r\n" + 
+				"            <p class=\"lead\" align=center>Hor&aacute;rios do dia com mais requisi&ccedil;&otilde;es.</p>\r\n" + 
+				"            <br>\r\n" + 
+				"            <p class=\"lead\" align=center>\r\n" + 
+				"            	<div id=\"chartContainer\" style=\"height: 300px; width: 100%;\"></div>\r\n" + 
+				"            </p>\r\n" + 
+				"        </div>\r\n" + 
+				"\r\n" + 
+				"        <div class=\"mastfoot\">\r\n" + 
+				"            <div class=\"inner\" align=center>\r\n" + 
+				"            	<br>\r\n" + 
+				"        		<p>ECP7AN-MCA1-09</p>\r\n" + 
+				"        	</div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </div>\r\n" + 
+				"    <script src=\"../js/jquery.min.js\"></script>\r\n" + 
+				"    <script src=\"../js/bootstrap.min.js\"></script>\r\n" + 
+				"</body>\r\n" + 
+				"</html>";
+		
+		return relatorio;
+	}
+	
+	/**
+	 * Monta o relatorio03 dinamicamente conforme dados recuperados no DB do webserver.
+	 * 
+	 * @return relatorio03 montado com os dados do DB
+	 */
+	public String relatorio03 ()
+	{
+		// Recupera do DB os IPs mais frequentes
+		String relatorio;
+		ArrayList<ResultTable> dados = serviceAcc.listaIPsFrequentes(10);
+		
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("DADOS: "+dados.toString());
+			System.out.println("DADOS - Size: "+dados.size());
+		}
+		
+		// Preenche os dados no relatorio
+		relatorio = "<html lang=\"pt-br\">\r\n" + 
+				"<head>\r\n" + 
+				"    <meta charset=\"utf-8\">\r\n" + 
+				"    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\r\n" + 
+				"    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\r\n" + 
+				"	<title>ECP7AN-MCA1-09 ..:::.. Relat&oacute;rio 03</title>\r\n" + 
+				"	\r\n" + 
+				"    <link href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">\r\n" + 
+				"    <link href=\"../css/style.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- Custom styles for this template -->\r\n" + 
+				"    <link href=\"../cover.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- CanvasJS Data -->\r\n" + 
+				"    <script src=\"https://canvasjs.com/assets/script/canvasjs.min.js\"></script>\r\n" + 
+				"	<script type=\"text/javascript\">\r\n" + 
+				"	window.onload = function () {\r\n" + 
+				"		var chart = new CanvasJS.Chart(\"chartContainer\", {\r\n" + 
+				"			title:{\r\n" + 
+				"				text: \"Grafico - Top IPs\"              \r\n" + 
+				"			},\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n";
+		
+		for (ResultTable dado : dados)
+		{
+			relatorio = relatorio + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+		}
+		relatorio = relatorio + "				]\r\n" +
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		chart.render();\r\n" + 
+				"	}\r\n" + 
+				"	</script>\r\n" + 
+				"</head>\r\n" + 
+				"\r\n" + 
+				"<body>\r\n" + 
+				"<!-- Barra de Navegacao -->\r\n" + 
+				"<nav class=\"navbar navbar-inverse navbar-fixed-top\">\r\n" + 
+				"        <div class=\"container-fluid\">\r\n" + 
+				"            <div class=\"navbar-header\">\r\n" + 
+				"                <button type=\"button\" class=\"navbar-toggle collapsed\" data-toggle=\"collapse\" data-target=\"#navbar\" aria-expanded=\"false\" aria-controls=\"navbar\">\r\n" + 
+				"                    <span class=\"sr-only\">Toggle navigation</span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                </button>\r\n" + 
+				"                <a class=\"navbar-brand\" href=\"../index.html\">ECP7AN-MCA1-09</a>\r\n" + 
+				"            </div>\r\n" + 
+				"            <div id=\"navbar\" class=\"navbar-collapse collapse\">\r\n" + 
+				"                <ul class=\"nav navbar-nav navbar-right\">\r\n" + 
+				"                    <li><a href=\"admin.html\">Dashboard</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio01.html\">Top 10 Arquivos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio02.html\">Acessos/Hora</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio03.html\">Top 10 IPs</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio09.html\">Erros 403</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio04.html\">Erros 404</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio10.html\">Top Erros</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio05.html\">Acessos/Dia</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio06.html\">Acessos/M&ecirc;s</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio07.html\">IPs Distintos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio08.html\">Servidor</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                </ul>\r\n" + 
+				"            </div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </nav>\r\n" + 
+				"\r\n" + 
+				"<!-- Corpo da Pagina -->\r\n" + 
+				"    <div class=\"site-wrapper\">\r\n" + 
+				"	    <div class=\"inner cover\">\r\n" + 
+				"    	    <h2 class=\"cover-heading\" align=center>Administrativo - Relat&oacute;rio 03</h2>\r\n" + 
+				"            <p class=\"lead\" align=center>IPs que mais enviaram requisi&ccedil;&otilde;es.</p>\r\n" + 
+				"            <br>\r\n" + 
+				"            <p class=\"lead\" align=center>\r\n" + 
+				"            	<div id=\"chartContainer\" style=\"height: 300px; width: 100%;\"></div>\r\n" + 
+				"            </p>\r\n" + 
+				"        </div>\r\n" + 
+				"\r\n" + 
+				"        <div class=\"mastfoot\">\r\n" + 
+				"            <div class=\"inner\" align=center>\r\n" + 
+				"            	<br>\r\n" + 
+				"        		<p>ECP7AN-MCA1-09</p>\r\n" + 
+				"        	</div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </div>\r\n" + 
+				"    <script src=\"../js/jquery.min.js\"></script>\r\n" + 
+				"    <script src=\"../js/bootstrap.min.js\"></script>\r\n" + 
+				"</body>\r\n" + 
+				"</html>";
+		
+		return relatorio;
+	}
+	
+	/**
+	 * Monta o relatorio04 dinamicamente conforme dados recuperados no DB do webserver.
+	 * 
+	 * @return relatorio04 montado com os dados do DB
+	 */
+	public String relatorio04 ()
+	{
+		// Recupera do DB os que causaram erro 404
+		String relatorio;
+		ArrayList<ResultTable> dados = serviceAcc.lista404(true);
+		
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("DADOS: "+dados.toString());
+			System.out.println("DADOS - Size: "+dados.size());
+		}
+		
+		// Preenche os dados no relatorio
+		relatorio = "<html lang=\"pt-br\">\r\n" + 
+				"<head>\r\n" + 
+				"    <meta charset=\"utf-8\">\r\n" + 
+				"    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\r\n" + 
+				"    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\r\n" + 
+				"	<title>ECP7AN-MCA1-09 ..:::.. Relat&oacute;rio 04</title>\r\n" + 
+				"	\r\n" + 
+				"    <link href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">\r\n" + 
+				"    <link href=\"../css/style.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- Custom styles for this template -->\r\n" + 
+				"    <link href=\"../cover.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- CanvasJS Data -->\r\n" + 
+				"    <script src=\"https://canvasjs.com/assets/script/canvasjs.min.js\"></script>\r\n" + 
+				"	<script type=\"text/javascript\">\r\n" + 
+				"	window.onload = function () {\r\n" + 
+				"		var chart = new CanvasJS.Chart(\"chartContainer\", {\r\n" + 
+				"			title:{\r\n" + 
+				"				text: \"Grafico - Erros 404\"              \r\n" + 
+				"			},\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"doughnut\",\r\n" + 
+				"				dataPoints: [\r\n";
+		for (ResultTable dado : dados)
+		{
+			relatorio = relatorio + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+		}
+		relatorio = relatorio + "				]\r\n" +
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		chart.render();\r\n" + 
+				"	}\r\n" + 
+				"	</script>\r\n" + 
+				"</head>\r\n" + 
+				"\r\n" + 
+				"<body>\r\n" + 
+				"<!-- Barra de Navegacao -->\r\n" + 
+				"<nav class=\"navbar navbar-inverse navbar-fixed-top\">\r\n" + 
+				"        <div class=\"container-fluid\">\r\n" + 
+				"            <div class=\"navbar-header\">\r\n" + 
+				"                <button type=\"button\" class=\"navbar-toggle collapsed\" data-toggle=\"collapse\" data-target=\"#navbar\" aria-expanded=\"false\" aria-controls=\"navbar\">\r\n" + 
+				"                    <span class=\"sr-only\">Toggle navigation</span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                </button>\r\n" + 
+				"                <a class=\"navbar-brand\" href=\"../index.html\">ECP7AN-MCA1-09</a>\r\n" + 
+				"            </div>\r\n" + 
+				"            <div id=\"navbar\" class=\"navbar-collapse collapse\">\r\n" + 
+				"                <ul class=\"nav navbar-nav navbar-right\">\r\n" + 
+				"                    <li><a href=\"admin.html\">Dashboard</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio01.html\">Top 10 Arquivos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio02.html\">Acessos/Hora</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio03.html\">Top 10 IPs</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio09.html\">Erros 403</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio04.html\">Erros 404</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio10.html\">Top Erros</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio05.html\">Acessos/Dia</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio06.html\">Acessos/M&ecirc;s</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio07.html\">IPs Distintos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio08.html\">Servidor</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                </ul>\r\n" + 
+				"            </div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </nav>\r\n" + 
+				"\r\n" + 
+				"<!-- Corpo da Pagina -->\r\n" + 
+				"    <div class=\"site-wrapper\">\r\n" + 
+				"	    <div class=\"inner cover\">\r\n" + 
+				"    	    <h2 class=\"cover-heading\" align=center>Administrativo - Relat&oacute;rio 04</h2>\r\n" + 
+				"            <p class=\"lead\" align=center>Arquivos distintos que causaram erro HTTP 404.</p>\r\n" + 
+				"            <br>\r\n" + 
+				"            <p class=\"lead\" align=center>\r\n" + 
+				"            	<div id=\"chartContainer\" style=\"height: 300px; width: 100%;\"></div>\r\n" + 
+				"            </p>\r\n" + 
+				"        </div>\r\n" + 
+				"\r\n" + 
+				"        <div class=\"mastfoot\">\r\n" + 
+				"            <div class=\"inner\" align=center>\r\n" + 
+				"            	<br>\r\n" + 
+				"        		<p>ECP7AN-MCA1-09</p>\r\n" + 
+				"        	</div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </div>\r\n" + 
+				"    <script src=\"../js/jquery.min.js\"></script>\r\n" + 
+				"    <script src=\"../js/bootstrap.min.js\"></script>\r\n" + 
+				"</body>\r\n" + 
+				"</html>";
+		
+		return relatorio;
+	}
+	
+	/**
+	 * Monta o relatorio05 dinamicamente conforme dados recuperados no DB do webserver.
+	 * 
+	 * @return relatorio05 montado com os dados do DB
+	 */
+	public String relatorio05 ()
+	{
+		// Recupera do DB as requisicoes por dia
+		String relatorio;
+		ArrayList<ResultTable> dados = serviceAcc.reqsPorDia();
+		
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("DADOS: "+dados.toString());
+			System.out.println("DADOS - Size: "+dados.size());
+		}
+		
+		// Preenche os dados no relatorio
+		relatorio = "<html lang=\"pt-br\">\r\n" + 
+				"<head>\r\n" + 
+				"    <meta charset=\"utf-8\">\r\n" + 
+				"    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\r\n" + 
+				"    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\r\n" + 
+				"	<title>ECP7AN-MCA1-09 ..:::.. Relat&oacute;rio 05</title>\r\n" + 
+				"	\r\n" + 
+				"    <link href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">\r\n" + 
+				"    <link href=\"../css/style.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- Custom styles for this template -->\r\n" + 
+				"    <link href=\"../cover.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- CanvasJS Data -->\r\n" + 
+				"    <script src=\"https://canvasjs.com/assets/script/canvasjs.min.js\"></script>\r\n" + 
+				"	<script type=\"text/javascript\">\r\n" + 
+				"	window.onload = function () {\r\n" + 
+				"		var chart = new CanvasJS.Chart(\"chartContainer\", {\r\n" + 
+				"			title:{\r\n" + 
+				"				text: \"Grafico - Acessos/Dia\"              \r\n" + 
+				"			},\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n" + 
+				"					{ label: \""+dados.get(0).getTipo()+"\", y: "+dados.get(0).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(1).getTipo()+"\", y: "+dados.get(1).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(2).getTipo()+"\", y: "+dados.get(2).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(3).getTipo()+"\", y: "+dados.get(3).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(4).getTipo()+"\", y: "+dados.get(4).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(5).getTipo()+"\", y: "+dados.get(5).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(6).getTipo()+"\", y: "+dados.get(6).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(7).getTipo()+"\", y: "+dados.get(7).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(8).getTipo()+"\", y: "+dados.get(8).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(9).getTipo()+"\", y: "+dados.get(9).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(10).getTipo()+"\", y: "+dados.get(10).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(11).getTipo()+"\", y: "+dados.get(11).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(12).getTipo()+"\", y: "+dados.get(12).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(13).getTipo()+"\", y: "+dados.get(13).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(14).getTipo()+"\", y: "+dados.get(14).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(15).getTipo()+"\", y: "+dados.get(15).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(16).getTipo()+"\", y: "+dados.get(16).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(17).getTipo()+"\", y: "+dados.get(17).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(18).getTipo()+"\", y: "+dados.get(18).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(19).getTipo()+"\", y: "+dados.get(19).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(20).getTipo()+"\", y: "+dados.get(20).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(21).getTipo()+"\", y: "+dados.get(21).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(22).getTipo()+"\", y: "+dados.get(22).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(23).getTipo()+"\", y: "+dados.get(23).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(24).getTipo()+"\", y: "+dados.get(24).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(25).getTipo()+"\", y: "+dados.get(25).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(26).getTipo()+"\", y: "+dados.get(26).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(27).getTipo()+"\", y: "+dados.get(27).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(28).getTipo()+"\", y: "+dados.get(28).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(29).getTipo()+"\", y: "+dados.get(29).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(30).getTipo()+"\", y: "+dados.get(30).getValor()+"  },\r\n" + 
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		chart.render();\r\n" + 
+				"	}\r\n" + 
+				"	</script>\r\n" + 
+				"</head>\r\n" + 
+				"\r\n" + 
+				"<body>\r\n" + 
+				"<!-- Barra de Navegacao -->\r\n" + 
+				"<nav class=\"navbar navbar-inverse navbar-fixed-top\">\r\n" + 
+				"        <div class=\"container-fluid\">\r\n" + 
+				"            <div class=\"navbar-header\">\r\n" + 
+				"                <button type=\"button\" class=\"navbar-toggle collapsed\" data-toggle=\"collapse\" data-target=\"#navbar\" aria-expanded=\"false\" aria-controls=\"navbar\">\r\n" + 
+				"                    <span class=\"sr-only\">Toggle navigation</span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                </button>\r\n" + 
+				"                <a class=\"navbar-brand\" href=\"../index.html\">ECP7AN-MCA1-09</a>\r\n" + 
+				"            </div>\r\n" + 
+				"            <div id=\"navbar\" class=\"navbar-collapse collapse\">\r\n" + 
+				"                <ul class=\"nav navbar-nav navbar-right\">\r\n" + 
+				"                    <li><a href=\"admin.html\">Dashboard</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio01.html\">Top 10 Arquivos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio02.html\">Acessos/Hora</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio03.html\">Top 10 IPs</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio09.html\">Erros 403</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio04.html\">Erros 404</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio10.html\">Top Erros</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio05.html\">Acessos/Dia</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio06.html\">Acessos/M&ecirc;s</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio07.html\">IPs Distintos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio08.html\">Servidor</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                </ul>\r\n" + 
+				"            </div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </nav>\r\n" + 
+				"\r\n" + 
+				"<!-- Corpo da Pagina -->\r\n" + 
+				"    <div class=\"site-wrapper\">\r\n" + 
+				"	    <div class=\"inner cover\">\r\n" + 
+				"    	    <h2 class=\"cover-heading\" align=center>Administrativo - Relat&oacute;rio 05</h2>\r\n" + 
+				"            <p class=\"lead\" align=center>Acessos por dia.</p>\r\n" + 
+				"            <br>\r\n" + 
+				"            <p class=\"lead\" align=center>\r\n" + 
+				"            	<div id=\"chartContainer\" style=\"height: 300px; width: 100%;\"></div>\r\n" + 
+				"            </p>\r\n" + 
+				"        </div>\r\n" + 
+				"\r\n" + 
+				"        <div class=\"mastfoot\">\r\n" + 
+				"            <div class=\"inner\" align=center>\r\n" + 
+				"            	<br>\r\n" + 
+				"        		<p>ECP7AN-MCA1-09</p>\r\n" + 
+				"        	</div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </div>\r\n" + 
+				"    <script src=\"../js/jquery.min.js\"></script>\r\n" + 
+				"    <script src=\"../js/bootstrap.min.js\"></script>\r\n" + 
+				"</body>\r\n" + 
+				"</html>";
+		
+		return relatorio;
+	}
+	
+	/**
+	 * Monta o relatorio06 dinamicamente conforme dados recuperados no DB do webserver.
+	 * 
+	 * @return relatorio06 montado com os dados do DB
+	 */
+	public String relatorio06 ()
+	{
+		// Recupera do DB as requisicoes por mes
+		String relatorio;
+		ArrayList<ResultTable> dados = serviceAcc.reqsPorMes();
+		
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("DADOS: "+dados.toString());
+			System.out.println("DADOS - Size: "+dados.size());
+		}
+		
+		// Preenche os dados no relatorio
+		relatorio = "<html lang=\"pt-br\">\r\n" + 
+				"<head>\r\n" + 
+				"    <meta charset=\"utf-8\">\r\n" + 
+				"    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\r\n" + 
+				"    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\r\n" + 
+				"	<title>ECP7AN-MCA1-09 ..:::.. Relat&oacute;rio 06</title>\r\n" + 
+				"	\r\n" + 
+				"    <link href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">\r\n" + 
+				"    <link href=\"../css/style.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- Custom styles for this template -->\r\n" + 
+				"    <link href=\"../cover.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- CanvasJS Data -->\r\n" + 
+				"    <script src=\"https://canvasjs.com/assets/script/canvasjs.min.js\"></script>\r\n" + 
+				"	<script type=\"text/javascript\">\r\n" + 
+				"	window.onload = function () {\r\n" + 
+				"		var chart = new CanvasJS.Chart(\"chartContainer\", {\r\n" + 
+				"			title:{\r\n" + 
+				"				text: \"Grafico - Acessos/Mes\"              \r\n" + 
+				"			},\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n" + 
+				"					{ label: \""+dados.get(0).getTipo()+"\", y: "+dados.get(0).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(1).getTipo()+"\", y: "+dados.get(1).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(2).getTipo()+"\", y: "+dados.get(2).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(3).getTipo()+"\", y: "+dados.get(3).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(4).getTipo()+"\", y: "+dados.get(4).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(5).getTipo()+"\", y: "+dados.get(5).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(6).getTipo()+"\", y: "+dados.get(6).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(7).getTipo()+"\", y: "+dados.get(7).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(8).getTipo()+"\", y: "+dados.get(8).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(9).getTipo()+"\", y: "+dados.get(9).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(10).getTipo()+"\", y: "+dados.get(10).getValor()+"  },\r\n" +
+				"					{ label: \""+dados.get(11).getTipo()+"\", y: "+dados.get(11).getValor()+"  },\r\n" +
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		chart.render();\r\n" + 
+				"	}\r\n" + 
+				"	</script>\r\n" + 
+				"</head>\r\n" + 
+				"\r\n" + 
+				"<body>\r\n" + 
+				"<!-- Barra de Navegacao -->\r\n" + 
+				"<nav class=\"navbar navbar-inverse navbar-fixed-top\">\r\n" + 
+				"        <div class=\"container-fluid\">\r\n" + 
+				"            <div class=\"navbar-header\">\r\n" + 
+				"                <button type=\"button\" class=\"navbar-toggle collapsed\" data-toggle=\"collapse\" data-target=\"#navbar\" aria-expanded=\"false\" aria-controls=\"navbar\">\r\n" + 
+				"                    <span class=\"sr-only\">Toggle navigation</span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                </button>\r\n" + 
+				"                <a class=\"navbar-brand\" href=\"../index.html\">ECP7AN-MCA1-09</a>\r\n" + 
+				"            </div>\r\n" + 
+				"            <div id=\"navbar\" class=\"navbar-collapse collapse\">\r\n" + 
+				"                <ul class=\"nav navbar-nav navbar-right\">\r\n" + 
+				"                    <li><a href=\"admin.html\">Dashboard</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio01.html\">Top 10 Arquivos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio02.html\">Acessos/Hora</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio03.html\">Top 10 IPs</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio09.html\">Erros 403</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio04.html\">Erros 404</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio10.html\">Top Erros</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio05.html\">Acessos/Dia</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio06.html\">Acessos/M&ecirc;s</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio07.html\">IPs Distintos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio08.html\">Servidor</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                </ul>\r\n" + 
+				"            </div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </nav>\r\n" + 
+				"\r\n" + 
+				"<!-- Corpo da Pagina -->\r\n" + 
+				"    <div class=\"site-wrapper\">\r\n" + 
+				"	    <div class=\"inner cover\">\r\n" + 
+				"    	    <h2 class=\"cover-heading\" align=center>Administrativo - Relat&oacute;rio 06</h2>\r\n" + 
+				"            <p class=\"lead\" align=center>Acessos por m&ecirc;s.</p>\r\n" + 
+				"            <br>\r\n" + 
+				"            <p class=\"lead\" align=center>\r\n" + 
+				"            	<div id=\"chartContainer\" style=\"height: 300px; width: 100%;\"></div>\r\n" + 
+				"            </p>\r\n" + 
+				"        </div>\r\n" + 
+				"\r\n" + 
+				"        <div class=\"mastfoot\">\r\n" + 
+				"            <div class=\"inner\" align=center>\r\n" + 
+				"            	<br>\r\n" + 
+				"        		<p>ECP7AN-MCA1-09</p>\r\n" + 
+				"        	</div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </div>\r\n" + 
+				"    <script src=\"../js/jquery.min.js\"></script>\r\n" + 
+				"    <script src=\"../js/bootstrap.min.js\"></script>\r\n" + 
+				"</body>\r\n" + 
+				"</html>";
+		
+		return relatorio;
+	}
+	
+	/**
+	 * Monta o relatorio07 dinamicamente conforme dados recuperados no DB do webserver.
+	 * 
+	 * @return relatorio07 montado com os dados do DB
+	 */
+	public String relatorio07 ()
+	{
+		// Recupera do DB os IPs distintos
+		String relatorio;
+		ArrayList<ResultTable> dados = serviceAcc.listaDistintos();
+		
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("DADOS: "+dados.toString());
+			System.out.println("DADOS - Size: "+dados.size());
+		}
+		
+		// Preenche os dados no relatorio
+		relatorio = "<html lang=\"pt-br\">\r\n" + 
+				"<head>\r\n" + 
+				"    <meta charset=\"utf-8\">\r\n" + 
+				"    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\r\n" + 
+				"    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\r\n" + 
+				"	<title>ECP7AN-MCA1-09 ..:::.. Relat&oacute;rio 07</title>\r\n" + 
+				"	\r\n" + 
+				"    <link href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">\r\n" + 
+				"    <link href=\"../css/style.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- Custom styles for this template -->\r\n" + 
+				"    <link href=\"../cover.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- CanvasJS Data -->\r\n" + 
+				"    <script src=\"https://canvasjs.com/assets/script/canvasjs.min.js\"></script>\r\n" + 
+				"	<script type=\"text/javascript\">\r\n" + 
+				"	window.onload = function () {\r\n" + 
+				"		var chart = new CanvasJS.Chart(\"chartContainer\", {\r\n" + 
+				"			title:{\r\n" + 
+				"				text: \"Grafico - IPs Distintos\"              \r\n" + 
+				"			},\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"doughnut\",\r\n" + 
+				"				dataPoints: [\r\n";
+		for (ResultTable dado : dados)
+        {
+			relatorio = relatorio + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+        }
+		relatorio = relatorio + "				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		chart.render();\r\n" + 
+				"	}\r\n" + 
+				"	</script>\r\n" + 
+				"</head>\r\n" + 
+				"\r\n" + 
+				"<body>\r\n" + 
+				"<!-- Barra de Navegacao -->\r\n" + 
+				"<nav class=\"navbar navbar-inverse navbar-fixed-top\">\r\n" + 
+				"        <div class=\"container-fluid\">\r\n" + 
+				"            <div class=\"navbar-header\">\r\n" + 
+				"                <button type=\"button\" class=\"navbar-toggle collapsed\" data-toggle=\"collapse\" data-target=\"#navbar\" aria-expanded=\"false\" aria-controls=\"navbar\">\r\n" + 
+				"                    <span class=\"sr-only\">Toggle navigation</span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                </button>\r\n" + 
+				"                <a class=\"navbar-brand\" href=\"../index.html\">ECP7AN-MCA1-09</a>\r\n" + 
+				"            </div>\r\n" + 
+				"            <div id=\"navbar\" class=\"navbar-collapse collapse\">\r\n" + 
+				"                <ul class=\"nav navbar-nav navbar-right\">\r\n" + 
+				"                    <li><a href=\"admin.html\">Dashboard</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio01.html\">Top 10 Arquivos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio02.html\">Acessos/Hora</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio03.html\">Top 10 IPs</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio09.html\">Erros 403</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio04.html\">Erros 404</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio10.html\">Top Erros</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio05.html\">Acessos/Dia</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio06.html\">Acessos/M&ecirc;s</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio07.html\">IPs Distintos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio08.html\">Servidor</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                </ul>\r\n" + 
+				"            </div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </nav>\r\n" + 
+				"\r\n" + 
+				"<!-- Corpo da Pagina -->\r\n" + 
+				"    <div class=\"site-wrapper\">\r\n" + 
+				"	    <div class=\"inner cover\">\r\n" + 
+				"    	    <h2 class=\"cover-heading\" align=center>Administrativo - Relat&oacute;rio 07</h2>\r\n" + 
+				"            <p class=\"lead\" align=center>IPs distintos que acessaram o servidor web.</p>\r\n" + 
+				"            <br>\r\n" + 
+				"            <p class=\"lead\" align=center>\r\n" + 
+				"            	<div id=\"chartContainer\" style=\"height: 300px; width: 100%;\"></div>\r\n" + 
+				"            </p>\r\n" + 
+				"        </div>\r\n" + 
+				"\r\n" + 
+				"        <div class=\"mastfoot\">\r\n" + 
+				"            <div class=\"inner\" align=center>\r\n" + 
+				"            	<br>\r\n" + 
+				"        		<p>ECP7AN-MCA1-09</p>\r\n" + 
+				"        	</div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </div>\r\n" + 
+				"    <script src=\"../js/jquery.min.js\"></script>\r\n" + 
+				"    <script src=\"../js/bootstrap.min.js\"></script>\r\n" + 
+				"</body>\r\n" + 
+				"</html>";
+		
+		return relatorio;
+	}
+	
+	/**
+	 * Monta o relatorio08 dinamicamente conforme dados recuperados no DB do webserver.
+	 * 
+	 * @return relatorio08 montado com os dados do DB
+	 */
+	public String relatorio08 ()
+	{
+		// Recupera do DB os logs de servidor
+		String relatorio;
+		ArrayList<AbstractLog> dados = serviceSrv.listaUltimos(20);
+		
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("DADOS: "+dados.toString());
+			System.out.println("DADOS - Size: "+dados.size());
+		}
+		
+		// Preenche os dados no relatorio
+		relatorio = "<html lang=\"pt-br\">\r\n" + 
+				"<head>\r\n" + 
+				"    <meta charset=\"utf-8\">\r\n" + 
+				"    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\r\n" + 
+				"    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\r\n" + 
+				"	<title>ECP7AN-MCA1-09 ..:::.. Relat&oacute;rio 08</title>\r\n" + 
+				"	\r\n" + 
+				"    <link href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">\r\n" + 
+				"    <link href=\"../css/style.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- Custom styles for this template -->\r\n" + 
+				"    <link href=\"../css/cover.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"</head>\r\n" + 
+				"\r\n" + 
+				"<body>\r\n" + 
+				"<!-- Barra de Navegacao -->\r\n" + 
+				"<nav class=\"navbar navbar-inverse navbar-fixed-top\">\r\n" + 
+				"        <div class=\"container-fluid\">\r\n" + 
+				"            <div class=\"navbar-header\">\r\n" + 
+				"                <button type=\"button\" class=\"navbar-toggle collapsed\" data-toggle=\"collapse\" data-target=\"#navbar\" aria-expanded=\"false\" aria-controls=\"navbar\">\r\n" + 
+				"                    <span class=\"sr-only\">Toggle navigation</span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                </button>\r\n" + 
+				"                <a class=\"navbar-brand\" href=\"../index.html\">ECP7AN-MCA1-09</a>\r\n" + 
+				"            </div>\r\n" + 
+				"            <div id=\"navbar\" class=\"navbar-collapse collapse\">\r\n" + 
+				"                <ul class=\"nav navbar-nav navbar-right\">\r\n" + 
+				"                    <li><a href=\"admin.html\">Dashboard</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio01.html\">Top 10 Arquivos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio02.html\">Acessos/Hora</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio03.html\">Top 10 IPs</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio09.html\">Erros 403</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio04.html\">Erros 404</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio10.html\">Top Erros</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio05.html\">Acessos/Dia</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio06.html\">Acessos/M&ecirc;s</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio07.html\">IPs Distintos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio08.html\">Servidor</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                </ul>\r\n" + 
+				"            </div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </nav>\r\n" + 
+				"\r\n" + 
+				"<!-- Corpo da Pagina -->\r\n" + 
+				"    <div class=\"site-wrapper\">\r\n\r\n" + 
+				"	    <div class=\"inner cover\">\r\n" + 
+				"    	    <h2 class=\"cover-heading\" align=center>Administrativo - Relat&oacute;rio 08</h2>\r\n" + 
+				"           <p class=\"lead\" align=center>Logs de servi&ccedil;o do ServerWeb.</p>\r\n" + 
+				"       </div>\r\n" + 
+				"	    <div class=\"table-responsive\">\r\n" + 
+				"			<table class=\"table table-hover\">\r\n" + 
+				"	    	<thead>\r\n" + 
+				"	      	<tr>\r\n" + 
+				"	        	<th>Data</th>\r\n" + 
+				"	        	<th>Log</th>\r\n" + 
+				"		    </tr>\r\n" + 
+				"		    </thead>\r\n" + 
+				"		    <tbody>\r\n";
+		for (AbstractLog log : dados)
+		{
+			relatorio = relatorio + 
+					"		    <tr>\r\n" + 
+					"		        <td>"+log.getData()+"</td>\r\n" + 
+					"		        <td>"+log.getText()+"</td>\r\n" + 
+					"		    </tr>\r\n";
+		}
+		relatorio = relatorio +
+				"		    </tbody>\r\n" + 
+				"		  </table>\r\n" + 
+				"		</div>\r\n" + 
+				"	</div>\r\n" +
+				"\r\n" + 
+				"    <script src=\"../js/jquery.min.js\"></script>\r\n" + 
+				"    <script src=\"../js/bootstrap.min.js\"></script>\r\n" + 
+				"</body>\r\n" + 
+				"</html>";
+		
+		return relatorio;
+	}
+	
+	/**
+	 * Monta o relatorio09 dinamicamente conforme dados recuperados no DB do webserver.
+	 * 
+	 * @return relatorio09 montado com os dados do DB
+	 */
+	public String relatorio09 ()
+	{
+		// Recupera do DB os que causaram erro 403
+		String relatorio;
+		ArrayList<ResultTable> dados = serviceAcc.lista403(true);		
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("DADOS: "+dados.toString());
+			System.out.println("DADOS - Size: "+dados.size());
+		}
+		
+		// Preenche os dados no relatorio
+		relatorio = "<html lang=\"pt-br\">\r\n" + 
+				"<head>\r\n" + 
+				"    <meta charset=\"utf-8\">\r\n" + 
+				"    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\r\n" + 
+				"    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\r\n" + 
+				"	<title>ECP7AN-MCA1-09 ..:::.. Relat&oacute;rio 09</title>\r\n" + 
+				"	\r\n" + 
+				"    <link href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">\r\n" + 
+				"    <link href=\"../css/style.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- Custom styles for this template -->\r\n" + 
+				"    <link href=\"../cover.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- CanvasJS Data -->\r\n" + 
+				"    <script src=\"https://canvasjs.com/assets/script/canvasjs.min.js\"></script>\r\n" + 
+				"	<script type=\"text/javascript\">\r\n" + 
+				"	window.onload = function () {\r\n" + 
+				"		var chart = new CanvasJS.Chart(\"chartContainer\", {\r\n" + 
+				"			title:{\r\n" + 
+				"				text: \"Grafico - Erros 403\"              \r\n" + 
+				"			},\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"doughnut\",\r\n" + 
+				"				dataPoints: [\r\n";
+		for (ResultTable dado : dados)
+		{
+			relatorio = relatorio + "					{ label: \""+dado.getTipo()+"\", y: "+dado.getValor()+"  },\r\n"; 
+		}
+		relatorio = relatorio + "				]\r\n" +
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		chart.render();\r\n" + 
+				"	}\r\n" + 
+				"	</script>\r\n" + 
+				"</head>\r\n" + 
+				"\r\n" + 
+				"<body>\r\n" + 
+				"<!-- Barra de Navegacao -->\r\n" + 
+				"<nav class=\"navbar navbar-inverse navbar-fixed-top\">\r\n" + 
+				"        <div class=\"container-fluid\">\r\n" + 
+				"            <div class=\"navbar-header\">\r\n" + 
+				"                <button type=\"button\" class=\"navbar-toggle collapsed\" data-toggle=\"collapse\" data-target=\"#navbar\" aria-expanded=\"false\" aria-controls=\"navbar\">\r\n" + 
+				"                    <span class=\"sr-only\">Toggle navigation</span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                </button>\r\n" + 
+				"                <a class=\"navbar-brand\" href=\"../index.html\">ECP7AN-MCA1-09</a>\r\n" + 
+				"            </div>\r\n" + 
+				"            <div id=\"navbar\" class=\"navbar-collapse collapse\">\r\n" + 
+				"                <ul class=\"nav navbar-nav navbar-right\">\r\n" + 
+				"                    <li><a href=\"admin.html\">Dashboard</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio01.html\">Top 10 Arquivos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio02.html\">Acessos/Hora</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio03.html\">Top 10 IPs</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio09.html\">Erros 403</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio04.html\">Erros 404</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio10.html\">Top Erros</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio05.html\">Acessos/Dia</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio06.html\">Acessos/M&ecirc;s</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio07.html\">IPs Distintos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio08.html\">Servidor</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                </ul>\r\n" + 
+				"            </div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </nav>\r\n" + 
+				"\r\n" + 
+				"<!-- Corpo da Pagina -->\r\n" + 
+				"    <div class=\"site-wrapper\">\r\n" + 
+				"	    <div class=\"inner cover\">\r\n" + 
+				"    	    <h2 class=\"cover-heading\" align=center>Administrativo - Relat&oacute;rio 09</h2>\r\n" + 
+				"            <p class=\"lead\" align=center>Arquivos distintos que causaram erro HTTP 403.</p>\r\n" + 
+				"            <br>\r\n" + 
+				"            <p class=\"lead\" align=center>\r\n" + 
+				"            	<div id=\"chartContainer\" style=\"height: 300px; width: 100%;\"></div>\r\n" + 
+				"            </p>\r\n" + 
+				"        </div>\r\n" + 
+				"\r\n" + 
+				"        <div class=\"mastfoot\">\r\n" + 
+				"            <div class=\"inner\" align=center>\r\n" + 
+				"            	<br>\r\n" + 
+				"        		<p>ECP7AN-MCA1-09</p>\r\n" + 
+				"        	</div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </div>\r\n" + 
+				"    <script src=\"../js/jquery.min.js\"></script>\r\n" + 
+				"    <script src=\"../js/bootstrap.min.js\"></script>\r\n" + 
+				"</body>\r\n" + 
+				"</html>";
+		
+		return relatorio;
+	}
+	
+	/**
+	 * Monta o relatorio10 dinamicamente conforme dados recuperados no DB do webserver.
+	 * 
+	 * @return relatorio10 montado com os dados do DB
+	 */
+	public String relatorio10 ()
+	{
+		// Recupera do DB os 10 mais acessados
+		String relatorio;
+		ArrayList<ResultTable> dados = serviceAcc.listaTopErros();
+		
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("DADOS: "+dados.toString());
+			System.out.println("DADOS - Size: "+dados.size());
+		}
+		
+		// Preenche os dados no relatorio
+		relatorio = "<html lang=\"pt-br\">\r\n" + 
+				"<head>\r\n" + 
+				"    <meta charset=\"utf-8\">\r\n" + 
+				"    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\r\n" + 
+				"    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\r\n" + 
+				"	<title>ECP7AN-MCA1-09 ..:::.. Relat&oacute;rio 10</title>\r\n" + 
+				"	\r\n" + 
+				"    <link href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">\r\n" + 
+				"    <link href=\"../css/style.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- Custom styles for this template -->\r\n" + 
+				"    <link href=\"../cover.css\" rel=\"stylesheet\">\r\n" + 
+				"    \r\n" + 
+				"    <!-- CanvasJS Data -->\r\n" + 
+				"    <script src=\"https://canvasjs.com/assets/script/canvasjs.min.js\"></script>\r\n" + 
+				"	<script type=\"text/javascript\">\r\n" + 
+				"	window.onload = function () {\r\n" + 
+				"		var chart = new CanvasJS.Chart(\"chartContainer\", {\r\n" + 
+				"			title:{\r\n" + 
+				"				text: \"Grafico - Top Erros\"              \r\n" + 
+				"			},\r\n" + 
+				"			data: [              \r\n" + 
+				"			{\r\n" + 
+				"				// Change type to \"doughnut\", \"line\", \"splineArea\", etc.\r\n" + 
+				"				type: \"column\",\r\n" + 
+				"				dataPoints: [\r\n" + 
+				"					{ label: \""+dados.get(0).getTipo()+"\", y: "+dados.get(0).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(1).getTipo()+"\", y: "+dados.get(1).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(2).getTipo()+"\", y: "+dados.get(2).getValor()+"  },\r\n" + 
+				"					{ label: \""+dados.get(3).getTipo()+"\", y: "+dados.get(3).getValor()+"  },\r\n" + 
+				"				]\r\n" + 
+				"			}\r\n" + 
+				"			]\r\n" + 
+				"		});\r\n" + 
+				"		chart.render();\r\n" + 
+				"	}\r\n" + 
+				"	</script>\r\n" + 
+				"</head>\r\n" + 
+				"\r\n" + 
+				"<body>\r\n" + 
+				"<!-- Barra de Navegacao -->\r\n" + 
+				"<nav class=\"navbar navbar-inverse navbar-fixed-top\">\r\n" + 
+				"        <div class=\"container-fluid\">\r\n" + 
+				"            <div class=\"navbar-header\">\r\n" + 
+				"                <button type=\"button\" class=\"navbar-toggle collapsed\" data-toggle=\"collapse\" data-target=\"#navbar\" aria-expanded=\"false\" aria-controls=\"navbar\">\r\n" + 
+				"                    <span class=\"sr-only\">Toggle navigation</span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                    <span class=\"icon-bar\"></span>\r\n" + 
+				"                </button>\r\n" + 
+				"                <a class=\"navbar-brand\" href=\"../index.html\">ECP7AN-MCA1-09</a>\r\n" + 
+				"            </div>\r\n" + 
+				"            <div id=\"navbar\" class=\"navbar-collapse collapse\">\r\n" + 
+				"                <ul class=\"nav navbar-nav navbar-right\">\r\n" + 
+				"                    <li><a href=\"admin.html\">Dashboard</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio01.html\">Top 10 Arquivos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio02.html\">Acessos/Hora</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio03.html\">Top 10 IPs</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio09.html\">Erros 403</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio04.html\">Erros 404</a>\r\n" +  
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio10.html\">Top Erros</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio05.html\">Acessos/Dia</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio06.html\">Acessos/M&ecirc;s</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio07.html\">IPs Distintos</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                    <li><a href=\"relatorio08.html\">Servidor</a>\r\n" + 
+				"                    </li>\r\n" + 
+				"                </ul>\r\n" + 
+				"            </div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </nav>\r\n" + 
+				"\r\n" + 
+				"<!-- Corpo da Pagina -->\r\n" + 
+				"    <div class=\"site-wrapper\">\r\n" + 
+				"	    <div class=\"inner cover\">\r\n" + 
+				"    	    <h2 class=\"cover-heading\" align=center>Administrativo - Relat&oacute;rio 10</h2>\r\n" + 
+				"            <p class=\"lead\" align=center>Listagem de erros de acesso no servidor.</p>\r\n" + 
+				"            <br>\r\n" + 
+				"            <p class=\"lead\" align=center>\r\n" + 
+				"            	<div id=\"chartContainer\" style=\"height: 300px; width: 100%;\"></div>\r\n" + 
+				"            </p>\r\n" + 
+				"        </div>\r\n" + 
+				"\r\n" + 
+				"        <div class=\"mastfoot\">\r\n" + 
+				"            <div class=\"inner\" align=center>\r\n" + 
+				"            	<br>\r\n" + 
+				"        		<p>ECP7AN-MCA1-09</p>\r\n" + 
+				"        	</div>\r\n" + 
+				"        </div>\r\n" + 
+				"    </div>\r\n" + 
+				"    <script src=\"../js/jquery.min.js\"></script>\r\n" + 
+				"    <script src=\"../js/bootstrap.min.js\"></script>\r\n" + 
+				"</body>\r\n" + 
+				"</html>";
+		
+		return relatorio;
+	}
+}
@@ -0,0 +1,139 @@
+package controllers.sockets;
+
+/**
+ * Classe java bean do intervalo de bytes pedido no cabecalho Range de uma requisicao GET, ja conferido com o tamanho do
+ * arquivo. Apenas um intervalo por requisicao e atendido (206 Partial Content); listas de intervalos e cabecalhos
+ * invalidos sao ignorados e o arquivo e enviado inteiro, como o HTTP permite. Com If-Range, o intervalo so vale se o
+ * validador enviado for o atual.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param UNIDADE : [CONSTANT] unidade de intervalo suportada
+ * @param inicio : primeiro byte do intervalo
+ * @param fim : ultimo byte do intervalo, inclusive
+ * @param total : tamanho do arquivo
+ */
+
+public class IntervaloHTTP
+{
+
+	private static final String UNIDADE = "bytes=";
+	private final long inicio;
+	private final long fim;
+	private final long total;
+
+	private IntervaloHTTP(long inicio, long fim, long total)
+	{
+		this.inicio = inicio;
+		this.fim = fim;
+		this.total = total;
+	}
+
+	/**
+	 * Le o intervalo pedido na requisicao.
+	 * @param req : requisicao recebida
+	 * @param etag : ETag da variante enviada, conferida com o If-Range
+	 * @param ultimaModificacao : Last-Modified do arquivo, conferido com o If-Range
+	 * @param total : tamanho da variante enviada
+	 * @return Intervalo pedido; null se o arquivo deve ser enviado inteiro; um intervalo fora do arquivo
+	 *         (isSatisfeito() falso) se nenhum byte pedido existe
+	 */
+	public static IntervaloHTTP ler(RequisicaoHTTP req, String etag, String ultimaModificacao, long total)
+	{
+		String range = req.getCabecalho("Range");
+		if (range == null || !req.getMetodo().equals("GET"))
+		{
+			return null;
+		}
+		String seCondicao = req.getCabecalho("If-Range");
+		// If-Range exige comparacao forte: ETag fraca nunca confere
+		if (seCondicao != null && !seCondicao.equals(etag) && !seCondicao.equals(ultimaModificacao))
+		{
+			return null;
+		}
+		if (!range.regionMatches(true, 0, UNIDADE, 0, UNIDADE.length()) || range.indexOf(',') >= 0)
+		{
+			return null;
+		}
+		String especificacao = range.substring(UNIDADE.length()).trim();
+		int traco = especificacao.indexOf('-');
+		if (traco < 0)
+		{
+			return null;
+		}
+		try
+		{
+			String primeiro = especificacao.substring(0, traco).trim();
+			String ultimo = especificacao.substring(traco + 1).trim();
+			long inicio;
+			long fim;
+			if (primeiro.isEmpty())
+			{
+				// "bytes=-n": os ultimos n bytes
+				long sufixo = Long.parseLong(ultimo);
+				if (sufixo <= 0)
+				{
+					return new IntervaloHTTP(total, total, total);
+				}
+				inicio = Math.max(0, total - sufixo);
+				fim = total - 1;
+			} else
+			{
+				inicio = Long.parseLong(primeiro);
+				fim = ultimo.isEmpty() ? total - 1 : Math.min(Long.parseLong(ultimo), total - 1);
+				if (fim < inicio && inicio < total)
+				{
+					// Intervalo invertido e invalido: ignorado
+					return null;
+				}
+			}
+			if (inicio < 0)
+			{
+				return null;
+			}
+			return new IntervaloHTTP(inicio, fim, total);
+		} catch (NumberFormatException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Verifica se o intervalo tem bytes do arquivo; do contrario a resposta e 416 Range Not Satisfiable.
+	 * @return Se o intervalo pode ser enviado
+	 */
+	public boolean isSatisfeito()
+	{
+		return inicio < total && inicio <= fim;
+	}
+
+	/**
+	 * Retorna o primeiro byte do intervalo.
+	 * @return posicao inicial no arquivo
+	 */
+	public long getInicio()
+	{
+		return inicio;
+	}
+
+	/**
+	 * Retorna o numero de bytes do intervalo.
+	 * @return tamanho do intervalo
+	 */
+	public long getTamanho()
+	{
+		return fim - inicio + 1;
+	}
+
+	/**
+	 * Retorna o valor do cabecalho Content-Range da resposta: o intervalo enviado, ou '*' e o tamanho do arquivo no 416.
+	 * @return Content-Range
+	 */
+	public String getContentRange()
+	{
+		if (!isSatisfeito())
+		{
+			return "bytes */" + total;
+		}
+		return "bytes " + inicio + "-" + fim + "/" + total;
+	}
+}
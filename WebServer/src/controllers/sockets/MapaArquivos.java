@@ -0,0 +1,185 @@
+package controllers.sockets;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Classe que serve os arquivos medios e muito acessados do wwwroot (bootstrap, jquery, imagens) por MappedByteBuffer.
+ * Cada arquivo e mapeado somente leitura uma unica vez e o mapeamento e compartilhado por todas as conexoes; cada
+ * resposta usa uma copia (duplicate) do buffer, com posicao propria, sem copiar os dados para o heap.
+ * A cada acesso a data de modificacao e o tamanho sao conferidos e o arquivo alterado e mapeado novamente; o
+ * mapeamento antigo continua valido para as respostas em andamento e e liberado pelo GC.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param minimo : tamanho minimo de um arquivo para ser mapeado
+ * @param maximo : tamanho maximo de um arquivo para ser mapeado (0 desativa o mapeamento)
+ * @param capacidade : total maximo de bytes mapeados
+ * @param mapeamentos : arquivos mapeados, em ordem de acesso (o primeiro e o usado ha mais tempo)
+ * @param ocupado : total de bytes mapeados
+ * @param acertos : total de respostas servidas por um mapeamento existente
+ * @param mapeados : total de arquivos mapeados
+ * @param remapeados : total de arquivos mapeados novamente por terem mudado no disco
+ */
+
+public class MapaArquivos
+{
+
+	private long minimo;
+	private long maximo;
+	private long capacidade;
+	private final LinkedHashMap<String, Mapeamento> mapeamentos = new LinkedHashMap<String, Mapeamento>(32, 0.75f, true);
+	private long ocupado = 0;
+	private long acertos = 0;
+	private long mapeados = 0;
+	private long remapeados = 0;
+
+	/**
+	 * Construtor principal do MapaArquivos.
+	 * @param minimo : tamanho minimo de um arquivo para ser mapeado
+	 * @param maximo : tamanho maximo de um arquivo para ser mapeado (0 desativa o mapeamento)
+	 * @param capacidade : total maximo de bytes mapeados
+	 */
+	public MapaArquivos(long minimo, long maximo, long capacidade)
+	{
+		this.minimo = Math.max(1, minimo);
+		this.maximo = Math.min(maximo, Math.min(capacidade, Integer.MAX_VALUE));
+		this.capacidade = capacidade;
+	}
+
+	/**
+	 * Verifica se um arquivo deste tamanho e servido por mapeamento.
+	 * @param tamanho : tamanho do arquivo
+	 * @return Se o arquivo deve ser mapeado
+	 */
+	public boolean aceita(long tamanho)
+	{
+		return tamanho >= minimo && tamanho <= maximo;
+	}
+
+	/**
+	 * Retorna o conteudo do arquivo mapeado na memoria, mapeando o arquivo se ainda nao estiver mapeado ou se mudou.
+	 * @param file : arquivo solicitado
+	 * @return Buffer somente leitura com o conteudo do arquivo, exclusivo desta resposta
+	 * @throws IOException
+	 */
+	public ByteBuffer mapear(File file) throws IOException
+	{
+		String chave = file.getPath();
+		long modificado = file.lastModified();
+		long tamanho = file.length();
+		synchronized (this)
+		{
+			Mapeamento mapeamento = mapeamentos.get(chave);
+			if (mapeamento != null)
+			{
+				if (mapeamento.modificado == modificado && mapeamento.buffer.capacity() == tamanho)
+				{
+					acertos++;
+					return mapeamento.buffer.duplicate();
+				}
+				mapeamentos.remove(chave);
+				ocupado -= mapeamento.buffer.capacity();
+				remapeados++;
+			}
+		}
+		MappedByteBuffer buffer;
+		try (FileChannel canal = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			// O mapeamento continua valido depois de fechar o canal
+			buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+		}
+		guardar(chave, new Mapeamento(buffer, modificado));
+		return buffer.duplicate();
+	}
+
+	/**
+	 * Guarda um mapeamento, descartando os usados ha mais tempo ate caber na capacidade.
+	 * @param chave : caminho do arquivo
+	 * @param mapeamento : buffer mapeado e data de modificacao
+	 */
+	private synchronized void guardar(String chave, Mapeamento mapeamento)
+	{
+		Mapeamento anterior = mapeamentos.put(chave, mapeamento);
+		if (anterior != null)
+		{
+			ocupado -= anterior.buffer.capacity();
+		}
+		ocupado += mapeamento.buffer.capacity();
+		mapeados++;
+		Iterator<Map.Entry<String, Mapeamento>> it = mapeamentos.entrySet().iterator();
+		while (ocupado > capacidade && it.hasNext())
+		{
+			Mapeamento removido = it.next().getValue();
+			it.remove();
+			ocupado -= removido.buffer.capacity();
+		}
+	}
+
+	/**
+	 * Retorna o total de respostas servidas por um mapeamento existente.
+	 * @return acertos
+	 */
+	public synchronized long getAcertos()
+	{
+		return acertos;
+	}
+
+	/**
+	 * Retorna o total de arquivos mapeados.
+	 * @return arquivos mapeados
+	 */
+	public synchronized long getMapeados()
+	{
+		return mapeados;
+	}
+
+	/**
+	 * Retorna o total de arquivos mapeados novamente por terem mudado no disco.
+	 * @return arquivos mapeados novamente
+	 */
+	public synchronized long getRemapeados()
+	{
+		return remapeados;
+	}
+
+	/**
+	 * Retorna o numero de arquivos mapeados no momento.
+	 * @return arquivos mapeados
+	 */
+	public synchronized int getArquivos()
+	{
+		return mapeamentos.size();
+	}
+
+	/**
+	 * Retorna o total de bytes mapeados no momento.
+	 * @return bytes mapeados
+	 */
+	public synchronized long getOcupado()
+	{
+		return ocupado;
+	}
+
+	/**
+	 * Buffer mapeado de um arquivo e a data de modificacao lida junto.
+	 */
+	private static class Mapeamento
+	{
+
+		private final MappedByteBuffer buffer;
+		private final long modificado;
+
+		Mapeamento(MappedByteBuffer buffer, long modificado)
+		{
+			this.buffer = buffer;
+			this.modificado = modificado;
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package controllers.sockets;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import controllers.ControllerMain;
+
+/**
+ * Classe que executa o atendimento dos clientes do service web, compartilhada pelos motores de atendimento.
+ * No modo pool usa um numero fixo de threads e uma fila limitada; no modo virtual, uma virtual thread por tarefa.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param THREADING_POOL : [CONSTANT] modo de atendimento por pool limitado de threads de plataforma
+ * @param THREADING_VIRTUAL : [CONSTANT] modo de atendimento por virtual thread para cada cliente
+ * @param threading : modo de atendimento dos clientes (pool ou virtual)
+ * @param executor : executor que atende os clientes, conforme o modo
+ * @param pool : pool de threads que atende os clientes, no modo pool
+ * @param poolThreads : numero de threads do pool
+ * @param poolFila : numero maximo de clientes aguardando na fila do pool
+ * @param recusados : total de clientes recusados por saturacao do pool
+ * @param saturado : se o pool ja foi reportado como saturado
+ */
+
+public class PoolAtendimento
+{
+
+	public static final String THREADING_POOL = "pool";
+	public static final String THREADING_VIRTUAL = "virtual";
+	private String threading = THREADING_POOL;
+	private ExecutorService executor;
+	private ThreadPoolExecutor pool;
+	private int poolThreads;
+	private int poolFila;
+	private final AtomicLong recusados = new AtomicLong();
+	private volatile boolean saturado = false;
+
+	/**
+	 * Construtor principal do PoolAtendimento.
+	 * @param poolThreads : numero de threads que atendem os clientes
+	 * @param poolFila : numero maximo de clientes aguardando uma thread livre
+	 * @param threading : modo de atendimento dos clientes (THREADING_POOL ou THREADING_VIRTUAL)
+	 */
+	public PoolAtendimento(int poolThreads, int poolFila, String threading)
+	{
+		this.poolThreads = poolThreads;
+		this.poolFila = poolFila;
+		this.threading = threading;
+	}
+
+	/**
+	 * Cria o executor conforme o modo de atendimento e reporta o estado inicial na View.
+	 */
+	public void iniciar()
+	{
+		pool = null;
+		executor = null;
+		if (THREADING_VIRTUAL.equalsIgnoreCase(threading))
+		{
+			executor = criarExecutorVirtual();
+		}
+		if (executor == null)
+		{
+			// Pool limitado: threads fixas e fila de espera com tamanho maximo
+			pool = new ThreadPoolExecutor(poolThreads, poolThreads, 60L, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<Runnable>(poolFila));
+			executor = pool;
+		}
+		saturado = false;
+		reportarPool();
+	}
+
+	/**
+	 * Encerra o executor; tarefas ja aceitas terminam normalmente.
+	 */
+	public void parar()
+	{
+		if (executor != null)
+		{
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Executa uma tarefa de atendimento. Se o pool estiver saturado (threads e fila cheias), executa a tarefa de
+	 * recusa na thread atual e reporta a saturacao na View.
+	 *
+	 * @param tarefa : atendimento do cliente
+	 * @param recusa : resposta ao cliente quando o pool esta saturado (erro 503)
+	 */
+	public void executar(Runnable tarefa, Runnable recusa)
+	{
+		try
+		{
+			executor.execute(tarefa);
+			if (saturado && pool != null && pool.getQueue().isEmpty())
+			{
+				saturado = false;
+				reportarPool();
+			}
+		} catch (RejectedExecutionException e)
+		{
+			recusa.run();
+			if (executor.isShutdown())
+			{
+				// Servico parando, nao e saturacao
+				return;
+			}
+			recusados.incrementAndGet();
+			if (!saturado)
+			{
+				saturado = true;
+				ControllerMain.getInstance().generateLog(ControllerMain.SRV, "PoolFull");
+			}
+			reportarPool();
+		}
+	}
+
+	/**
+	 * Cria o executor de virtual threads (uma por cliente), disponivel a partir do Java 21.
+	 * Em JVMs anteriores retorna null, e o servidor volta ao modo pool.
+	 * @return Executor de virtual threads, ou null se a JVM nao suporta
+	 */
+	private ExecutorService criarExecutorVirtual()
+	{
+		try
+		{
+			// Reflection para manter a compilacao compativel com o javac.source do projeto
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSINFO: Virtual threads indisponiveis nesta JVM, usando pool: " + e.getMessage());
+			}
+			ControllerMain.getInstance().generateLog(ControllerMain.SRV, "NoVirtual");
+			return null;
+		}
+	}
+
+	/**
+	 * Envia para a View o estado atual do pool de threads (ocupadas, na fila e recusadas).
+	 */
+	private void reportarPool()
+	{
+		if (pool == null)
+		{
+			// Virtual threads nao tem limite nem fila
+			ControllerMain.getInstance().reportarPool(-1, -1, 0, recusados.get());
+			return;
+		}
+		ControllerMain.getInstance().reportarPool(pool.getActiveCount(), poolThreads, pool.getQueue().size(),
+				recusados.get());
+	}
+}
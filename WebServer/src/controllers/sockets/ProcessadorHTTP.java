@@ -0,0 +1,445 @@
+package controllers.sockets;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import controllers.ControllerMain;
+import models.MetodoHTTP;
+
+/**
+ * Classe que processa as requisicoes HTTP dos clientes e monta as respostas: arquivos do wwwroot, paginas de erro e
+ * relatorios administrativos. Compartilhada pelos motores de atendimento (SocketAdmin e SocketAdminNIO).
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param DEFAULT_FILE : [CONSTANT] path do arquivo de indice
+ * @param UNKNOWN : [CONSTANT] path do arquivo de erro 400
+ * @param FORBIDDEN : [CONSTANT] path do arquivo de erro 403
+ * @param NOT_FOUND : [CONSTANT] path do arquivo de erro 404
+ * @param NOT_SUPPORTED : [CONSTANT] path do arquivo de erro 405
+ * @param UNAVAILABLE : [CONSTANT] path do arquivo de erro 503
+ * @param DASHBOARD : [CONSTANT] nome da pagina admin.html no cache de relatorios
+ * @param PASTAS_RELATORIOS : [CONSTANT] pastas em que as paginas de relatorio sao atendidas
+ * @param EXTENSOES_RELATORIOS : [CONSTANT] extensoes aceitas nos paths dos relatorios (o dashboard so atende .html)
+ * @param webRoot : raiz do service web
+ * @param relatorios : gerador das paginas de relatorio
+ * @param cache : cache em memoria dos arquivos do wwwroot
+ * @param mapa : arquivos do wwwroot mapeados na memoria
+ * @param paginas : cache das paginas de relatorio ja montadas
+ * @param tipos : registro de MIME types dos arquivos servidos
+ * @param validadores : ETag e Last-Modified dos arquivos do wwwroot, para as requisicoes condicionais
+ * @param compressao : negociacao do Accept-Encoding e variantes comprimidas dos arquivos e relatorios
+ * @param rotas : tabela de rotas, com as paginas de relatorio e os arquivos do wwwroot como rota padrao
+ */
+
+public class ProcessadorHTTP
+{
+
+	private static final String DEFAULT_FILE = "index.html";
+	private static final String UNKNOWN = "errors/400.html";
+	private static final String FORBIDDEN = "errors/403.html";
+	private static final String NOT_FOUND = "errors/404.html";
+	private static final String NOT_SUPPORTED = "errors/405.html";
+	private static final String UNAVAILABLE = "errors/503.html";
+	private static final String DASHBOARD = "admin";
+	private static final String[] PASTAS_RELATORIOS = { "/", "/adm/" };
+	private static final String[] EXTENSOES_RELATORIOS = { ".html", ".htm" };
+	private File webRoot;
+	private GeradorRelatorios relatorios;
+	private CacheArquivos cache;
+	private MapaArquivos mapa;
+	private CacheRelatorios paginas;
+	private TiposMIME tipos;
+	private ValidadoresArquivos validadores = new ValidadoresArquivos();
+	private CompressaoHTTP compressao;
+	private final RotasHTTP rotas;
+
+	/**
+	 * Construtor principal do ProcessadorHTTP.
+	 * @param webRoot : raiz do service web
+	 */
+	public ProcessadorHTTP(File webRoot)
+	{
+		this.webRoot = webRoot;
+		this.cache = ControllerMain.getInstance().getCache();
+		this.mapa = ControllerMain.getInstance().getMapa();
+		this.paginas = ControllerMain.getInstance().getCacheRelatorios();
+		this.tipos = ControllerMain.getInstance().getTipos();
+		this.relatorios = new GeradorRelatorios(ControllerMain.getInstance().getServiceAcc(),
+				ControllerMain.getInstance().getServiceSrv(), cache, mapa, paginas, ControllerMain.getInstance().getPool(),
+				ControllerMain.getInstance().getGravador(), ControllerMain.getInstance().getVarreduras());
+		this.compressao = ControllerMain.getInstance().getCompressao();
+		compressao.preparar(webRoot);
+		this.rotas = montarRotas();
+	}
+
+	/**
+	 * Monta a tabela de rotas: as paginas de relatorio em paths exatos e os arquivos do wwwroot como rota padrao. Um
+	 * relatorio novo so precisa entrar na tabela de geradores.
+	 * @return Tabela de rotas
+	 */
+	private RotasHTTP montarRotas()
+	{
+		RotasHTTP tabela = new RotasHTTP(new RotasHTTP.Rota()
+		{
+			@Override
+			public RespostaHTTP atender(RequisicaoHTTP req, String arquivo, int aceitas) throws IOException
+			{
+				return arquivo(req, arquivo, aceitas);
+			}
+		});
+		// Paginas de relatorio: nome no cache e gerador de cada uma
+		Map<String, Callable<String>> geradores = new LinkedHashMap<String, Callable<String>>();
+		geradores.put(DASHBOARD, relatorios::dashboard);
+		geradores.put("relatorio01", relatorios::relatorio01);
+		geradores.put("relatorio02", relatorios::relatorio02);
+		geradores.put("relatorio03", relatorios::relatorio03);
+		geradores.put("relatorio04", relatorios::relatorio04);
+		geradores.put("relatorio05", relatorios::relatorio05);
+		geradores.put("relatorio06", relatorios::relatorio06);
+		geradores.put("relatorio07", relatorios::relatorio07);
+		geradores.put("relatorio08", relatorios::relatorio08);
+		geradores.put("relatorio09", relatorios::relatorio09);
+		geradores.put("relatorio10", relatorios::relatorio10);
+		for (Map.Entry<String, Callable<String>> gerador : geradores.entrySet())
+		{
+			registrarRelatorio(tabela, gerador.getKey(), gerador.getValue());
+		}
+		return tabela;
+	}
+
+	/**
+	 * Registra a pagina de relatorio como "nome.html" e "nome.htm" em cada pasta de relatorios; o dashboard, so como
+	 * "admin.html".
+	 * @param tabela : tabela de rotas
+	 * @param nome : nome do relatorio no cache de relatorios
+	 * @param gerador : monta a pagina com os dados do DB
+	 */
+	private void registrarRelatorio(RotasHTTP tabela, final String nome, final Callable<String> gerador)
+	{
+		RotasHTTP.Rota rota = new RotasHTTP.Rota()
+		{
+			@Override
+			public RespostaHTTP atender(RequisicaoHTTP req, String arquivo, int aceitas) throws IOException
+			{
+				return paginaRelatorio(nome, gerador, aceitas);
+			}
+		};
+		for (String pasta : PASTAS_RELATORIOS)
+		{
+			for (String extensao : DASHBOARD.equals(nome) ? new String[] { ".html" } : EXTENSOES_RELATORIOS)
+			{
+				tabela.exata(pasta + nome + extensao, rota);
+			}
+		}
+	}
+
+	/**
+	 * Processa a requisicao do cliente e monta a resposta, registrando o log de acesso.
+	 *
+	 * @param req : requisicao recebida, ou null se nao foi compreendida
+	 * @param ip : ip do cliente
+	 * @return Resposta a ser enviada ao cliente
+	 */
+	public RespostaHTTP processar(RequisicaoHTTP req, String ip)
+	{
+		if (req == null)
+		{
+			return naoCompreendida(null, "", ip);
+		}
+		String method = req.getMetodo();
+		String fileRequested = req.getArquivo();
+
+		try
+		{
+			// checa o metodo - suporta apenas GET and HEAD
+			if (!method.equals("GET")  &&  !method.equals("HEAD"))
+			{
+				registrar(fileRequested, method, ip, 405);
+				return paginaErro(405, "Nao Suportado", NOT_SUPPORTED);
+			}
+
+			// GET or HEAD method
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSINFO: Request: "+fileRequested);
+			}
+			String subtest = fileRequested.substring(fileRequested.lastIndexOf('/') + 1);
+			if (fileRequested.length() > 1 && !subtest.contains("."))
+			{
+				if (ControllerMain.DEBUG)
+				{
+					System.out.println("SYSINFO: Request nao contem extensao.");
+				}
+				fileRequested += "/";
+			}
+			// Verificar request de pasta
+			if (fileRequested.length() > 1 && fileRequested.endsWith("/"))
+			{
+				if (ControllerMain.DEBUG)
+				{
+					System.out.println("SYSINFO: Size="+fileRequested.length()+" > Request com / > Request de pasta.");
+				}
+				registrar(fileRequested, method, ip, 403);
+				return paginaErro(403, "Proibido", FORBIDDEN);
+			}
+
+			// Nao e pasta, segue o jogo
+			if (fileRequested.endsWith("/"))
+			{
+				if (ControllerMain.DEBUG)
+				{
+					System.out.println("SYSINFO: Size="+fileRequested.length()+" > Enviar root file.");
+				}
+				fileRequested += DEFAULT_FILE;
+			}
+
+			// Rota do path: pagina de relatorio ou arquivo do wwwroot
+			RespostaHTTP resposta = rotas.encontrar(fileRequested).atender(req, fileRequested, compressao.aceitas(req));
+			if (method.equals("HEAD"))
+			{
+				resposta.setEnviarCorpo(false);
+			}
+			registrar(fileRequested, method, ip, resposta.getStatus());
+			return resposta;
+
+		} catch (FileNotFoundException fnfe)
+		{
+			registrar(fileRequested, method, ip, 404);
+			return paginaErro(404, "Arquivo Nao Encontrado", NOT_FOUND);
+		} catch (Exception une)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSError - Unknown - Erro de servidor: " + une.getMessage());
+			}
+			return naoCompreendida(fileRequested, method, ip);
+		}
+	}
+
+	/**
+	 * Monta a resposta com um arquivo do wwwroot: 304 se a copia do cliente ainda vale, 206 ou 416 se foi pedido um
+	 * intervalo, ou 200 com o arquivo do mapeamento, do cache ou do disco, conforme o tamanho. Rota padrao da tabela.
+	 *
+	 * @param req : requisicao recebida
+	 * @param fileRequested : arquivo solicitado
+	 * @param aceitas : codificacoes aceitas pelo cliente
+	 * @return Resposta com o arquivo
+	 * @throws IOException
+	 */
+	private RespostaHTTP arquivo(RequisicaoHTTP req, String fileRequested, int aceitas) throws IOException
+	{
+		RespostaHTTP resposta;
+		File file = new File(webRoot, fileRequested);
+		ValidadoresArquivos.Validador validador = validadores.validar(file);
+		if (validador == null)
+		{
+			throw new FileNotFoundException(file.getPath());
+		}
+		// Variante pre-comprimida (.br ou .gz) aceita pelo cliente, ou o proprio arquivo
+		CompressaoHTTP.Variante variante = compressao.escolher(file, validador, aceitas);
+		if (validadores.naoModificado(validador, variante, req))
+		{
+			// Copia do cliente ainda vale: 304 sem abrir o arquivo
+			resposta = new RespostaHTTP(304, "Not Modified", getContentType(fileRequested), new byte[0]);
+			resposta.setCodificados(variante.getCabecalhos());
+			resposta.setTamanho(variante.getTamanho());
+			resposta.setEnviarCorpo(false);
+			return resposta;
+		}
+		file = variante.getArquivo(file);
+		long tamanho = variante.getTamanho();
+		IntervaloHTTP intervalo = IntervaloHTTP.ler(req, variante.getEtag(), validador.getUltimaModificacao(), tamanho);
+		if (intervalo != null)
+		{
+			return parcial(file, fileRequested, variante, intervalo);
+		}
+		if (req.getMetodo().equals("HEAD"))
+		{
+			// HEAD precisa apenas do tamanho, sem ler o arquivo
+			resposta = new RespostaHTTP(200, "OK", getContentType(fileRequested), new byte[0]);
+			resposta.setTamanho(tamanho);
+		} else if (mapa.aceita(tamanho))
+		{
+			// Arquivo medio (bootstrap, jquery): enviado do mapeamento compartilhado, sem copia para o heap
+			resposta = new RespostaHTTP(200, "OK", getContentType(fileRequested), mapa.mapear(file));
+		} else if (tamanho > cache.getTamanhoMaximo())
+		{
+			// Arquivo grande: enviado direto do disco pelo motor, sem passar pela memoria
+			resposta = new RespostaHTTP(200, "OK", getContentType(fileRequested), file, tamanho);
+		} else
+		{
+			resposta = new RespostaHTTP(200, "OK", getContentType(fileRequested),
+					cache.ler(file));
+		}
+		resposta.setCodificados(variante.getCabecalhos());
+		return resposta;
+	}
+
+	/**
+	 * Monta a resposta a um GET com Range: 206 com apenas o intervalo pedido, ou 416 se o intervalo esta fora do
+	 * arquivo. O intervalo sai do mapeamento ou do cache como um trecho do buffer, sem copia, e dos arquivos grandes
+	 * direto do disco a partir da posicao inicial.
+	 *
+	 * @param file : arquivo da variante enviada
+	 * @param fileRequested : arquivo solicitado
+	 * @param variante : variante enviada
+	 * @param intervalo : intervalo pedido
+	 * @return Resposta parcial
+	 * @throws IOException
+	 */
+	private RespostaHTTP parcial(File file, String fileRequested, CompressaoHTTP.Variante variante, IntervaloHTTP intervalo)
+			throws IOException
+	{
+		RespostaHTTP resposta;
+		if (!intervalo.isSatisfeito())
+		{
+			resposta = new RespostaHTTP(416, "Range Not Satisfiable", getContentType(fileRequested), new byte[0]);
+		} else
+		{
+			int inicio = (int) Math.min(intervalo.getInicio(), Integer.MAX_VALUE);
+			int tamanho = (int) Math.min(intervalo.getTamanho(), Integer.MAX_VALUE);
+			if (mapa.aceita(variante.getTamanho()))
+			{
+				ByteBuffer trecho = mapa.mapear(file);
+				trecho.position(inicio).limit(inicio + tamanho);
+				resposta = new RespostaHTTP(206, "Partial Content", getContentType(fileRequested), trecho);
+			} else if (variante.getTamanho() > cache.getTamanhoMaximo())
+			{
+				resposta = new RespostaHTTP(206, "Partial Content", getContentType(fileRequested), file,
+						intervalo.getInicio(), intervalo.getTamanho());
+			} else
+			{
+				resposta = new RespostaHTTP(206, "Partial Content", getContentType(fileRequested),
+						ByteBuffer.wrap(cache.ler(file), inicio, tamanho));
+			}
+			resposta.setCodificados(variante.getCabecalhos());
+		}
+		resposta.addCabecalho("Content-Range", intervalo.getContentRange());
+		return resposta;
+	}
+
+	/**
+	 * Monta a resposta com a pagina do relatorio, comprimida com gzip quando o cliente aceita.
+	 *
+	 * @param nome : nome do relatorio, ou DASHBOARD
+	 * @param gerador : monta a pagina com os dados do DB
+	 * @param aceitas : codificacoes aceitas pelo cliente
+	 * @return Resposta com a pagina do relatorio
+	 * @throws IOException
+	 */
+	private RespostaHTTP paginaRelatorio(String nome, Callable<String> gerador, int aceitas) throws IOException
+	{
+		byte[] pagina = relatorioCache(nome, gerador);
+		if (compressao.comprimir(aceitas, pagina.length))
+		{
+			RespostaHTTP resposta = new RespostaHTTP(200, "OK", "text/html", paginas.comprimida(nome, pagina, compressao));
+			resposta.setCodificados(CompressaoHTTP.CABECALHOS_GZIP);
+			return resposta;
+		}
+		return new RespostaHTTP(200, "OK", "text/html", pagina);
+	}
+
+	/**
+	 * Retorna a pagina do relatorio pelo cache de relatorios, que so consulta o DB quando a pagina venceu.
+	 *
+	 * @param nome : nome do relatorio, ou DASHBOARD
+	 * @param gerador : monta a pagina com os dados do DB
+	 * @return Pagina do relatorio
+	 * @throws IOException
+	 */
+	private byte[] relatorioCache(String nome, final Callable<String> gerador) throws IOException
+	{
+		return paginas.obter(nome, new Callable<byte[]>()
+		{
+			@Override
+			public byte[] call() throws Exception
+			{
+				return gerador.call().getBytes();
+			}
+		});
+	}
+
+	/**
+	 * Processa uma requisicao nao compreendida com erro HTML 400.
+	 *
+	 * @param fileRequested : arquivo solicitado
+	 * @param method : metodo HTTP solicitado
+	 * @param ip : ip do cliente
+	 * @return Resposta com a pagina de erro 400
+	 */
+	public RespostaHTTP naoCompreendida(String fileRequested, String method, String ip)
+	{
+		registrar(fileRequested, method, ip, 400);
+		return paginaErro(400, "Requisicao Nao Compreendida", UNKNOWN);
+	}
+
+	/**
+	 * Monta a resposta de erro HTML 503, para clientes recusados por sobrecarga do servidor.
+	 * @return Resposta com a pagina de erro 503
+	 */
+	public RespostaHTTP indisponivel()
+	{
+		RespostaHTTP resposta = paginaErro(503, "Servico Indisponivel", UNAVAILABLE);
+		resposta.addCabecalho("Retry-After", "5");
+		return resposta;
+	}
+
+	/**
+	 * Monta uma resposta de erro com a pagina HTML correspondente. Se a pagina nao puder ser lida, o corpo fica vazio.
+	 *
+	 * @param status : codigo de status HTTP
+	 * @param motivo : texto do status HTTP
+	 * @param pagina : path da pagina de erro no wwwroot
+	 * @return Resposta de erro
+	 */
+	private RespostaHTTP paginaErro(int status, String motivo, String pagina)
+	{
+		byte[] fileData;
+		try
+		{
+			File file = new File(webRoot, pagina);
+			fileData = cache.ler(file);
+		} catch (IOException ioe)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSError - Pagina de erro nao encontrada: " + ioe.getMessage());
+			}
+			fileData = new byte[0];
+		}
+		return new RespostaHTTP(status, motivo, "text/html", fileData);
+	}
+
+	/**
+	 * Registra o log de acesso da requisicao.
+	 *
+	 * @param fileRequested : arquivo solicitado
+	 * @param method : metodo HTTP solicitado
+	 * @param ip : ip do cliente
+	 * @param code : codigo de retorno
+	 */
+	private void registrar(String fileRequested, String method, String ip, int code)
+	{
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("ACC: "+fileRequested+"#"+method+"#"+ip+"#"+code);
+		}
+		ControllerMain.getInstance().generateLogAcesso(fileRequested, MetodoHTTP.de(method), ip, code);
+	}
+
+	/**
+	 * Retorna o ContentType do arquivo, consultando o registro de MIME types do service web.
+	 *
+	 * @param fileRequested : arquivo solicitado
+	 * @return ContentType do arquivo
+	 */
+	private String getContentType(String fileRequested)
+	{
+		return tipos.tipo(fileRequested);
+	}
+}
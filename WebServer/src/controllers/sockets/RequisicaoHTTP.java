@@ -0,0 +1,136 @@
+package controllers.sockets;
+
+import java.util.Arrays;
+
+/**
+ * Classe java bean da requisicao HTTP recebida de um cliente, com a linha de requisicao e os cabecalhos, montada pelo
+ * AnalisadorHTTP. Os cabecalhos ficam em vetores, na ordem recebida; a consulta percorre os vetores sem diferenciar
+ * maiusculas, sem criar Strings.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param metodo : metodo HTTP solicitado, em maiusculas
+ * @param arquivo : arquivo solicitado, em minusculas e sem a query
+ * @param query : query do arquivo solicitado (depois do '?'), ou null
+ * @param versao : versao do protocolo HTTP do cliente
+ * @param nomes : nomes dos cabecalhos da requisicao, em minusculas
+ * @param valores : valores dos cabecalhos, na mesma ordem dos nomes
+ * @param cabecalhos : numero de cabecalhos da requisicao
+ */
+
+public class RequisicaoHTTP
+{
+
+	private String metodo;
+	private String arquivo;
+	private String query;
+	private String versao;
+	private String[] nomes = new String[16];
+	private String[] valores = new String[16];
+	private int cabecalhos = 0;
+
+	/**
+	 * Construtor principal da requisicao, usado pelo AnalisadorHTTP.
+	 * @param metodo : metodo HTTP, em maiusculas
+	 * @param arquivo : arquivo solicitado, em minusculas
+	 * @param query : query do arquivo solicitado, ou null
+	 * @param versao : versao do protocolo HTTP
+	 */
+	RequisicaoHTTP(String metodo, String arquivo, String query, String versao)
+	{
+		this.metodo = metodo;
+		this.arquivo = arquivo;
+		this.query = query;
+		this.versao = versao;
+	}
+
+	/**
+	 * Acrescenta um cabecalho.
+	 * @param nome : nome do cabecalho, em minusculas
+	 * @param valor : valor do cabecalho
+	 */
+	void addCabecalho(String nome, String valor)
+	{
+		if (cabecalhos == nomes.length)
+		{
+			nomes = Arrays.copyOf(nomes, cabecalhos * 2);
+			valores = Arrays.copyOf(valores, cabecalhos * 2);
+		}
+		nomes[cabecalhos] = nome;
+		valores[cabecalhos] = valor;
+		cabecalhos++;
+	}
+
+	/**
+	 * Retorna o metodo HTTP solicitado.
+	 * @return metodo HTTP
+	 */
+	public String getMetodo()
+	{
+		return metodo;
+	}
+
+	/**
+	 * Retorna o arquivo solicitado.
+	 * @return arquivo solicitado
+	 */
+	public String getArquivo()
+	{
+		return arquivo;
+	}
+
+	/**
+	 * Retorna a versao do protocolo HTTP do cliente.
+	 * @return versao do HTTP
+	 */
+	public String getVersao()
+	{
+		return versao;
+	}
+
+	/**
+	 * Retorna a query do arquivo solicitado, sem o '?'.
+	 * @return query, ou null se nao foi enviada
+	 */
+	public String getQuery()
+	{
+		return query;
+	}
+
+	/**
+	 * Retorna o valor de um cabecalho da requisicao. Se o cabecalho foi enviado mais de uma vez, vale o ultimo.
+	 * @param nome : nome do cabecalho, sem diferenciar maiusculas
+	 * @return valor do cabecalho, ou null se nao foi enviado
+	 */
+	public String getCabecalho(String nome)
+	{
+		for (int i = cabecalhos - 1; i >= 0; i--)
+		{
+			if (nomes[i].equalsIgnoreCase(nome))
+			{
+				return valores[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Verifica se o cliente quer manter a conexao aberta apos a resposta.
+	 * No HTTP/1.1 a conexao e persistente por padrao; no HTTP/1.0 apenas com "Connection: keep-alive".
+	 * @return Se a conexao deve ser mantida
+	 */
+	public boolean isKeepAlive()
+	{
+		String conexao = getCabecalho("Connection");
+		if ("HTTP/1.1".equals(versao))
+		{
+			return conexao == null || !conexao.equalsIgnoreCase("close");
+		}
+		return conexao != null && conexao.equalsIgnoreCase("keep-alive");
+	}
+
+	@Override
+	public String toString()
+	{
+		return metodo + " " + arquivo + (query == null ? "" : "?" + query) + " " + versao;
+	}
+}
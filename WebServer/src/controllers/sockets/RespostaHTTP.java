@@ -0,0 +1,208 @@
+package controllers.sockets;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Classe java bean da resposta HTTP montada pelo ProcessadorHTTP, independente do motor que a envia ao cliente.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param status : codigo de status HTTP
+ * @param motivo : texto do status HTTP
+ * @param contentType : ContentType do corpo
+ * @param corpo : dados do corpo da resposta
+ * @param tamanho : tamanho do corpo informado no Content-length
+ * @param enviarCorpo : se o corpo deve ser enviado (falso para HEAD)
+ * @param extras : cabecalhos adicionais da resposta, criado no primeiro cabecalho adicionado
+ * @param codificados : cabecalhos adicionais ja codificados (ETag, Last-Modified e Content-Encoding)
+ * @param arquivo : arquivo enviado direto do disco no lugar do corpo, para arquivos grandes
+ * @param inicio : posicao do arquivo a partir da qual o corpo e enviado, nas respostas 206
+ * @param mapeado : arquivo mapeado na memoria enviado no lugar do corpo, para arquivos medios
+ */
+
+public class RespostaHTTP
+{
+
+	private int status;
+	private String motivo;
+	private String contentType;
+	private byte[] corpo;
+	private long tamanho;
+	private boolean enviarCorpo = true;
+	private Map<String, String> extras;
+	private byte[] codificados;
+	private File arquivo;
+	private long inicio = 0;
+	private ByteBuffer mapeado;
+
+	/**
+	 * Construtor principal da resposta.
+	 * @param status : codigo de status HTTP
+	 * @param motivo : texto do status HTTP
+	 * @param contentType : ContentType do corpo
+	 * @param corpo : dados do corpo da resposta
+	 */
+	public RespostaHTTP(int status, String motivo, String contentType, byte[] corpo)
+	{
+		this.status = status;
+		this.motivo = motivo;
+		this.contentType = contentType;
+		this.corpo = corpo;
+		this.tamanho = corpo.length;
+	}
+
+	/**
+	 * Construtor da resposta com o corpo enviado direto do arquivo, sem carregar o arquivo na memoria.
+	 * @param status : codigo de status HTTP
+	 * @param motivo : texto do status HTTP
+	 * @param contentType : ContentType do corpo
+	 * @param arquivo : arquivo do corpo
+	 * @param tamanho : tamanho do arquivo
+	 */
+	public RespostaHTTP(int status, String motivo, String contentType, File arquivo, long tamanho)
+	{
+		this(status, motivo, contentType, new byte[0]);
+		this.arquivo = arquivo;
+		this.tamanho = tamanho;
+	}
+
+	/**
+	 * Construtor da resposta com o corpo em um trecho do arquivo, enviado direto do disco a partir da posicao inicial.
+	 * @param status : codigo de status HTTP
+	 * @param motivo : texto do status HTTP
+	 * @param contentType : ContentType do corpo
+	 * @param arquivo : arquivo do corpo
+	 * @param inicio : posicao inicial no arquivo
+	 * @param tamanho : bytes a enviar a partir da posicao inicial
+	 */
+	public RespostaHTTP(int status, String motivo, String contentType, File arquivo, long inicio, long tamanho)
+	{
+		this(status, motivo, contentType, arquivo, tamanho);
+		this.inicio = inicio;
+	}
+
+	/**
+	 * Construtor da resposta com o corpo em um arquivo mapeado na memoria, enviado sem copia para o heap.
+	 * @param status : codigo de status HTTP
+	 * @param motivo : texto do status HTTP
+	 * @param contentType : ContentType do corpo
+	 * @param mapeado : buffer do arquivo mapeado, ou do trecho a enviar, exclusivo desta resposta
+	 */
+	public RespostaHTTP(int status, String motivo, String contentType, ByteBuffer mapeado)
+	{
+		this(status, motivo, contentType, new byte[0]);
+		this.mapeado = mapeado;
+		this.tamanho = mapeado.remaining();
+	}
+
+	/**
+	 * Acrescenta um cabecalho adicional na resposta.
+	 * @param nome : nome do cabecalho
+	 * @param valor : valor do cabecalho
+	 */
+	public void addCabecalho(String nome, String valor)
+	{
+		if (extras == null)
+		{
+			extras = new LinkedHashMap<String, String>();
+		}
+		extras.put(nome, valor);
+	}
+
+	/**
+	 * Define os cabecalhos adicionais ja codificados da resposta, montados uma vez por arquivo (ETag, Last-Modified e
+	 * Content-Encoding da variante enviada).
+	 * @param codificados : cabecalhos codificados
+	 */
+	public void setCodificados(byte[] codificados)
+	{
+		this.codificados = codificados;
+	}
+
+	/**
+	 * Define o tamanho informado no Content-length, para respostas a HEAD montadas sem ler o corpo.
+	 * @param tamanho : tamanho do corpo
+	 */
+	public void setTamanho(long tamanho)
+	{
+		this.tamanho = tamanho;
+	}
+
+	/**
+	 * Define se o corpo deve ser enviado. Respostas a HEAD enviam apenas os cabecalhos.
+	 * @param enviarCorpo : se o corpo deve ser enviado
+	 */
+	public void setEnviarCorpo(boolean enviarCorpo)
+	{
+		this.enviarCorpo = enviarCorpo;
+	}
+
+	/**
+	 * Monta o bloco de cabecalhos da resposta, terminado pela linha em branco, a partir dos pedacos ja codificados pelo
+	 * CabecalhosHTTP.
+	 * @param keepAlive : se a conexao sera mantida aberta apos a resposta
+	 * @return Cabecalhos codificados para envio
+	 */
+	public byte[] cabecalhos(boolean keepAlive)
+	{
+		return CabecalhosHTTP.montar(status, motivo, contentType, tamanho, extras, codificados, keepAlive);
+	}
+
+	/**
+	 * Retorna o codigo de status HTTP.
+	 * @return status HTTP
+	 */
+	public int getStatus()
+	{
+		return status;
+	}
+
+	/**
+	 * Retorna o corpo a ser enviado; vazio quando a resposta nao envia corpo.
+	 * @return dados do corpo
+	 */
+	public byte[] getCorpo()
+	{
+		return enviarCorpo ? corpo : new byte[0];
+	}
+
+	/**
+	 * Retorna o arquivo a ser enviado depois do corpo, direto do disco; null quando o corpo esta todo em memoria ou a
+	 * resposta nao envia corpo.
+	 * @return arquivo do corpo
+	 */
+	public File getArquivo()
+	{
+		return enviarCorpo ? arquivo : null;
+	}
+
+	/**
+	 * Retorna o arquivo mapeado a ser enviado depois do corpo; null quando a resposta nao usa mapeamento ou nao envia
+	 * corpo. O buffer e consumido pelo envio.
+	 * @return buffer do arquivo mapeado
+	 */
+	public ByteBuffer getMapeado()
+	{
+		return enviarCorpo ? mapeado : null;
+	}
+
+	/**
+	 * Retorna a posicao do arquivo a partir da qual o corpo e enviado; 0 fora das respostas 206.
+	 * @return posicao inicial no arquivo
+	 */
+	public long getInicio()
+	{
+		return inicio;
+	}
+
+	/**
+	 * Retorna o tamanho do corpo informado no Content-length.
+	 * @return tamanho do corpo
+	 */
+	public long getTamanho()
+	{
+		return tamanho;
+	}
+}
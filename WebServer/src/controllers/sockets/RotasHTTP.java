@@ -0,0 +1,68 @@
+package controllers.sockets;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+/**
+ * Classe da tabela de rotas do service web, que liga os paths solicitados as rotas que montam as respostas. As rotas
+ * sao registradas uma vez, na criacao do ProcessadorHTTP, e depois a tabela so e consultada, sem travas. Os paths
+ * sao achados por uma busca na tabela hash; paths sem rota vao para a rota padrao.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param exatas : rotas pelo path exato
+ * @param padrao : rota dos paths sem rota registrada
+ */
+
+public class RotasHTTP
+{
+
+	private final HashMap<String, Rota> exatas = new HashMap<String, Rota>();
+	private final Rota padrao;
+
+	/**
+	 * Construtor principal do RotasHTTP.
+	 * @param padrao : rota dos paths sem rota registrada
+	 */
+	public RotasHTTP(Rota padrao)
+	{
+		this.padrao = padrao;
+	}
+
+	/**
+	 * Registra a rota de um path exato.
+	 * @param caminho : path atendido, comecando por '/'
+	 * @param rota : rota que monta a resposta
+	 */
+	public void exata(String caminho, Rota rota)
+	{
+		exatas.put(caminho, rota);
+	}
+
+	/**
+	 * Retorna a rota do path solicitado: a do path exato, senao a padrao.
+	 * @param caminho : path solicitado
+	 * @return Rota que atende o path
+	 */
+	public Rota encontrar(String caminho)
+	{
+		Rota rota = exatas.get(caminho);
+		return rota != null ? rota : padrao;
+	}
+
+	/**
+	 * Rota da tabela: monta a resposta dos paths ligados a ela.
+	 */
+	public interface Rota
+	{
+
+		/**
+		 * Monta a resposta da requisicao.
+		 * @param req : requisicao recebida
+		 * @param arquivo : path solicitado, ja com o arquivo de indice nas pastas
+		 * @param aceitas : codificacoes aceitas pelo cliente
+		 * @return Resposta a ser enviada ao cliente
+		 * @throws IOException se o arquivo ou a pagina nao puder ser lido
+		 */
+		RespostaHTTP atender(RequisicaoHTTP req, String arquivo, int aceitas) throws IOException;
+	}
+}
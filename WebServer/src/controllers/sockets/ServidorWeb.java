@@ -0,0 +1,45 @@
+package controllers.sockets;
+
+import java.io.IOException;
+
+/**
+ * Interface dos motores de atendimento do service web, usada pelo ControllerMain para iniciar, parar e
+ * verificar o servidor independente do motor escolhido.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ */
+
+public interface ServidorWeb
+{
+
+	/**
+	 * Inicia o servidor para receber as requisicoes dos usuarios.
+	 * @param porta : porta onde o service vai "ouvir"
+	 * @param path : pasta base do servidor, onde esta o wwwroot
+	 * @throws IOException
+	 */
+	public void start(int porta, String path) throws IOException;
+
+	/**
+	 * Parar o servidor do service web.
+	 * @return Se o servidor parou ou nao
+	 */
+	public boolean stop();
+
+	/**
+	 * Checar o status do service web.
+	 * @return Status do servidor, conforme as constantes do ControllerMain
+	 */
+	public int getStatus();
+
+	/**
+	 * Define os limites das conexoes persistentes (HTTP keep-alive).
+	 * @param timeout : segundos que uma conexao pode ficar ociosa aguardando a proxima requisicao
+	 * @param max : numero maximo de requisicoes atendidas por conexao
+	 */
+	public void setKeepAlive(int timeout, int max);
+
+	/**
+	 * Aceita os clientes que conectam no service web, ate o servidor ser parado.
+	 */
+	public void esperarCliente();
+}
@@ -0,0 +1,591 @@
+package controllers.sockets;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import controllers.ControllerMain;
+
+/**
+ * Classe que cria o motor de atendimento nao bloqueante do servidor, com java.nio.channels.Selector.
+ * Poucas threads de eventos mantem as conexoes (inclusive as ociosas em keep-alive) e apenas o processamento
+ * das requisicoes usa as threads do PoolAtendimento.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param TAMANHO_BUFFER : [CONSTANT] tamanho inicial do buffer de leitura de cada conexao
+ * @param servidor : canal do servidor
+ * @param processador : processador das requisicoes HTTP
+ * @param pool : pool de threads que processa as requisicoes
+ * @param loops : threads de eventos que atendem as conexoes
+ * @param numLoops : numero de threads de eventos
+ * @param proximo : indice do proximo loop a receber uma conexao
+ * @param keepAliveTimeout : segundos que uma conexao pode ficar ociosa aguardando a proxima requisicao
+ * @param keepAliveMax : numero maximo de requisicoes atendidas por conexao
+ */
+
+public class SocketAdminNIO implements ServidorWeb
+{
+
+	private static final int TAMANHO_BUFFER = 4096;
+	private ServerSocketChannel servidor;
+	private ProcessadorHTTP processador;
+	private PoolAtendimento pool;
+	private LoopEventos[] loops;
+	private int numLoops;
+	private int proximo = 0;
+	private int keepAliveTimeout = 5;
+	private int keepAliveMax = 100;
+
+	/**
+	 * Construtor principal do SocketAdminNIO.
+	 * @param poolThreads : numero de threads que processam as requisicoes
+	 * @param poolFila : numero maximo de requisicoes aguardando uma thread livre
+	 * @param threading : modo de atendimento das requisicoes (THREADING_POOL ou THREADING_VIRTUAL)
+	 * @param numLoops : numero de threads de eventos
+	 */
+	public SocketAdminNIO(int poolThreads, int poolFila, String threading, int numLoops)
+	{
+		this.pool = new PoolAtendimento(poolThreads, poolFila, threading);
+		this.numLoops = Math.max(1, numLoops);
+	}
+
+	/**
+	 * Inicia o canal do servidor e as threads de eventos.
+	 * @param porta : porta onde o service vai "ouvir"
+	 * @param path : pasta base do servidor, onde esta o wwwroot
+	 * @throws IOException
+	 */
+	@Override
+	public void start(int porta, String path) throws IOException
+	{
+		servidor = ServerSocketChannel.open();
+		servidor.bind(new InetSocketAddress(porta));
+		File webRoot = new File(path+"wwwroot/");
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println(webRoot.toString());
+		}
+		processador = new ProcessadorHTTP(webRoot);
+		pool.iniciar();
+		loops = new LoopEventos[numLoops];
+		for (int i = 0; i < numLoops; i++)
+		{
+			loops[i] = new LoopEventos();
+			Thread thread = new Thread(loops[i], "nio-eventos-" + i);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Define os limites das conexoes persistentes (HTTP keep-alive).
+	 * @param timeout : segundos que uma conexao pode ficar ociosa aguardando a proxima requisicao
+	 * @param max : numero maximo de requisicoes atendidas por conexao
+	 */
+	@Override
+	public void setKeepAlive(int timeout, int max)
+	{
+		this.keepAliveTimeout = timeout;
+		this.keepAliveMax = max;
+	}
+
+	/**
+	 * Parar o canal do servidor, as threads de eventos e todas as conexoes abertas.
+	 * @return Se o servidor parou ou nao
+	 */
+	@Override
+	public boolean stop()
+	{
+		try
+		{
+			servidor.close();
+			for (LoopEventos loop : loops)
+			{
+				loop.parar();
+			}
+			pool.parar();
+			return true;
+		} catch (IOException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: " + e.getMessage());
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Checar o status do service web, e portanto do canal do servidor.
+	 * @return Se o servidor esta parado ou nao
+	 */
+	@Override
+	public int getStatus()
+	{
+		int status = ControllerMain.UNKOWN;
+		try
+		{
+			if (servidor.isOpen())
+			{
+				status = ControllerMain.STARTED;
+			} else
+			{
+				status = ControllerMain.STOPPED;
+			}
+		} catch (Exception e)
+		{
+			System.out.println(e.getMessage());
+		}
+		return status;
+	}
+
+	/**
+	 * Aceita os clientes e distribui as conexoes entre as threads de eventos.
+	 */
+	@Override
+	public void esperarCliente()
+	{
+		try
+		{
+			while (true)
+			{
+				SocketChannel cliente = servidor.accept();
+				cliente.configureBlocking(false);
+				if (ControllerMain.DEBUG)
+				{
+					System.out.println("Conexao aberta. (" + cliente.toString() + ")");
+				}
+				ControllerMain.getInstance().generateLog(ControllerMain.SRV, "OpenCon");
+				loops[proximo].registrar(cliente);
+				proximo = (proximo + 1) % loops.length;
+			}
+		} catch (IOException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("CRIT: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Thread de eventos: um Selector que le as requisicoes e escreve as respostas das conexoes registradas.
+	 * Tarefas vindas de outras threads (registro de conexoes e respostas prontas) entram pela fila.
+	 * Uma vez por segundo as conexoes ociosas alem do keepAliveTimeout sao fechadas.
+	 */
+	private class LoopEventos implements Runnable
+	{
+
+		private Selector selector;
+		private ConcurrentLinkedQueue<Runnable> tarefas = new ConcurrentLinkedQueue<Runnable>();
+		private volatile boolean ativo = true;
+		private long ultimaVarredura = System.currentTimeMillis();
+
+		LoopEventos() throws IOException
+		{
+			selector = Selector.open();
+		}
+
+		/**
+		 * Registra uma nova conexao neste loop.
+		 * @param canal : conexao do cliente
+		 */
+		void registrar(final SocketChannel canal)
+		{
+			executar(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					try
+					{
+						SelectionKey key = canal.register(selector, SelectionKey.OP_READ);
+						key.attach(new Conexao(canal, key, LoopEventos.this));
+					} catch (ClosedChannelException e)
+					{
+						fecharCanal(canal);
+					}
+				}
+			});
+		}
+
+		/**
+		 * Agenda uma tarefa para rodar na thread deste loop.
+		 * @param tarefa : tarefa a executar
+		 */
+		void executar(Runnable tarefa)
+		{
+			tarefas.add(tarefa);
+			selector.wakeup();
+		}
+
+		/**
+		 * Sinaliza o loop para encerrar e fechar todas as conexoes.
+		 */
+		void parar()
+		{
+			ativo = false;
+			selector.wakeup();
+		}
+
+		/**
+		 * Fecha as conexoes que estao aguardando a proxima requisicao ha mais tempo que o keepAliveTimeout.
+		 */
+		private void fecharOciosas()
+		{
+			long agora = System.currentTimeMillis();
+			if (agora - ultimaVarredura < 1000)
+			{
+				return;
+			}
+			ultimaVarredura = agora;
+			long limite = agora - keepAliveTimeout * 1000L;
+			for (SelectionKey key : selector.keys())
+			{
+				Conexao conexao = (Conexao) key.attachment();
+				if (conexao != null && conexao.isOciosaDesde(limite))
+				{
+					conexao.fechar();
+				}
+			}
+		}
+
+		@Override
+		public void run()
+		{
+			try
+			{
+				while (ativo)
+				{
+					selector.select(1000);
+					Runnable tarefa;
+					while ((tarefa = tarefas.poll()) != null)
+					{
+						tarefa.run();
+					}
+					Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+					while (keys.hasNext())
+					{
+						SelectionKey key = keys.next();
+						keys.remove();
+						Conexao conexao = (Conexao) key.attachment();
+						if (!key.isValid() || conexao == null)
+						{
+							continue;
+						}
+						try
+						{
+							if (key.isReadable())
+							{
+								conexao.ler();
+							} else if (key.isWritable())
+							{
+								conexao.escrever();
+							}
+						} catch (IOException e)
+						{
+							if (ControllerMain.DEBUG)
+							{
+								System.out.println("SYSError - Erro de conexao: " + e.getMessage());
+							}
+							conexao.fechar();
+						}
+					}
+					fecharOciosas();
+				}
+			} catch (IOException e)
+			{
+				if (ControllerMain.DEBUG)
+				{
+					System.out.println("CRIT: " + e.getMessage());
+				}
+			} finally
+			{
+				for (SelectionKey key : selector.keys())
+				{
+					fecharCanal(key.channel());
+				}
+				try
+				{
+					selector.close();
+				} catch (IOException e)
+				{
+					if (ControllerMain.DEBUG)
+					{
+						System.out.println("SYSError - Erro ao fechar selector: " + e.getMessage());
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Estado de uma conexao de cliente: buffer de leitura (que pode conter requisicoes em pipeline) e resposta pendente.
+	 * Arquivos grandes sao enviados com FileChannel.transferTo, sem passar pela memoria da JVM.
+	 */
+	private class Conexao
+	{
+
+		private SocketChannel canal;
+		private SelectionKey key;
+		private LoopEventos loop;
+		private String ip;
+		private ByteBuffer entrada = ByteBuffer.allocate(TAMANHO_BUFFER);
+		private AnalisadorHTTP analisador = new AnalisadorHTTP();
+		private ByteBuffer[] saida;
+		private boolean keepAlive;
+		private FileChannel arquivo;
+		private long posicao;
+		private long restante;
+		private boolean processando = false;
+		private int atendidas = 0;
+		private long ultimoUso = System.currentTimeMillis();
+
+		Conexao(SocketChannel canal, SelectionKey key, LoopEventos loop)
+		{
+			this.canal = canal;
+			this.key = key;
+			this.loop = loop;
+			this.ip = canal.socket().getInetAddress().getHostAddress();
+		}
+
+		/**
+		 * Le os dados disponiveis no canal e processa a requisicao, se estiver completa.
+		 * @throws IOException
+		 */
+		void ler() throws IOException
+		{
+			if (!entrada.hasRemaining())
+			{
+				if (entrada.capacity() >= AnalisadorHTTP.LIMITE_CABECALHO)
+				{
+					// Cabecalho maior que o limite: requisicao nao compreendida
+					key.interestOps(0);
+					responder(processador.naoCompreendida(null, "", ip), false);
+					return;
+				}
+				ByteBuffer maior = ByteBuffer.allocate(entrada.capacity() * 2);
+				entrada.flip();
+				maior.put(entrada);
+				entrada = maior;
+			}
+			if (canal.read(entrada) < 0)
+			{
+				fechar();
+				return;
+			}
+			ultimoUso = System.currentTimeMillis();
+			processarProxima();
+		}
+
+		/**
+		 * Se o buffer contem um bloco de cabecalho completo, retira-o do buffer e envia a requisicao para o pool.
+		 */
+		void processarProxima()
+		{
+			int fim = analisador.analisar(entrada.array(), 0, entrada.position());
+			if (fim == AnalisadorHTTP.INCOMPLETA)
+			{
+				return;
+			}
+			if (fim == AnalisadorHTTP.INVALIDA)
+			{
+				// Linha longa demais ou cabecalhos demais
+				key.interestOps(0);
+				responder(processador.naoCompreendida(null, "", ip), false);
+				return;
+			}
+			// Mantem no buffer apenas o que veio depois desta requisicao (pipelining)
+			entrada.flip();
+			entrada.position(fim);
+			entrada.compact();
+
+			// Nao le mais nada ate a resposta ser enviada
+			key.interestOps(0);
+			processando = true;
+			atendidas++;
+			final RequisicaoHTTP req = analisador.getRequisicao();
+			// apenas GET e HEAD nao tem corpo a descartar; os demais metodos encerram a conexao
+			final boolean manter = req != null && req.isKeepAlive() && atendidas < keepAliveMax
+					&& (req.getMetodo().equals("GET") || req.getMetodo().equals("HEAD"));
+			pool.executar(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					final RespostaHTTP resposta = processador.processar(req, ip);
+					loop.executar(new Runnable()
+					{
+						@Override
+						public void run()
+						{
+							responder(resposta, manter);
+						}
+					});
+				}
+			}, new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					responder(processador.indisponivel(), false);
+				}
+			});
+		}
+
+		/**
+		 * Prepara a resposta para envio com uma escrita agrupada (cabecalhos e corpo) e tenta envia-la.
+		 * @param resposta : resposta montada pelo processador
+		 * @param keepAlive : se a conexao continua aberta apos a resposta
+		 */
+		void responder(RespostaHTTP resposta, boolean keepAlive)
+		{
+			if (!canal.isOpen())
+			{
+				return;
+			}
+			this.keepAlive = keepAlive;
+			processando = true;
+			if (keepAlive)
+			{
+				resposta.addCabecalho("Keep-Alive", "timeout=" + keepAliveTimeout + ", max=" + (keepAliveMax - atendidas));
+			}
+			// Arquivo mapeado entra direto na escrita em bloco, sem copia para o heap
+			ByteBuffer corpo = resposta.getMapeado() != null ? resposta.getMapeado() : ByteBuffer.wrap(resposta.getCorpo());
+			saida = new ByteBuffer[] { ByteBuffer.wrap(resposta.cabecalhos(keepAlive)), corpo };
+			try
+			{
+				if (resposta.getArquivo() != null)
+				{
+					arquivo = FileChannel.open(resposta.getArquivo().toPath(), StandardOpenOption.READ);
+					posicao = resposta.getInicio();
+					restante = resposta.getTamanho();
+				}
+				escrever();
+			} catch (IOException e)
+			{
+				if (ControllerMain.DEBUG)
+				{
+					System.out.println("SYSError - Erro ao enviar resposta: " + e.getMessage());
+				}
+				fechar();
+			}
+		}
+
+		/**
+		 * Escreve o que for possivel da resposta pendente. Quando termina, volta a ler a proxima requisicao ou fecha.
+		 * @throws IOException
+		 */
+		void escrever() throws IOException
+		{
+			if (saida != null)
+			{
+				canal.write(saida);
+				if (saida[0].hasRemaining() || saida[1].hasRemaining())
+				{
+					// Buffer do socket cheio, continua quando o canal puder escrever. O corpo pode estar vazio (HEAD, 304,
+					// arquivo enviado do disco), entao o cabecalho tambem precisa ter saido inteiro antes do arquivo
+					key.interestOps(SelectionKey.OP_WRITE);
+					return;
+				}
+				saida = null;
+			}
+			if (arquivo != null)
+			{
+				while (restante > 0)
+				{
+					// O kernel copia do arquivo direto para o socket (sendfile)
+					long n = arquivo.transferTo(posicao, restante, canal);
+					if (n <= 0)
+					{
+						if (posicao >= arquivo.size())
+						{
+							throw new IOException("Arquivo alterado durante o envio");
+						}
+						break;
+					}
+					posicao += n;
+					restante -= n;
+				}
+				if (restante > 0)
+				{
+					key.interestOps(SelectionKey.OP_WRITE);
+					return;
+				}
+				fecharCanal(arquivo);
+				arquivo = null;
+			}
+			processando = false;
+			ultimoUso = System.currentTimeMillis();
+			if (!keepAlive)
+			{
+				fechar();
+				return;
+			}
+			key.interestOps(SelectionKey.OP_READ);
+			// Requisicao seguinte ja recebida em pipeline
+			processarProxima();
+		}
+
+		/**
+		 * Verifica se a conexao esta parada aguardando a proxima requisicao desde antes do limite.
+		 * @param limite : instante limite, em milissegundos
+		 * @return Se a conexao esta ociosa
+		 */
+		boolean isOciosaDesde(long limite)
+		{
+			return !processando && ultimoUso < limite;
+		}
+
+		/**
+		 * Fecha a conexao do cliente.
+		 */
+		void fechar()
+		{
+			if (!canal.isOpen())
+			{
+				return;
+			}
+			key.cancel();
+			fecharCanal(canal);
+			if (arquivo != null)
+			{
+				fecharCanal(arquivo);
+				arquivo = null;
+			}
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("Conexao fechada com sucesso.");
+			}
+			ControllerMain.getInstance().generateLog(ControllerMain.SRV, "CloseOK");
+		}
+	}
+
+	/**
+	 * Fecha um canal, ignorando erros.
+	 * @param canal : canal a fechar
+	 */
+	private static void fecharCanal(Channel canal)
+	{
+		try
+		{
+			canal.close();
+		} catch (IOException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSError - Erro ao fechar conexao: " + e.getMessage());
+			}
+		}
+	}
+}
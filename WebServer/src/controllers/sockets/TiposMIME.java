@@ -0,0 +1,107 @@
+package controllers.sockets;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import controllers.ControllerMain;
+
+/**
+ * Classe do registro de MIME types do service web. A tabela de extensoes e montada uma vez, na criacao: os tipos
+ * embutidos (os do wwwroot) e, por cima deles, os do arquivo de mapeamento (linhas "extensao = tipo"), que acrescenta
+ * ou troca tipos sem recompilar. Depois de montada, a tabela nao muda, e a consulta de cada resposta e uma busca pela
+ * extensao do arquivo, sem travas.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param PADRAO : [CONSTANT] tipo dos arquivos de extensao desconhecida ou sem extensao
+ * @param EMBUTIDOS : [CONSTANT] tipos embutidos, pares extensao e tipo
+ * @param tipos : MIME types, pela extensao em minusculas e sem o ponto
+ */
+
+public class TiposMIME
+{
+
+	public static final String PADRAO = "application/octet-stream";
+	private static final String[][] EMBUTIDOS = {
+			{ "html", "text/html" },
+			{ "htm", "text/html" },
+			{ "css", "text/css" },
+			{ "js", "application/javascript" },
+			{ "map", "application/json" },
+			{ "json", "application/json" },
+			{ "png", "image/png" },
+			{ "txt", "text/plain" } };
+	private final Map<String, String> tipos;
+
+	/**
+	 * Construtor principal do TiposMIME.
+	 * @param arquivo : arquivo de mapeamento, ou null para usar so os tipos embutidos
+	 */
+	public TiposMIME(File arquivo)
+	{
+		HashMap<String, String> tabela = new HashMap<String, String>();
+		for (String[] embutido : EMBUTIDOS)
+		{
+			tabela.put(embutido[0], embutido[1]);
+		}
+		if (arquivo != null && arquivo.isFile())
+		{
+			Properties mapeamento = new Properties();
+			try (InputStream in = new FileInputStream(arquivo))
+			{
+				mapeamento.load(in);
+			} catch (IOException e)
+			{
+				if (ControllerMain.DEBUG)
+				{
+					System.out.println("SYSERROR: Mapeamento de MIME types nao pode ser lido: " + e.getMessage());
+				}
+			}
+			for (String extensao : mapeamento.stringPropertyNames())
+			{
+				String chave = extensao.trim().toLowerCase(Locale.ROOT);
+				if (chave.startsWith("."))
+				{
+					chave = chave.substring(1);
+				}
+				String tipo = mapeamento.getProperty(extensao).trim();
+				if (!chave.isEmpty() && !tipo.isEmpty())
+				{
+					tabela.put(chave, tipo);
+				}
+			}
+		}
+		this.tipos = tabela;
+	}
+
+	/**
+	 * Retorna o MIME type de um arquivo, pela extensao.
+	 * @param arquivo : path do arquivo solicitado
+	 * @return MIME type do arquivo, ou PADRAO se a extensao nao esta registrada
+	 */
+	public String tipo(String arquivo)
+	{
+		int ponto = arquivo.lastIndexOf('.');
+		if (ponto < 0 || ponto < arquivo.lastIndexOf('/'))
+		{
+			return PADRAO;
+		}
+		// toLowerCase devolve a propria String quando a extensao ja esta em minusculas
+		String tipo = tipos.get(arquivo.substring(ponto + 1).toLowerCase(Locale.ROOT));
+		return tipo != null ? tipo : PADRAO;
+	}
+
+	/**
+	 * Retorna o numero de extensoes registradas.
+	 * @return extensoes com MIME type
+	 */
+	public int getTotal()
+	{
+		return tipos.size();
+	}
+}
@@ -0,0 +1,230 @@
+package controllers.sockets;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe que guarda os validadores HTTP (ETag e Last-Modified) dos arquivos do wwwroot, para as requisicoes condicionais
+ * (If-None-Match e If-Modified-Since) serem respondidas com 304 sem abrir o arquivo. O validador de cada arquivo e
+ * montado uma vez, com os cabecalhos ja codificados, e refeito quando a data de modificacao ou o tamanho mudam; cada
+ * acesso faz apenas uma consulta aos atributos do arquivo. A ETag vem da data de modificacao e do tamanho, sem ler o
+ * conteudo.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param FORMATO_DATA : [CONSTANT] formato das datas recebidas em If-Modified-Since (RFC 1123)
+ * @param validadores : validadores dos arquivos, pelo caminho
+ * @param acertos : total de requisicoes condicionais respondidas com 304
+ */
+
+public class ValidadoresArquivos
+{
+
+	private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.RFC_1123_DATE_TIME;
+	private final ConcurrentHashMap<String, Validador> validadores = new ConcurrentHashMap<String, Validador>();
+	private final AtomicLong acertos = new AtomicLong();
+
+	/**
+	 * Retorna o validador atual do arquivo, refazendo-o se o arquivo mudou no disco.
+	 * @param file : arquivo solicitado
+	 * @return Validador do arquivo, ou null se o arquivo nao existe ou nao e um arquivo comum
+	 */
+	public Validador validar(File file)
+	{
+		BasicFileAttributes atributos;
+		try
+		{
+			atributos = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		} catch (IOException | InvalidPathException e)
+		{
+			return null;
+		}
+		if (!atributos.isRegularFile())
+		{
+			return null;
+		}
+		long modificado = atributos.lastModifiedTime().toMillis();
+		long tamanho = atributos.size();
+		String chave = file.getPath();
+		Validador validador = validadores.get(chave);
+		if (validador == null || validador.modificado != modificado || validador.tamanho != tamanho)
+		{
+			// Corrida entre threads apenas refaz o mesmo valor
+			validador = new Validador(modificado, tamanho);
+			validadores.put(chave, validador);
+		}
+		return validador;
+	}
+
+	/**
+	 * Verifica se a copia do cliente ainda vale, pelos cabecalhos condicionais da requisicao. If-None-Match tem
+	 * precedencia sobre If-Modified-Since, como manda o HTTP/1.1.
+	 * @param validador : validador atual do arquivo
+	 * @param variante : variante escolhida para a resposta, cuja ETag e conferida
+	 * @param req : requisicao recebida
+	 * @return Se a resposta deve ser 304 Not Modified
+	 */
+	public boolean naoModificado(Validador validador, CompressaoHTTP.Variante variante, RequisicaoHTTP req)
+	{
+		boolean atende;
+		String etags = req.getCabecalho("If-None-Match");
+		if (etags != null)
+		{
+			atende = confere(etags, variante.getEtag());
+		} else
+		{
+			atende = validador.anterior(req.getCabecalho("If-Modified-Since"));
+		}
+		if (atende)
+		{
+			acertos.incrementAndGet();
+		}
+		return atende;
+	}
+
+	/**
+	 * Confere a ETag com a lista recebida em If-None-Match (comparacao fraca, como no GET).
+	 * @param etags : valor do If-None-Match
+	 * @param etag : ETag atual
+	 * @return Se alguma ETag da lista e a atual, ou se a lista e "*"
+	 */
+	private static boolean confere(String etags, String etag)
+	{
+		if (etags.equals(etag) || etags.equals("*"))
+		{
+			return true;
+		}
+		for (String recebida : etags.split(","))
+		{
+			recebida = recebida.trim();
+			if (recebida.startsWith("W/"))
+			{
+				recebida = recebida.substring(2);
+			}
+			if (recebida.equals(etag))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Retorna o total de requisicoes condicionais respondidas com 304.
+	 * @return acertos
+	 */
+	public long getAcertos()
+	{
+		return acertos.get();
+	}
+
+	/**
+	 * Retorna o numero de arquivos com validador.
+	 * @return arquivos com validador
+	 */
+	public int getArquivos()
+	{
+		return validadores.size();
+	}
+
+	/**
+	 * Validadores de um arquivo, com a variante sem compressao e os cabecalhos ETag e Last-Modified ja codificados.
+	 */
+	public static class Validador
+	{
+
+		private final long modificado;
+		private final long tamanho;
+		private final String etag;
+		private final String ultimaModificacao;
+		private final CompressaoHTTP.Variante variante;
+
+		Validador(long modificado, long tamanho)
+		{
+			this.modificado = modificado;
+			this.tamanho = tamanho;
+			this.etag = "\"" + Long.toHexString(modificado) + "-" + Long.toHexString(tamanho) + "\"";
+			this.ultimaModificacao = CabecalhosHTTP.FORMATO_DATA.format(Instant.ofEpochMilli(modificado));
+			this.variante = new CompressaoHTTP.Variante(null, tamanho, etag,
+					"Accept-Ranges: bytes\r\nETag: " + etag + "\r\nLast-Modified: " + ultimaModificacao + "\r\n");
+		}
+
+		/**
+		 * Verifica se o arquivo nao mudou desde a data recebida em If-Modified-Since. Datas invalidas sao ignoradas.
+		 * @param data : valor do If-Modified-Since, ou null
+		 * @return Se a data de modificacao, em segundos, nao e posterior a data recebida
+		 */
+		private boolean anterior(String data)
+		{
+			if (data == null)
+			{
+				return false;
+			}
+			// O navegador normalmente devolve o proprio Last-Modified enviado
+			if (data.equals(ultimaModificacao))
+			{
+				return true;
+			}
+			try
+			{
+				return modificado / 1000 <= ZonedDateTime.parse(data, FORMATO_DATA).toEpochSecond();
+			} catch (DateTimeParseException e)
+			{
+				return false;
+			}
+		}
+
+		/**
+		 * Retorna a variante sem compressao do arquivo, com os cabecalhos ETag e Last-Modified codificados.
+		 * @return Variante do proprio arquivo
+		 */
+		public CompressaoHTTP.Variante getVariante()
+		{
+			return variante;
+		}
+
+		/**
+		 * Retorna a data de modificacao do arquivo quando o validador foi montado.
+		 * @return data de modificacao, em milissegundos
+		 */
+		public long getModificado()
+		{
+			return modificado;
+		}
+
+		/**
+		 * Retorna a ETag do arquivo.
+		 * @return ETag
+		 */
+		public String getEtag()
+		{
+			return etag;
+		}
+
+		/**
+		 * Retorna a data de modificacao no formato do cabecalho Last-Modified.
+		 * @return Last-Modified do arquivo
+		 */
+		public String getUltimaModificacao()
+		{
+			return ultimaModificacao;
+		}
+
+		/**
+		 * Retorna o tamanho do arquivo quando o validador foi montado.
+		 * @return tamanho do arquivo
+		 */
+		public long getTamanho()
+		{
+			return tamanho;
+		}
+	}
+}
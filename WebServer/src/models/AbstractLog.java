@@ -33,6 +33,18 @@ public abstract class AbstractLog implements Serializable, Comparable<AbstractLo
         this.texto = texto;
     }
     
+	/**
+	 * Construtor do AbstractLog com a data em milissegundos, sem criar um Date intermediario.
+	 * @param instante : data do log, em milissegundos
+	 * @param texto : texto do log
+	 */
+    public AbstractLog(long instante, String texto)
+    {
+    	this.id = 0;
+        this.data = new Timestamp(instante);
+        this.texto = texto;
+    }
+    
     /**
      * Metodo abstrato que retorna o texto do log.
      * @return Texto do log
@@ -4,76 +4,126 @@ import java.util.Date;
 
 /**
  * Classe do Model de LogAcc do design pattern MVC + Abstract.
+ * Os campos do acesso ficam separados e tipados, do atendimento ate o DAO; o texto no formato
+ * arquivo#metodo#ip#codigo e montado apenas para exibicao.
  * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
  *
  * @param prefix : prefixo do log
+ * @param arquivo : arquivo solicitado
+ * @param metodo : metodo HTTP usado
+ * @param ip : ip do cliente
+ * @param codigo : codigo de retorno da requisicao
  */
 
 public class LogAcc extends AbstractLog
 {
-	
+
 	private static final long serialVersionUID = 1L;
     private String prefix = "> ACCESS: ";
-    
+    private String arquivo;
+    private MetodoHTTP metodo;
+    private String ip;
+    private int codigo;
+
+    /**
+     * Construtor principal do LogAcc que recebe os campos do acesso.
+	 * @param instante : data do log, em milissegundos
+	 * @param arquivo : arquivo solicitado
+	 * @param metodo : metodo HTTP usado
+	 * @param ip : ip do cliente
+	 * @param codigo : codigo de retorno da requisicao
+     */
+    public LogAcc(long instante, String arquivo, MetodoHTTP metodo, String ip, int codigo)
+    {
+		super(instante, null);
+		this.arquivo = arquivo;
+		this.metodo = metodo;
+		this.ip = ip;
+		this.codigo = codigo;
+	}
+
     /**
-     * Construtor principal do LogAcc que recebe os valores do log.
+     * Construtor do LogAcc a partir do texto no formato arquivo#metodo#ip#codigo, separado uma unica vez.
+     * Os campos sao lidos da direita, entao o arquivo pode conter '#'.
 	 * @param data : data do log
 	 * @param texto : texto do log
      */
     public LogAcc(Date data, String texto)
     {
-		super(data, texto);
+		super(data, null);
+		int fimIP = texto.lastIndexOf('#');
+		int fimMetodo = fimIP > 0 ? texto.lastIndexOf('#', fimIP - 1) : -1;
+		int fimArquivo = fimMetodo > 0 ? texto.lastIndexOf('#', fimMetodo - 1) : -1;
+		if (fimArquivo < 0)
+		{
+			this.arquivo = texto;
+			this.metodo = MetodoHTTP.DESCONHECIDO;
+			this.ip = "";
+			return;
+		}
+		this.arquivo = texto.substring(0, fimArquivo);
+		this.metodo = MetodoHTTP.de(texto.substring(fimArquivo + 1, fimMetodo));
+		this.ip = texto.substring(fimMetodo + 1, fimIP);
+		try
+		{
+			this.codigo = Integer.parseInt(texto.substring(fimIP + 1));
+		} catch (NumberFormatException e)
+		{
+			this.codigo = 0;
+		}
 	}
-    
+
     @Override
     public String imprime()
     {
         String message = getData().toString() + prefix + getText();
         return message;
     }
-    
+
     /**
-     * Separa e retorna o arquivo procurado.
+     * Monta o texto do log no formato arquivo#metodo#ip#codigo, para exibicao.
+     * @return texto do log
+     */
+    @Override
+    public String getText()
+    {
+    	return arquivo + "#" + metodo.getTexto() + "#" + ip + "#" + codigo;
+    }
+
+    /**
+     * Retorna o arquivo procurado.
      * @return arquivo procurado
      */
     public String getArquivo()
     {
-    	String texto[] = getText().split("#");
-    	String arquivo = texto[0];
     	return arquivo;
     }
-    
+
     /**
-     * Separa e retorna o metodo HTTP usado.
+     * Retorna o metodo HTTP usado.
      * @return metodo usado
      */
-    public String getMethod()
+    public MetodoHTTP getMetodo()
     {
-    	String texto[] = getText().split("#");
-    	String method = texto[1];
-    	return method;
+    	return metodo;
     }
-    
+
     /**
-     * Separa e retorna o ip do cliente.
+     * Retorna o ip do cliente.
      * @return ip do cliente
      */
     public String getIP()
     {
-    	String texto[] = getText().split("#");
-    	String ip = texto[2];
     	return ip;
     }
-    
+
     /**
-     * Separa e retorna o codigo de retorno da requisicao.
+     * Retorna o codigo de retorno da requisicao.
      * @return codigo de retorno
      */
-    public String getCode()
+    public int getCodigo()
     {
-    	String texto[] = getText().split("#");
-    	String code = texto[3];
-    	return code;
+    	return codigo;
     }
-    
+
 }
@@ -0,0 +1,67 @@
+package models;
+
+/**
+ * Enum dos metodos HTTP registrados nos logs de acesso.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param texto : metodo como aparece na requisicao e na coluna metodo_http
+ * @param DESCONHECIDO : metodo nao reconhecido, ou requisicao nao compreendida
+ */
+
+public enum MetodoHTTP
+{
+
+    GET("GET"), HEAD("HEAD"), POST("POST"), PUT("PUT"), DELETE("DELETE"), OPTIONS("OPTIONS"), TRACE("TRACE"),
+    PATCH("PATCH"), CONNECT("CONNECT"), DESCONHECIDO("");
+    private final String texto;
+
+    MetodoHTTP(String texto)
+    {
+        this.texto = texto;
+    }
+
+    /**
+     * Retorna o metodo como aparece na requisicao e na coluna metodo_http.
+     * @return texto do metodo
+     */
+    public String getTexto()
+    {
+        return texto;
+    }
+
+    /**
+     * Converte o metodo da requisicao ou do DB, sem lancar excecao para metodos desconhecidos.
+     * @param texto : metodo HTTP
+     * @return Metodo correspondente, ou DESCONHECIDO
+     */
+    public static MetodoHTTP de(String texto)
+    {
+        if (texto == null)
+        {
+            return DESCONHECIDO;
+        }
+        switch (texto)
+        {
+            case "GET":
+                return GET;
+            case "HEAD":
+                return HEAD;
+            case "POST":
+                return POST;
+            case "PUT":
+                return PUT;
+            case "DELETE":
+                return DELETE;
+            case "OPTIONS":
+                return OPTIONS;
+            case "TRACE":
+                return TRACE;
+            case "PATCH":
+                return PATCH;
+            case "CONNECT":
+                return CONNECT;
+            default:
+                return DESCONHECIDO;
+        }
+    }
+}
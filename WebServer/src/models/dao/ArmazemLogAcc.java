@@ -0,0 +1,109 @@
+package models.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import models.AbstractLog;
+import models.ResultTable;
+import models.services.EstatisticasAcesso;
+
+/**
+ * Interface dos armazens de logs de acesso usados pelo ServiceLogAcc: o DB (ArmazemLogAccDB) ou o arquivo embutido no
+ * processo (ArmazemLogAccArquivo), escolhido pela propriedade prop.server.armazem. As consultas tem o mesmo resultado
+ * nos dois armazens.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ */
+
+public interface ArmazemLogAcc
+{
+
+	/**
+	 * Inclui um log de acesso.
+	 * @param log : log de acesso
+	 */
+	void incluir(AbstractLog log);
+
+	/**
+	 * Inclui um lote de logs de acesso, de uma unica vez.
+	 * @param logs : logs a incluir
+	 * @return Se o lote foi gravado
+	 */
+	boolean incluirLote(List<AbstractLog> logs);
+
+	/**
+	 * Recupera o ultimo log de acesso incluido.
+	 * @return log de acesso, ou null se nao houver
+	 */
+	AbstractLog carregaID();
+
+	/**
+	 * Lista os ultimos logs de acesso, do mais antigo para o mais recente.
+	 * @param num : numero de logs
+	 * @return logs de acesso
+	 */
+	ArrayList<AbstractLog> listaUltimos(int num);
+
+	/**
+	 * Lista os arquivos mais acessados com sucesso, em ordem decrescente de acessos.
+	 * @param num : numero de arquivos
+	 * @return arquivo e numero de acessos
+	 */
+	ArrayList<ResultTable> listaMaisAcessados(int num);
+
+	/**
+	 * Lista os IPs mais frequentes, em ordem decrescente de acessos.
+	 * @param num : numero de IPs
+	 * @return IP e numero de acessos
+	 */
+	ArrayList<ResultTable> listaIPsFrequentes(int num);
+
+	/**
+	 * Conta os acessos por hora do dia.
+	 * @return acessos, indices 0 a 23
+	 */
+	int[] contaPorHora();
+
+	/**
+	 * Conta os acessos por dia do mes.
+	 * @return acessos, indices 1 a 31
+	 */
+	int[] contaPorDia();
+
+	/**
+	 * Conta os acessos por mes.
+	 * @return acessos, indices 1 a 12
+	 */
+	int[] contaPorMes();
+
+	/**
+	 * Lista os 5 maiores IPs distintos, em ordem decrescente.
+	 * @return IPs distintos
+	 */
+	ArrayList<ResultTable> listaDistintos();
+
+	/**
+	 * Lista os arquivos distintos que causaram um codigo de erro.
+	 * @param codigo : codigo de erro HTTP (400, 403, 404 ou 405)
+	 * @param limit : se verdadeiro, apenas os 5 maiores em ordem decrescente; senao todos, em ordem crescente
+	 * @return arquivos distintos
+	 */
+	ArrayList<ResultTable> listaErros(int codigo, boolean limit);
+
+	/**
+	 * Lista todos os logs de acesso.
+	 * @return logs de acesso
+	 */
+	ArrayList<AbstractLog> listaTodos();
+
+	/**
+	 * Carrega as estatisticas de acesso em memoria com os logs do armazem.
+	 * @param estatisticas : estatisticas a carregar
+	 * @return Se a carga foi concluida e as estatisticas podem ser ativadas
+	 */
+	boolean carregarEstatisticas(EstatisticasAcesso estatisticas);
+
+	/**
+	 * Libera os recursos do armazem ao encerrar o servidor.
+	 */
+	void fechar();
+}
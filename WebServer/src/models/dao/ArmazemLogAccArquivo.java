@@ -0,0 +1,396 @@
+package models.dao;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import controllers.ControllerMain;
+import models.AbstractLog;
+import models.LogAcc;
+import models.MetodoHTTP;
+import models.ResultTable;
+import models.services.EstatisticasAcesso;
+import models.utils.Diario;
+import models.utils.PoolConexoes;
+
+/**
+ * Classe do armazem de logs de acesso embutido no processo, em um Diario (logacesso.log) na pasta de dados do servidor,
+ * sem DB externo. Cada log e uma linha com instante, arquivo, metodo, ip e codigo. As consultas percorrem o diario e
+ * agregam em memoria, com o mesmo resultado das consultas do DAOLogAcc; depois da carga das estatisticas de acesso, os
+ * relatorios sao respondidos pela memoria e o diario so e percorrido para listar os logs.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param ARQUIVO : [CONSTANT] nome do arquivo do diario na pasta de dados
+ * @param DISTINTOS : [CONSTANT] numero de IPs distintos e de arquivos com erro listados com limite
+ * @param ORDEM_DECRESCENTE : [CONSTANT] ordem decrescente de ocorrencias, com empates pelo nome
+ * @param diario : diario dos logs de acesso
+ */
+
+public class ArmazemLogAccArquivo implements ArmazemLogAcc
+{
+
+	public static final String ARQUIVO = "logacesso.log";
+	private static final int DISTINTOS = 5;
+	private static final Comparator<ResultTable> ORDEM_DECRESCENTE = new Comparator<ResultTable>()
+	{
+		@Override
+		public int compare(ResultTable a, ResultTable b)
+		{
+			int c = Integer.compare(b.getValor(), a.getValor());
+			return c != 0 ? c : a.getTipo().compareTo(b.getTipo());
+		}
+	};
+	private final Diario diario;
+
+	/**
+	 * Construtor principal do ArmazemLogAccArquivo, que abre ou cria o diario.
+	 * @param pasta : pasta de dados do servidor
+	 * @throws IOException se o diario nao puder ser aberto
+	 */
+	public ArmazemLogAccArquivo(File pasta) throws IOException
+	{
+		diario = new Diario(new File(pasta, ARQUIVO));
+	}
+
+	/**
+	 * Monta a linha do diario de um log de acesso.
+	 * @param log : log de acesso
+	 * @return linha do diario
+	 */
+	private static String linha(AbstractLog log)
+	{
+		LogAcc acesso = (LogAcc) log;
+		return Diario.linha(Long.toString(acesso.getData().getTime()), acesso.getArquivo(), acesso.getMetodo().getTexto(),
+				acesso.getIP(), Integer.toString(acesso.getCodigo()));
+	}
+
+	/**
+	 * Le o log de acesso de uma linha do diario.
+	 * @param linha : linha do diario
+	 * @return log de acesso, ou null se a linha nao estiver no formato
+	 */
+	private static LogAcc ler(String linha)
+	{
+		String[] campos = Diario.campos(linha);
+		if (campos.length != 5)
+		{
+			return null;
+		}
+		try
+		{
+			return new LogAcc(Long.parseLong(campos[0]), campos[1], MetodoHTTP.de(campos[2]), campos[3],
+					Integer.parseInt(campos[4]));
+		} catch (NumberFormatException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Percorre os logs de acesso do diario.
+	 * @param leitor : recebe cada log
+	 * @return Se o diario foi lido ate o fim
+	 */
+	private boolean varrer(final Leitor leitor)
+	{
+		try
+		{
+			diario.varrer(new Diario.Leitor()
+			{
+				@Override
+				public void linha(String linha)
+				{
+					LogAcc log = ler(linha);
+					if (log != null)
+					{
+						leitor.log(log);
+					}
+				}
+			});
+			return true;
+		} catch (IOException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Diario de acesso nao lido: " + e.getMessage());
+			}
+			return false;
+		}
+	}
+
+	@Override
+	public void incluir(AbstractLog log)
+	{
+		incluirLote(Collections.singletonList(log));
+	}
+
+	@Override
+	public boolean incluirLote(List<AbstractLog> logs)
+	{
+		ArrayList<String> linhas = new ArrayList<String>(logs.size());
+		for (AbstractLog log : logs)
+		{
+			linhas.add(linha(log));
+		}
+		try
+		{
+			diario.gravar(linhas);
+			return true;
+		} catch (IOException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: " + e.getMessage());
+			}
+			return false;
+		}
+	}
+
+	@Override
+	public AbstractLog carregaID()
+	{
+		ArrayList<AbstractLog> ultimo = listaUltimos(1);
+		return ultimo.isEmpty() ? null : ultimo.get(0);
+	}
+
+	@Override
+	public ArrayList<AbstractLog> listaUltimos(int num)
+	{
+		ArrayList<AbstractLog> logs = new ArrayList<AbstractLog>();
+		try
+		{
+			for (String linha : diario.ultimas(num))
+			{
+				LogAcc log = ler(linha);
+				if (log != null)
+				{
+					logs.add(log);
+				}
+			}
+		} catch (IOException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Diario de acesso nao lido: " + e.getMessage());
+			}
+		}
+		return logs;
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaMaisAcessados(int num)
+	{
+		final HashMap<String, int[]> contagens = new HashMap<String, int[]>();
+		varrer(new Leitor()
+		{
+			@Override
+			public void log(LogAcc log)
+			{
+				if (log.getCodigo() == 200)
+				{
+					somar(contagens, log.getArquivo());
+				}
+			}
+		});
+		return maiores(contagens, num);
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaIPsFrequentes(int num)
+	{
+		final HashMap<String, int[]> contagens = new HashMap<String, int[]>();
+		varrer(new Leitor()
+		{
+			@Override
+			public void log(LogAcc log)
+			{
+				somar(contagens, log.getIP());
+			}
+		});
+		return maiores(contagens, num);
+	}
+
+	@Override
+	public int[] contaPorHora()
+	{
+		return contaPor(0);
+	}
+
+	@Override
+	public int[] contaPorDia()
+	{
+		return contaPor(1);
+	}
+
+	@Override
+	public int[] contaPorMes()
+	{
+		return contaPor(2);
+	}
+
+	/**
+	 * Conta os acessos por uma parte da data, no PoolConexoes.FUSO, como as estatisticas de acesso e o DB.
+	 * @param parte : 0 para hora, 1 para dia do mes, 2 para mes
+	 * @return acessos de cada valor da parte, usado como indice
+	 */
+	private int[] contaPor(final int parte)
+	{
+		final int[] contagem = new int[parte == 0 ? 24 : parte == 1 ? 32 : 13];
+		final ZoneId fuso = PoolConexoes.FUSO;
+		varrer(new Leitor()
+		{
+			@Override
+			public void log(LogAcc log)
+			{
+				LocalDateTime momento = LocalDateTime.ofInstant(Instant.ofEpochMilli(log.getData().getTime()), fuso);
+				contagem[parte == 0 ? momento.getHour() : parte == 1 ? momento.getDayOfMonth() : momento.getMonthValue()]++;
+			}
+		});
+		return contagem;
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaDistintos()
+	{
+		final TreeSet<String> maiores = new TreeSet<String>();
+		varrer(new Leitor()
+		{
+			@Override
+			public void log(LogAcc log)
+			{
+				// Mantem apenas os maiores IPs, que sao os listados
+				if (maiores.size() < DISTINTOS || log.getIP().compareTo(maiores.first()) > 0)
+				{
+					if (maiores.add(log.getIP()) && maiores.size() > DISTINTOS)
+					{
+						maiores.pollFirst();
+					}
+				}
+			}
+		});
+		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
+		for (String ip : maiores.descendingSet())
+		{
+			resultados.add(new ResultTable(ip, 1));
+		}
+		return resultados;
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaErros(final int codigo, boolean limit)
+	{
+		final TreeSet<String> arquivos = new TreeSet<String>();
+		varrer(new Leitor()
+		{
+			@Override
+			public void log(LogAcc log)
+			{
+				if (log.getCodigo() == codigo)
+				{
+					arquivos.add(log.getArquivo());
+				}
+			}
+		});
+		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
+		Iterator<String> it = limit ? arquivos.descendingIterator() : arquivos.iterator();
+		while (it.hasNext() && (!limit || resultados.size() < DISTINTOS))
+		{
+			resultados.add(new ResultTable(it.next(), 1));
+		}
+		return resultados;
+	}
+
+	@Override
+	public ArrayList<AbstractLog> listaTodos()
+	{
+		final ArrayList<AbstractLog> logs = new ArrayList<AbstractLog>();
+		varrer(new Leitor()
+		{
+			@Override
+			public void log(LogAcc log)
+			{
+				logs.add(log);
+			}
+		});
+		return logs;
+	}
+
+	/**
+	 * Carrega as estatisticas repassando cada log do diario, em uma unica leitura.
+	 */
+	@Override
+	public boolean carregarEstatisticas(final EstatisticasAcesso estatisticas)
+	{
+		return varrer(new Leitor()
+		{
+			@Override
+			public void log(LogAcc log)
+			{
+				estatisticas.registrar(log.getArquivo(), log.getIP(), log.getCodigo(), log.getData().getTime());
+			}
+		});
+	}
+
+	@Override
+	public void fechar()
+	{
+		diario.fechar();
+	}
+
+	/**
+	 * Soma uma ocorrencia de uma chave.
+	 * @param contagens : ocorrencias por chave
+	 * @param chave : chave contada
+	 */
+	static void somar(Map<String, int[]> contagens, String chave)
+	{
+		int[] contagem = contagens.get(chave);
+		if (contagem == null)
+		{
+			contagens.put(chave, new int[] { 1 });
+		} else
+		{
+			contagem[0]++;
+		}
+	}
+
+	/**
+	 * Lista as chaves com mais ocorrencias, em ordem decrescente.
+	 * @param contagens : ocorrencias por chave
+	 * @param num : numero de chaves listadas
+	 * @return chave e numero de ocorrencias
+	 */
+	static ArrayList<ResultTable> maiores(Map<String, int[]> contagens, int num)
+	{
+		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>(contagens.size());
+		for (Map.Entry<String, int[]> contagem : contagens.entrySet())
+		{
+			resultados.add(new ResultTable(contagem.getKey(), contagem.getValue()[0]));
+		}
+		Collections.sort(resultados, ORDEM_DECRESCENTE);
+		return new ArrayList<ResultTable>(resultados.subList(0, Math.min(Math.max(0, num), resultados.size())));
+	}
+
+	/**
+	 * Recebe os logs de uma varredura do diario.
+	 */
+	private interface Leitor
+	{
+
+		/**
+		 * Recebe um log.
+		 * @param log : log de acesso lido
+		 */
+		void log(LogAcc log);
+	}
+}
@@ -0,0 +1,293 @@
+package models.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import controllers.ControllerMain;
+import models.AbstractLog;
+import models.ResultTable;
+import models.services.EstatisticasAcesso;
+import models.utils.PoolConexoes;
+
+/**
+ * Classe do armazem de logs de acesso no DB, pela tabela logacesso e o DAOLogAcc.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param dao : DAO do log
+ * @param pool : pool de conexoes com o banco de dados; cada operacao empresta uma conexao e a devolve ao terminar
+ */
+
+public class ArmazemLogAccDB implements ArmazemLogAcc
+{
+
+	private final DAOLogAcc dao = new DAOLogAcc();
+	private final PoolConexoes pool;
+
+	/**
+	 * Construtor principal do ArmazemLogAccDB.
+	 * @param pool : pool de conexoes com o banco de dados
+	 */
+	public ArmazemLogAccDB(PoolConexoes pool)
+	{
+		this.pool = pool;
+	}
+
+	/**
+	 * Empresta uma conexao do pool para uma operacao.
+	 * @return conexao emprestada
+	 */
+	private Connection emprestar()
+	{
+		try
+		{
+			return pool.emprestar();
+		} catch (SQLException e)
+		{
+			throw new IllegalStateException("Sem conexao com o banco de dados: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Reporta a falha de uma consulta dos relatorios, que respondem com o resultado vazio.
+	 * @param e : erro da consulta
+	 */
+	private static void erro(SQLException e)
+	{
+		if (ControllerMain.DEBUG)
+		{
+			System.out.println("SYSERROR: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public synchronized void incluir(AbstractLog log)
+	{
+		Connection conn = emprestar();
+		try
+		{
+			dao.setLog(log);
+			dao.incluir(conn);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public boolean incluirLote(List<AbstractLog> logs)
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.incluirLote(conn, logs);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public synchronized AbstractLog carregaID()
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.carregaID(conn);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public ArrayList<AbstractLog> listaUltimos(int num)
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.listaUltimos(conn, num);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaMaisAcessados(int num)
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.listaMaisAcessados(conn, num);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaIPsFrequentes(int num)
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.listaIPsFrequentes(conn, num);
+		} catch (SQLException e)
+		{
+			erro(e);
+			return new ArrayList<ResultTable>();
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public int[] contaPorHora()
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.contaPorHora(conn);
+		} catch (SQLException e)
+		{
+			erro(e);
+			return new int[24];
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public int[] contaPorDia()
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.contaPorDia(conn);
+		} catch (SQLException e)
+		{
+			erro(e);
+			return new int[32];
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public int[] contaPorMes()
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.contaPorMes(conn);
+		} catch (SQLException e)
+		{
+			erro(e);
+			return new int[13];
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaDistintos()
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.listaDistintos(conn);
+		} catch (SQLException e)
+		{
+			erro(e);
+			return new ArrayList<ResultTable>();
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaErros(int codigo, boolean limit)
+	{
+		Connection conn = emprestar();
+		try
+		{
+			switch (codigo)
+			{
+				case 400:
+					return dao.lista400(conn, limit);
+				case 403:
+					return dao.lista403(conn, limit);
+				case 404:
+					return dao.lista404(conn, limit);
+				default:
+					return dao.lista405(conn, limit);
+			}
+		} catch (SQLException e)
+		{
+			erro(e);
+			return new ArrayList<ResultTable>();
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public ArrayList<AbstractLog> listaTodos()
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.listaTodos(conn);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	/**
+	 * Carrega as estatisticas com consultas agrupadas, sem ler os logs. Se qualquer consulta falhar, a carga nao e dada
+	 * como concluida e os relatorios continuam consultando o banco de dados.
+	 */
+	@Override
+	public boolean carregarEstatisticas(EstatisticasAcesso estatisticas)
+	{
+		Connection conn = emprestar();
+		try
+		{
+			estatisticas.carregarArquivos(dao.contaArquivos(conn));
+			estatisticas.carregarIPs(dao.listaIPsFrequentes(conn, EstatisticasAcesso.CAPACIDADE_IPS), dao.listaDistintos(conn));
+			estatisticas.carregarErros(400, dao.lista400(conn, false));
+			estatisticas.carregarErros(403, dao.lista403(conn, false));
+			estatisticas.carregarErros(404, dao.lista404(conn, false));
+			estatisticas.carregarErros(405, dao.lista405(conn, false));
+			estatisticas.carregarHistogramas(dao.contaPorHora(conn), dao.contaPorDia(conn), dao.contaPorMes(conn));
+			return true;
+		} catch (SQLException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Estatisticas de acesso nao carregadas: " + e.getMessage());
+			}
+			return false;
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	/**
+	 * O pool de conexoes e do ControllerMain, compartilhado com o ArmazemLogSrvDB, e nao e fechado aqui.
+	 */
+	@Override
+	public void fechar()
+	{
+	}
+}
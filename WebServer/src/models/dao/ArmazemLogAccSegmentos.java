@@ -0,0 +1,571 @@
+package models.dao;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import controllers.ControllerMain;
+import models.AbstractLog;
+import models.LogAcc;
+import models.MetodoHTTP;
+import models.ResultTable;
+import models.services.EstatisticasAcesso;
+import models.utils.Diario;
+import models.utils.Segmentos;
+
+/**
+ * Classe do armazem de logs de acesso em segmentos binarios somente de acrescimo, embutido no processo e sem DB
+ * externo. Cada acesso e um registro de tamanho fixo (REGISTRO bytes) com instante, ids do arquivo e do ip, codigo e
+ * metodo; o texto do arquivo e do ip fica uma unica vez no dicionario (dicionario.log), gravado antes dos registros que
+ * o usam. Um lote de logs e uma unica escrita no segmento ativo, sem transacao, e o fsync e periodico.
+ * Quando um segmento enche e fechado e resumido em um indice (.idx) com as agregacoes dos relatorios; as consultas
+ * somam o resumo dos segmentos fechados, mantido em memoria, com o do segmento ativo, atualizado a cada lote, sem ler
+ * os registros. Apenas a listagem de logs le os segmentos, mapeados na memoria. Segmentos mais antigos que a retencao
+ * sao apagados na rotacao. O dicionario e limitado a LIMITE_DICIONARIO textos: passado o limite, arquivos e ips novos
+ * (por exemplo, paths aleatorios de 404) sao gravados como EXCEDENTE, para a memoria e o disco nao crescerem sem fim.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param PREFIXO : [CONSTANT] prefixo dos arquivos de segmento
+ * @param DICIONARIO : [CONSTANT] nome do arquivo do dicionario
+ * @param INDICE : [CONSTANT] extensao dos arquivos de indice
+ * @param REGISTRO : [CONSTANT] bytes de um registro: instante (8), arquivo (4), ip (4), codigo (2), metodo (1), marca (1)
+ * @param MARCA : [CONSTANT] ultimo byte de um registro gravado
+ * @param DISTINTOS : [CONSTANT] numero de IPs distintos e de arquivos com erro listados com limite
+ * @param LIMITE_DICIONARIO : [CONSTANT] numero maximo de textos distintos no dicionario
+ * @param EXCEDENTE : [CONSTANT] texto gravado no lugar dos arquivos e ips novos depois do limite do dicionario
+ * @param METODOS : [CONSTANT] metodos HTTP, pela posicao gravada no registro
+ * @param ORDEM_DECRESCENTE : [CONSTANT] ordem decrescente de ocorrencias, com empates pelo nome
+ * @param segmentos : segmentos dos registros
+ * @param dicionario : diario do dicionario
+ * @param valores : textos do dicionario, pelo id
+ * @param ids : id de cada texto do dicionario
+ * @param retencao : idade maxima, em milissegundos, de um segmento fechado (0 mantem todos)
+ * @param maiores : maior instante de cada segmento fechado, do mais antigo para o mais recente
+ * @param fechados : resumo dos segmentos fechados
+ * @param ativo : resumo do segmento ativo
+ * @param lote : buffer de escrita dos registros
+ */
+
+public class ArmazemLogAccSegmentos implements ArmazemLogAcc
+{
+
+	public static final String PREFIXO = "acesso";
+	public static final String DICIONARIO = "dicionario.log";
+	private static final String INDICE = ".idx";
+	private static final int REGISTRO = 20;
+	private static final byte MARCA = 1;
+	private static final int DISTINTOS = 5;
+	private static final int LIMITE_DICIONARIO = 262144;
+	private static final String EXCEDENTE = "(excedente)";
+	private static final MetodoHTTP[] METODOS = MetodoHTTP.values();
+	private static final Comparator<ResultTable> ORDEM_DECRESCENTE = new Comparator<ResultTable>()
+	{
+		@Override
+		public int compare(ResultTable a, ResultTable b)
+		{
+			int c = Integer.compare(b.getValor(), a.getValor());
+			return c != 0 ? c : a.getTipo().compareTo(b.getTipo());
+		}
+	};
+	private final Segmentos segmentos;
+	private final Diario dicionario;
+	private final ArrayList<String> valores = new ArrayList<String>();
+	private final HashMap<String, Integer> ids = new HashMap<String, Integer>();
+	private final long retencao;
+	private final LinkedHashMap<File, Long> maiores = new LinkedHashMap<File, Long>();
+	private ResumoSegmento fechados = new ResumoSegmento();
+	private ResumoSegmento ativo;
+	private ByteBuffer lote = ByteBuffer.allocateDirect(REGISTRO * 256);
+
+	/**
+	 * Construtor principal do ArmazemLogAccSegmentos, que abre ou cria o dicionario e os segmentos, le os indices dos
+	 * segmentos fechados (refazendo os que faltarem) e resume o segmento ativo.
+	 * @param pasta : pasta de dados do servidor
+	 * @param registros : registros por segmento
+	 * @param sincronia : intervalo, em milissegundos, do fsync periodico
+	 * @param retencao : dias que um segmento fechado e mantido (0 mantem todos)
+	 * @throws IOException se o dicionario ou os segmentos nao puderem ser abertos
+	 */
+	public ArmazemLogAccSegmentos(File pasta, int registros, long sincronia, int retencao) throws IOException
+	{
+		this.retencao = Math.max(0, retencao) * 24L * 60 * 60 * 1000;
+		dicionario = new Diario(new File(pasta, DICIONARIO));
+		dicionario.varrer(new Diario.Leitor()
+		{
+			@Override
+			public void linha(String linha)
+			{
+				String valor = Diario.campos(linha)[0];
+				ids.put(valor, valores.size());
+				valores.add(valor);
+			}
+		});
+		segmentos = new Segmentos(pasta, PREFIXO, REGISTRO, registros, sincronia);
+		for (File segmento : segmentos.getFechados())
+		{
+			ResumoSegmento resumo = indexar(segmento);
+			fechados.juntar(resumo);
+			maiores.put(segmento, resumo.maior);
+		}
+		// O indice do ativo gravado no fechamento vale se nenhum registro foi gravado depois
+		ativo = ResumoSegmento.ler(indice(segmentos.getAtivo()), segmentos.contar(segmentos.getAtivo()));
+		if (ativo == null)
+		{
+			ativo = resumir(segmentos.getAtivo());
+		}
+		aplicarRetencao();
+	}
+
+	/**
+	 * Retorna o arquivo de indice de um segmento.
+	 * @param segmento : arquivo do segmento
+	 * @return arquivo de indice
+	 */
+	private static File indice(File segmento)
+	{
+		String nome = segmento.getName();
+		return new File(segmento.getParentFile(), nome.substring(0, nome.length() - Segmentos.EXTENSAO.length()) + INDICE);
+	}
+
+	/**
+	 * Le o indice de um segmento fechado, ou o refaz lendo o segmento se faltar ou nao conferir.
+	 * @param segmento : segmento fechado
+	 * @return Resumo do segmento
+	 * @throws IOException se o segmento nao puder ser lido
+	 */
+	private ResumoSegmento indexar(File segmento) throws IOException
+	{
+		ResumoSegmento resumo = ResumoSegmento.ler(indice(segmento), segmentos.contar(segmento));
+		if (resumo == null)
+		{
+			resumo = resumir(segmento);
+			resumo.gravar(indice(segmento));
+		}
+		return resumo;
+	}
+
+	/**
+	 * Resume um segmento lendo os seus registros.
+	 * @param segmento : segmento
+	 * @return Resumo do segmento
+	 * @throws IOException
+	 */
+	private ResumoSegmento resumir(File segmento) throws IOException
+	{
+		final ResumoSegmento resumo = new ResumoSegmento();
+		segmentos.ler(segmento, new Segmentos.Leitor()
+		{
+			@Override
+			public void registro(ByteBuffer dados, int posicao)
+			{
+				if (dados.get(posicao + 19) == MARCA)
+				{
+					resumo.somar(dados.getLong(posicao), dados.getInt(posicao + 8), dados.getInt(posicao + 12),
+							dados.getShort(posicao + 16));
+				}
+			}
+		});
+		return resumo;
+	}
+
+	/**
+	 * Retorna o id de um texto, incluindo-o no dicionario em memoria se for novo. Com o dicionario cheio, textos novos
+	 * recebem o id de EXCEDENTE.
+	 * @param valor : texto do arquivo ou do ip
+	 * @param novos : recebe as linhas dos textos novos, a gravar no dicionario
+	 * @return id do texto
+	 */
+	private int id(String valor, List<String> novos)
+	{
+		String texto = valor == null ? "" : valor;
+		Integer id = ids.get(texto);
+		if (id == null && valores.size() >= LIMITE_DICIONARIO)
+		{
+			texto = EXCEDENTE;
+			id = ids.get(texto);
+		}
+		if (id == null)
+		{
+			id = valores.size();
+			ids.put(texto, id);
+			valores.add(texto);
+			novos.add(Diario.linha(texto));
+		}
+		return id;
+	}
+
+	@Override
+	public void incluir(AbstractLog log)
+	{
+		incluirLote(Collections.singletonList(log));
+	}
+
+	@Override
+	public synchronized boolean incluirLote(List<AbstractLog> logs)
+	{
+		int anteriores = valores.size();
+		ArrayList<String> novos = new ArrayList<String>();
+		if (lote.capacity() < logs.size() * REGISTRO)
+		{
+			lote = ByteBuffer.allocateDirect(Integer.highestOneBit(logs.size() * REGISTRO) << 1);
+		}
+		lote.clear();
+		for (AbstractLog item : logs)
+		{
+			LogAcc log = (LogAcc) item;
+			lote.putLong(log.getData().getTime()).putInt(id(log.getArquivo(), novos)).putInt(id(log.getIP(), novos))
+					.putShort((short) log.getCodigo()).put((byte) log.getMetodo().ordinal()).put(MARCA);
+		}
+		lote.flip();
+		try
+		{
+			// Os textos novos vao para o dicionario, com fsync, antes dos registros que os usam
+			if (!novos.isEmpty())
+			{
+				dicionario.gravar(novos);
+				dicionario.sincronizar();
+			}
+			int inicio = 0;
+			while (inicio < logs.size())
+			{
+				int quantidade = Math.min(logs.size() - inicio, segmentos.getLivres());
+				lote.limit((inicio + quantidade) * REGISTRO);
+				segmentos.gravar(lote);
+				for (int i = inicio; i < inicio + quantidade; i++)
+				{
+					int posicao = i * REGISTRO;
+					ativo.somar(lote.getLong(posicao), lote.getInt(posicao + 8), lote.getInt(posicao + 12),
+							lote.getShort(posicao + 16));
+				}
+				inicio += quantidade;
+				if (segmentos.getLivres() == 0)
+				{
+					fecharSegmento();
+				}
+			}
+			return true;
+		} catch (IOException e)
+		{
+			if (valores.size() > anteriores && dicionario.getLinhas() < valores.size())
+			{
+				// Dicionario nao gravado: os textos novos sao descartados
+				for (int id = valores.size() - 1; id >= anteriores; id--)
+				{
+					ids.remove(valores.remove(id));
+				}
+			}
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: " + e.getMessage());
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Fecha o segmento ativo, grava o seu indice, soma o seu resumo ao dos fechados e aplica a retencao.
+	 * @throws IOException se o segmento nao puder ser fechado
+	 */
+	private void fecharSegmento() throws IOException
+	{
+		File fechado = segmentos.rotacionar();
+		try
+		{
+			ativo.gravar(indice(fechado));
+		} catch (IOException e)
+		{
+			// O indice e refeito ao abrir o armazem
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Indice nao gravado: " + e.getMessage());
+			}
+		}
+		fechados.juntar(ativo);
+		maiores.put(fechado, ativo.maior);
+		ativo = new ResumoSegmento();
+		aplicarRetencao();
+	}
+
+	/**
+	 * Apaga os segmentos fechados cujo acesso mais recente passou da retencao, refazendo o resumo dos fechados.
+	 * @throws IOException se o indice de um segmento restante nao puder ser lido
+	 */
+	private void aplicarRetencao() throws IOException
+	{
+		if (retencao <= 0)
+		{
+			return;
+		}
+		long limite = System.currentTimeMillis() - retencao;
+		boolean apagou = false;
+		Iterator<Map.Entry<File, Long>> it = maiores.entrySet().iterator();
+		while (it.hasNext())
+		{
+			Map.Entry<File, Long> segmento = it.next();
+			if (segmento.getValue() < limite && segmentos.apagar(segmento.getKey()))
+			{
+				indice(segmento.getKey()).delete();
+				it.remove();
+				apagou = true;
+			}
+		}
+		if (apagou)
+		{
+			ResumoSegmento restantes = new ResumoSegmento();
+			for (File segmento : maiores.keySet())
+			{
+				restantes.juntar(indexar(segmento));
+			}
+			fechados = restantes;
+		}
+	}
+
+	/**
+	 * Soma os resumos dos segmentos fechados e do ativo.
+	 * @return Resumo de todos os segmentos
+	 */
+	private synchronized ResumoSegmento total()
+	{
+		ResumoSegmento total = new ResumoSegmento();
+		total.juntar(fechados);
+		total.juntar(ativo);
+		return total;
+	}
+
+	/**
+	 * Retorna uma copia dos textos do dicionario, pelo id.
+	 * @return textos do dicionario
+	 */
+	private synchronized String[] nomes()
+	{
+		return valores.toArray(new String[valores.size()]);
+	}
+
+	/**
+	 * Lista os ids com mais ocorrencias, em ordem decrescente.
+	 * @param contagens : ocorrencias pelo id
+	 * @param num : numero de ids listados
+	 * @return texto e numero de ocorrencias
+	 */
+	private ArrayList<ResultTable> maiores(int[] contagens, int num)
+	{
+		String[] nomes = nomes();
+		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
+		for (int id = 0; id < contagens.length && id < nomes.length; id++)
+		{
+			if (contagens[id] > 0)
+			{
+				resultados.add(new ResultTable(nomes[id], contagens[id]));
+			}
+		}
+		Collections.sort(resultados, ORDEM_DECRESCENTE);
+		return new ArrayList<ResultTable>(resultados.subList(0, Math.min(Math.max(0, num), resultados.size())));
+	}
+
+	/**
+	 * Le o log de acesso de um registro.
+	 * @param dados : segmento mapeado na memoria
+	 * @param posicao : posicao do registro
+	 * @param nomes : textos do dicionario
+	 * @return log de acesso, ou null se o registro nao foi gravado por completo
+	 */
+	private static LogAcc ler(ByteBuffer dados, int posicao, String[] nomes)
+	{
+		int arquivo = dados.getInt(posicao + 8);
+		int ip = dados.getInt(posicao + 12);
+		int metodo = dados.get(posicao + 18);
+		if (dados.get(posicao + 19) != MARCA || arquivo >= nomes.length || ip >= nomes.length)
+		{
+			return null;
+		}
+		return new LogAcc(dados.getLong(posicao), nomes[arquivo], metodo >= 0 && metodo < METODOS.length
+				? METODOS[metodo] : MetodoHTTP.DESCONHECIDO, nomes[ip], dados.getShort(posicao + 16));
+	}
+
+	/**
+	 * Recebe os logs lidos dos segmentos em uma lista.
+	 */
+	private Segmentos.Leitor listar(final ArrayList<AbstractLog> logs)
+	{
+		final String[] nomes = nomes();
+		return new Segmentos.Leitor()
+		{
+			@Override
+			public void registro(ByteBuffer dados, int posicao)
+			{
+				LogAcc log = ler(dados, posicao, nomes);
+				if (log != null)
+				{
+					logs.add(log);
+				}
+			}
+		};
+	}
+
+	@Override
+	public AbstractLog carregaID()
+	{
+		ArrayList<AbstractLog> ultimo = listaUltimos(1);
+		return ultimo.isEmpty() ? null : ultimo.get(0);
+	}
+
+	@Override
+	public ArrayList<AbstractLog> listaUltimos(int num)
+	{
+		ArrayList<AbstractLog> logs = new ArrayList<AbstractLog>();
+		try
+		{
+			segmentos.lerUltimos(num, listar(logs));
+		} catch (IOException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Segmentos de acesso nao lidos: " + e.getMessage());
+			}
+		}
+		return logs;
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaMaisAcessados(int num)
+	{
+		return maiores(total().sucesso, num);
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaIPsFrequentes(int num)
+	{
+		return maiores(total().acessos, num);
+	}
+
+	@Override
+	public int[] contaPorHora()
+	{
+		return total().porHora;
+	}
+
+	@Override
+	public int[] contaPorDia()
+	{
+		return total().porDia;
+	}
+
+	@Override
+	public int[] contaPorMes()
+	{
+		return total().porMes;
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaDistintos()
+	{
+		int[] acessos = total().acessos;
+		String[] nomes = nomes();
+		TreeSet<String> maiores = new TreeSet<String>();
+		for (int id = 0; id < acessos.length && id < nomes.length; id++)
+		{
+			// Mantem apenas os maiores IPs, que sao os listados
+			if (acessos[id] > 0 && (maiores.size() < DISTINTOS || nomes[id].compareTo(maiores.first()) > 0)
+					&& maiores.add(nomes[id]) && maiores.size() > DISTINTOS)
+			{
+				maiores.pollFirst();
+			}
+		}
+		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
+		for (String ip : maiores.descendingSet())
+		{
+			resultados.add(new ResultTable(ip, 1));
+		}
+		return resultados;
+	}
+
+	@Override
+	public ArrayList<ResultTable> listaErros(int codigo, boolean limit)
+	{
+		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
+		int erro = ResumoSegmento.indiceErro(codigo);
+		if (erro < 0)
+		{
+			return resultados;
+		}
+		String[] nomes = nomes();
+		TreeSet<String> arquivos = new TreeSet<String>();
+		BitSet ids = total().erros[erro];
+		for (int id = ids.nextSetBit(0); id >= 0 && id < nomes.length; id = ids.nextSetBit(id + 1))
+		{
+			arquivos.add(nomes[id]);
+		}
+		Iterator<String> it = limit ? arquivos.descendingIterator() : arquivos.iterator();
+		while (it.hasNext() && (!limit || resultados.size() < DISTINTOS))
+		{
+			resultados.add(new ResultTable(it.next(), 1));
+		}
+		return resultados;
+	}
+
+	@Override
+	public ArrayList<AbstractLog> listaTodos()
+	{
+		ArrayList<AbstractLog> logs = new ArrayList<AbstractLog>();
+		try
+		{
+			segmentos.varrer(listar(logs));
+		} catch (IOException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Segmentos de acesso nao lidos: " + e.getMessage());
+			}
+		}
+		return logs;
+	}
+
+	/**
+	 * Carrega as estatisticas com os resumos dos segmentos, sem ler os registros, como a carga agrupada do DB.
+	 */
+	@Override
+	public boolean carregarEstatisticas(EstatisticasAcesso estatisticas)
+	{
+		ResumoSegmento total = total();
+		estatisticas.carregarArquivos(maiores(total.sucesso, Integer.MAX_VALUE));
+		estatisticas.carregarIPs(maiores(total.acessos, EstatisticasAcesso.CAPACIDADE_IPS), listaDistintos());
+		for (int codigo : ResumoSegmento.CODIGOS_ERRO)
+		{
+			estatisticas.carregarErros(codigo, listaErros(codigo, false));
+		}
+		estatisticas.carregarHistogramas(total.porHora, total.porDia, total.porMes);
+		return true;
+	}
+
+	/**
+	 * Fecha os segmentos e o dicionario, com fsync, e grava o indice do segmento ativo, para a proxima abertura nao
+	 * precisar ler os seus registros.
+	 */
+	@Override
+	public synchronized void fechar()
+	{
+		segmentos.fechar();
+		dicionario.fechar();
+		try
+		{
+			ativo.gravar(indice(segmentos.getAtivo()));
+		} catch (IOException e)
+		{
+			// O indice e refeito ao abrir o armazem
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Indice nao gravado: " + e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package models.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import models.AbstractLog;
+import models.ResultTable;
+
+/**
+ * Interface dos armazens de logs do servidor usados pelo ServiceLogSrv: o DB (ArmazemLogSrvDB) ou o arquivo embutido
+ * no processo (ArmazemLogSrvArquivo), escolhido pela propriedade prop.server.armazem.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ */
+
+public interface ArmazemLogSrv
+{
+
+	/**
+	 * Inclui um log do servidor.
+	 * @param log : log do servidor
+	 */
+	void incluir(AbstractLog log);
+
+	/**
+	 * Inclui um lote de logs do servidor, de uma unica vez.
+	 * @param logs : logs a incluir
+	 * @return Se o lote foi gravado
+	 */
+	boolean incluirLote(List<AbstractLog> logs);
+
+	/**
+	 * Recupera o ultimo log do servidor incluido.
+	 * @return log do servidor, ou null se nao houver
+	 */
+	AbstractLog carregaID();
+
+	/**
+	 * Lista os ultimos logs do servidor, do mais antigo para o mais recente.
+	 * @param num : numero de logs
+	 * @return logs do servidor
+	 */
+	ArrayList<AbstractLog> listaUltimos(int num);
+
+	/**
+	 * Conta as acoes mais frequentes dos logs do servidor, em ordem decrescente.
+	 * @param num : numero de acoes
+	 * @return acao e numero de ocorrencias
+	 */
+	ArrayList<ResultTable> contaUltimos(int num);
+
+	/**
+	 * Lista todos os logs do servidor.
+	 * @return logs do servidor
+	 */
+	ArrayList<AbstractLog> listaTodos();
+
+	/**
+	 * Libera os recursos do armazem ao encerrar o servidor.
+	 */
+	void fechar();
+}
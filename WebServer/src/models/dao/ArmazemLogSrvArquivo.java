@@ -0,0 +1,183 @@
+package models.dao;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+
+import controllers.ControllerMain;
+import models.AbstractLog;
+import models.LogSrv;
+import models.ResultTable;
+import models.utils.Diario;
+
+/**
+ * Classe do armazem de logs do servidor embutido no processo, em um Diario (logservidor.log) na pasta de dados do
+ * servidor, sem DB externo. Cada log e uma linha com instante e acao.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param ARQUIVO : [CONSTANT] nome do arquivo do diario na pasta de dados
+ * @param diario : diario dos logs do servidor
+ */
+
+public class ArmazemLogSrvArquivo implements ArmazemLogSrv
+{
+
+	public static final String ARQUIVO = "logservidor.log";
+	private final Diario diario;
+
+	/**
+	 * Construtor principal do ArmazemLogSrvArquivo, que abre ou cria o diario.
+	 * @param pasta : pasta de dados do servidor
+	 * @throws IOException se o diario nao puder ser aberto
+	 */
+	public ArmazemLogSrvArquivo(File pasta) throws IOException
+	{
+		diario = new Diario(new File(pasta, ARQUIVO));
+	}
+
+	/**
+	 * Le o log do servidor de uma linha do diario.
+	 * @param linha : linha do diario
+	 * @return log do servidor, ou null se a linha nao estiver no formato
+	 */
+	private static LogSrv ler(String linha)
+	{
+		String[] campos = Diario.campos(linha);
+		if (campos.length != 2)
+		{
+			return null;
+		}
+		try
+		{
+			return new LogSrv(new Date(Long.parseLong(campos[0])), campos[1]);
+		} catch (NumberFormatException e)
+		{
+			return null;
+		}
+	}
+
+	@Override
+	public void incluir(AbstractLog log)
+	{
+		incluirLote(Collections.singletonList(log));
+	}
+
+	@Override
+	public boolean incluirLote(List<AbstractLog> logs)
+	{
+		ArrayList<String> linhas = new ArrayList<String>(logs.size());
+		for (AbstractLog log : logs)
+		{
+			linhas.add(Diario.linha(Long.toString(log.getData().getTime()), log.getText()));
+		}
+		try
+		{
+			diario.gravar(linhas);
+			return true;
+		} catch (IOException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: " + e.getMessage());
+			}
+			return false;
+		}
+	}
+
+	@Override
+	public AbstractLog carregaID()
+	{
+		ArrayList<AbstractLog> ultimo = listaUltimos(1);
+		return ultimo.isEmpty() ? null : ultimo.get(0);
+	}
+
+	@Override
+	public ArrayList<AbstractLog> listaUltimos(int num)
+	{
+		ArrayList<AbstractLog> logs = new ArrayList<AbstractLog>();
+		try
+		{
+			for (String linha : diario.ultimas(num))
+			{
+				LogSrv log = ler(linha);
+				if (log != null)
+				{
+					logs.add(log);
+				}
+			}
+		} catch (IOException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Diario do servidor nao lido: " + e.getMessage());
+			}
+		}
+		return logs;
+	}
+
+	@Override
+	public ArrayList<ResultTable> contaUltimos(int num)
+	{
+		final HashMap<String, int[]> contagens = new HashMap<String, int[]>();
+		varrer(new Diario.Leitor()
+		{
+			@Override
+			public void linha(String linha)
+			{
+				LogSrv log = ler(linha);
+				if (log != null)
+				{
+					ArmazemLogAccArquivo.somar(contagens, log.getText());
+				}
+			}
+		});
+		return ArmazemLogAccArquivo.maiores(contagens, num);
+	}
+
+	@Override
+	public ArrayList<AbstractLog> listaTodos()
+	{
+		final ArrayList<AbstractLog> logs = new ArrayList<AbstractLog>();
+		varrer(new Diario.Leitor()
+		{
+			@Override
+			public void linha(String linha)
+			{
+				LogSrv log = ler(linha);
+				if (log != null)
+				{
+					logs.add(log);
+				}
+			}
+		});
+		return logs;
+	}
+
+	/**
+	 * Percorre as linhas do diario, registrando o erro de leitura.
+	 * @param leitor : recebe cada linha
+	 */
+	private void varrer(Diario.Leitor leitor)
+	{
+		try
+		{
+			diario.varrer(leitor);
+		} catch (IOException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Diario do servidor nao lido: " + e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public void fechar()
+	{
+		diario.fechar();
+	}
+}
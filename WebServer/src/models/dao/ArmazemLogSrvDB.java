@@ -0,0 +1,136 @@
+package models.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import models.AbstractLog;
+import models.ResultTable;
+import models.utils.PoolConexoes;
+
+/**
+ * Classe do armazem de logs do servidor no DB, pela tabela logservidor e o DAOLogSrv.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param dao : DAO do log
+ * @param pool : pool de conexoes com o banco de dados; cada operacao empresta uma conexao e a devolve ao terminar
+ */
+
+public class ArmazemLogSrvDB implements ArmazemLogSrv
+{
+
+	private final DAOLogSrv dao = new DAOLogSrv();
+	private final PoolConexoes pool;
+
+	/**
+	 * Construtor principal do ArmazemLogSrvDB.
+	 * @param pool : pool de conexoes com o banco de dados
+	 */
+	public ArmazemLogSrvDB(PoolConexoes pool)
+	{
+		this.pool = pool;
+	}
+
+	/**
+	 * Empresta uma conexao do pool para uma operacao.
+	 * @return conexao emprestada
+	 */
+	private Connection emprestar()
+	{
+		try
+		{
+			return pool.emprestar();
+		} catch (SQLException e)
+		{
+			throw new IllegalStateException("Sem conexao com o banco de dados: " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public synchronized void incluir(AbstractLog log)
+	{
+		Connection conn = emprestar();
+		try
+		{
+			dao.setLog(log);
+			dao.incluir(conn);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public boolean incluirLote(List<AbstractLog> logs)
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.incluirLote(conn, logs);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public synchronized AbstractLog carregaID()
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.carregaID(conn);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public ArrayList<AbstractLog> listaUltimos(int num)
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.listaUltimos(conn, num);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public ArrayList<ResultTable> contaUltimos(int num)
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.contaUltimos(conn, num);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	@Override
+	public ArrayList<AbstractLog> listaTodos()
+	{
+		Connection conn = emprestar();
+		try
+		{
+			return dao.listaTodos(conn);
+		} finally
+		{
+			pool.devolver(conn);
+		}
+	}
+
+	/**
+	 * O pool de conexoes e do ControllerMain, compartilhado com o ArmazemLogAccDB, e nao e fechado aqui.
+	 */
+	@Override
+	public void fechar()
+	{
+	}
+}
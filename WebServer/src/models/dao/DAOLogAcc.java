@@ -5,22 +5,32 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 import controllers.ControllerMain;
 import models.AbstractLog;
 import models.LogAcc;
+import models.MetodoHTTP;
 import models.ResultTable;
 
 /**
- * Classe do Model DAO do LogAcc do design pattern MVC + Abstract Factory.
+ * Classe do Model DAO do LogAcc do design pattern MVC + Abstract Factory. O SQL das consultas dos relatorios e montado
+ * pelos metodos sql*, usados tambem pelo MigradorDB para conferir os planos das consultas.
  * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
  *
+ * @param SQL_CONTA_ARQUIVOS : [CONSTANT] consulta dos acessos com sucesso de cada arquivo
+ * @param SQL_DISTINTOS : [CONSTANT] consulta dos ultimos IPs distintos
+ * @param CODIGOS_ERRO : [CONSTANT] codigos de erro listados pelos relatorios
  * @param log: log de acesso a registrar
  */
 
 public class DAOLogAcc
 {
 	
+	public static final String SQL_CONTA_ARQUIVOS = "SELECT arquivo, count(*) AS ocorrencias FROM logacesso WHERE codigo_resposta=200 GROUP BY arquivo;";
+	public static final String SQL_DISTINTOS = "SELECT DISTINCT ip FROM logacesso ORDER BY ip DESC LIMIT 5;";
+	private static final int[] CODIGOS_ERRO = { 400, 403, 404, 405 };
 	private AbstractLog log;
 	
 	/**
@@ -50,9 +60,9 @@ public class DAOLogAcc
 			// Define valores no stm
 			stm.setTimestamp(1, sqlTime);
 			stm.setString(2, currentlog.getArquivo());
-			stm.setString(3, currentlog.getMethod());
+			stm.setString(3, currentlog.getMetodo().getTexto());
 			stm.setString(4, currentlog.getIP());
-			stm.setString(5, currentlog.getCode());
+			stm.setInt(5, currentlog.getCodigo());
 			stm.execute();
 		} catch (Exception e)
 		{
@@ -81,6 +91,87 @@ public class DAOLogAcc
 		}
 	}
 	
+	/**
+	 * Incluir no DB um lote de logs de acesso, em um unico executeBatch e um unico commit.
+	 * @param conn : conexao com o DB
+	 * @param logs : logs de acesso a registrar
+	 * @return Se o lote foi gravado; com erro, a transacao e desfeita
+	 */
+	public boolean incluirLote(Connection conn, List<AbstractLog> logs)
+	{
+		String sqlInsert = "INSERT INTO logacesso(hora_data, arquivo, metodo_http, ip, codigo_resposta) VALUES (?, ?, ?, ?, ?)";
+		
+		// inclui os logs na base
+		try (PreparedStatement stm = conn.prepareStatement(sqlInsert);)
+		{
+			for (AbstractLog item : logs)
+			{
+				LogAcc currentlog = (LogAcc) item;
+				stm.setTimestamp(1, new java.sql.Timestamp(item.getData().getTime()));
+				stm.setString(2, currentlog.getArquivo());
+				stm.setString(3, currentlog.getMetodo().getTexto());
+				stm.setString(4, currentlog.getIP());
+				stm.setInt(5, currentlog.getCodigo());
+				stm.addBatch();
+			}
+			stm.executeBatch();
+			conn.commit();
+			return true;
+		} catch (Exception e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: " + e.getMessage());
+			}
+			try
+			{
+				conn.rollback();
+			} catch (SQLException e1)
+			{
+				if (ControllerMain.DEBUG)
+				{
+					System.out.print(e1.getMessage());
+				}
+			}
+			return false;
+		}
+	}
+	
+	/**
+	 * Conta os acessos com sucesso de todos os arquivos, para a carga inicial das estatisticas de acesso. Como as
+	 * demais consultas usadas na carga, repassa o erro, para a carga nao ser dada como concluida sem os dados.
+	 * @param conn : conexao com o DB
+	 * @return arquivo e numero de acessos.
+	 * @throws SQLException
+	 */
+	public ArrayList<ResultTable> contaArquivos(Connection conn) throws SQLException
+	{
+		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
+		String sqlSelect = SQL_CONTA_ARQUIVOS;
+		
+		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);
+				ResultSet rs = stm.executeQuery();)
+		{
+			while (rs.next())
+			{
+				resultados.add(new ResultTable(rs.getString("arquivo"), rs.getInt("ocorrencias")));
+			}
+		}
+		return resultados;
+	}
+	
+	/**
+	 * Monta o log de acesso da linha atual, com os campos tipados lidos direto das colunas
+	 * @param rs : resultado posicionado na linha
+	 * @return log de acesso.
+	 * @throws SQLException
+	 */
+	private LogAcc lerLog(ResultSet rs) throws SQLException
+	{
+		return new LogAcc(rs.getTimestamp("hora_data").getTime(), rs.getString("arquivo"),
+				MetodoHTTP.de(rs.getString("metodo_http")), rs.getString("ip"), rs.getInt("codigo_resposta"));
+	}
+	
 	/**
 	 * Lista o log de acesso conforme o ID
 	 * @param conn : conexao com o DB
@@ -97,9 +188,7 @@ public class DAOLogAcc
 			{
 				if (rs.next())
 				{
-					log = new LogAcc(rs.getTimestamp("hora_data"), rs.getString("arquivo")+"#"
-													+rs.getString("metodo_http")+"#"+rs.getString("ip")+"#"
-													+rs.getString("codigo_resposta"));
+					log = lerLog(rs);
 				}
 			} catch (SQLException e)
 			{
@@ -136,9 +225,7 @@ public class DAOLogAcc
 			{
 				while (rs.next())
 				{
-					currentlog = new LogAcc(rs.getTimestamp("hora_data"), rs.getString("arquivo")+"#"
-													+rs.getString("metodo_http")+"#"+rs.getString("ip")+"#"
-													+rs.getString("codigo_resposta"));
+					currentlog = lerLog(rs);
 					logs.add(currentlog);
 				}
 			} catch (SQLException e)
@@ -168,7 +255,7 @@ public class DAOLogAcc
 	{
 		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
 		ResultTable currentresult;
-		String sqlSelect = "SELECT arquivo, codigo_resposta, count(arquivo) AS ocorrencias FROM logacesso WHERE codigo_resposta=200 GROUP BY arquivo ORDER BY ocorrencias DESC LIMIT "+num+";";
+		String sqlSelect = sqlMaisAcessados(num);
 		
 		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);)
 		{
@@ -201,157 +288,85 @@ public class DAOLogAcc
 	 * @param conn : conexao com o DB
 	 * @param num : numero de IPs a listar
 	 * @return resultado da querie em ArrayList.
+	 * @throws SQLException
 	 */
-	public ArrayList<ResultTable> listaIPsFrequentes(Connection conn, int num)
+	public ArrayList<ResultTable> listaIPsFrequentes(Connection conn, int num) throws SQLException
 	{
 		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
 		ResultTable currentresult;
-		String sqlSelect = "SELECT ip, count(ip) AS ocorrencias FROM logacesso GROUP BY ip ORDER BY ocorrencias DESC LIMIT "+num+";";
+		String sqlSelect = sqlIPsFrequentes(num);
 		
-		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);)
-		{
-			try (ResultSet rs = stm.executeQuery();)
-			{
-				while (rs.next())
-				{
-					currentresult = new ResultTable(rs.getString("ip"), rs.getInt("ocorrencias"));
-					resultados.add(currentresult);
-				}
-			} catch (SQLException e)
-			{
-				if (ControllerMain.DEBUG)
-				{
-					System.out.print(e.getMessage());
-				}
-			}
-		} catch (Exception e1)
+		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);
+				ResultSet rs = stm.executeQuery();)
 		{
-			if (ControllerMain.DEBUG)
+			while (rs.next())
 			{
-				System.out.print(e1.getMessage());
+				currentresult = new ResultTable(rs.getString("ip"), rs.getInt("ocorrencias"));
+				resultados.add(currentresult);
 			}
 		}
 		return resultados;
 	}
 	
 	/**
-	 * Lista os logs de acesso de uma data especificada
+	 * Conta os logs de acesso por hora do dia, em uma unica consulta agrupada
 	 * @param conn : conexao com o DB
-	 * @param data : data a ser procurada
-	 * @return resultado da querie em ArrayList.
+	 * @return numero de acessos em cada hora, indices 0 a 23.
+	 * @throws SQLException
 	 */
-	public ArrayList<AbstractLog> listaHora(Connection conn, String hora)
+	public int[] contaPorHora(Connection conn) throws SQLException
 	{
-		ArrayList<AbstractLog> logs = new ArrayList<AbstractLog>();
-		LogAcc currentlog;
-		String sqlSelect = "SELECT * FROM logacesso WHERE HOUR(hora_data) = '"+hora+"';";
-		
-		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);)
-		{
-			try (ResultSet rs = stm.executeQuery();)
-			{
-				while (rs.next())
-				{
-					currentlog = new LogAcc(rs.getTimestamp("hora_data"), rs.getString("arquivo")+"#"
-							+rs.getString("metodo_http")+"#"+rs.getString("ip")+"#"
-							+rs.getString("codigo_resposta"));
-					logs.add(currentlog);
-				}
-			} catch (SQLException e)
-			{
-				if (ControllerMain.DEBUG)
-				{
-					System.out.print(e.getMessage());
-				}
-			}
-		} catch (Exception e1)
-		{
-			if (ControllerMain.DEBUG)
-			{
-				System.out.print(e1.getMessage());
-			}
-		}
-		return logs;
+		return contaAgrupado(conn, "HOUR", 24);
 	}
 	
 	/**
-	 * Lista os logs de acesso de uma data especificada
+	 * Conta os logs de acesso por dia do mes, em uma unica consulta agrupada
 	 * @param conn : conexao com o DB
-	 * @param data : data a ser procurada
-	 * @return resultado da querie em ArrayList.
+	 * @return numero de acessos em cada dia, indices 1 a 31.
+	 * @throws SQLException
 	 */
-	public ArrayList<AbstractLog> listaDia(Connection conn, String data)
+	public int[] contaPorDia(Connection conn) throws SQLException
 	{
-		ArrayList<AbstractLog> logs = new ArrayList<AbstractLog>();
-		LogAcc currentlog;
-		String sqlSelect = "SELECT * FROM logacesso WHERE DAY(hora_data) = '"+data+"';";
-		
-		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);)
-		{
-			try (ResultSet rs = stm.executeQuery();)
-			{
-				while (rs.next())
-				{
-					currentlog = new LogAcc(rs.getTimestamp("hora_data"), rs.getString("arquivo")+"#"
-							+rs.getString("metodo_http")+"#"+rs.getString("ip")+"#"
-							+rs.getString("codigo_resposta"));
-					logs.add(currentlog);
-				}
-			} catch (SQLException e)
-			{
-				if (ControllerMain.DEBUG)
-				{
-					System.out.print(e.getMessage());
-				}
-			}
-		} catch (Exception e1)
-		{
-			if (ControllerMain.DEBUG)
-			{
-				System.out.print(e1.getMessage());
-			}
-		}
-		return logs;
+		return contaAgrupado(conn, "DAY", 32);
 	}
 	
 	/**
-	 * Lista os logs de acesso de um mes especificado
+	 * Conta os logs de acesso por mes, em uma unica consulta agrupada
 	 * @param conn : conexao com o DB
-	 * @param data : data a ser procurada
-	 * @return resultado da querie em ArrayList.
+	 * @return numero de acessos em cada mes, indices 1 a 12.
+	 * @throws SQLException
 	 */
-	public ArrayList<AbstractLog> listaMes(Connection conn, String mes)
+	public int[] contaPorMes(Connection conn) throws SQLException
 	{
-		ArrayList<AbstractLog> logs = new ArrayList<AbstractLog>();
-		LogAcc currentlog;
-		String sqlSelect = "SELECT * FROM logacesso WHERE MONTH(hora_data) = '"+mes+"';";
+		return contaAgrupado(conn, "MONTH", 13);
+	}
+	
+	/**
+	 * Conta os logs de acesso agrupados por uma parte da hora_data, sem carregar os logs
+	 * @param conn : conexao com o DB
+	 * @param funcao : funcao SQL que extrai a parte da data (HOUR, DAY ou MONTH)
+	 * @param tamanho : tamanho do vetor de resultado
+	 * @return numero de acessos de cada valor da funcao, usado como indice.
+	 * @throws SQLException
+	 */
+	private int[] contaAgrupado(Connection conn, String funcao, int tamanho) throws SQLException
+	{
+		int[] contagem = new int[tamanho];
+		String sqlSelect = sqlAgrupado(funcao);
 		
-		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);)
+		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);
+				ResultSet rs = stm.executeQuery();)
 		{
-			try (ResultSet rs = stm.executeQuery();)
-			{
-				while (rs.next())
-				{
-					currentlog = new LogAcc(rs.getTimestamp("hora_data"), rs.getString("arquivo")+"#"
-							+rs.getString("metodo_http")+"#"+rs.getString("ip")+"#"
-							+rs.getString("codigo_resposta"));
-					logs.add(currentlog);
-				}
-			} catch (SQLException e)
+			while (rs.next())
 			{
-				if (ControllerMain.DEBUG)
+				int periodo = rs.getInt("periodo");
+				if (!rs.wasNull() && periodo >= 0 && periodo < tamanho)
 				{
-					System.out.print(e.getMessage());
+					contagem[periodo] = rs.getInt("ocorrencias");
 				}
 			}
-		} catch (Exception e1)
-		{
-			if (ControllerMain.DEBUG)
-			{
-				System.out.print(e1.getMessage());
-			}
 		}
-		return logs;
+		return contagem;
 	}
 	
 	/**
@@ -359,34 +374,21 @@ public class DAOLogAcc
 	 * @param conn : conexao com o DB
 	 * @param data : data a ser procurada
 	 * @return resultado da querie em ArrayList.
+	 * @throws SQLException
 	 */
-	public ArrayList<ResultTable> listaDistintos(Connection conn)
+	public ArrayList<ResultTable> listaDistintos(Connection conn) throws SQLException
 	{
 		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
 		ResultTable currentresult;
-		String sqlSelect = "SELECT DISTINCT ip FROM logacesso ORDER BY ip DESC LIMIT 5;";
+		String sqlSelect = SQL_DISTINTOS;
 		
-		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);)
+		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);
+				ResultSet rs = stm.executeQuery();)
 		{
-			try (ResultSet rs = stm.executeQuery();)
-			{
-				while (rs.next())
-				{
-					currentresult = new ResultTable(rs.getString("ip"), 1);
-					resultados.add(currentresult);
-				}
-			} catch (SQLException e)
+			while (rs.next())
 			{
-				if (ControllerMain.DEBUG)
-				{
-					System.out.print(e.getMessage());
-				}
-			}
-		} catch (Exception e1)
-		{
-			if (ControllerMain.DEBUG)
-			{
-				System.out.print(e1.getMessage());
+				currentresult = new ResultTable(rs.getString("ip"), 1);
+				resultados.add(currentresult);
 			}
 		}
 		return resultados;
@@ -395,181 +397,141 @@ public class DAOLogAcc
 	/**
 	 * Lista os logs de acesso com erro 400
 	 * @param conn : conexao com o DB
-	 * @param num : numero de logs a listar
+	 * @param limit : se lista apenas os 5 ultimos arquivos
 	 * @return resultado da querie em ArrayList.
+	 * @throws SQLException
 	 */
-	public ArrayList<ResultTable> lista400(Connection conn, boolean limit)
+	public ArrayList<ResultTable> lista400(Connection conn, boolean limit) throws SQLException
 	{
-		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
-		ResultTable currentresult;
-		String sqlSelect ="";
-		if (limit)
-		{
-			sqlSelect = "SELECT DISTINCT arquivo FROM logacesso WHERE codigo_resposta=400 ORDER BY arquivo DESC LIMIT 5;";
-		} else
-		{
-			sqlSelect = "SELECT DISTINCT arquivo FROM logacesso WHERE codigo_resposta=400 ORDER BY arquivo;";
-		}
-		
-		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);)
-		{
-			try (ResultSet rs = stm.executeQuery();)
-			{
-				while (rs.next())
-				{
-					currentresult = new ResultTable(rs.getString("arquivo"), 1);
-					resultados.add(currentresult);
-				}
-			} catch (SQLException e)
-			{
-				if (ControllerMain.DEBUG)
-				{
-					System.out.print(e.getMessage());
-				}
-			}
-		} catch (Exception e1)
-		{
-			if (ControllerMain.DEBUG)
-			{
-				System.out.print(e1.getMessage());
-			}
-		}
-		return resultados;
+		return listaErros(conn, 400, limit);
 	}
 	
 	/**
 	 * Lista os logs de acesso com erro 403
 	 * @param conn : conexao com o DB
-	 * @param num : numero de logs a listar
+	 * @param limit : se lista apenas os 5 ultimos arquivos
 	 * @return resultado da querie em ArrayList.
+	 * @throws SQLException
 	 */
-	public ArrayList<ResultTable> lista403(Connection conn, boolean limit)
+	public ArrayList<ResultTable> lista403(Connection conn, boolean limit) throws SQLException
 	{
-		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
-		ResultTable currentresult;
-		String sqlSelect ="";
-		if (limit)
-		{
-			sqlSelect = "SELECT DISTINCT arquivo FROM logacesso WHERE codigo_resposta=403 ORDER BY arquivo DESC LIMIT 5;";
-		} else
-		{
-			sqlSelect = "SELECT DISTINCT arquivo FROM logacesso WHERE codigo_resposta=403 ORDER BY arquivo;";
-		}
-		
-		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);)
-		{
-			try (ResultSet rs = stm.executeQuery();)
-			{
-				while (rs.next())
-				{
-					currentresult = new ResultTable(rs.getString("arquivo"), 1);
-					resultados.add(currentresult);
-				}
-			} catch (SQLException e)
-			{
-				if (ControllerMain.DEBUG)
-				{
-					System.out.print(e.getMessage());
-				}
-			}
-		} catch (Exception e1)
-		{
-			if (ControllerMain.DEBUG)
-			{
-				System.out.print(e1.getMessage());
-			}
-		}
-		return resultados;
+		return listaErros(conn, 403, limit);
 	}
 	
 	/**
 	 * Lista os logs de acesso com erro 404
 	 * @param conn : conexao com o DB
-	 * @param num : numero de logs a listar
+	 * @param limit : se lista apenas os 5 ultimos arquivos
 	 * @return resultado da querie em ArrayList.
+	 * @throws SQLException
 	 */
-	public ArrayList<ResultTable> lista404(Connection conn, boolean limit)
+	public ArrayList<ResultTable> lista404(Connection conn, boolean limit) throws SQLException
+	{
+		return listaErros(conn, 404, limit);
+	}
+	
+	/**
+	 * Lista os logs de acesso com erro 405
+	 * @param conn : conexao com o DB
+	 * @param limit : se lista apenas os 5 ultimos arquivos
+	 * @return resultado da querie em ArrayList.
+	 * @throws SQLException
+	 */
+	public ArrayList<ResultTable> lista405(Connection conn, boolean limit) throws SQLException
+	{
+		return listaErros(conn, 405, limit);
+	}
+	
+	/**
+	 * Lista os arquivos distintos dos logs de acesso com um codigo de erro
+	 * @param conn : conexao com o DB
+	 * @param codigo : codigo de erro
+	 * @param limit : se lista apenas os 5 ultimos arquivos
+	 * @return resultado da querie em ArrayList.
+	 * @throws SQLException
+	 */
+	private ArrayList<ResultTable> listaErros(Connection conn, int codigo, boolean limit) throws SQLException
 	{
 		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
-		ResultTable currentresult;
-		String sqlSelect ="";
-		if (limit)
-		{
-			sqlSelect = "SELECT DISTINCT arquivo FROM logacesso WHERE codigo_resposta=404 ORDER BY arquivo DESC LIMIT 5;";
-		} else
-		{
-			sqlSelect = "SELECT DISTINCT arquivo FROM logacesso WHERE codigo_resposta=404 ORDER BY arquivo;";
-		}
+		String sqlSelect = sqlErros(codigo, limit);
 		
-		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);)
-		{
-			try (ResultSet rs = stm.executeQuery();)
-			{
-				while (rs.next())
-				{
-					currentresult = new ResultTable(rs.getString("arquivo"), 1);
-					resultados.add(currentresult);
-				}
-			} catch (SQLException e)
-			{
-				if (ControllerMain.DEBUG)
-				{
-					System.out.print(e.getMessage());
-				}
-			}
-		} catch (Exception e1)
+		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);
+				ResultSet rs = stm.executeQuery();)
 		{
-			if (ControllerMain.DEBUG)
+			while (rs.next())
 			{
-				System.out.print(e1.getMessage());
+				resultados.add(new ResultTable(rs.getString("arquivo"), 1));
 			}
 		}
 		return resultados;
 	}
 	
 	/**
-	 * Lista os logs de acesso com erro 405
-	 * @param conn : conexao com o DB
-	 * @param num : numero de logs a listar
-	 * @return resultado da querie em ArrayList.
+	 * Monta a consulta dos arquivos mais acessados
+	 * @param num : numero de arquivos a listar
+	 * @return SQL da consulta.
 	 */
-	public ArrayList<ResultTable> lista405(Connection conn, boolean limit)
+	public static String sqlMaisAcessados(int num)
+	{
+		return "SELECT arquivo, codigo_resposta, count(arquivo) AS ocorrencias FROM logacesso WHERE codigo_resposta=200 GROUP BY arquivo ORDER BY ocorrencias DESC LIMIT "+num+";";
+	}
+	
+	/**
+	 * Monta a consulta dos IPs mais frequentes
+	 * @param num : numero de IPs a listar
+	 * @return SQL da consulta.
+	 */
+	public static String sqlIPsFrequentes(int num)
+	{
+		return "SELECT ip, count(ip) AS ocorrencias FROM logacesso GROUP BY ip ORDER BY ocorrencias DESC LIMIT "+num+";";
+	}
+	
+	/**
+	 * Monta a consulta dos acessos agrupados por uma parte da hora_data
+	 * @param funcao : funcao SQL que extrai a parte da data (HOUR, DAY ou MONTH)
+	 * @return SQL da consulta.
+	 */
+	public static String sqlAgrupado(String funcao)
+	{
+		return "SELECT "+funcao+"(hora_data) AS periodo, count(*) AS ocorrencias FROM logacesso GROUP BY periodo;";
+	}
+	
+	/**
+	 * Monta a consulta dos arquivos distintos com um codigo de erro
+	 * @param codigo : codigo de erro
+	 * @param limit : se lista apenas os 5 ultimos arquivos
+	 * @return SQL da consulta.
+	 */
+	public static String sqlErros(int codigo, boolean limit)
 	{
-		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
-		ResultTable currentresult;
-		String sqlSelect ="";
 		if (limit)
 		{
-			sqlSelect = "SELECT DISTINCT arquivo FROM logacesso WHERE codigo_resposta=405 ORDER BY arquivo DESC LIMIT 5;";
-		} else
-		{
-			sqlSelect = "SELECT DISTINCT arquivo FROM logacesso WHERE codigo_resposta=405 ORDER BY arquivo;";
+			return "SELECT DISTINCT arquivo FROM logacesso WHERE codigo_resposta="+codigo+" ORDER BY arquivo DESC LIMIT 5;";
 		}
-		
-		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);)
-		{
-			try (ResultSet rs = stm.executeQuery();)
-			{
-				while (rs.next())
-				{
-					currentresult = new ResultTable(rs.getString("arquivo"), 1);
-					resultados.add(currentresult);
-				}
-			} catch (SQLException e)
-			{
-				if (ControllerMain.DEBUG)
-				{
-					System.out.print(e.getMessage());
-				}
-			}
-		} catch (Exception e1)
-		{
-			if (ControllerMain.DEBUG)
-			{
-				System.out.print(e1.getMessage());
-			}
+		return "SELECT DISTINCT arquivo FROM logacesso WHERE codigo_resposta="+codigo+" ORDER BY arquivo;";
+	}
+	
+	/**
+	 * Retorna as consultas dos relatorios e da carga das estatisticas, pelo nome do metodo do DAO, com o SQL executado
+	 * por eles (os limites com os valores usados pelos relatorios).
+	 * @return SQL das consultas, pelo nome.
+	 */
+	public static LinkedHashMap<String, String> consultasRelatorios()
+	{
+		LinkedHashMap<String, String> consultas = new LinkedHashMap<String, String>();
+		consultas.put("contaArquivos", SQL_CONTA_ARQUIVOS);
+		consultas.put("listaMaisAcessados", sqlMaisAcessados(10));
+		consultas.put("listaIPsFrequentes", sqlIPsFrequentes(10));
+		consultas.put("contaPorHora", sqlAgrupado("HOUR"));
+		consultas.put("contaPorDia", sqlAgrupado("DAY"));
+		consultas.put("contaPorMes", sqlAgrupado("MONTH"));
+		consultas.put("listaDistintos", SQL_DISTINTOS);
+		for (int codigo : CODIGOS_ERRO)
+		{
+			consultas.put("lista" + codigo, sqlErros(codigo, true));
+			consultas.put("lista" + codigo + "(todos)", sqlErros(codigo, false));
 		}
-		return resultados;
+		return consultas;
 	}
 	
 	/**
@@ -589,9 +551,7 @@ public class DAOLogAcc
 			{
 				while (rs.next())
 				{
-					currentlog = new LogAcc(rs.getTimestamp("hora_data"), rs.getString("arquivo")+"#"
-													+rs.getString("metodo_http")+"#"+rs.getString("ip")+"#"
-													+rs.getString("codigo_resposta"));
+					currentlog = lerLog(rs);
 					logs.add(currentlog);
 				}
 			} catch (SQLException e)
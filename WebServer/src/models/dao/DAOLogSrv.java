@@ -5,6 +5,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 import controllers.ControllerMain;
 import models.AbstractLog;
@@ -89,6 +91,48 @@ public class DAOLogSrv
 		}
 	}
 	
+	/**
+	 * Incluir no DB um lote de logs de servidor, em um unico executeBatch e um unico commit.
+	 * @param conn : conexao com o DB
+	 * @param logs : logs de servidor a registrar
+	 * @return Se o lote foi gravado; com erro, a transacao e desfeita
+	 */
+	public boolean incluirLote(Connection conn, List<AbstractLog> logs)
+	{
+		String sqlInsert = "INSERT INTO logservidor(hora_data, acao) VALUES (?, ?)";
+		
+		// inclui os logs na base
+		try (PreparedStatement stm = conn.prepareStatement(sqlInsert);)
+		{
+			for (AbstractLog item : logs)
+			{
+				stm.setTimestamp(1, new java.sql.Timestamp(item.getData().getTime()));
+				stm.setString(2, item.getText());
+				stm.addBatch();
+			}
+			stm.executeBatch();
+			conn.commit();
+			return true;
+		} catch (Exception e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: " + e.getMessage());
+			}
+			try
+			{
+				conn.rollback();
+			} catch (SQLException e1)
+			{
+				if (ControllerMain.DEBUG)
+				{
+					System.out.print(e1.getMessage());
+				}
+			}
+			return false;
+		}
+	}
+	
 	/**
 	 * Carrega um log de servidor a partir do ID
 	 * @param conn : conexao com o DB
@@ -172,7 +216,7 @@ public class DAOLogSrv
 	{
 		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
 		ResultTable currentresult;
-		String sqlSelect = "SELECT acao, count(acao) AS ocorrencias FROM logservidor GROUP BY acao ORDER BY ocorrencias DESC LIMIT "+num+";";
+		String sqlSelect = sqlContaUltimos(num);
 		
 		try (PreparedStatement stm = conn.prepareStatement(sqlSelect);)
 		{
@@ -233,4 +277,25 @@ public class DAOLogSrv
 		}
 		return logs;
 	}
+	
+	/**
+	 * Monta a consulta dos logs de servidor mais registrados
+	 * @param num : numero de mensagens a verificar
+	 * @return SQL da consulta.
+	 */
+	public static String sqlContaUltimos(int num)
+	{
+		return "SELECT acao, count(acao) AS ocorrencias FROM logservidor GROUP BY acao ORDER BY ocorrencias DESC LIMIT "+num+";";
+	}
+	
+	/**
+	 * Retorna as consultas dos relatorios, pelo nome do metodo do DAO, com o SQL executado por eles.
+	 * @return SQL das consultas, pelo nome.
+	 */
+	public static LinkedHashMap<String, String> consultasRelatorios()
+	{
+		LinkedHashMap<String, String> consultas = new LinkedHashMap<String, String>();
+		consultas.put("contaUltimos", sqlContaUltimos(5));
+		return consultas;
+	}
 }
@@ -0,0 +1,271 @@
+package models.dao;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import models.utils.PoolConexoes;
+
+/**
+ * Classe do resumo dos acessos de um segmento do ArmazemLogAccSegmentos: as mesmas agregacoes das consultas dos
+ * relatorios, por id do dicionario. O resumo de um segmento fechado e gravado ao lado dele (indice .idx), para que os
+ * relatorios e a carga das estatisticas somem os resumos em vez de ler os registros.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param MAGICO : [CONSTANT] inicio do arquivo de indice
+ * @param VERSAO : [CONSTANT] versao do formato do indice
+ * @param CODIGOS_ERRO : [CONSTANT] codigos de erro resumidos
+ * @param FUSO : [CONSTANT] fuso dos histogramas, o PoolConexoes.FUSO das consultas do DB e das estatisticas
+ * @param registros : registros resumidos
+ * @param maior : maior instante dos registros, em milissegundos
+ * @param sucesso : acessos com sucesso (200), pelo id do arquivo
+ * @param acessos : acessos, pelo id do ip
+ * @param erros : ids dos arquivos distintos de cada codigo de erro
+ * @param porHora : acessos por hora do dia, indices 0 a 23
+ * @param porDia : acessos por dia do mes, indices 1 a 31
+ * @param porMes : acessos por mes, indices 1 a 12
+ */
+
+class ResumoSegmento
+{
+
+	private static final int MAGICO = 0x50493749;
+	private static final int VERSAO = 1;
+	static final int[] CODIGOS_ERRO = { 400, 403, 404, 405 };
+	private static final ZoneId FUSO = PoolConexoes.FUSO;
+	int registros = 0;
+	long maior = Long.MIN_VALUE;
+	int[] sucesso = new int[64];
+	int[] acessos = new int[64];
+	final BitSet[] erros = new BitSet[CODIGOS_ERRO.length];
+	final int[] porHora = new int[24];
+	final int[] porDia = new int[32];
+	final int[] porMes = new int[13];
+
+	ResumoSegmento()
+	{
+		for (int i = 0; i < erros.length; i++)
+		{
+			erros[i] = new BitSet();
+		}
+	}
+
+	/**
+	 * Soma um acesso ao resumo.
+	 * @param instante : momento do acesso, em milissegundos
+	 * @param arquivo : id do arquivo
+	 * @param ip : id do ip
+	 * @param codigo : codigo de resposta HTTP
+	 */
+	void somar(long instante, int arquivo, int ip, int codigo)
+	{
+		registros++;
+		maior = Math.max(maior, instante);
+		if (codigo == 200)
+		{
+			sucesso = garantir(sucesso, arquivo);
+			sucesso[arquivo]++;
+		}
+		acessos = garantir(acessos, ip);
+		acessos[ip]++;
+		int erro = indiceErro(codigo);
+		if (erro >= 0)
+		{
+			erros[erro].set(arquivo);
+		}
+		LocalDateTime momento = LocalDateTime.ofInstant(Instant.ofEpochMilli(instante), FUSO);
+		porHora[momento.getHour()]++;
+		porDia[momento.getDayOfMonth()]++;
+		porMes[momento.getMonthValue()]++;
+	}
+
+	/**
+	 * Soma outro resumo a este.
+	 * @param outro : resumo a somar
+	 */
+	void juntar(ResumoSegmento outro)
+	{
+		registros += outro.registros;
+		maior = Math.max(maior, outro.maior);
+		sucesso = somar(sucesso, outro.sucesso);
+		acessos = somar(acessos, outro.acessos);
+		for (int i = 0; i < erros.length; i++)
+		{
+			erros[i].or(outro.erros[i]);
+		}
+		somar(porHora, outro.porHora);
+		somar(porDia, outro.porDia);
+		somar(porMes, outro.porMes);
+	}
+
+	/**
+	 * Retorna a posicao de um codigo de erro em CODIGOS_ERRO.
+	 * @param codigo : codigo de resposta HTTP
+	 * @return posicao, ou -1 se o codigo nao e resumido
+	 */
+	static int indiceErro(int codigo)
+	{
+		for (int i = 0; i < CODIGOS_ERRO.length; i++)
+		{
+			if (CODIGOS_ERRO[i] == codigo)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Grava o resumo como indice de um segmento, em um arquivo temporario renomeado ao final.
+	 * @param indice : arquivo de indice
+	 * @throws IOException
+	 */
+	void gravar(File indice) throws IOException
+	{
+		File temporario = new File(indice.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporario))))
+		{
+			out.writeInt(MAGICO);
+			out.writeInt(VERSAO);
+			out.writeInt(registros);
+			out.writeLong(maior);
+			gravarEsparso(out, sucesso);
+			gravarEsparso(out, acessos);
+			for (BitSet erro : erros)
+			{
+				out.writeInt(erro.cardinality());
+				for (int id = erro.nextSetBit(0); id >= 0; id = erro.nextSetBit(id + 1))
+				{
+					out.writeInt(id);
+				}
+			}
+			for (int[] histograma : new int[][] { porHora, porDia, porMes })
+			{
+				for (int valor : histograma)
+				{
+					out.writeInt(valor);
+				}
+			}
+		}
+		Files.move(temporario.toPath(), indice.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Le o indice de um segmento.
+	 * @param indice : arquivo de indice
+	 * @param registros : registros do segmento, para conferir o indice
+	 * @return Resumo do segmento, ou null se o indice nao existe, e de outra versao ou nao confere com o segmento
+	 */
+	static ResumoSegmento ler(File indice, int registros)
+	{
+		if (!indice.isFile())
+		{
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indice))))
+		{
+			if (in.readInt() != MAGICO || in.readInt() != VERSAO || in.readInt() != registros)
+			{
+				return null;
+			}
+			ResumoSegmento resumo = new ResumoSegmento();
+			resumo.registros = registros;
+			resumo.maior = in.readLong();
+			resumo.sucesso = lerEsparso(in);
+			resumo.acessos = lerEsparso(in);
+			for (BitSet erro : resumo.erros)
+			{
+				for (int n = in.readInt(); n > 0; n--)
+				{
+					erro.set(in.readInt());
+				}
+			}
+			for (int[] histograma : new int[][] { resumo.porHora, resumo.porDia, resumo.porMes })
+			{
+				for (int i = 0; i < histograma.length; i++)
+				{
+					histograma[i] = in.readInt();
+				}
+			}
+			return resumo;
+		} catch (IOException e)
+		{
+			// Indice incompleto: refeito a partir do segmento
+			return null;
+		}
+	}
+
+	/**
+	 * Grava as contagens diferentes de zero, como pares id e contagem.
+	 */
+	private static void gravarEsparso(DataOutputStream out, int[] contagens) throws IOException
+	{
+		int n = 0;
+		for (int contagem : contagens)
+		{
+			n += contagem != 0 ? 1 : 0;
+		}
+		out.writeInt(contagens.length);
+		out.writeInt(n);
+		for (int id = 0; id < contagens.length; id++)
+		{
+			if (contagens[id] != 0)
+			{
+				out.writeInt(id);
+				out.writeInt(contagens[id]);
+			}
+		}
+	}
+
+	/**
+	 * Le as contagens gravadas por gravarEsparso.
+	 */
+	private static int[] lerEsparso(DataInputStream in) throws IOException
+	{
+		int[] contagens = new int[Math.max(1, in.readInt())];
+		for (int n = in.readInt(); n > 0; n--)
+		{
+			int id = in.readInt();
+			contagens = garantir(contagens, id);
+			contagens[id] = in.readInt();
+		}
+		return contagens;
+	}
+
+	/**
+	 * Garante que o vetor tem a posicao do id, dobrando o tamanho se preciso.
+	 */
+	private static int[] garantir(int[] contagens, int id)
+	{
+		if (id < contagens.length)
+		{
+			return contagens;
+		}
+		return Arrays.copyOf(contagens, Math.max(id + 1, contagens.length * 2));
+	}
+
+	/**
+	 * Soma as contagens de origem no destino, aumentando o destino se preciso.
+	 */
+	private static int[] somar(int[] destino, int[] origem)
+	{
+		int[] resultado = garantir(destino, origem.length - 1);
+		for (int i = 0; i < origem.length; i++)
+		{
+			resultado[i] += origem[i];
+		}
+		return resultado;
+	}
+}
@@ -0,0 +1,484 @@
+package models.services;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import models.ResultTable;
+import models.utils.PoolConexoes;
+
+/**
+ * Classe que mantem em memoria as estatisticas dos relatorios de acesso, atualizadas a cada log de acesso gerado, para
+ * que os relatorios nao consultem a tabela logacesso. E carregada uma unica vez do DB ao criar o service e passa a
+ * responder apenas depois de carregada; ate la, e quando nao pode responder com exatidao, o ServiceLogAcc consulta o DB.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param CAPACIDADE_IPS : [CONSTANT] numero de IPs mantidos pelo top-K de IPs frequentes a cada descarte
+ * @param LIMITE_ERROS : [CONSTANT] numero maximo de arquivos distintos guardados por codigo de erro
+ * @param DISTINTOS : [CONSTANT] numero de IPs distintos listados (maiores em ordem decrescente)
+ * @param CODIGOS_ERRO : [CONSTANT] codigos de erro acompanhados
+ * @param ORDEM_CRESCENTE : [CONSTANT] ordem crescente de valor dos resultados
+ * @param ativa : se a carga inicial terminou e as estatisticas podem responder
+ * @param arquivos : acessos com sucesso (200) por arquivo
+ * @param ips : top-K aproximado dos IPs mais frequentes, em um mapa limitado
+ * @param distintos : maiores IPs distintos, em ordem
+ * @param erros : arquivos distintos por codigo de erro
+ * @param porHora : acessos por hora do dia, indices 0 a 23, no PoolConexoes.FUSO, o mesmo das consultas do DB
+ * @param porDia : acessos por dia do mes, indices 1 a 31
+ * @param porMes : acessos por mes, indices 1 a 12
+ */
+
+public class EstatisticasAcesso
+{
+
+	public static final int CAPACIDADE_IPS = 1024;
+	private static final int LIMITE_ERROS = 100000;
+	private static final int DISTINTOS = 5;
+	private static final int[] CODIGOS_ERRO = { 400, 403, 404, 405 };
+	private static final Comparator<ResultTable> ORDEM_CRESCENTE = new Comparator<ResultTable>()
+	{
+		@Override
+		public int compare(ResultTable a, ResultTable b)
+		{
+			// Empates pelo nome, para a listagem ser estavel
+			int c = Integer.compare(a.getValor(), b.getValor());
+			return c != 0 ? c : b.getTipo().compareTo(a.getTipo());
+		}
+	};
+	private volatile boolean ativa = false;
+	private final ConcurrentHashMap<String, LongAdder> arquivos = new ConcurrentHashMap<String, LongAdder>();
+	private final TopK ips = new TopK(CAPACIDADE_IPS);
+	private final ConcurrentSkipListSet<String> distintos = new ConcurrentSkipListSet<String>();
+	private final Map<Integer, ArquivosErro> erros = new HashMap<Integer, ArquivosErro>();
+	private final AtomicLongArray porHora = new AtomicLongArray(24);
+	private final AtomicLongArray porDia = new AtomicLongArray(32);
+	private final AtomicLongArray porMes = new AtomicLongArray(13);
+
+	/**
+	 * Construtor principal das EstatisticasAcesso.
+	 */
+	public EstatisticasAcesso()
+	{
+		for (int codigo : CODIGOS_ERRO)
+		{
+			erros.put(codigo, new ArquivosErro());
+		}
+	}
+
+	/**
+	 * Contabiliza um acesso.
+	 * @param arquivo : arquivo solicitado
+	 * @param ip : ip do cliente
+	 * @param codigo : codigo de resposta HTTP
+	 * @param data : momento do acesso, em milissegundos
+	 */
+	public void registrar(String arquivo, String ip, int codigo, long data)
+	{
+		if (codigo == 200)
+		{
+			contador(arquivos, arquivo).increment();
+		}
+		ips.somar(ip, 1);
+		incluirDistinto(ip);
+		ArquivosErro arquivosErro = erros.get(codigo);
+		if (arquivosErro != null)
+		{
+			arquivosErro.incluir(arquivo);
+		}
+		LocalDateTime momento = LocalDateTime.ofInstant(Instant.ofEpochMilli(data), PoolConexoes.FUSO);
+		porHora.incrementAndGet(momento.getHour());
+		porDia.incrementAndGet(momento.getDayOfMonth());
+		porMes.incrementAndGet(momento.getMonthValue());
+	}
+
+	/**
+	 * Carrega as contagens de acessos com sucesso por arquivo, lidas do DB.
+	 * @param dados : arquivo e numero de acessos
+	 */
+	public void carregarArquivos(List<ResultTable> dados)
+	{
+		for (ResultTable dado : dados)
+		{
+			if (dado.getTipo() != null)
+			{
+				contador(arquivos, dado.getTipo()).add(dado.getValor());
+			}
+		}
+	}
+
+	/**
+	 * Carrega os IPs mais frequentes e os maiores IPs distintos, lidos do DB.
+	 * @param frequentes : ip e numero de acessos, dos mais frequentes
+	 * @param maiores : maiores IPs distintos
+	 */
+	public void carregarIPs(List<ResultTable> frequentes, List<ResultTable> maiores)
+	{
+		for (ResultTable dado : frequentes)
+		{
+			if (dado.getTipo() != null)
+			{
+				ips.somar(dado.getTipo(), dado.getValor());
+			}
+		}
+		for (ResultTable dado : maiores)
+		{
+			if (dado.getTipo() != null)
+			{
+				incluirDistinto(dado.getTipo());
+			}
+		}
+	}
+
+	/**
+	 * Carrega os arquivos distintos que causaram um codigo de erro, lidos do DB.
+	 * @param codigo : codigo de erro HTTP
+	 * @param dados : arquivos distintos
+	 */
+	public void carregarErros(int codigo, List<ResultTable> dados)
+	{
+		ArquivosErro arquivosErro = erros.get(codigo);
+		for (ResultTable dado : dados)
+		{
+			if (dado.getTipo() != null)
+			{
+				arquivosErro.incluir(dado.getTipo());
+			}
+		}
+	}
+
+	/**
+	 * Carrega os histogramas de acessos, lidos do DB.
+	 * @param hora : acessos por hora, indices 0 a 23
+	 * @param dia : acessos por dia, indices 1 a 31
+	 * @param mes : acessos por mes, indices 1 a 12
+	 */
+	public void carregarHistogramas(int[] hora, int[] dia, int[] mes)
+	{
+		somar(porHora, hora);
+		somar(porDia, dia);
+		somar(porMes, mes);
+	}
+
+	/**
+	 * Marca a carga inicial como concluida; a partir daqui as estatisticas respondem aos relatorios.
+	 */
+	public void ativar()
+	{
+		ativa = true;
+	}
+
+	/**
+	 * Retorna se a carga inicial terminou.
+	 * @return Se as estatisticas podem responder
+	 */
+	public boolean isAtiva()
+	{
+		return ativa;
+	}
+
+	/**
+	 * Lista os arquivos mais acessados com sucesso.
+	 * @param num : numero de arquivos
+	 * @return arquivo e numero de acessos, do mais acessado para o menos
+	 */
+	public ArrayList<ResultTable> maisAcessados(int num)
+	{
+		return maiores(arquivos, num);
+	}
+
+	/**
+	 * Lista os IPs mais frequentes. A contagem e aproximada para IPs que entraram no top-K depois de um descarte, mas
+	 * os IPs realmente mais frequentes sempre aparecem.
+	 * @param num : numero de IPs
+	 * @return ip e numero de acessos, do mais frequente para o menos
+	 */
+	public ArrayList<ResultTable> ipsFrequentes(int num)
+	{
+		return ips.maiores(num);
+	}
+
+	/**
+	 * Lista os maiores IPs distintos, em ordem decrescente.
+	 * @return IPs distintos
+	 */
+	public ArrayList<ResultTable> distintos()
+	{
+		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
+		Iterator<String> it = distintos.descendingIterator();
+		while (it.hasNext() && resultados.size() < DISTINTOS)
+		{
+			resultados.add(new ResultTable(it.next(), 1));
+		}
+		return resultados;
+	}
+
+	/**
+	 * Lista os arquivos distintos que causaram um codigo de erro.
+	 * @param codigo : codigo de erro HTTP
+	 * @param limit : se verdadeiro, apenas os 5 maiores em ordem decrescente; senao todos, em ordem crescente
+	 * @return arquivos distintos, ou null se o codigo passou do limite de arquivos guardados
+	 */
+	public ArrayList<ResultTable> erros(int codigo, boolean limit)
+	{
+		ArquivosErro arquivosErro = erros.get(codigo);
+		if (arquivosErro == null || arquivosErro.excedido)
+		{
+			return null;
+		}
+		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
+		Iterator<String> it = limit ? arquivosErro.arquivos.descendingIterator() : arquivosErro.arquivos.iterator();
+		while (it.hasNext() && (!limit || resultados.size() < 5))
+		{
+			resultados.add(new ResultTable(it.next(), 1));
+		}
+		return resultados;
+	}
+
+	/**
+	 * Conta os arquivos distintos que causaram um codigo de erro.
+	 * @param codigo : codigo de erro HTTP
+	 * @return numero de arquivos distintos, ou -1 se o codigo passou do limite de arquivos guardados
+	 */
+	public int contaErros(int codigo)
+	{
+		ArquivosErro arquivosErro = erros.get(codigo);
+		if (arquivosErro == null || arquivosErro.excedido)
+		{
+			return -1;
+		}
+		return arquivosErro.arquivos.size();
+	}
+
+	/**
+	 * Retorna os acessos por hora do dia.
+	 * @return acessos, indices 0 a 23
+	 */
+	public int[] porHora()
+	{
+		return copiar(porHora);
+	}
+
+	/**
+	 * Retorna os acessos por dia do mes.
+	 * @return acessos, indices 1 a 31
+	 */
+	public int[] porDia()
+	{
+		return copiar(porDia);
+	}
+
+	/**
+	 * Retorna os acessos por mes.
+	 * @return acessos, indices 1 a 12
+	 */
+	public int[] porMes()
+	{
+		return copiar(porMes);
+	}
+
+	/**
+	 * Mantem apenas os maiores IPs distintos, que sao os listados no relatorio.
+	 * @param ip : ip do cliente
+	 */
+	private void incluirDistinto(String ip)
+	{
+		if (distintos.add(ip) && distintos.size() > DISTINTOS)
+		{
+			distintos.pollFirst();
+		}
+	}
+
+	private static LongAdder contador(ConcurrentHashMap<String, LongAdder> mapa, String chave)
+	{
+		LongAdder contador = mapa.get(chave);
+		if (contador == null)
+		{
+			LongAdder novo = new LongAdder();
+			contador = mapa.putIfAbsent(chave, novo);
+			if (contador == null)
+			{
+				contador = novo;
+			}
+		}
+		return contador;
+	}
+
+	/**
+	 * Monta a lista das maiores contagens de um mapa de contadores.
+	 * @param mapa : contadores por chave
+	 * @param num : numero de chaves
+	 * @return chave e contagem, da maior para a menor
+	 */
+	private static ArrayList<ResultTable> maiores(ConcurrentHashMap<String, LongAdder> mapa, int num)
+	{
+		PriorityQueue<ResultTable> maiores = new PriorityQueue<ResultTable>(num + 1, ORDEM_CRESCENTE);
+		for (Map.Entry<String, LongAdder> entrada : mapa.entrySet())
+		{
+			maiores.add(new ResultTable(entrada.getKey(), valor(entrada.getValue().sum())));
+			if (maiores.size() > num)
+			{
+				maiores.poll();
+			}
+		}
+		return decrescente(maiores);
+	}
+
+	private static void somar(AtomicLongArray destino, int[] origem)
+	{
+		for (int i = 0; i < destino.length() && i < origem.length; i++)
+		{
+			destino.addAndGet(i, origem[i]);
+		}
+	}
+
+	private static int[] copiar(AtomicLongArray origem)
+	{
+		int[] copia = new int[origem.length()];
+		for (int i = 0; i < copia.length; i++)
+		{
+			copia[i] = valor(origem.get(i));
+		}
+		return copia;
+	}
+
+	private static int valor(long contagem)
+	{
+		return (int) Math.min(contagem, Integer.MAX_VALUE);
+	}
+
+	private static ArrayList<ResultTable> decrescente(PriorityQueue<ResultTable> maiores)
+	{
+		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>(maiores.size());
+		while (!maiores.isEmpty())
+		{
+			resultados.add(0, maiores.poll());
+		}
+		return resultados;
+	}
+
+	/**
+	 * Arquivos distintos de um codigo de erro. Acima do limite a lista deixa de ser exata e o relatorio volta ao DB.
+	 */
+	private static class ArquivosErro
+	{
+
+		private final ConcurrentSkipListSet<String> arquivos = new ConcurrentSkipListSet<String>();
+		private volatile boolean excedido = false;
+
+		void incluir(String arquivo)
+		{
+			if (!excedido && !arquivos.contains(arquivo))
+			{
+				if (arquivos.size() >= LIMITE_ERROS)
+				{
+					excedido = true;
+					arquivos.clear();
+					return;
+				}
+				arquivos.add(arquivo);
+			}
+		}
+	}
+
+	/**
+	 * Top-K aproximado em um mapa limitado de contadores: cada acesso so incrementa o contador do IP, sem bloqueio, e o
+	 * top-K e montado na consulta. Quando o mapa chega ao dobro da capacidade, um descarte mantem apenas os capacidade
+	 * IPs de maior contagem; um IP novo parte da maior contagem descartada (como no Space-Saving), entao a contagem
+	 * nunca fica abaixo da real e os IPs realmente mais frequentes nao saem do top-K.
+	 */
+	private static class TopK
+	{
+
+		private final int capacidade;
+		private final ConcurrentHashMap<String, LongAdder> contagens = new ConcurrentHashMap<String, LongAdder>();
+		private volatile long piso = 0;
+
+		TopK(int capacidade)
+		{
+			this.capacidade = capacidade;
+		}
+
+		void somar(String chave, long quantidade)
+		{
+			LongAdder contagem = contagens.get(chave);
+			if (contagem == null)
+			{
+				if (contagens.size() >= capacidade * 2)
+				{
+					descartar();
+				}
+				LongAdder nova = new LongAdder();
+				contagem = contagens.putIfAbsent(chave, nova);
+				if (contagem == null)
+				{
+					nova.add(piso);
+					contagem = nova;
+				}
+			}
+			contagem.add(quantidade);
+		}
+
+		ArrayList<ResultTable> maiores(int num)
+		{
+			return EstatisticasAcesso.maiores(contagens, num);
+		}
+
+		/**
+		 * Descarta os IPs de menor contagem, deixando capacidade IPs. Os acessos contados durante o descarte nos IPs
+		 * descartados se perdem, o que so reduz a aproximacao de IPs pouco frequentes.
+		 */
+		private synchronized void descartar()
+		{
+			if (contagens.size() < capacidade * 2)
+			{
+				return;
+			}
+			ArrayList<Contagem> ordem = new ArrayList<Contagem>(contagens.size());
+			for (Map.Entry<String, LongAdder> entrada : contagens.entrySet())
+			{
+				ordem.add(new Contagem(entrada.getKey(), entrada.getValue().sum()));
+			}
+			Collections.sort(ordem);
+			long maiorDescartada = piso;
+			for (int i = 0; i < ordem.size() - capacidade; i++)
+			{
+				contagens.remove(ordem.get(i).chave);
+				maiorDescartada = Math.max(maiorDescartada, ordem.get(i).valor);
+			}
+			piso = maiorDescartada;
+		}
+	}
+
+	/**
+	 * Contagem de uma chave do top-K no descarte, ordenada por valor.
+	 */
+	private static class Contagem implements Comparable<Contagem>
+	{
+
+		private final String chave;
+		private final long valor;
+
+		Contagem(String chave, long valor)
+		{
+			this.chave = chave;
+			this.valor = valor;
+		}
+
+		@Override
+		public int compareTo(Contagem outra)
+		{
+			return Long.compare(valor, outra.valor);
+		}
+	}
+}
@@ -0,0 +1,282 @@
+package models.services;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import controllers.ControllerMain;
+import models.AbstractLog;
+import models.LogAcc;
+
+/**
+ * Classe do Controller Service que grava os logs no banco de dados em segundo plano, em lotes.
+ * As threads de atendimento apenas colocam o log na fila; uma thread propria agrupa os logs e grava cada lote com um
+ * unico executeBatch e commit, quando o lote enche ou quando o intervalo maximo passa. Ao encerrar, a fila e gravada.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param POLITICA_DESCARTAR : [CONSTANT] com a fila cheia, o log e descartado e contado
+ * @param POLITICA_BLOQUEAR : [CONSTANT] com a fila cheia, a thread que gerou o log espera por espaco
+ * @param fila : fila limitada de logs aguardando gravacao
+ * @param serviceLS : service de logs de SERVIDOR
+ * @param serviceLA : service de logs de ACESSO
+ * @param tamanhoLote : numero maximo de logs gravados por lote
+ * @param intervalo : tempo maximo, em milissegundos, que um log espera na fila antes do lote ser gravado
+ * @param politica : politica com a fila cheia (descartar ou bloquear)
+ * @param descartados : total de logs descartados por fila cheia
+ * @param bloqueios : total de vezes que uma thread esperou por espaco na fila
+ * @param gravados : total de logs gravados no banco de dados
+ * @param lotes : total de lotes gravados
+ * @param falhas : total de logs perdidos em lotes que o armazem nao conseguiu gravar
+ * @param ativo : se a thread de gravacao deve continuar aguardando logs
+ * @param thread : thread de gravacao
+ */
+
+public class GravadorLogs implements Runnable
+{
+
+	public static final String POLITICA_DESCARTAR = "descartar";
+	public static final String POLITICA_BLOQUEAR = "bloquear";
+	private BlockingQueue<AbstractLog> fila;
+	private ServiceLogSrv serviceLS;
+	private ServiceLogAcc serviceLA;
+	private int tamanhoLote;
+	private long intervalo;
+	private String politica;
+	private final AtomicLong descartados = new AtomicLong();
+	private final AtomicLong bloqueios = new AtomicLong();
+	private final AtomicLong gravados = new AtomicLong();
+	private final AtomicLong lotes = new AtomicLong();
+	private final AtomicLong falhas = new AtomicLong();
+	private volatile boolean ativo = false;
+	private Thread thread;
+
+	/**
+	 * Construtor principal do GravadorLogs.
+	 * @param serviceLS : service de logs de SERVIDOR
+	 * @param serviceLA : service de logs de ACESSO
+	 * @param capacidade : numero maximo de logs aguardando na fila
+	 * @param tamanhoLote : numero maximo de logs gravados por lote
+	 * @param intervalo : tempo maximo, em milissegundos, que um log espera na fila
+	 * @param politica : politica com a fila cheia (POLITICA_DESCARTAR ou POLITICA_BLOQUEAR)
+	 */
+	public GravadorLogs(ServiceLogSrv serviceLS, ServiceLogAcc serviceLA, int capacidade, int tamanhoLote,
+			long intervalo, String politica)
+	{
+		this.serviceLS = serviceLS;
+		this.serviceLA = serviceLA;
+		this.fila = new ArrayBlockingQueue<AbstractLog>(Math.max(1, capacidade));
+		this.tamanhoLote = Math.max(1, tamanhoLote);
+		this.intervalo = Math.max(1, intervalo);
+		this.politica = politica;
+	}
+
+	/**
+	 * Inicia a thread de gravacao. No encerramento, parar() grava os logs que ainda estao na fila.
+	 */
+	public void iniciar()
+	{
+		ativo = true;
+		thread = new Thread(this, "gravador-logs");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Encerra a thread de gravacao, aguardando a gravacao dos logs que ainda estao na fila.
+	 */
+	public void parar()
+	{
+		ativo = false;
+		if (thread == null)
+		{
+			return;
+		}
+		try
+		{
+			thread.join(10000);
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Coloca um log na fila de gravacao. Com a fila cheia, segue a politica configurada.
+	 * @param log : log a gravar
+	 * @return Se o log entrou na fila
+	 */
+	public boolean registrar(AbstractLog log)
+	{
+		if (fila.offer(log))
+		{
+			return true;
+		}
+		if (POLITICA_BLOQUEAR.equalsIgnoreCase(politica) && ativo)
+		{
+			bloqueios.incrementAndGet();
+			try
+			{
+				fila.put(log);
+				return true;
+			} catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (descartados.incrementAndGet() == 1 && ControllerMain.DEBUG)
+		{
+			System.out.println("SYSINFO: Fila de logs cheia, descartando logs.");
+		}
+		return false;
+	}
+
+	/**
+	 * Agrupa os logs da fila e grava cada lote, ate o gravador ser parado e a fila esvaziar.
+	 */
+	@Override
+	public void run()
+	{
+		ArrayList<AbstractLog> lote = new ArrayList<AbstractLog>(tamanhoLote);
+		while (ativo || !fila.isEmpty())
+		{
+			try
+			{
+				AbstractLog primeiro = fila.poll(intervalo, TimeUnit.MILLISECONDS);
+				if (primeiro == null)
+				{
+					continue;
+				}
+				lote.add(primeiro);
+				// Completa o lote ate o tamanho maximo ou ate o intervalo passar
+				long limite = System.currentTimeMillis() + intervalo;
+				while (lote.size() < tamanhoLote)
+				{
+					fila.drainTo(lote, tamanhoLote - lote.size());
+					long espera = limite - System.currentTimeMillis();
+					if (lote.size() >= tamanhoLote || espera <= 0 || !ativo)
+					{
+						break;
+					}
+					AbstractLog proximo = fila.poll(espera, TimeUnit.MILLISECONDS);
+					if (proximo == null)
+					{
+						break;
+					}
+					lote.add(proximo);
+				}
+			} catch (InterruptedException e)
+			{
+				ativo = false;
+			}
+			gravar(lote);
+			lote.clear();
+		}
+	}
+
+	/**
+	 * Grava um lote, separando os logs de acesso e de servidor em um executeBatch para cada tabela.
+	 * @param lote : logs a gravar
+	 */
+	private void gravar(ArrayList<AbstractLog> lote)
+	{
+		if (lote.isEmpty())
+		{
+			return;
+		}
+		ArrayList<AbstractLog> acessos = new ArrayList<AbstractLog>(lote.size());
+		ArrayList<AbstractLog> servidor = new ArrayList<AbstractLog>();
+		for (AbstractLog log : lote)
+		{
+			if (log instanceof LogAcc)
+			{
+				acessos.add(log);
+			} else
+			{
+				servidor.add(log);
+			}
+		}
+		int gravadosLote = 0;
+		try
+		{
+			if (!acessos.isEmpty() && serviceLA.incluirLote(acessos))
+			{
+				gravadosLote += acessos.size();
+			}
+			if (!servidor.isEmpty() && serviceLS.incluirLote(servidor))
+			{
+				gravadosLote += servidor.size();
+			}
+		} catch (RuntimeException e)
+		{
+			// Mantem a thread de gravacao viva; o que faltava gravar do lote e perdido
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Erro ao gravar lote de logs: " + e.getMessage());
+			}
+		}
+		gravados.addAndGet(gravadosLote);
+		if (gravadosLote == lote.size())
+		{
+			lotes.incrementAndGet();
+		} else if (falhas.getAndAdd(lote.size() - gravadosLote) == 0 && ControllerMain.DEBUG)
+		{
+			System.out.println("SYSINFO: Lote de logs nao gravado, logs perdidos.");
+		}
+	}
+
+	/**
+	 * Retorna o numero de logs aguardando gravacao.
+	 * @return tamanho atual da fila
+	 */
+	public int getPendentes()
+	{
+		return fila.size();
+	}
+
+	/**
+	 * Retorna o total de logs descartados por fila cheia.
+	 * @return logs descartados
+	 */
+	public long getDescartados()
+	{
+		return descartados.get();
+	}
+
+	/**
+	 * Retorna o total de vezes que uma thread esperou por espaco na fila (politica bloquear).
+	 * @return esperas por fila cheia
+	 */
+	public long getBloqueios()
+	{
+		return bloqueios.get();
+	}
+
+	/**
+	 * Retorna o total de logs gravados no banco de dados.
+	 * @return logs gravados
+	 */
+	public long getGravados()
+	{
+		return gravados.get();
+	}
+
+	/**
+	 * Retorna o total de lotes gravados no banco de dados.
+	 * @return lotes gravados
+	 */
+	public long getLotes()
+	{
+		return lotes.get();
+	}
+
+	/**
+	 * Retorna o total de logs perdidos em lotes que o armazem nao conseguiu gravar.
+	 * @return logs perdidos
+	 */
+	public long getFalhas()
+	{
+		return falhas.get();
+	}
+}
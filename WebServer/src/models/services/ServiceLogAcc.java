@@ -1,51 +1,82 @@
 package models.services;
 
-import java.sql.Connection;
 import java.util.ArrayList;
+import java.util.List;
 
 import models.AbstractLog;
+import models.LogAcc;
 import models.ResultTable;
-import models.dao.DAOLogAcc;
+import models.dao.ArmazemLogAcc;
 
 /**
  * Classe do Controller Service a tratar do LogAcc.
  * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
  *
- * @param dao : DAO do log
- * @param conn : conexao com o banco de dados
+ * @param armazem : armazem dos logs de acesso (DB ou arquivo embutido)
+ * @param estatisticas : estatisticas de acesso em memoria, que respondem aos relatorios depois de carregadas
  */
 
 public class ServiceLogAcc
 {
 	
-	private DAOLogAcc dao = new DAOLogAcc();
-	private Connection conn = null;
+	private ArmazemLogAcc armazem = null;
+	private EstatisticasAcesso estatisticas = new EstatisticasAcesso();
 	
 	/**
-	 * Construtor exclusivo para referencia da conexao com o banco de dados e recuperar logs.
-	 * @param conn : conexao com o banco de dados
+	 * Construtor exclusivo para referencia do armazem de logs e recuperar logs.
+	 * @param armazem : armazem dos logs de acesso
 	 */
-	public ServiceLogAcc(Connection conn)
+	public ServiceLogAcc(ArmazemLogAcc armazem)
 	{
-		this.conn = conn;
+		this.armazem = armazem;
+	}
+	
+	/**
+	 * Carrega as estatisticas de acesso do armazem, uma unica vez ao criar o service. Se a carga falhar, os
+	 * relatorios continuam consultando o armazem.
+	 */
+	public void carregarEstatisticas()
+	{
+		if (armazem.carregarEstatisticas(estatisticas))
+		{
+			estatisticas.ativar();
+		}
+	}
+	
+	/**
+	 * Contabiliza um LogAcc gerado nas estatisticas de acesso em memoria.
+	 * @param log : log de acesso
+	 */
+	public void contabilizar(LogAcc log)
+	{
+		estatisticas.registrar(log.getArquivo(), log.getIP(), log.getCodigo(), log.getData().getTime());
 	}
 	
 	/**
 	 * Inclui um LogAcc no banco de dados.
 	 */
-	public void incluir(AbstractLog log)
+	public synchronized void incluir(AbstractLog log)
+	{
+		armazem.incluir(log);
+	}
+	
+	/**
+	 * Inclui um lote de LogAcc no banco de dados, com um unico commit.
+	 * @param logs : logs a incluir
+	 * @return Se o lote foi gravado
+	 */
+	public boolean incluirLote(List<AbstractLog> logs)
 	{
-		dao.setLog(log);
-		dao.incluir(conn);
+		return armazem.incluirLote(logs);
 	}
 	
 	/**
 	 * Recupera um LogAcc do banco de dados por ID.
 	 * @return lista de LogAcc
 	 */
-	public AbstractLog carregaID()
+	public synchronized AbstractLog carregaID()
 	{
-		return dao.carregaID(conn);
+		return armazem.carregaID();
 	}
 	
 	/**
@@ -54,7 +85,7 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<AbstractLog> listaUltimos(int num)
 	{
-		return dao.listaUltimos(conn, num);
+		return armazem.listaUltimos(num);
 	}
 	
 	/**
@@ -63,7 +94,11 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<ResultTable> listaMaisAcessados(int num)
 	{
-		return dao.listaMaisAcessados(conn, num);
+		if (estatisticas.isAtiva())
+		{
+			return estatisticas.maisAcessados(num);
+		}
+		return armazem.listaMaisAcessados(num);
 	}
 
 	/**
@@ -72,7 +107,11 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<ResultTable> listaIPsFrequentes(int num)
 	{
-		return dao.listaIPsFrequentes(conn, num);
+		if (estatisticas.isAtiva())
+		{
+			return estatisticas.ipsFrequentes(num);
+		}
+		return armazem.listaIPsFrequentes(num);
 	}
 
 	/**
@@ -81,13 +120,20 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<ResultTable> reqsPorHora()
 	{
+		// Estatisticas em memoria, ou uma consulta agrupada; horas sem acesso ficam com zero
+		int[] contagem;
+		if (estatisticas.isAtiva())
+		{
+			contagem = estatisticas.porHora();
+		} else
+		{
+			contagem = armazem.contaPorHora();
+		}
+		
 		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
 		ResultTable currentresult;
-		
-		// Loop que verifica cada hora
 		for (int i=0; i <= 23; i++) {
-			ArrayList<AbstractLog> logs = dao.listaHora(conn, ""+i+"");
-			currentresult = new ResultTable(""+i+"h", +logs.size());
+			currentresult = new ResultTable(""+i+"h", contagem[i]);
 			resultados.add(currentresult);
 		}
 		return resultados;
@@ -99,13 +145,20 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<ResultTable> reqsPorDia()
 	{
+		// Estatisticas em memoria, ou uma consulta agrupada; dias sem acesso ficam com zero
+		int[] contagem;
+		if (estatisticas.isAtiva())
+		{
+			contagem = estatisticas.porDia();
+		} else
+		{
+			contagem = armazem.contaPorDia();
+		}
+		
 		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
 		ResultTable currentresult;
-		
-		// Loop que verifica cada hora
 		for (int i=1; i <= 31; i++) {
-			ArrayList<AbstractLog> logs = dao.listaDia(conn, ""+i+"");
-			currentresult = new ResultTable(""+i+"", logs.size());
+			currentresult = new ResultTable(""+i+"", contagem[i]);
 			resultados.add(currentresult);
 		}
 		return resultados;
@@ -117,13 +170,20 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<ResultTable> reqsPorMes()
 	{
+		// Estatisticas em memoria, ou uma consulta agrupada; meses sem acesso ficam com zero
+		int[] contagem;
+		if (estatisticas.isAtiva())
+		{
+			contagem = estatisticas.porMes();
+		} else
+		{
+			contagem = armazem.contaPorMes();
+		}
+		
 		ArrayList<ResultTable> resultados = new ArrayList<ResultTable>();
 		ResultTable currentresult;
-		
-		// Loop que verifica cada hora
 		for (int i=1; i <= 12; i++) {
-			ArrayList<AbstractLog> logs = dao.listaMes(conn, ""+i+"");
-			currentresult = new ResultTable(""+i+"", logs.size());
+			currentresult = new ResultTable(""+i+"", contagem[i]);
 			resultados.add(currentresult);
 		}
 		return resultados;
@@ -135,7 +195,11 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<ResultTable> listaDistintos()
 	{
-		return dao.listaDistintos(conn);
+		if (estatisticas.isAtiva())
+		{
+			return estatisticas.distintos();
+		}
+		return armazem.listaDistintos();
 	}
 
 	/**
@@ -144,7 +208,12 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<ResultTable> lista400(boolean limit)
 	{ 
-		return dao.lista400(conn, limit);
+		ArrayList<ResultTable> resultados = estatisticas.isAtiva() ? estatisticas.erros(400, limit) : null;
+		if (resultados != null)
+		{
+			return resultados;
+		}
+		return armazem.listaErros(400, limit);
 	}
 
 	/**
@@ -153,7 +222,12 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<ResultTable> lista403(boolean limit)
 	{
-		return dao.lista403(conn, limit);
+		ArrayList<ResultTable> resultados = estatisticas.isAtiva() ? estatisticas.erros(403, limit) : null;
+		if (resultados != null)
+		{
+			return resultados;
+		}
+		return armazem.listaErros(403, limit);
 	}
 
 	/**
@@ -162,7 +236,12 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<ResultTable> lista404(boolean limit)
 	{
-		return dao.lista404(conn, limit);
+		ArrayList<ResultTable> resultados = estatisticas.isAtiva() ? estatisticas.erros(404, limit) : null;
+		if (resultados != null)
+		{
+			return resultados;
+		}
+		return armazem.listaErros(404, limit);
 	}
 
 	/**
@@ -171,7 +250,12 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<ResultTable> lista405(boolean limit)
 	{
-		return dao.lista405(conn, limit);
+		ArrayList<ResultTable> resultados = estatisticas.isAtiva() ? estatisticas.erros(405, limit) : null;
+		if (resultados != null)
+		{
+			return resultados;
+		}
+		return armazem.listaErros(405, limit);
 	}
 	
 	/**
@@ -180,25 +264,45 @@ public class ServiceLogAcc
 	 */
 	public ArrayList<ResultTable> listaTopErros()
 	{
-		ArrayList<ResultTable> dado01 = lista400(false);
-		ArrayList<ResultTable> dado02 = lista403(false);
-		ArrayList<ResultTable> dado03 = lista404(false);
-		ArrayList<ResultTable> dado04 = lista405(false);
-		
 		ArrayList<ResultTable> dados = new ArrayList<ResultTable>();
-		dados.add(new ResultTable("Erro 400", dado01.size()));
-		dados.add(new ResultTable("Erro 403", dado02.size()));
-		dados.add(new ResultTable("Erro 404", dado03.size()));
-		dados.add(new ResultTable("Erro 405", dado04.size()));
+		dados.add(new ResultTable("Erro 400", contaErros(400)));
+		dados.add(new ResultTable("Erro 403", contaErros(403)));
+		dados.add(new ResultTable("Erro 404", contaErros(404)));
+		dados.add(new ResultTable("Erro 405", contaErros(405)));
 		return dados;
 	}
 	
+	/**
+	 * Conta os arquivos distintos que causaram um codigo de erro, pelas estatisticas em memoria quando possivel.
+	 * @param codigo : codigo de erro HTTP
+	 * @return numero de arquivos distintos
+	 */
+	private int contaErros(int codigo)
+	{
+		int total = estatisticas.isAtiva() ? estatisticas.contaErros(codigo) : -1;
+		if (total >= 0)
+		{
+			return total;
+		}
+		switch (codigo)
+		{
+			case 400:
+				return lista400(false).size();
+			case 403:
+				return lista403(false).size();
+			case 404:
+				return lista404(false).size();
+			default:
+				return lista405(false).size();
+		}
+	}
+	
 	/**
 	 * Recupera a lista de todos os LogAcc do banco de dados.
 	 * @return lista de LogAcc
 	 */
 	public ArrayList<AbstractLog> listaTodos()
 	{
-		return dao.listaTodos(conn);
+		return armazem.listaTodos();
 	}
 }
\ No newline at end of file
@@ -1,51 +1,58 @@
 package models.services;
 
-import java.sql.Connection;
 import java.util.ArrayList;
+import java.util.List;
 
 import models.AbstractLog;
 import models.ResultTable;
-import models.dao.DAOLogSrv;
+import models.dao.ArmazemLogSrv;
 
 /**
  * Classe do Controller Service a tratar do LogSrv.
  * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
  *
- * @param dao : DAO do log
- * @param conn : conexao com o banco de dados
+ * @param armazem : armazem dos logs do servidor (DB ou arquivo embutido)
  */
 
 public class ServiceLogSrv
 {
 	
-	private DAOLogSrv dao = new DAOLogSrv();
-	private Connection conn = null;
+	private ArmazemLogSrv armazem = null;
 	
 	/**
-	 * Construtor exclusivo para referencia da conexao com o banco de dados e recuperar logs.
-	 * @param conn : conexao com o banco de dados
+	 * Construtor exclusivo para referencia do armazem de logs e recuperar logs.
+	 * @param armazem : armazem dos logs do servidor
 	 */
-	public ServiceLogSrv(Connection conn)
+	public ServiceLogSrv(ArmazemLogSrv armazem)
 	{
-		this.conn = conn;
+		this.armazem = armazem;
 	}
 	
 	/**
 	 * Inclui um LogSrv no banco de dados.
 	 */
-	public void incluir(AbstractLog log)
+	public synchronized void incluir(AbstractLog log)
 	{
-		dao.setLog(log);
-		dao.incluir(conn);
+		armazem.incluir(log);
+	}
+	
+	/**
+	 * Inclui um lote de LogSrv no banco de dados, com um unico commit.
+	 * @param logs : logs a incluir
+	 * @return Se o lote foi gravado
+	 */
+	public boolean incluirLote(List<AbstractLog> logs)
+	{
+		return armazem.incluirLote(logs);
 	}
 	
 	/**
 	 * Recupera um LogSrv do banco de dados por ID.
 	 * @return lista de LogSrv
 	 */
-	public AbstractLog carregaID()
+	public synchronized AbstractLog carregaID()
 	{
-		return dao.carregaID(conn);
+		return armazem.carregaID();
 	}
 	
 	/**
@@ -54,7 +61,7 @@ public class ServiceLogSrv
 	 */
 	public ArrayList<AbstractLog> listaUltimos(int num)
 	{
-		return dao.listaUltimos(conn, num);
+		return armazem.listaUltimos(num);
 	}
 	
 	/**
@@ -63,7 +70,7 @@ public class ServiceLogSrv
 	 */
 	public ArrayList<ResultTable> contaUltimos(int num)
 	{
-		return dao.contaUltimos(conn, num);
+		return armazem.contaUltimos(num);
 	}
 	
 	/**
@@ -72,6 +79,6 @@ public class ServiceLogSrv
 	 */
 	public ArrayList<AbstractLog> listaTodos()
 	{
-		return dao.listaTodos(conn);
+		return armazem.listaTodos();
 	}
 }
\ No newline at end of file
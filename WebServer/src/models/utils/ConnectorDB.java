@@ -13,11 +13,21 @@ import controllers.ControllerMain;
  * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
  * 
  * @param DRIVER : Driver utilizado no Banco de Dados
+ * @param POOL_MIN_DEFAULT : [CONSTANT] numero default minimo de conexoes abertas no pool
+ * @param POOL_MAX_DEFAULT : [CONSTANT] numero maximo default de conexoes do pool
+ * @param POOL_ESPERA_DEFAULT : [CONSTANT] tempo maximo default, em milissegundos, de espera por uma conexao
+ * @param POOL_VAZAMENTO_DEFAULT : [CONSTANT] tempo default, em milissegundos, para reportar um vazamento
+ * @param url : url JDBC montada na ultima conexao
  */
 
 public class ConnectorDB
 {
 	private final static String DRIVER; 
+	private static final int POOL_MIN_DEFAULT = 2;
+	private static final int POOL_MAX_DEFAULT = 10;
+	private static final int POOL_ESPERA_DEFAULT = 5000;
+	private static final int POOL_VAZAMENTO_DEFAULT = 30000;
+	private String url;
 	
 	static
 	{
@@ -79,6 +89,7 @@ public class ConnectorDB
 		{
 			System.out.println("jdbc:"+jdbc+"://"+address+":"+dbporta+"/"+database+"?user="+user+"&"+"password="+password);
 		}
+		url = "jdbc:"+jdbc+"://"+address+":"+dbporta+"/"+database+"?user="+user+"&"+"password="+password;
 		Connection conn = null;
 		
 		boolean connected = false;
@@ -87,7 +98,7 @@ public class ConnectorDB
 		{
 		    try
 		    {
-		    	conn = DriverManager.getConnection("jdbc:"+jdbc+"://"+address+":"+dbporta+"/"+database+"?user="+user+"&"+"password="+password);
+		    	conn = DriverManager.getConnection(url);
 		        if (conn != null)
 		        {
 		        	connected = true;
@@ -109,4 +120,26 @@ public class ConnectorDB
 		}
 		return conn;
 	}
+
+	/**
+	 * Cria o pool de conexoes com o banco de dados. Espera o banco de dados ficar disponivel, como o getConnection, e
+	 * usa essa primeira conexao no pool.
+	 * 
+	 * @param prop : propriedades do servidor, com os dados do BD e os limites do pool
+	 * @return Pool de conexoes iniciado
+	 * @throws SQLException
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public PoolConexoes getPool(Properties prop) throws SQLException, IOException, InterruptedException
+	{
+		Connection primeira = getConnection(prop);
+		int minimo = Integer.parseInt(prop.getProperty("prop.server.db.pool.min", ""+POOL_MIN_DEFAULT));
+		int maximo = Integer.parseInt(prop.getProperty("prop.server.db.pool.max", ""+POOL_MAX_DEFAULT));
+		int espera = Integer.parseInt(prop.getProperty("prop.server.db.pool.espera", ""+POOL_ESPERA_DEFAULT));
+		int vazamento = Integer.parseInt(prop.getProperty("prop.server.db.pool.vazamento", ""+POOL_VAZAMENTO_DEFAULT));
+		PoolConexoes pool = new PoolConexoes(url, minimo, maximo, espera, vazamento);
+		pool.iniciar(primeira);
+		return pool;
+	}
 }
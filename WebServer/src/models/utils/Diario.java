@@ -0,0 +1,385 @@
+package models.utils;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Classe utilitaria de arquivo de logs somente de acrescimo (diario), usada pelos armazens de logs embutidos no
+ * processo. Cada registro e uma linha UTF-8, com os campos separados por tabulacao. Os lotes sao escritos no arquivo de
+ * uma vez, sob lock; as leituras percorrem o arquivo ate o tamanho gravado no momento, sem esperar as escritas, e as
+ * ultimas linhas ficam tambem em memoria. Ao abrir, uma linha incompleta no fim (queda do processo durante a escrita) e
+ * descartada.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param CAUDA : [CONSTANT] numero de ultimas linhas mantidas em memoria
+ * @param SEPARADOR : [CONSTANT] separador dos campos de uma linha
+ * @param BLOCO : [CONSTANT] tamanho do bloco de leitura
+ * @param arquivo : arquivo do diario
+ * @param saida : stream de escrita, em modo de acrescimo
+ * @param tamanho : bytes gravados e visiveis para leitura
+ * @param linhas : total de linhas gravadas
+ * @param truncar : se uma escrita falhou no meio e o arquivo deve voltar ao tamanho gravado antes da proxima
+ * @param ultimas : ultimas linhas gravadas, da mais antiga para a mais recente
+ */
+
+public class Diario
+{
+
+	private static final int CAUDA = 100;
+	private static final char SEPARADOR = '\t';
+	private static final int BLOCO = 64 * 1024;
+	private final File arquivo;
+	private FileOutputStream saida;
+	private long tamanho = 0;
+	private long linhas = 0;
+	private boolean truncar = false;
+	private final ArrayDeque<String> ultimas = new ArrayDeque<String>();
+
+	/**
+	 * Abre o diario, criando o arquivo e a pasta se nao existirem.
+	 * @param arquivo : arquivo do diario
+	 * @throws IOException se o arquivo nao puder ser lido ou criado
+	 */
+	public Diario(File arquivo) throws IOException
+	{
+		this.arquivo = arquivo;
+		File pasta = arquivo.getAbsoluteFile().getParentFile();
+		if (pasta != null && !pasta.isDirectory() && !pasta.mkdirs())
+		{
+			throw new IOException("Pasta do diario nao pode ser criada: " + pasta.getPath());
+		}
+		if (arquivo.isFile())
+		{
+			recuperar();
+		}
+		saida = new FileOutputStream(arquivo, true);
+	}
+
+	/**
+	 * Le o diario existente para contar as linhas e preencher as ultimas, descartando uma linha incompleta no fim.
+	 * @throws IOException
+	 */
+	private void recuperar() throws IOException
+	{
+		tamanho = arquivo.length();
+		final long[] fimUltimaLinha = { 0 };
+		varrer(new Leitor()
+		{
+			@Override
+			public void linha(String linha)
+			{
+				linhas++;
+				lembrar(linha);
+			}
+		}, fimUltimaLinha);
+		if (fimUltimaLinha[0] < tamanho)
+		{
+			try (RandomAccessFile raf = new RandomAccessFile(arquivo, "rw"))
+			{
+				raf.setLength(fimUltimaLinha[0]);
+			}
+			tamanho = fimUltimaLinha[0];
+		}
+	}
+
+	/**
+	 * Acrescenta linhas ao diario, em uma unica escrita.
+	 * @param novas : linhas, sem o fim de linha
+	 * @throws IOException
+	 */
+	public synchronized void gravar(List<String> novas) throws IOException
+	{
+		if (saida == null)
+		{
+			throw new IOException("Diario fechado: " + arquivo.getPath());
+		}
+		StringBuilder sb = new StringBuilder(novas.size() * 64);
+		for (String linha : novas)
+		{
+			sb.append(linha).append('\n');
+		}
+		byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+		if (truncar)
+		{
+			restaurar();
+		}
+		try
+		{
+			saida.write(bytes);
+		} catch (IOException e)
+		{
+			// Parte da escrita pode ter ido para o arquivo: a linha incompleta seria colada a proxima
+			truncar = true;
+			try
+			{
+				restaurar();
+			} catch (IOException e1)
+			{
+				// Tentado de novo antes da proxima escrita
+			}
+			throw e;
+		}
+		tamanho += bytes.length;
+		linhas += novas.size();
+		for (String linha : novas)
+		{
+			lembrar(linha);
+		}
+	}
+
+	/**
+	 * Volta o arquivo ao tamanho gravado, descartando o que uma escrita interrompida deixou no fim.
+	 * @throws IOException se o arquivo nao puder ser truncado; o diario nao aceita escritas ate conseguir
+	 */
+	private void restaurar() throws IOException
+	{
+		saida.getChannel().truncate(tamanho);
+		truncar = false;
+	}
+
+	private void lembrar(String linha)
+	{
+		ultimas.addLast(linha);
+		if (ultimas.size() > CAUDA)
+		{
+			ultimas.removeFirst();
+		}
+	}
+
+	/**
+	 * Retorna as ultimas linhas gravadas, da memoria quando possivel.
+	 * @param num : numero de linhas
+	 * @return Linhas, da mais antiga para a mais recente
+	 * @throws IOException
+	 */
+	public List<String> ultimas(int num) throws IOException
+	{
+		synchronized (this)
+		{
+			if (num <= ultimas.size() || ultimas.size() == linhas)
+			{
+				ArrayList<String> resultado = new ArrayList<String>(Math.min(num, ultimas.size()));
+				Iterator<String> it = ultimas.descendingIterator();
+				while (it.hasNext() && resultado.size() < num)
+				{
+					resultado.add(it.next());
+				}
+				java.util.Collections.reverse(resultado);
+				return resultado;
+			}
+		}
+		final ArrayDeque<String> resultado = new ArrayDeque<String>(num);
+		final int limite = num;
+		varrer(new Leitor()
+		{
+			@Override
+			public void linha(String linha)
+			{
+				resultado.addLast(linha);
+				if (resultado.size() > limite)
+				{
+					resultado.removeFirst();
+				}
+			}
+		});
+		return new ArrayList<String>(resultado);
+	}
+
+	/**
+	 * Percorre todas as linhas gravadas ate o momento, da mais antiga para a mais recente.
+	 * @param leitor : recebe cada linha
+	 * @throws IOException
+	 */
+	public void varrer(Leitor leitor) throws IOException
+	{
+		varrer(leitor, null);
+	}
+
+	/**
+	 * Percorre as linhas completas ate o tamanho gravado, informando onde termina a ultima linha completa.
+	 */
+	private void varrer(Leitor leitor, long[] fimUltimaLinha) throws IOException
+	{
+		long limite;
+		synchronized (this)
+		{
+			limite = tamanho;
+		}
+		byte[] bloco = new byte[BLOCO];
+		byte[] linha = new byte[256];
+		int usados = 0;
+		long lidos = 0;
+		try (InputStream in = new BufferedInputStream(new FileInputStream(arquivo), BLOCO))
+		{
+			while (lidos < limite)
+			{
+				int n = in.read(bloco, 0, (int) Math.min(bloco.length, limite - lidos));
+				if (n < 0)
+				{
+					break;
+				}
+				for (int i = 0; i < n; i++)
+				{
+					byte b = bloco[i];
+					if (b == '\n')
+					{
+						leitor.linha(new String(linha, 0, usados, StandardCharsets.UTF_8));
+						usados = 0;
+						if (fimUltimaLinha != null)
+						{
+							fimUltimaLinha[0] = lidos + i + 1;
+						}
+					} else
+					{
+						if (usados == linha.length)
+						{
+							linha = Arrays.copyOf(linha, linha.length * 2);
+						}
+						linha[usados++] = b;
+					}
+				}
+				lidos += n;
+			}
+		}
+	}
+
+	/**
+	 * Faz o fsync do diario, para as linhas gravadas sobreviverem a uma queda do sistema operacional.
+	 * @throws IOException
+	 */
+	public synchronized void sincronizar() throws IOException
+	{
+		if (saida != null)
+		{
+			saida.getFD().sync();
+		}
+	}
+
+	/**
+	 * Retorna o total de linhas gravadas.
+	 * @return linhas do diario
+	 */
+	public synchronized long getLinhas()
+	{
+		return linhas;
+	}
+
+	/**
+	 * Fecha o diario, com fsync; as gravacoes seguintes falham.
+	 */
+	public synchronized void fechar()
+	{
+		if (saida != null)
+		{
+			try
+			{
+				saida.getFD().sync();
+			} catch (IOException e)
+			{
+				// as ultimas linhas ficam para o sistema operacional gravar
+			}
+			try
+			{
+				saida.close();
+			} catch (IOException e)
+			{
+				// arquivo ja fechado
+			}
+			saida = null;
+		}
+	}
+
+	/**
+	 * Junta os campos de um registro em uma linha, trocando tabulacao, fim de linha e barra invertida por sequencias de
+	 * escape.
+	 * @param campos : campos do registro
+	 * @return Linha do registro
+	 */
+	public static String linha(String... campos)
+	{
+		StringBuilder sb = new StringBuilder(64);
+		for (int i = 0; i < campos.length; i++)
+		{
+			if (i > 0)
+			{
+				sb.append(SEPARADOR);
+			}
+			String campo = campos[i] == null ? "" : campos[i];
+			for (int j = 0; j < campo.length(); j++)
+			{
+				char c = campo.charAt(j);
+				switch (c)
+				{
+					case '\t':
+						sb.append("\\t");
+						break;
+					case '\n':
+						sb.append("\\n");
+						break;
+					case '\r':
+						sb.append("\\r");
+						break;
+					case '\\':
+						sb.append("\\\\");
+						break;
+					default:
+						sb.append(c);
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Separa os campos de uma linha gravada com linha(), desfazendo as sequencias de escape.
+	 * @param linha : linha do registro
+	 * @return Campos do registro
+	 */
+	public static String[] campos(String linha)
+	{
+		ArrayList<String> campos = new ArrayList<String>(8);
+		StringBuilder sb = new StringBuilder(linha.length());
+		for (int i = 0; i < linha.length(); i++)
+		{
+			char c = linha.charAt(i);
+			if (c == SEPARADOR)
+			{
+				campos.add(sb.toString());
+				sb.setLength(0);
+			} else if (c == '\\' && i + 1 < linha.length())
+			{
+				char e = linha.charAt(++i);
+				sb.append(e == 't' ? '\t' : e == 'n' ? '\n' : e == 'r' ? '\r' : e);
+			} else
+			{
+				sb.append(c);
+			}
+		}
+		campos.add(sb.toString());
+		return campos.toArray(new String[campos.size()]);
+	}
+
+	/**
+	 * Recebe as linhas de uma varredura do diario.
+	 */
+	public interface Leitor
+	{
+
+		/**
+		 * Recebe uma linha, sem o fim de linha.
+		 * @param linha : linha lida
+		 */
+		void linha(String linha);
+	}
+}
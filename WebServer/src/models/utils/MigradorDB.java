@@ -0,0 +1,264 @@
+package models.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import controllers.ControllerMain;
+import models.dao.DAOLogAcc;
+import models.dao.DAOLogSrv;
+
+/**
+ * Classe utilitaria que atualiza o esquema do Banco de Dados ao iniciar o servidor, com migracoes versionadas.
+ * A versao aplicada fica na tabela versaodb; cada migracao com versao maior e aplicada uma unica vez, em ordem.
+ * Com os indices criados, o plano (EXPLAIN) das consultas dos relatorios e conferido, e as que varrem a tabela aparecem
+ * no log do servidor.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param ERRO_INDICE_DUPLICADO : [CONSTANT] codigo de erro do MySQL/MariaDB para indice ja existente
+ * @param MIGRACOES : [CONSTANT] migracoes do esquema, em ordem de versao
+ * @param USO_INDICE : [CONSTANT] item do Extra do EXPLAIN quando a consulta le apenas o indice
+ * @param USO_INDICE_AGRUPADO : [CONSTANT] item do Extra do EXPLAIN quando o GROUP BY le apenas o indice
+ * @param varreduras : nomes das consultas dos relatorios que varrem a tabela, na ultima conferencia
+ */
+
+public class MigradorDB
+{
+
+	private static final int ERRO_INDICE_DUPLICADO = 1061;
+	private static final String USO_INDICE = "Using index";
+	private static final String USO_INDICE_AGRUPADO = "Using index for group-by";
+	private static final Migracao[] MIGRACOES = {
+		// Relatorios de acesso: filtros por codigo_resposta com DISTINCT/GROUP BY arquivo (relatorios 01, 04, 09 e 10),
+		// GROUP BY/DISTINCT por ip (relatorios 03 e 07) e agrupamento por hora_data (relatorios 02, 05 e 06).
+		// Os indices cobrem as colunas dessas consultas; conferirPlanos() confere o SQL dos DAOs e avisa as que ainda
+		// varrem a tabela.
+		new Migracao(1, "Indices dos relatorios de acesso",
+				"CREATE INDEX idx_logacesso_codigo_arquivo ON logacesso (codigo_resposta, arquivo)",
+				"CREATE INDEX idx_logacesso_ip ON logacesso (ip)",
+				"CREATE INDEX idx_logacesso_hora_data ON logacesso (hora_data)"),
+		// Relatorio 08: contagem de eventos do servidor por acao
+		new Migracao(2, "Indice dos eventos do servidor",
+				"CREATE INDEX idx_logservidor_acao ON logservidor (acao)"),
+		// Log de acesso tipado: metodos do MetodoHTTP com mais de 5 letras (DELETE, OPTIONS, CONNECT) cabem na coluna
+		new Migracao(3, "Coluna metodo_http com todos os metodos",
+				"ALTER TABLE logacesso MODIFY metodo_http VARCHAR(10) NOT NULL")
+	};
+	private final ArrayList<String> varreduras = new ArrayList<String>();
+
+	/**
+	 * Aplica as migracoes pendentes, usando uma conexao do pool, e confere o plano das consultas dos relatorios. Se uma
+	 * migracao falhar, as seguintes nao sao aplicadas e o servidor continua com o esquema na ultima versao aplicada.
+	 * @param pool : pool de conexoes com o Banco de Dados
+	 * @return Versao do esquema apos as migracoes
+	 */
+	public int migrar(PoolConexoes pool)
+	{
+		int versao = 0;
+		Connection conn = null;
+		try
+		{
+			conn = pool.emprestar();
+			versao = versaoAtual(conn);
+			for (Migracao migracao : MIGRACOES)
+			{
+				if (migracao.versao <= versao)
+				{
+					continue;
+				}
+				aplicar(conn, migracao);
+				versao = migracao.versao;
+				if (ControllerMain.DEBUG)
+				{
+					System.out.println("SYSINFO: Migracao " + migracao.versao + " aplicada: " + migracao.descricao);
+				}
+			}
+			if (versao >= 2)
+			{
+				conferirPlanos(conn);
+			}
+		} catch (SQLException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Migracao do DB interrompida na versao " + versao + ": " + e.getMessage());
+			}
+			try
+			{
+				if (conn != null)
+				{
+					conn.rollback();
+				}
+			} catch (SQLException e1)
+			{
+				if (ControllerMain.DEBUG)
+				{
+					System.out.print(e1.getMessage());
+				}
+			}
+		} finally
+		{
+			pool.devolver(conn);
+		}
+		return versao;
+	}
+
+	/**
+	 * Cria a tabela de controle, se nao existir, e retorna a ultima versao aplicada.
+	 * @param conn : conexao com o DB
+	 * @return Versao atual do esquema, ou 0 se nenhuma migracao foi aplicada
+	 * @throws SQLException
+	 */
+	private int versaoAtual(Connection conn) throws SQLException
+	{
+		try (Statement stm = conn.createStatement();)
+		{
+			stm.execute("CREATE TABLE IF NOT EXISTS versaodb (versao INT NOT NULL, descricao VARCHAR(200) NOT NULL, "
+					+ "aplicada TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (versao))");
+			try (ResultSet rs = stm.executeQuery("SELECT MAX(versao) AS versao FROM versaodb;");)
+			{
+				int versao = 0;
+				if (rs.next())
+				{
+					versao = rs.getInt("versao");
+				}
+				conn.commit();
+				return versao;
+			}
+		}
+	}
+
+	/**
+	 * Aplica uma migracao e registra sua versao. Indices que ja existem (criados a mao ou por uma tentativa anterior
+	 * interrompida, ja que DDL nao volta com rollback no MySQL) sao aceitos.
+	 * @param conn : conexao com o DB
+	 * @param migracao : migracao a aplicar
+	 * @throws SQLException
+	 */
+	private void aplicar(Connection conn, Migracao migracao) throws SQLException
+	{
+		try (Statement stm = conn.createStatement();)
+		{
+			for (String comando : migracao.comandos)
+			{
+				try
+				{
+					stm.execute(comando);
+				} catch (SQLException e)
+				{
+					if (e.getErrorCode() != ERRO_INDICE_DUPLICADO)
+					{
+						throw e;
+					}
+				}
+			}
+		}
+		try (PreparedStatement stm = conn.prepareStatement("INSERT INTO versaodb(versao, descricao) VALUES (?, ?)");)
+		{
+			stm.setInt(1, migracao.versao);
+			stm.setString(2, migracao.descricao);
+			stm.execute();
+		}
+		conn.commit();
+	}
+
+	/**
+	 * Confere com EXPLAIN se as consultas dos relatorios, com o SQL montado pelos DAOs, leem apenas os indices. As que
+	 * varrem a tabela (type ALL) ou precisam ler as linhas (sem "Using index" no Extra; "Using index condition" ainda le
+	 * as linhas) ficam em varreduras e, com DEBUG, sao mostradas com o plano. Uma falha na conferencia nao interrompe a
+	 * inicializacao.
+	 * @param conn : conexao com o DB
+	 */
+	private void conferirPlanos(Connection conn)
+	{
+		varreduras.clear();
+		LinkedHashMap<String, String> consultas = DAOLogAcc.consultasRelatorios();
+		consultas.putAll(DAOLogSrv.consultasRelatorios());
+		try (Statement stm = conn.createStatement();)
+		{
+			for (Map.Entry<String, String> consulta : consultas.entrySet())
+			{
+				try (ResultSet rs = stm.executeQuery("EXPLAIN " + consulta.getValue());)
+				{
+					while (rs.next())
+					{
+						String tipo = rs.getString("type");
+						String extra = rs.getString("Extra");
+						if ("ALL".equalsIgnoreCase(tipo) || !usaIndice(extra))
+						{
+							varreduras.add(consulta.getKey());
+							if (ControllerMain.DEBUG)
+							{
+								System.out.println("SYSINFO: Consulta " + consulta.getKey() + " varre a tabela (type "
+										+ tipo + ", " + extra + "): " + consulta.getValue());
+							}
+							break;
+						}
+					}
+				}
+			}
+			conn.commit();
+		} catch (SQLException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: Conferencia dos planos dos relatorios interrompida: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Verifica se o Extra do EXPLAIN, com os itens separados por ';', tem um item de leitura apenas do indice.
+	 * @param extra : coluna Extra do EXPLAIN, ou null
+	 * @return Se a consulta le apenas o indice
+	 */
+	private static boolean usaIndice(String extra)
+	{
+		if (extra == null)
+		{
+			return false;
+		}
+		for (String item : extra.split(";"))
+		{
+			String texto = item.trim();
+			if (texto.equals(USO_INDICE) || texto.equals(USO_INDICE_AGRUPADO))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Retorna os nomes das consultas dos relatorios que varrem a tabela, na conferencia feita por migrar().
+	 * @return consultas sem cobertura dos indices
+	 */
+	public List<String> getVarreduras()
+	{
+		return varreduras;
+	}
+
+	/**
+	 * Migracao do esquema: versao, descricao e comandos SQL.
+	 */
+	private static class Migracao
+	{
+
+		private final int versao;
+		private final String descricao;
+		private final String[] comandos;
+
+		Migracao(int versao, String descricao, String... comandos)
+		{
+			this.versao = versao;
+			this.descricao = descricao;
+			this.comandos = comandos;
+		}
+	}
+}
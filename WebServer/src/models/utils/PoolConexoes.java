@@ -0,0 +1,562 @@
+package models.utils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import controllers.ControllerMain;
+
+/**
+ * Classe utilitaria de pool de conexoes com o Banco de Dados, criada pelo ConnectorDB.
+ * Cada operacao empresta uma conexao e a devolve ao terminar, em vez de todas as threads dividirem uma unica conexao.
+ * A conexao e validada ao ser emprestada, emprestimos longos demais sao reportados como vazamento e o tempo de espera
+ * por uma conexao livre e medido. Uma manutencao periodica fecha as conexoes livres ociosas acima do minimo e repoe o
+ * minimo quando conexoes sao descartadas.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param FUSO : [CONSTANT] fuso unico das datas dos relatorios: o das sessoes do DB, em que HOUR, DAYOFMONTH e MONTH
+ *        da hora_data sao calculados, o das estatisticas em memoria e o dos armazens embutidos
+ * @param VALIDACAO_TIMEOUT : [CONSTANT] segundos maximos da validacao de uma conexao emprestada
+ * @param MANUTENCAO : [CONSTANT] intervalo, em milissegundos, da manutencao do pool
+ * @param OCIOSA : [CONSTANT] tempo, em milissegundos, que uma conexao livre acima do minimo fica aberta sem uso
+ * @param url : url JDBC do Banco de Dados
+ * @param minimo : numero minimo de conexoes abertas, mantido pela manutencao
+ * @param maximo : numero maximo de conexoes abertas
+ * @param espera : tempo maximo, em milissegundos, de espera por uma conexao livre
+ * @param vazamento : tempo, em milissegundos, a partir do qual um emprestimo e reportado como vazamento
+ * @param livres : conexoes abertas disponiveis para emprestimo, a usada mais recentemente no topo
+ * @param livresDesde : instante em que cada conexao livre foi devolvida
+ * @param emprestadas : conexoes emprestadas e os dados de cada emprestimo
+ * @param total : total de conexoes abertas (livres, emprestadas ou sendo abertas)
+ * @param fechado : se o pool foi fechado
+ * @param verificador : timer da manutencao e da procura de vazamentos
+ * @param emprestimos : total de emprestimos
+ * @param esperaTotal : soma dos tempos de espera por uma conexao, em nanossegundos
+ * @param esperaMaxima : maior tempo de espera por uma conexao, em nanossegundos
+ * @param esgotados : total de emprestimos recusados por tempo de espera esgotado
+ * @param invalidas : total de conexoes descartadas na validacao
+ * @param vazamentos : total de emprestimos reportados como vazamento
+ */
+
+public class PoolConexoes
+{
+
+	public static final ZoneId FUSO = ZoneId.systemDefault();
+	private static final int VALIDACAO_TIMEOUT = 2;
+	private static final long MANUTENCAO = 5000;
+	private static final long OCIOSA = 60000;
+	private String url;
+	private int minimo;
+	private int maximo;
+	private long espera;
+	private long vazamento;
+	private final ArrayDeque<Connection> livres = new ArrayDeque<Connection>();
+	private final Map<Connection, Long> livresDesde = new IdentityHashMap<Connection, Long>();
+	private final Map<Connection, Emprestimo> emprestadas = new IdentityHashMap<Connection, Emprestimo>();
+	private int total = 0;
+	private boolean fechado = false;
+	private Timer verificador;
+	private long emprestimos = 0;
+	private long esperaTotal = 0;
+	private long esperaMaxima = 0;
+	private long esgotados = 0;
+	private long invalidas = 0;
+	private long vazamentos = 0;
+
+	/**
+	 * Construtor principal do PoolConexoes.
+	 * @param url : url JDBC do Banco de Dados
+	 * @param minimo : numero minimo de conexoes abertas
+	 * @param maximo : numero maximo de conexoes abertas
+	 * @param espera : tempo maximo, em milissegundos, de espera por uma conexao livre
+	 * @param vazamento : tempo, em milissegundos, a partir do qual um emprestimo e reportado como vazamento
+	 */
+	public PoolConexoes(String url, int minimo, int maximo, long espera, long vazamento)
+	{
+		this.url = url;
+		this.maximo = Math.max(1, maximo);
+		this.minimo = Math.max(1, Math.min(minimo, this.maximo));
+		this.espera = espera;
+		this.vazamento = vazamento;
+	}
+
+	/**
+	 * Inicia o pool com a conexao ja aberta pelo ConnectorDB, abre as demais conexoes minimas e inicia a manutencao e a
+	 * procura por vazamentos.
+	 * @param primeira : conexao ja aberta com o Banco de Dados
+	 * @throws SQLException
+	 */
+	public void iniciar(Connection primeira) throws SQLException
+	{
+		primeira.setAutoCommit(false);
+		fixarFuso(primeira);
+		synchronized (this)
+		{
+			liberar(primeira);
+			total = 1;
+		}
+		for (int i = 1; i < minimo; i++)
+		{
+			Connection conn = abrir();
+			synchronized (this)
+			{
+				liberar(conn);
+				total++;
+			}
+		}
+		long intervalo = vazamento > 0 ? Math.min(MANUTENCAO, Math.max(1000, vazamento / 2)) : MANUTENCAO;
+		verificador = new Timer("pool-conexoes-manutencao", true);
+		verificador.schedule(new TimerTask()
+		{
+			@Override
+			public void run()
+			{
+				manter();
+				if (vazamento > 0)
+				{
+					procurarVazamentos();
+				}
+			}
+		}, intervalo, intervalo);
+	}
+
+	/**
+	 * Empresta uma conexao validada. Se todas estiverem em uso e o maximo foi atingido, espera ate o tempo maximo.
+	 * A conexao deve ser devolvida com devolver(), de preferencia em um bloco finally.
+	 * @return Conexao emprestada
+	 * @throws SQLException se o tempo de espera esgotar ou a conexao nao puder ser aberta
+	 */
+	public Connection emprestar() throws SQLException
+	{
+		long inicio = System.nanoTime();
+		long limite = inicio + espera * 1000000L;
+		Connection conn = null;
+		synchronized (this)
+		{
+			while (true)
+			{
+				if (fechado)
+				{
+					throw new SQLException("Pool de conexoes fechado");
+				}
+				if (!livres.isEmpty())
+				{
+					conn = livres.pop();
+					livresDesde.remove(conn);
+					break;
+				}
+				if (total < maximo)
+				{
+					// Reserva a vaga; a conexao e aberta fora do lock
+					total++;
+					break;
+				}
+				long resta = limite - System.nanoTime();
+				if (resta <= 0)
+				{
+					esgotados++;
+					throw new SQLException("Tempo de espera por conexao esgotado (" + espera + "ms, " + maximo + " em uso)");
+				}
+				try
+				{
+					wait(Math.max(1, resta / 1000000L));
+				} catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+					throw new SQLException("Espera por conexao interrompida");
+				}
+			}
+		}
+
+		if (conn != null && !validar(conn))
+		{
+			// Conexao caiu enquanto estava livre: descarta e abre outra na mesma vaga, ja contada em total
+			descartar(conn);
+			synchronized (this)
+			{
+				invalidas++;
+			}
+			conn = null;
+		}
+		if (conn == null)
+		{
+			try
+			{
+				conn = abrir();
+			} catch (SQLException e)
+			{
+				synchronized (this)
+				{
+					total--;
+					notifyAll();
+				}
+				throw e;
+			}
+		}
+
+		long esperou = System.nanoTime() - inicio;
+		synchronized (this)
+		{
+			emprestadas.put(conn, new Emprestimo(ControllerMain.DEBUG && vazamento > 0));
+			emprestimos++;
+			esperaTotal += esperou;
+			esperaMaxima = Math.max(esperaMaxima, esperou);
+		}
+		return conn;
+	}
+
+	/**
+	 * Devolve uma conexao emprestada ao pool. A transacao aberta e desfeita, para a proxima operacao nao ler dados
+	 * antigos; o que deveria ser gravado ja foi confirmado com commit pelo DAO.
+	 * @param conn : conexao emprestada
+	 */
+	public void devolver(Connection conn)
+	{
+		if (conn == null)
+		{
+			return;
+		}
+		boolean valida;
+		try
+		{
+			conn.rollback();
+			valida = !conn.isClosed();
+		} catch (SQLException e)
+		{
+			valida = false;
+		}
+		synchronized (this)
+		{
+			if (emprestadas.remove(conn) == null)
+			{
+				// Conexao que nao e deste pool, ou ja devolvida
+				return;
+			}
+			if (valida && !fechado)
+			{
+				liberar(conn);
+				notifyAll();
+				return;
+			}
+			total--;
+			notifyAll();
+		}
+		descartar(conn);
+	}
+
+	/**
+	 * Fecha o pool e as conexoes livres. Conexoes emprestadas sao fechadas ao serem devolvidas.
+	 */
+	public void fechar()
+	{
+		ArrayDeque<Connection> fechar;
+		synchronized (this)
+		{
+			fechado = true;
+			fechar = new ArrayDeque<Connection>(livres);
+			total -= livres.size();
+			livres.clear();
+			livresDesde.clear();
+			notifyAll();
+		}
+		if (verificador != null)
+		{
+			verificador.cancel();
+		}
+		for (Connection conn : fechar)
+		{
+			descartar(conn);
+		}
+	}
+
+	/**
+	 * Coloca uma conexao no topo das livres. Chamado com o lock do pool.
+	 * @param conn : conexao livre
+	 */
+	private void liberar(Connection conn)
+	{
+		livres.push(conn);
+		livresDesde.put(conn, System.currentTimeMillis());
+	}
+
+	/**
+	 * Fecha as conexoes livres ociosas ha mais de OCIOSA enquanto houver mais que o minimo e abre conexoes ate o minimo,
+	 * repondo as descartadas na devolucao ou na validacao. As conexoes sao fechadas e abertas fora do lock.
+	 */
+	private void manter()
+	{
+		long agora = System.currentTimeMillis();
+		ArrayList<Connection> ociosas = new ArrayList<Connection>();
+		int faltam;
+		synchronized (this)
+		{
+			if (fechado)
+			{
+				return;
+			}
+			// A mais antiga fica na base da pilha de livres
+			while (total > minimo && !livres.isEmpty() && agora - livresDesde.get(livres.peekLast()) > OCIOSA)
+			{
+				Connection conn = livres.pollLast();
+				livresDesde.remove(conn);
+				ociosas.add(conn);
+				total--;
+			}
+			// Reserva as vagas que faltam; as conexoes sao abertas fora do lock
+			faltam = Math.max(0, minimo - total);
+			total += faltam;
+		}
+		for (Connection conn : ociosas)
+		{
+			descartar(conn);
+		}
+		for (int i = 0; i < faltam; i++)
+		{
+			Connection conn;
+			try
+			{
+				conn = abrir();
+			} catch (SQLException e)
+			{
+				synchronized (this)
+				{
+					total -= faltam - i;
+					notifyAll();
+				}
+				if (ControllerMain.DEBUG)
+				{
+					System.out.println("SYSERROR: Conexao minima do pool nao aberta: " + e.getMessage());
+				}
+				return;
+			}
+			boolean guardada;
+			synchronized (this)
+			{
+				guardada = !fechado;
+				if (guardada)
+				{
+					liberar(conn);
+				} else
+				{
+					total--;
+				}
+				notifyAll();
+			}
+			if (!guardada)
+			{
+				descartar(conn);
+			}
+		}
+	}
+
+	/**
+	 * Reporta os emprestimos que passaram do tempo de vazamento, uma vez por emprestimo, no log de servidor. Em modo
+	 * DEBUG, imprime tambem a pilha de quem emprestou.
+	 */
+	private void procurarVazamentos()
+	{
+		long agora = System.currentTimeMillis();
+		int novos = 0;
+		synchronized (this)
+		{
+			for (Emprestimo emprestimo : emprestadas.values())
+			{
+				if (!emprestimo.reportado && agora - emprestimo.inicio > vazamento)
+				{
+					emprestimo.reportado = true;
+					vazamentos++;
+					novos++;
+					if (ControllerMain.DEBUG)
+					{
+						System.out.println("SYSERROR: Conexao emprestada ha " + (agora - emprestimo.inicio)
+								+ "ms pela thread " + emprestimo.thread + ", possivel vazamento:");
+						if (emprestimo.origem != null)
+						{
+							emprestimo.origem.printStackTrace(System.out);
+						}
+					}
+				}
+			}
+		}
+		// Fora do lock: o log de servidor vai para o gravador, que tambem empresta conexoes
+		for (int i = 0; i < novos; i++)
+		{
+			ControllerMain.getInstance().generateLog(ControllerMain.SRV, "ConnLeak");
+		}
+	}
+
+	/**
+	 * Abre uma nova conexao com o Banco de Dados, sem auto commit (os DAOs confirmam com commit).
+	 * @return Conexao aberta
+	 * @throws SQLException
+	 */
+	private Connection abrir() throws SQLException
+	{
+		Connection conn = DriverManager.getConnection(url);
+		conn.setAutoCommit(false);
+		fixarFuso(conn);
+		return conn;
+	}
+
+	/**
+	 * Define o fuso da sessao como FUSO. Os drivers enviam e leem a hora_data no fuso da JVM, e o DB converte a
+	 * coluna TIMESTAMP e calcula HOUR(hora_data) no fuso da sessao; com os dois iguais, os relatorios do DB batem com
+	 * as estatisticas em memoria. Sem as tabelas de fusos no DB, usa o deslocamento atual do FUSO, renovado quando a
+	 * manutencao troca as conexoes.
+	 * @param conn : conexao aberta
+	 * @throws SQLException
+	 */
+	private static void fixarFuso(Connection conn) throws SQLException
+	{
+		Statement stm = conn.createStatement();
+		try
+		{
+			try
+			{
+				stm.execute("SET time_zone = '" + FUSO.getId() + "'");
+			} catch (SQLException e)
+			{
+				ZoneOffset deslocamento = FUSO.getRules().getOffset(Instant.now());
+				stm.execute("SET time_zone = '" + (deslocamento.getTotalSeconds() == 0 ? "+00:00"
+						: deslocamento.getId()) + "'");
+			}
+		} finally
+		{
+			stm.close();
+		}
+	}
+
+	/**
+	 * Valida uma conexao antes do emprestimo.
+	 * @param conn : conexao a validar
+	 * @return Se a conexao esta funcional
+	 */
+	private boolean validar(Connection conn)
+	{
+		try
+		{
+			return conn.isValid(VALIDACAO_TIMEOUT);
+		} catch (SQLException e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Fecha uma conexao, ignorando erros.
+	 * @param conn : conexao a fechar
+	 */
+	private static void descartar(Connection conn)
+	{
+		try
+		{
+			conn.close();
+		} catch (SQLException e)
+		{
+			if (ControllerMain.DEBUG)
+			{
+				System.out.println("SYSERROR: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Retorna o total de conexoes abertas pelo pool.
+	 * @return conexoes abertas
+	 */
+	public synchronized int getTotal()
+	{
+		return total;
+	}
+
+	/**
+	 * Retorna o numero de conexoes emprestadas no momento.
+	 * @return conexoes em uso
+	 */
+	public synchronized int getEmUso()
+	{
+		return emprestadas.size();
+	}
+
+	/**
+	 * Retorna o total de emprestimos feitos pelo pool.
+	 * @return emprestimos
+	 */
+	public synchronized long getEmprestimos()
+	{
+		return emprestimos;
+	}
+
+	/**
+	 * Retorna o tempo medio de espera por uma conexao, em milissegundos.
+	 * @return espera media
+	 */
+	public synchronized double getEsperaMedia()
+	{
+		return emprestimos == 0 ? 0 : esperaTotal / 1000000.0 / emprestimos;
+	}
+
+	/**
+	 * Retorna o maior tempo de espera por uma conexao, em milissegundos.
+	 * @return espera maxima
+	 */
+	public synchronized double getEsperaMaxima()
+	{
+		return esperaMaxima / 1000000.0;
+	}
+
+	/**
+	 * Retorna o total de emprestimos recusados por tempo de espera esgotado.
+	 * @return emprestimos recusados
+	 */
+	public synchronized long getEsgotados()
+	{
+		return esgotados;
+	}
+
+	/**
+	 * Retorna o total de conexoes descartadas por falharem na validacao.
+	 * @return conexoes invalidas
+	 */
+	public synchronized long getInvalidas()
+	{
+		return invalidas;
+	}
+
+	/**
+	 * Retorna o total de emprestimos reportados como vazamento.
+	 * @return vazamentos
+	 */
+	public synchronized long getVazamentos()
+	{
+		return vazamentos;
+	}
+
+	/**
+	 * Dados de um emprestimo: quando e por quem a conexao foi emprestada. A pilha de quem emprestou so e capturada
+	 * quando vai ser impressa, pois custa caro em todo emprestimo.
+	 */
+	private static class Emprestimo
+	{
+
+		private final long inicio = System.currentTimeMillis();
+		private final String thread = Thread.currentThread().getName();
+		private final Throwable origem;
+		private boolean reportado = false;
+
+		private Emprestimo(boolean rastrear)
+		{
+			this.origem = rastrear ? new Throwable("Emprestimo da conexao") : null;
+		}
+	}
+}
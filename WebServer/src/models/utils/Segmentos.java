@@ -0,0 +1,444 @@
+package models.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Classe utilitaria de log binario somente de acrescimo, dividido em arquivos de segmento (prefixo-000001.seg, ...) de
+ * registros de tamanho fixo. Apenas o ultimo segmento (ativo) recebe escritas, por um FileChannel, em posicoes
+ * calculadas pelo numero de registros; ao encher, e fechado e um novo segmento e aberto (rotacao). O fsync e feito em
+ * segundo plano a cada intervalo, e nao a cada escrita. As leituras mapeiam o segmento na memoria (somente leitura) e
+ * percorrem os registros em sequencia, ate o numero de registros gravados no momento, sem bloquear as escritas.
+ * Ao abrir, um registro incompleto no fim do segmento ativo (queda do processo durante a escrita) e descartado.
+ * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
+ *
+ * @param MAGICO : [CONSTANT] inicio do cabecalho de um segmento
+ * @param CABECALHO : [CONSTANT] tamanho do cabecalho: magico, tamanho do registro e instante de criacao
+ * @param EXTENSAO : [CONSTANT] extensao dos arquivos de segmento
+ * @param pasta : pasta dos segmentos
+ * @param prefixo : prefixo do nome dos segmentos
+ * @param padrao : padrao do nome dos segmentos
+ * @param tamanhoRegistro : bytes de um registro
+ * @param capacidade : registros por segmento
+ * @param fechados : segmentos fechados, por numero
+ * @param ativo : segmento que recebe as escritas
+ * @param numero : numero do segmento ativo
+ * @param canal : canal de escrita do segmento ativo
+ * @param registros : registros gravados no segmento ativo
+ * @param pendente : se houve escrita desde o ultimo fsync
+ * @param sincronizador : timer do fsync periodico
+ */
+
+public class Segmentos
+{
+
+	private static final int MAGICO = 0x50493753;
+	public static final int CABECALHO = 16;
+	public static final String EXTENSAO = ".seg";
+	private final File pasta;
+	private final String prefixo;
+	private final Pattern padrao;
+	private final int tamanhoRegistro;
+	private final int capacidade;
+	private final TreeMap<Integer, File> fechados = new TreeMap<Integer, File>();
+	private File ativo;
+	private int numero;
+	private FileChannel canal;
+	private int registros;
+	private volatile boolean pendente = false;
+	private Timer sincronizador;
+
+	/**
+	 * Abre os segmentos da pasta, continuando o ultimo, ou cria o primeiro segmento.
+	 * @param pasta : pasta dos segmentos
+	 * @param prefixo : prefixo do nome dos segmentos
+	 * @param tamanhoRegistro : bytes de um registro
+	 * @param capacidade : registros por segmento
+	 * @param sincronia : intervalo, em milissegundos, do fsync periodico (0 deixa o fsync para o sistema operacional)
+	 * @throws IOException se a pasta ou um segmento nao puder ser lido ou criado
+	 */
+	public Segmentos(File pasta, String prefixo, int tamanhoRegistro, int capacidade, long sincronia) throws IOException
+	{
+		this.pasta = pasta;
+		this.prefixo = prefixo;
+		this.padrao = Pattern.compile(Pattern.quote(prefixo) + "-(\\d{6})" + Pattern.quote(EXTENSAO));
+		this.tamanhoRegistro = tamanhoRegistro;
+		this.capacidade = Math.max(1, capacidade);
+		if (!pasta.isDirectory() && !pasta.mkdirs())
+		{
+			throw new IOException("Pasta dos segmentos nao pode ser criada: " + pasta.getPath());
+		}
+		File[] arquivos = pasta.listFiles();
+		for (File arquivo : arquivos == null ? new File[0] : arquivos)
+		{
+			Matcher m = padrao.matcher(arquivo.getName());
+			if (m.matches())
+			{
+				fechados.put(Integer.parseInt(m.group(1)), arquivo);
+			}
+		}
+		if (fechados.isEmpty())
+		{
+			abrir(1);
+		} else
+		{
+			Map.Entry<Integer, File> ultimo = fechados.pollLastEntry();
+			continuar(ultimo.getKey(), ultimo.getValue());
+			if (registros >= this.capacidade)
+			{
+				rotacionar();
+			}
+		}
+		if (sincronia > 0)
+		{
+			sincronizador = new Timer("segmentos-" + prefixo + "-fsync", true);
+			sincronizador.schedule(new TimerTask()
+			{
+				@Override
+				public void run()
+				{
+					sincronizar();
+				}
+			}, sincronia, sincronia);
+		}
+	}
+
+	/**
+	 * Cria um segmento vazio e o torna ativo.
+	 * @param novo : numero do segmento
+	 * @throws IOException
+	 */
+	private void abrir(int novo) throws IOException
+	{
+		File arquivo = new File(pasta, String.format("%s-%06d%s", prefixo, novo, EXTENSAO));
+		FileChannel novoCanal = new RandomAccessFile(arquivo, "rw").getChannel();
+		try
+		{
+			ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+			cabecalho.putInt(MAGICO).putInt(tamanhoRegistro).putLong(System.currentTimeMillis()).flip();
+			novoCanal.truncate(0);
+			while (cabecalho.hasRemaining())
+			{
+				novoCanal.write(cabecalho, cabecalho.position());
+			}
+			novoCanal.force(true);
+		} catch (IOException e)
+		{
+			novoCanal.close();
+			throw e;
+		}
+		ativo = arquivo;
+		numero = novo;
+		canal = novoCanal;
+		registros = 0;
+	}
+
+	/**
+	 * Continua um segmento existente como ativo, descartando um registro incompleto no fim.
+	 * @param existente : numero do segmento
+	 * @param arquivo : arquivo do segmento
+	 * @throws IOException se o cabecalho nao for de um segmento com este tamanho de registro
+	 */
+	private void continuar(int existente, File arquivo) throws IOException
+	{
+		if (arquivo.length() < CABECALHO)
+		{
+			// Queda do processo antes do cabecalho ser gravado
+			abrir(existente);
+			return;
+		}
+		FileChannel existenteCanal = new RandomAccessFile(arquivo, "rw").getChannel();
+		try
+		{
+			ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+			while (cabecalho.hasRemaining())
+			{
+				if (existenteCanal.read(cabecalho, cabecalho.position()) < 0)
+				{
+					break;
+				}
+			}
+			cabecalho.flip();
+			if (cabecalho.getInt() != MAGICO || cabecalho.getInt() != tamanhoRegistro)
+			{
+				throw new IOException("Segmento invalido: " + arquivo.getPath());
+			}
+			long completos = (existenteCanal.size() - CABECALHO) / tamanhoRegistro;
+			existenteCanal.truncate(CABECALHO + completos * tamanhoRegistro);
+			registros = (int) completos;
+		} catch (IOException e)
+		{
+			existenteCanal.close();
+			throw e;
+		}
+		ativo = arquivo;
+		numero = existente;
+		canal = existenteCanal;
+	}
+
+	/**
+	 * Retorna quantos registros ainda cabem no segmento ativo.
+	 * @return registros livres
+	 */
+	public synchronized int getLivres()
+	{
+		return capacidade - registros;
+	}
+
+	/**
+	 * Acrescenta registros ao segmento ativo. Os registros devem caber no segmento (getLivres()).
+	 * @param lote : registros, da posicao ao limite do buffer
+	 * @throws IOException
+	 */
+	public synchronized void gravar(ByteBuffer lote) throws IOException
+	{
+		int quantidade = lote.remaining() / tamanhoRegistro;
+		if (lote.remaining() % tamanhoRegistro != 0 || quantidade > capacidade - registros)
+		{
+			throw new IllegalArgumentException("Lote de " + lote.remaining() + " bytes nao cabe no segmento");
+		}
+		// Posicao calculada: uma escrita interrompida e sobrescrita pela proxima
+		long posicao = CABECALHO + (long) registros * tamanhoRegistro;
+		while (lote.hasRemaining())
+		{
+			posicao += canal.write(lote, posicao);
+		}
+		registros += quantidade;
+		pendente = true;
+	}
+
+	/**
+	 * Fecha o segmento ativo, com fsync, e abre o proximo. O proximo segmento e criado antes: se nao puder ser criado,
+	 * o segmento atual continua ativo e aberto, e a rotacao pode ser tentada de novo.
+	 * @return Segmento fechado
+	 * @throws IOException
+	 */
+	public synchronized File rotacionar() throws IOException
+	{
+		File fechado = ativo;
+		int fechadoNumero = numero;
+		FileChannel fechadoCanal = canal;
+		fechadoCanal.force(true);
+		abrir(numero + 1);
+		fechados.put(fechadoNumero, fechado);
+		fechadoCanal.close();
+		return fechado;
+	}
+
+	/**
+	 * Faz o fsync do segmento ativo, se houve escrita desde o ultimo. Chamado pelo timer do fsync periodico.
+	 */
+	public void sincronizar()
+	{
+		FileChannel atual;
+		synchronized (this)
+		{
+			if (!pendente || canal == null)
+			{
+				return;
+			}
+			pendente = false;
+			atual = canal;
+		}
+		try
+		{
+			atual.force(false);
+		} catch (ClosedChannelException e)
+		{
+			// segmento fechado pela rotacao, que ja faz o fsync
+		} catch (IOException e)
+		{
+			pendente = true;
+		}
+	}
+
+	/**
+	 * Retorna os segmentos fechados, do mais antigo para o mais recente.
+	 * @return segmentos fechados
+	 */
+	public synchronized List<File> getFechados()
+	{
+		return new ArrayList<File>(fechados.values());
+	}
+
+	/**
+	 * Retorna o segmento ativo.
+	 * @return segmento que recebe as escritas
+	 */
+	public synchronized File getAtivo()
+	{
+		return ativo;
+	}
+
+	/**
+	 * Retorna o numero de registros de um segmento.
+	 * @param segmento : segmento fechado ou ativo
+	 * @return registros gravados ate o momento
+	 */
+	public synchronized int contar(File segmento)
+	{
+		if (segmento.equals(ativo))
+		{
+			return registros;
+		}
+		return (int) Math.max(0, (segmento.length() - CABECALHO) / tamanhoRegistro);
+	}
+
+	/**
+	 * Apaga um segmento fechado (retencao).
+	 * @param segmento : segmento fechado
+	 * @return Se o segmento foi apagado
+	 */
+	public synchronized boolean apagar(File segmento)
+	{
+		Matcher m = padrao.matcher(segmento.getName());
+		if (segmento.equals(ativo) || !m.matches() || fechados.remove(Integer.parseInt(m.group(1))) == null)
+		{
+			return false;
+		}
+		return segmento.delete();
+	}
+
+	/**
+	 * Percorre os registros de um segmento, mapeado na memoria, ate o numero de registros gravados no momento.
+	 * @param segmento : segmento fechado ou ativo
+	 * @param leitor : recebe cada registro
+	 * @throws IOException
+	 */
+	public void ler(File segmento, Leitor leitor) throws IOException
+	{
+		ler(segmento, 0, contar(segmento), leitor);
+	}
+
+	/**
+	 * Percorre uma faixa de registros de um segmento, mapeado na memoria.
+	 * @param segmento : segmento
+	 * @param inicio : primeiro registro
+	 * @param fim : registro seguinte ao ultimo
+	 * @param leitor : recebe cada registro
+	 * @throws IOException
+	 */
+	private void ler(File segmento, int inicio, int fim, Leitor leitor) throws IOException
+	{
+		if (fim <= inicio)
+		{
+			return;
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(segmento, "r"); FileChannel leitura = raf.getChannel())
+		{
+			long deslocamento = CABECALHO + (long) inicio * tamanhoRegistro;
+			MappedByteBuffer mapa = leitura.map(FileChannel.MapMode.READ_ONLY, deslocamento,
+					(long) (fim - inicio) * tamanhoRegistro);
+			for (int posicao = 0; posicao < mapa.limit(); posicao += tamanhoRegistro)
+			{
+				leitor.registro(mapa, posicao);
+			}
+		}
+	}
+
+	/**
+	 * Percorre os registros de todos os segmentos, do mais antigo para o mais recente.
+	 * @param leitor : recebe cada registro
+	 * @throws IOException
+	 */
+	public void varrer(Leitor leitor) throws IOException
+	{
+		File atual;
+		List<File> anteriores;
+		synchronized (this)
+		{
+			anteriores = new ArrayList<File>(fechados.values());
+			atual = ativo;
+		}
+		for (File segmento : anteriores)
+		{
+			ler(segmento, leitor);
+		}
+		ler(atual, leitor);
+	}
+
+	/**
+	 * Percorre os ultimos registros gravados, do mais antigo para o mais recente, lendo apenas os segmentos necessarios.
+	 * @param num : numero de registros
+	 * @param leitor : recebe cada registro
+	 * @throws IOException
+	 */
+	public void lerUltimos(int num, Leitor leitor) throws IOException
+	{
+		List<File> todos;
+		int[] contagens;
+		synchronized (this)
+		{
+			todos = new ArrayList<File>(fechados.values());
+			todos.add(ativo);
+			contagens = new int[todos.size()];
+			for (int i = 0; i < todos.size(); i++)
+			{
+				contagens[i] = contar(todos.get(i));
+			}
+		}
+		// Volta pelos segmentos ate juntar os registros pedidos
+		int primeiro = todos.size() - 1;
+		int restantes = num;
+		while (primeiro > 0 && restantes > contagens[primeiro])
+		{
+			restantes -= contagens[primeiro];
+			primeiro--;
+		}
+		for (int i = primeiro; i < todos.size(); i++)
+		{
+			int inicio = i == primeiro ? Math.max(0, contagens[i] - restantes) : 0;
+			ler(todos.get(i), inicio, contagens[i], leitor);
+		}
+	}
+
+	/**
+	 * Fecha o segmento ativo, com fsync, e para o fsync periodico.
+	 */
+	public synchronized void fechar()
+	{
+		if (sincronizador != null)
+		{
+			sincronizador.cancel();
+		}
+		if (canal != null)
+		{
+			try
+			{
+				canal.force(true);
+				canal.close();
+			} catch (IOException e)
+			{
+				// segmento ja fechado
+			}
+			canal = null;
+		}
+	}
+
+	/**
+	 * Recebe os registros de uma leitura dos segmentos.
+	 */
+	public interface Leitor
+	{
+
+		/**
+		 * Recebe um registro.
+		 * @param dados : segmento mapeado na memoria
+		 * @param posicao : posicao do registro em dados
+		 */
+		void registro(ByteBuffer dados, int posicao);
+	}
+}
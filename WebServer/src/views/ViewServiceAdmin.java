@@ -87,6 +87,24 @@ public class ViewServiceAdmin extends JFrame
     	}
     }
     
+    /**
+     * Define a exibicao do estado do pool de threads na interface administrativa.
+     * 
+     * @param ativas : threads ocupadas atendendo clientes
+     * @param total : total de threads do pool, ou negativo no modo de virtual threads
+     * @param fila : clientes aguardando na fila
+     * @param recusados : total de clientes recusados por saturacao
+     */
+    public void setPool(int ativas, int total, int fila, long recusados)
+    {
+    	if (total < 0)
+    	{
+    		composeStatus.setPool("Threads: virtuais");
+    		return;
+    	}
+    	composeStatus.setPool("Pool: " + ativas + "/" + total + " | Fila: " + fila + " | Recusados: " + recusados);
+    }
+    
     /**
      * Acrescenta o AbstractLog fornecido na saida de TextArea da View.
      * 
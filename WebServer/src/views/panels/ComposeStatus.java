@@ -11,12 +11,14 @@ import javax.swing.JPanel;
  * @author Grupo ECP7AN-MCA1-09 - Bruno Gama, Guilherme Sant'Clair, Luis Felipe, Rafael Cassiolato, Raiza Morata.
  *
  * @param lbStatus: area de texto para logs exibidos
+ * @param lbPool: area de texto para o estado do pool de threads
  */
 
 public class ComposeStatus
 {
 
     private JLabel lbStatus;
+    private JLabel lbPool;
     
     /**
      * Cria o painel de status para o View.
@@ -32,11 +34,16 @@ public class ComposeStatus
         lbTitle.setBorder(BorderFactory.createEmptyBorder(0, 0, 5, 0));
         lbStatus = new JLabel("Status: ---");
         lbStatus.setName("lbStatus");
+        lbPool = new JLabel("Pool: ---");
+        lbPool.setName("lbPool");
+        JPanel panelInfo = new JPanel(new BorderLayout());
+        panelInfo.add(lbStatus, BorderLayout.WEST);
+        panelInfo.add(lbPool, BorderLayout.EAST);
         
         // acrescenta no frame os objetos
         panelStatus.setLayout(new BorderLayout());
         panelStatus.add(lbTitle, BorderLayout.CENTER);
-        panelStatus.add(lbStatus, BorderLayout.SOUTH);
+        panelStatus.add(panelInfo, BorderLayout.SOUTH);
 
         return panelStatus;
     }
@@ -49,4 +56,13 @@ public class ComposeStatus
     {
         lbStatus.setText("Status: " + status);
     }
+    
+    /**
+     * Altera o estado exibido do pool de threads.
+     * @param pool : estado do pool a exibir
+     */
+    public void setPool(String pool)
+    {
+        lbPool.setText(pool);
+    }
 }